@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OpenflowProtocolListener;
+
+/**
+ * Optional features of a {@link ConnectionAdapter}. Adapters provided by the library implement
+ * this interface, applications test for it and cast the adapter they receive.
+ */
+@Beta
+public interface ExtendedConnectionAdapter extends ConnectionAdapter {
+    /**
+     * Routes messages of selected types to a raw listener. Messages of these types skip
+     * deserialization entirely and are not reported to {@link OpenflowProtocolListener}.
+     * Replaces any raw listener previously registered for the same version.
+     * Supported on TCP / TLS connections only. Errors, experimenter messages and replies to requests
+     * (echo, features, config, multipart / stats, barrier, queue config, role and async replies) may
+     * complete their requests in {@link OutboundQueue} and can not be delivered raw.
+     *
+     * @param rawListener listener receiving raw messages, or null to route all messages
+     *        of given version back to deserialization
+     * @param version OpenFlow wire version the types belong to
+     * @param types message types which should be delivered raw
+     * @throws IllegalArgumentException if types contain an error or reply type
+     * @throws IllegalStateException if the connection does not support raw message delivery
+     */
+    void setRawMessageListener(@Nullable RawMessageListener rawListener, short version, @Nonnull Set<Short> types);
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.ByteBuf;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartRequestInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+
+/**
+ * Optional commit variants of an {@link OutboundQueue}. Queues provided by the library implement
+ * this interface, applications test for it and cast the queue they receive through
+ * {@link OutboundQueueHandler#onConnectionQueueChanged(OutboundQueue)}.
+ */
+@Beta
+public interface ExtendedOutboundQueue extends OutboundQueue {
+    /**
+     * Commit the specified offset using an already encoded message. The message has to
+     * contain a complete OpenFlow message including header, its XID field is overwritten
+     * with the specified XID. Completion semantics are the same as for
+     * {@link OutboundQueue#commitEntry(Long, OfHeader, FutureCallback)}, barrier requests are recognized
+     * by their message type. The queue takes ownership of the buffer and releases it
+     * once it is written out or the request fails, or before this method throws.
+     *
+     * @param xid Previously-reserved XID
+     * @param rawMessage Encoded message which should be sent out
+     * @param callback Callback to be invoked, or null if no callback should be invoked.
+     * @throws IllegalArgumentException if the slot is already committed or was never reserved.
+     */
+    void commitRawEntry(@Nonnull Long xid, @Nonnull ByteBuf rawMessage, @Nullable FutureCallback<OfHeader> callback);
+
+    /**
+     * Commit the specified offset using an OpenFlow 1.3 multipart request whose reply
+     * is delivered incrementally. Each reply part is handed to the callback as soon as
+     * it arrives and its entries are decoded only while the callback iterates over them,
+     * so the reply is never held in memory as a whole. Reply parts are not reported
+     * to the protocol listener. Supported for flow, table, port stats, queue, group
+     * and meter statistics on TCP / TLS connections.
+     *
+     * @param xid Previously-reserved XID
+     * @param message Multipart request which should be sent out
+     * @param callback Callback receiving reply parts
+     * @throws IllegalArgumentException if the slot is already committed or was never reserved,
+     *         or if the request version or multipart type does not support streaming
+     * @throws IllegalStateException if the connection does not support streaming
+     */
+    void commitStreamingEntry(@Nonnull Long xid, @Nonnull MultipartRequestInput message,
+            @Nonnull MultipartReplyStreamCallback<?> callback);
+
+    /**
+     * Commit the specified offset using an OpenFlow 1.3 flow statistics request whose
+     * reply is delivered incrementally as flyweight {@link FlowStatsRecord}s. Unlike
+     * {@link #commitStreamingEntry(Long, MultipartRequestInput, MultipartReplyStreamCallback)}
+     * no objects are created per flow entry - counters are read directly from the received
+     * buffer and match and instructions are exposed as raw bytes.
+     *
+     * @param xid Previously-reserved XID
+     * @param message Flow statistics multipart request which should be sent out
+     * @param callback Callback receiving reply parts
+     * @throws IllegalArgumentException if the slot is already committed or was never reserved,
+     *         or if the request is not an OpenFlow 1.3 flow statistics request
+     * @throws IllegalStateException if the connection does not support streaming
+     */
+    void commitFlowStatsEntry(@Nonnull Long xid, @Nonnull MultipartRequestInput message,
+            @Nonnull MultipartReplyStreamCallback<FlowStatsRecord> callback);
+
+    /**
+     * Commit the specified offset using a message which is sent repeatedly, such as identical
+     * group modifications fanned out to many devices or the table-miss flow installed on every
+     * connect. The encoded form of the message is cached under the supplied token and the message
+     * version. The cache is shared by all connections of the same provider, so the message is
+     * serialized once and subsequent commits only copy the cached bytes and patch the XID.
+     * Without a token the message is serialized and nothing is cached. Completion semantics are
+     * the same as for {@link OutboundQueue#commitEntry(Long, OfHeader, FutureCallback)}.
+     *
+     * <p>
+     * The XID carried by the message itself is ignored. A token must only be reused for
+     * messages which encode identically apart from their XID.
+     *
+     * @param xid Previously-reserved XID
+     * @param message Immutable message which should be sent out
+     * @param token Caller-supplied cache key, or null to send the message without caching
+     * @param callback Callback to be invoked, or null if no callback should be invoked.
+     * @throws IllegalArgumentException if the slot is already committed or was never reserved.
+     */
+    void commitTemplateEntry(@Nonnull Long xid, @Nonnull OfHeader message, @Nullable Object token,
+            @Nullable FutureCallback<OfHeader> callback);
+
+    /**
+     * Commit the specified offset using a PacketOut whose data are taken from the supplied buffer,
+     * typically a slice of a PacketIn frame received through a {@link RawMessageListener}. Large
+     * direct payloads are sent without being copied. Completion semantics are the same as for
+     * {@link OutboundQueue#commitEntry(Long, OfHeader, FutureCallback)}.
+     *
+     * @param xid Previously-reserved XID
+     * @param message PacketOut which should be sent out, its data are ignored
+     * @param payload PacketOut data, readable bytes are sent. The queue retains the buffer while it
+     *        needs it, the caller remains responsible for releasing its own reference.
+     * @param callback Callback to be invoked, or null if no callback should be invoked.
+     * @throws IllegalArgumentException if the slot is already committed or was never reserved.
+     */
+    void commitPacketOutEntry(@Nonnull Long xid, @Nonnull PacketOutInput message, @Nonnull ByteBuf payload,
+            @Nullable FutureCallback<OfHeader> callback);
+}
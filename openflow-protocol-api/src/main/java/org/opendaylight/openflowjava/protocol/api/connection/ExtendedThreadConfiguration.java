@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.EpollTrigger;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.NativeTransport;
+
+/**
+ * Transport and socket tuning of a {@link ThreadConfiguration}. The library tests for this interface,
+ * plain thread configurations get the transport defaults.
+ */
+@Beta
+public interface ExtendedThreadConfiguration extends ThreadConfiguration {
+
+    /**
+     * @return preferred I/O transport, null for {@link NativeTransport#AUTO}
+     */
+    NativeTransport getNativeTransport();
+
+    /**
+     * @return epoll trigger mode of switch connections, null for transport default
+     */
+    EpollTrigger getEpollTrigger();
+
+    /**
+     * @return true if TCP_QUICKACK should be enabled on switch connections
+     */
+    boolean isTcpQuickAck();
+
+    /**
+     * @return SO_BUSY_POLL timeout in microseconds, 0 to disable busy polling
+     */
+    int getBusyPollMicros();
+
+    /**
+     * @return SO_RCVBUF size in bytes, 0 for system default
+     */
+    int getReceiveBufferSize();
+
+    /**
+     * @return SO_SNDBUF size in bytes, 0 for system default
+     */
+    int getSendBufferSize();
+
+    /**
+     * @return SO_BACKLOG of the listening socket, 0 for library default
+     */
+    int getAcceptBacklog();
+}
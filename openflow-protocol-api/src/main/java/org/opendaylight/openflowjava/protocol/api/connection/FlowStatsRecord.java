@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Flyweight view of a single OpenFlow 1.3 flow statistics record (ofp_flow_stats).
+ * Values are read directly from the received buffer. Instances are reused for
+ * subsequent records, so a record must not be retained once the iterator it was
+ * obtained from advances. Unsigned 64-bit counters are returned as raw
+ * {@code long} values, use {@link com.google.common.primitives.UnsignedLongs} where
+ * the full range matters.
+ *
+ * @see ExtendedOutboundQueue#commitFlowStatsEntry(Long, org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartRequestInput, MultipartReplyStreamCallback)
+ */
+@Beta
+public interface FlowStatsRecord {
+
+    /**
+     * @return table id
+     */
+    short getTableId();
+
+    /**
+     * @return time the flow has been alive in seconds
+     */
+    long getDurationSec();
+
+    /**
+     * @return time the flow has been alive in nanoseconds beyond duration sec
+     */
+    long getDurationNsec();
+
+    /**
+     * @return flow priority
+     */
+    int getPriority();
+
+    /**
+     * @return idle timeout in seconds
+     */
+    int getIdleTimeout();
+
+    /**
+     * @return hard timeout in seconds
+     */
+    int getHardTimeout();
+
+    /**
+     * @return flow mod flags bitmap (OFPFF_*)
+     */
+    int getFlags();
+
+    /**
+     * @return opaque controller-issued cookie
+     */
+    long getCookie();
+
+    /**
+     * @return number of packets in flow
+     */
+    long getPacketCount();
+
+    /**
+     * @return number of bytes in flow
+     */
+    long getByteCount();
+
+    /**
+     * @return ofp_match structure including its type and length fields, without trailing
+     *         padding - a slice sharing content with the received buffer
+     */
+    ByteBuf getMatch();
+
+    /**
+     * @return encoded instructions - a slice sharing content with the received buffer
+     */
+    ByteBuf getInstructions();
+}
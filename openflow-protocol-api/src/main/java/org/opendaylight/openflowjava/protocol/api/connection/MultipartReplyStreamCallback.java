@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import java.util.Iterator;
+
+/**
+ * Receives entries of a multipart reply incrementally, one reply part at a time,
+ * instead of a fully materialized reply message per part.
+ *
+ * @param <T> entry type - FlowStats, TableStats, PortStats, QueueStats, GroupStats
+ *            or MeterStats, depending on the requested multipart type
+ * @see ExtendedOutboundQueue#commitStreamingEntry(Long, org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartRequestInput, MultipartReplyStreamCallback)
+ */
+@Beta
+public interface MultipartReplyStreamCallback<T> {
+
+    /**
+     * Invoked from the channel's I/O thread for every reply part. Entries are decoded
+     * lazily while iterating and the iterator is valid only until this method returns.
+     *
+     * @param entries entries carried by this part
+     * @param last true if this is the last part of the reply
+     */
+    void onPart(Iterator<T> entries, boolean last);
+
+    /**
+     * Invoked when the request fails, either on the device or locally
+     * (see {@link OutboundQueue#commitEntry(Long, org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader, com.google.common.util.concurrent.FutureCallback)}).
+     * No further parts are reported afterwards.
+     *
+     * @param cause failure cause
+     */
+    void onFailure(Throwable cause);
+}
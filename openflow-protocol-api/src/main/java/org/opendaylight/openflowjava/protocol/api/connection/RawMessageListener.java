@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Receives selected messages from switch as raw bytes instead of deserialized objects.
+ * Messages delivered to this listener are not deserialized, so they are neither reported
+ * to {@link org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OpenflowProtocolListener}
+ * nor paired with requests sent through {@link OutboundQueue}. Reply types can therefore not
+ * be delivered raw.
+ *
+ * @see ExtendedConnectionAdapter#setRawMessageListener(RawMessageListener, short, java.util.Set)
+ */
+@Beta
+public interface RawMessageListener {
+
+    /**
+     * Invoked from the channel's I/O thread for every message of a registered type.
+     * The buffer is retained on behalf of the listener, which is responsible for
+     * releasing it once done - possibly from another thread.
+     *
+     * @param version OpenFlow wire version of the message
+     * @param type message type
+     * @param message message content starting at the length field of the OpenFlow header
+     *        (version and type are already consumed)
+     */
+    void onRawMessage(short version, short type, ByteBuf message);
+}
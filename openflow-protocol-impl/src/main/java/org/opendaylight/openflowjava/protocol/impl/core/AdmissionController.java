@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.GuardedBy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the number of concurrent switch handshakes and the rate at which accepted connections
+ * start them, so that a reconnect storm after a failover does not overload the controller and
+ * make handshakes time out. Channels over the limits wait in FIFO order without reading from
+ * the socket. A handshake lasts from admission until the switch sends FEATURES_REPLY, the channel
+ * closes or the handshake timeout elapses, whichever comes first. One controller is shared by
+ * all connections of a provider.
+ */
+public final class AdmissionController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdmissionController.class);
+
+    private final int maxConcurrentHandshakes;
+    private final long admissionIntervalNanos;
+    private final long handshakeTimeoutMillis;
+
+    @GuardedBy("this")
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+    @GuardedBy("this")
+    private int activeHandshakes;
+    @GuardedBy("this")
+    private long nextAdmissionNanos = System.nanoTime();
+    @GuardedBy("this")
+    private boolean drainScheduled;
+    @GuardedBy("this")
+    private long admittedCount;
+    @GuardedBy("this")
+    private long timedOutCount;
+
+    /**
+     * @param maxConcurrentHandshakes maximal number of handshakes in progress, 0 for unlimited
+     * @param maxAcceptsPerSecond maximal rate of handshake starts, 0 for unlimited
+     * @param handshakeTimeoutMillis time after which a handshake no longer counts as in progress
+     */
+    public AdmissionController(final int maxConcurrentHandshakes, final int maxAcceptsPerSecond,
+            final long handshakeTimeoutMillis) {
+        Preconditions.checkArgument(maxConcurrentHandshakes >= 0, "Negative handshake limit %s",
+                maxConcurrentHandshakes);
+        Preconditions.checkArgument(maxAcceptsPerSecond >= 0, "Negative accept rate %s", maxAcceptsPerSecond);
+        Preconditions.checkArgument(handshakeTimeoutMillis > 0, "Handshake timeout %s is not positive",
+                handshakeTimeoutMillis);
+        this.maxConcurrentHandshakes = maxConcurrentHandshakes == 0 ? Integer.MAX_VALUE : maxConcurrentHandshakes;
+        this.admissionIntervalNanos = maxAcceptsPerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / maxAcceptsPerSecond;
+        this.handshakeTimeoutMillis = handshakeTimeoutMillis;
+    }
+
+    /**
+     * Handshake slot of an admitted channel, released once
+     */
+    final class Admission {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * Ends the handshake, lets next waiting channel in
+         */
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                handshakeFinished();
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final Channel channel;
+        private final AdmissionCallback callback;
+
+        Waiter(final Channel channel, final AdmissionCallback callback) {
+            this.channel = channel;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * Invoked on the channel's event loop once it is admitted
+     */
+    interface AdmissionCallback {
+        /**
+         * @param admission handshake slot, to be released when the handshake is over
+         */
+        void admitted(Admission admission);
+    }
+
+    /**
+     * Queues channel for admission. Reading from the channel is suspended until the callback runs.
+     * @param channel accepted channel
+     * @param callback invoked on the channel's event loop once admitted
+     */
+    void admit(final Channel channel, final AdmissionCallback callback) {
+        channel.config().setAutoRead(false);
+        synchronized (this) {
+            waiters.add(new Waiter(channel, callback));
+        }
+        drain();
+    }
+
+    private void handshakeFinished() {
+        synchronized (this) {
+            activeHandshakes--;
+        }
+        drain();
+    }
+
+    private void handshakeTimedOut(final Admission admission, final Channel channel) {
+        if (!admission.released.get()) {
+            LOG.debug("Handshake of {} did not finish in {} ms, releasing its slot", channel.remoteAddress(),
+                    handshakeTimeoutMillis);
+            synchronized (this) {
+                timedOutCount++;
+            }
+            admission.release();
+        }
+    }
+
+    private void drain() {
+        final List<Waiter> admitted = new ArrayList<>();
+        synchronized (this) {
+            while (!waiters.isEmpty() && activeHandshakes < maxConcurrentHandshakes) {
+                final Waiter waiter = waiters.peek();
+                if (!waiter.channel.isOpen()) {
+                    waiters.poll();
+                    continue;
+                }
+                final long now = System.nanoTime();
+                if (now - nextAdmissionNanos < 0) {
+                    scheduleDrain(waiter.channel, nextAdmissionNanos - now);
+                    break;
+                }
+                nextAdmissionNanos = Math.max(nextAdmissionNanos, now) + admissionIntervalNanos;
+                waiters.poll();
+                activeHandshakes++;
+                admittedCount++;
+                admitted.add(waiter);
+            }
+        }
+
+        for (final Waiter waiter : admitted) {
+            final Admission admission = new Admission();
+            waiter.channel.closeFuture().addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(final ChannelFuture future) {
+                    admission.release();
+                }
+            });
+            waiter.channel.eventLoop().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    handshakeTimedOut(admission, waiter.channel);
+                }
+            }, handshakeTimeoutMillis, TimeUnit.MILLISECONDS);
+            waiter.channel.eventLoop().execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!waiter.channel.isOpen()) {
+                        admission.release();
+                        return;
+                    }
+                    waiter.callback.admitted(admission);
+                    waiter.channel.config().setAutoRead(true);
+                }
+            });
+        }
+    }
+
+    @GuardedBy("this")
+    private void scheduleDrain(final Channel channel, final long delayNanos) {
+        if (drainScheduled) {
+            return;
+        }
+        drainScheduled = true;
+        channel.eventLoop().schedule(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (AdmissionController.this) {
+                    drainScheduled = false;
+                }
+                drain();
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return number of channels waiting for admission
+     */
+    public synchronized int getWaitingCount() {
+        return waiters.size();
+    }
+
+    /**
+     * @return number of handshakes in progress
+     */
+    public synchronized int getActiveCount() {
+        return activeHandshakes;
+    }
+
+    /**
+     * @return total number of admitted channels
+     */
+    public synchronized long getAdmittedCount() {
+        return admittedCount;
+    }
+
+    /**
+     * @return total number of handshakes which did not finish within the timeout
+     */
+    public synchronized long getTimedOutCount() {
+        return timedOutCount;
+    }
+}
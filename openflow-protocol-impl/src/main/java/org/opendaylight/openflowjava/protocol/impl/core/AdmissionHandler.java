@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+/**
+ * Ends the handshake of an admitted channel (see {@link AdmissionController}) when the first
+ * FEATURES_REPLY frame passes from {@link OFFrameDecoder}, then removes itself from the pipeline.
+ */
+class AdmissionHandler extends ChannelInboundHandlerAdapter {
+
+    /** FEATURES_REPLY message type, same in all supported versions */
+    private static final short FEATURES_REPLY_TYPE = 6;
+    private static final int TYPE_INDEX = 1;
+
+    private final AdmissionController.Admission admission;
+
+    /**
+     * @param admission handshake slot of the channel
+     */
+    AdmissionHandler(final AdmissionController.Admission admission) {
+        this.admission = admission;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (msg instanceof ByteBuf) {
+            final ByteBuf frame = (ByteBuf) msg;
+            if (frame.readableBytes() > TYPE_INDEX
+                    && frame.getUnsignedByte(frame.readerIndex() + TYPE_INDEX) == FEATURES_REPLY_TYPE) {
+                admission.release();
+                ctx.pipeline().remove(this);
+            }
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) {
+        admission.release();
+        ctx.fireChannelInactive();
+    }
+}
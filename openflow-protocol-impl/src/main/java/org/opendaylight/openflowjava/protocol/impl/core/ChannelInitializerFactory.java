@@ -10,6 +10,8 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ListenerDispatchPolicy;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageDispatchTable;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
 
@@ -25,6 +27,14 @@ public class ChannelInitializerFactory {
     private TlsConfiguration tlsConfig;
     private SwitchConnectionHandler switchConnectionHandler;
     private boolean useBarrier;
+    private RawFrameDispatchTable rawFrameDispatchTable = RawFrameDispatchTable.EMPTY;
+    private DecodeOffloadPolicy decodeOffloadPolicy;
+    private MessageJournalPolicy messageJournalPolicy;
+    private ReceiveBufferPolicy receiveBufferPolicy;
+    private AdmissionController admissionController;
+    private long udpConnectionIdleTimeout;
+    private ListenerDispatchPolicy listenerDispatchPolicy;
+    private MessageDispatchTable messageDispatchTable = MessageDispatchTable.EMPTY;
 
     /**
      * @return PublishingChannelInitializer that initializes new channels
@@ -37,6 +47,13 @@ public class ChannelInitializerFactory {
         initializer.setTlsConfiguration(tlsConfig);
         initializer.setSwitchConnectionHandler(switchConnectionHandler);
         initializer.setUseBarrier(useBarrier);
+        initializer.setRawFrameDispatchTable(rawFrameDispatchTable);
+        initializer.setDecodeOffloadPolicy(decodeOffloadPolicy);
+        initializer.setMessageJournalPolicy(messageJournalPolicy);
+        initializer.setReceiveBufferPolicy(receiveBufferPolicy);
+        initializer.setAdmissionController(admissionController);
+        initializer.setListenerDispatchPolicy(listenerDispatchPolicy);
+        initializer.setMessageDispatchTable(messageDispatchTable);
         return initializer;
     }
 
@@ -49,6 +66,9 @@ public class ChannelInitializerFactory {
         initializer.setDeserializationFactory(deserializationFactory);
         initializer.setSerializationFactory(serializationFactory);
         initializer.setSwitchConnectionHandler(switchConnectionHandler);
+        initializer.setMessageDispatchTable(messageDispatchTable);
+        initializer.setConnectionMap(new UdpConnectionMap(udpConnectionIdleTimeout));
+        initializer.setReceiveBufferPolicy(receiveBufferPolicy);
         return initializer;
     }
 
@@ -93,4 +113,60 @@ public class ChannelInitializerFactory {
     public void setUseBarrier(final boolean useBarrier) {
         this.useBarrier = useBarrier;
     }
+
+    /**
+     * @param rawFrameDispatchTable
+     */
+    public void setRawFrameDispatchTable(final RawFrameDispatchTable rawFrameDispatchTable) {
+        this.rawFrameDispatchTable = rawFrameDispatchTable;
+    }
+
+    /**
+     * @param decodeOffloadPolicy
+     */
+    public void setDecodeOffloadPolicy(final DecodeOffloadPolicy decodeOffloadPolicy) {
+        this.decodeOffloadPolicy = decodeOffloadPolicy;
+    }
+
+    /**
+     * @param messageJournalPolicy
+     */
+    public void setMessageJournalPolicy(final MessageJournalPolicy messageJournalPolicy) {
+        this.messageJournalPolicy = messageJournalPolicy;
+    }
+
+    /**
+     * @param receiveBufferPolicy
+     */
+    public void setReceiveBufferPolicy(final ReceiveBufferPolicy receiveBufferPolicy) {
+        this.receiveBufferPolicy = receiveBufferPolicy;
+    }
+
+    /**
+     * @param admissionController
+     */
+    public void setAdmissionController(final AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * @param udpConnectionIdleTimeout
+     */
+    public void setUdpConnectionIdleTimeout(final long udpConnectionIdleTimeout) {
+        this.udpConnectionIdleTimeout = udpConnectionIdleTimeout;
+    }
+
+    /**
+     * @param listenerDispatchPolicy
+     */
+    public void setListenerDispatchPolicy(final ListenerDispatchPolicy listenerDispatchPolicy) {
+        this.listenerDispatchPolicy = listenerDispatchPolicy;
+    }
+
+    /**
+     * @param messageDispatchTable
+     */
+    public void setMessageDispatchTable(final MessageDispatchTable messageDispatchTable) {
+        this.messageDispatchTable = messageDispatchTable;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Frame claimed by a {@link RawFrameHandler}, whose handling {@link OFFrameClassifier} deferred
+ * to {@link OFDecoder}, so that it does not overtake earlier frames still being decoded off the I/O thread.
+ */
+final class ClassifiedFrame extends VersionMessageWrapper {
+
+    private final ChannelHandlerContext ctx;
+    private final RawFrameHandler handler;
+    private final short type;
+
+    /**
+     * @param ctx context of the classifier
+     * @param version OpenFlow wire version
+     * @param type message type
+     * @param frame frame content, reader index pointing to the message type
+     * @param handler handler claiming the frame
+     */
+    ClassifiedFrame(final ChannelHandlerContext ctx, final short version, final short type, final ByteBuf frame,
+            final RawFrameHandler handler) {
+        super(version, frame);
+        this.ctx = Preconditions.checkNotNull(ctx);
+        this.handler = Preconditions.checkNotNull(handler);
+        this.type = type;
+    }
+
+    /**
+     * Passes the frame to its handler. Has to be invoked from the channel's I/O thread.
+     *
+     * @return true if the frame was consumed and released, false if it has to be deserialized
+     */
+    boolean dispatch() {
+        return OFFrameClassifier.dispatch(ctx, handler, getVersion(), type, getMessageBuffer());
+    }
+}
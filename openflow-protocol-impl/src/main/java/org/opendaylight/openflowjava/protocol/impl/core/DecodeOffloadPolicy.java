@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import io.netty.buffer.ByteBuf;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Selects frames which {@link OFDecoder} deserializes on a worker pool instead of the channel's
+ * I/O thread - frames of at least given size and frames of selected message types. Small control
+ * messages stay on the I/O thread. Instances are immutable, {@link #withType(short, short)} returns
+ * an updated copy.
+ */
+public final class DecodeOffloadPolicy {
+
+    private final Executor executor;
+    private final int sizeThreshold;
+    private final Set<Integer> types;
+
+    /**
+     * @param executor worker pool used for offloaded decoding, shared by all channels
+     * @param sizeThreshold minimal frame size (in bytes) which is offloaded, 0 to offload by type only
+     */
+    public DecodeOffloadPolicy(final Executor executor, final int sizeThreshold) {
+        this(executor, sizeThreshold, ImmutableSet.<Integer>of());
+    }
+
+    private DecodeOffloadPolicy(final Executor executor, final int sizeThreshold, final Set<Integer> types) {
+        Preconditions.checkArgument(sizeThreshold >= 0, "Negative size threshold %s", sizeThreshold);
+        this.executor = Preconditions.checkNotNull(executor);
+        this.sizeThreshold = sizeThreshold == 0 ? Integer.MAX_VALUE : sizeThreshold;
+        this.types = types;
+    }
+
+    /**
+     * @param version OpenFlow wire version
+     * @param type message type whose frames are always offloaded
+     * @return policy offloading also given message type
+     */
+    public DecodeOffloadPolicy withType(final short version, final short type) {
+        return new DecodeOffloadPolicy(executor, sizeThreshold == Integer.MAX_VALUE ? 0 : sizeThreshold,
+                ImmutableSet.<Integer>builder().addAll(types).add(typeKey(version, type)).build());
+    }
+
+    /**
+     * @param version OpenFlow wire version
+     * @param frame frame produced by {@link OFVersionDetector}, reader index pointing to message type
+     * @return true if the frame should be decoded on the worker pool
+     */
+    public boolean shouldOffload(final short version, final ByteBuf frame) {
+        return frame.readableBytes() >= sizeThreshold
+                || (!types.isEmpty() && types.contains(typeKey(version, frame.getUnsignedByte(frame.readerIndex()))));
+    }
+
+    /**
+     * @return worker pool used for offloaded decoding
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    private static Integer typeKey(final short version, final short type) {
+        return version << Byte.SIZE | type;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drops every frame it is registered for and counts them.
+ */
+public final class DroppingFrameHandler implements RawFrameHandler {
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Override
+    public boolean handleFrame(final ChannelHandlerContext ctx, final short version, final short type,
+            final ByteBuf frame) {
+        dropped.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return number of dropped frames
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+
+/**
+ * Answers echo requests directly from the received frame - the reply reuses
+ * length, xid and data of the request, only message type is changed.
+ */
+public final class EchoReplyFrameHandler implements RawFrameHandler {
+
+    /** OFPT_ECHO_REQUEST message type (same in OF 1.0 and OF 1.3) */
+    public static final short ECHO_REQUEST_TYPE = 2;
+    private static final short ECHO_REPLY_TYPE = 3;
+
+    @Override
+    public boolean handleFrame(final ChannelHandlerContext ctx, final short version, final short type,
+            final ByteBuf frame) {
+        final int length = frame.readableBytes();
+        final ByteBuf reply = ctx.alloc().buffer(length + EncodeConstants.SIZE_OF_BYTE_IN_BYTES);
+        reply.writeByte(version);
+        reply.writeByte(ECHO_REPLY_TYPE);
+        reply.writeBytes(frame, frame.readerIndex() + EncodeConstants.SIZE_OF_BYTE_IN_BYTES,
+                length - EncodeConstants.SIZE_OF_BYTE_IN_BYTES);
+        ctx.writeAndFlush(reply);
+        return true;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flight recorder of raw OpenFlow frames - a ring of records in a memory-mapped file, keeping the
+ * most recent traffic of one or more connections. Writers reserve space with a single CAS and copy
+ * the frame directly into the mapping, so recording neither takes locks nor allocates. Data survives
+ * a crash of the JVM, the operating system writes dirty pages back on its own.
+ *
+ * <p>
+ * File layout: {@value #FILE_HEADER_LENGTH} byte header (magic, format version, ring capacity,
+ * creation time) followed by the ring. Each record is aligned to 8 bytes and starts with a
+ * {@value #RECORD_HEADER_LENGTH} byte header:
+ * <pre>
+ *   int  payload length
+ *   int  connection id
+ *   long bitwise complement of logical position of the record (position in the ring, not wrapped)
+ *   long timestamp (nanoseconds since epoch)
+ *   byte record kind ({@link #INBOUND}, {@link #OUTBOUND}, {@link #CONNECTED})
+ * </pre>
+ * Logical position is written last and lets {@link MessageJournalReader} tell complete records of
+ * the last lap from stale or torn ones. It is stored complemented, so that zeroed space of a new
+ * file never looks like a record.
+ */
+public final class MessageJournal implements Closeable {
+
+    /** Frame received from switch */
+    public static final byte INBOUND = 0;
+    /** Frame sent to switch */
+    public static final byte OUTBOUND = 1;
+    /** New connection, payload carries remote address */
+    public static final byte CONNECTED = 2;
+
+    static final long MAGIC = 0x4f464a524e4c0001L;
+    static final int FILE_HEADER_LENGTH = 64;
+    static final int RECORD_HEADER_LENGTH = 32;
+    static final int ALIGNMENT = 8;
+    static final int CONNECTION_ID_OFFSET = 4;
+    static final int POSITION_OFFSET = 8;
+    static final int TIMESTAMP_OFFSET = 16;
+    static final int KIND_OFFSET = 24;
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final MappedByteBuffer mapping;
+    private final int capacity;
+    private final AtomicLong position = new AtomicLong();
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private final long epochNanosBase;
+    private final long nanoTimeBase;
+    /** Per-thread views of the mapping, relative bulk copies need their own position and limit */
+    private final ThreadLocal<ByteBuffer> views = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return mapping.duplicate();
+        }
+    };
+
+    private MessageJournal(final File file, final RandomAccessFile raf, final int capacity) throws IOException {
+        this.file = file;
+        this.raf = raf;
+        this.capacity = capacity;
+        mapping = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER_LENGTH + capacity);
+        epochNanosBase = System.currentTimeMillis() * 1000000L;
+        nanoTimeBase = System.nanoTime();
+        mapping.putLong(0, MAGIC);
+        mapping.putInt(8, 1);
+        mapping.putInt(12, capacity);
+        mapping.putLong(16, System.currentTimeMillis());
+    }
+
+    /**
+     * Creates new journal. Existing file of the same name is kept with ".1" suffix, so that the
+     * recording of previous run is not lost on restart.
+     * @param file journal file
+     * @param capacity ring size in bytes
+     * @return opened journal
+     * @throws IOException if the file can not be created
+     */
+    public static MessageJournal create(final File file, final int capacity) throws IOException {
+        Preconditions.checkArgument(capacity >= 4096 && capacity % ALIGNMENT == 0,
+                "Capacity %s is not a multiple of %s of at least 4096", capacity, ALIGNMENT);
+        if (file.exists()) {
+            final File previous = new File(file.getPath() + ".1");
+            if (previous.exists() && !previous.delete() || !file.renameTo(previous)) {
+                throw new IOException("Failed to preserve previous journal " + file);
+            }
+        }
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(FILE_HEADER_LENGTH + capacity);
+            return new MessageJournal(file, raf, capacity);
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return identifier of a new connection recorded by this journal
+     */
+    public int newConnectionId() {
+        return connectionIds.incrementAndGet();
+    }
+
+    /**
+     * Records readable bytes of given buffer without modifying its indices. Frames larger than
+     * a quarter of the ring are truncated.
+     * @param connectionId connection identifier
+     * @param kind {@link #INBOUND}, {@link #OUTBOUND} or {@link #CONNECTED}
+     * @param frame recorded data
+     */
+    public void record(final int connectionId, final byte kind, final ByteBuf frame) {
+        final int length = Math.min(frame.readableBytes(), capacity / 4 - RECORD_HEADER_LENGTH);
+        final int recordLength = align(RECORD_HEADER_LENGTH + length);
+
+        long start;
+        int offset;
+        for (;;) {
+            final long current = position.get();
+            offset = (int) (current % capacity);
+            // Records never wrap, the rest of the lap is skipped instead
+            start = offset + recordLength > capacity ? current + capacity - offset : current;
+            if (position.compareAndSet(current, start + recordLength)) {
+                if (start != current) {
+                    markSkipped(offset);
+                    offset = 0;
+                }
+                break;
+            }
+        }
+
+        final int base = FILE_HEADER_LENGTH + offset;
+        // Stale record of previous lap must not look valid while this one is being written
+        mapping.putLong(base + POSITION_OFFSET, 0);
+        final ByteBuffer view = views.get();
+        view.clear().position(base + RECORD_HEADER_LENGTH).limit(base + RECORD_HEADER_LENGTH + length);
+        frame.getBytes(frame.readerIndex(), view);
+        mapping.putInt(base, length);
+        mapping.putInt(base + CONNECTION_ID_OFFSET, connectionId);
+        mapping.putLong(base + TIMESTAMP_OFFSET, epochNanosBase + System.nanoTime() - nanoTimeBase);
+        mapping.put(base + KIND_OFFSET, kind);
+        mapping.putLong(base + POSITION_OFFSET, ~start);
+    }
+
+    private void markSkipped(final int offset) {
+        if (offset + RECORD_HEADER_LENGTH <= capacity) {
+            // Invalidates stale record header at the start of skipped space
+            mapping.putLong(FILE_HEADER_LENGTH + offset + POSITION_OFFSET, 0);
+        }
+    }
+
+    static int align(final int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * @return journal file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return ring size in bytes
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Flushes the mapping to disk and closes the file. Records written afterwards are lost.
+     * @throws IOException if the file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        mapping.force();
+        raf.close();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records raw frames passing between {@link OFFrameDecoder} / {@link OFEncoder} and the wire into
+ * a {@link MessageJournal}. Frames are passed on untouched.
+ */
+class MessageJournalHandler extends ChannelDuplexHandler {
+
+    private final MessageJournal journal;
+    private final int connectionId;
+
+    /**
+     * @param journal journal recording this connection
+     */
+    MessageJournalHandler(final MessageJournal journal) {
+        this.journal = journal;
+        this.connectionId = journal.newConnectionId();
+    }
+
+    @Override
+    public void handlerAdded(final ChannelHandlerContext ctx) {
+        final ByteBuf address = Unpooled.copiedBuffer(String.valueOf(ctx.channel().remoteAddress()),
+                StandardCharsets.UTF_8);
+        journal.record(connectionId, MessageJournal.CONNECTED, address);
+        address.release();
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (msg instanceof ByteBuf) {
+            journal.record(connectionId, MessageJournal.INBOUND, (ByteBuf) msg);
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+        if (msg instanceof ByteBuf) {
+            journal.record(connectionId, MessageJournal.OUTBOUND, (ByteBuf) msg);
+        }
+        ctx.write(msg, promise);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selects {@link MessageJournal} recording raw frames of each connection - either one journal shared
+ * by all connections, or one journal per switch address (kept across reconnects). Journals are
+ * created on first use and stay open until {@link #close()}.
+ */
+public final class MessageJournalPolicy implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MessageJournalPolicy.class);
+
+    private final File location;
+    private final int capacity;
+    private final boolean shared;
+    private final Map<String, MessageJournal> journals = new HashMap<>();
+
+    private MessageJournalPolicy(final File location, final int capacity, final boolean shared) {
+        this.location = Preconditions.checkNotNull(location);
+        this.capacity = capacity;
+        this.shared = shared;
+    }
+
+    /**
+     * @param file journal file
+     * @param capacity ring size in bytes
+     * @return policy recording all connections into one journal
+     */
+    public static MessageJournalPolicy shared(final File file, final int capacity) {
+        return new MessageJournalPolicy(file, capacity, true);
+    }
+
+    /**
+     * @param directory directory of journal files, one file per switch address
+     * @param capacity ring size of each journal in bytes
+     * @return policy recording each switch into its own journal
+     */
+    public static MessageJournalPolicy perSwitch(final File directory, final int capacity) {
+        return new MessageJournalPolicy(directory, capacity, false);
+    }
+
+    /**
+     * @param remoteAddress switch address, may be null
+     * @return journal of given switch, null if it could not be created
+     */
+    synchronized MessageJournal journalFor(final InetSocketAddress remoteAddress) {
+        final String key;
+        if (shared) {
+            key = "";
+        } else {
+            key = remoteAddress == null ? "unknown" : remoteAddress.getAddress().getHostAddress().replace(':', '_');
+        }
+        MessageJournal journal = journals.get(key);
+        if (journal == null) {
+            final File file = shared ? location : new File(location, "journal-" + key + ".ring");
+            try {
+                journal = MessageJournal.create(file, capacity);
+            } catch (IOException e) {
+                LOG.warn("Failed to create message journal {}, connection will not be recorded", file, e);
+                return null;
+            }
+            journals.put(key, journal);
+        }
+        return journal;
+    }
+
+    /**
+     * Closes all journals
+     */
+    @Override
+    public synchronized void close() {
+        for (MessageJournal journal : journals.values()) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close message journal {}", journal.getFile(), e);
+            }
+        }
+        journals.clear();
+    }
+}
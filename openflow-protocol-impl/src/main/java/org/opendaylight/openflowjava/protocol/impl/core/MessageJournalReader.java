@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads records of a {@link MessageJournal} file, oldest first. Records overwritten by a later lap
+ * of the ring and records torn by a crash in the middle of writing are skipped.
+ */
+public final class MessageJournalReader {
+
+    private MessageJournalReader() {
+        throw new UnsupportedOperationException("Utility class shouldn't be instantiated");
+    }
+
+    /**
+     * One recorded frame
+     */
+    public static final class Record {
+        private final long position;
+        private final long timestampNanos;
+        private final int connectionId;
+        private final byte kind;
+        private final ByteBuf payload;
+
+        Record(final long position, final long timestampNanos, final int connectionId, final byte kind,
+                final ByteBuf payload) {
+            this.position = position;
+            this.timestampNanos = timestampNanos;
+            this.connectionId = connectionId;
+            this.kind = kind;
+            this.payload = payload;
+        }
+
+        /**
+         * @return record timestamp, nanoseconds since epoch
+         */
+        public long getTimestampNanos() {
+            return timestampNanos;
+        }
+
+        /**
+         * @return connection identifier, unique within the journal
+         */
+        public int getConnectionId() {
+            return connectionId;
+        }
+
+        /**
+         * @return {@link MessageJournal#INBOUND}, {@link MessageJournal#OUTBOUND} or {@link MessageJournal#CONNECTED}
+         */
+        public byte getKind() {
+            return kind;
+        }
+
+        /**
+         * @return recorded bytes - one or more frames, the last one possibly truncated
+         */
+        public ByteBuf getPayload() {
+            return payload;
+        }
+    }
+
+    /**
+     * @param file journal file
+     * @return valid records ordered from the oldest
+     * @throws IOException if the file can not be read or is not a journal
+     */
+    public static List<Record> read(final File file) throws IOException {
+        final ByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+        }
+        if (buffer.capacity() < MessageJournal.FILE_HEADER_LENGTH || buffer.getLong(0) != MessageJournal.MAGIC) {
+            throw new IOException("File " + file + " is not a message journal");
+        }
+        final int capacity = buffer.getInt(12);
+        if (capacity <= 0 || buffer.capacity() < MessageJournal.FILE_HEADER_LENGTH + capacity) {
+            throw new IOException("Journal " + file + " is truncated");
+        }
+
+        final List<Record> records = new ArrayList<>();
+        long end = 0;
+        int offset = 0;
+        while (offset + MessageJournal.RECORD_HEADER_LENGTH <= capacity) {
+            final int base = MessageJournal.FILE_HEADER_LENGTH + offset;
+            final long position = ~buffer.getLong(base + MessageJournal.POSITION_OFFSET);
+            final int length = buffer.getInt(base);
+            final int recordLength = MessageJournal.align(MessageJournal.RECORD_HEADER_LENGTH + Math.max(0, length));
+            if (position < 0 || position % capacity != offset || length < 0 || length > capacity
+                    || offset + recordLength > capacity) {
+                // Skipped space, torn or partially overwritten record - look for next record header
+                offset += MessageJournal.ALIGNMENT;
+                continue;
+            }
+
+            final ByteBuf payload = Unpooled.wrappedBuffer(buffer.duplicate());
+            payload.setIndex(base + MessageJournal.RECORD_HEADER_LENGTH,
+                    base + MessageJournal.RECORD_HEADER_LENGTH + length);
+            records.add(new Record(position, buffer.getLong(base + MessageJournal.TIMESTAMP_OFFSET),
+                    buffer.getInt(base + MessageJournal.CONNECTION_ID_OFFSET),
+                    buffer.get(base + MessageJournal.KIND_OFFSET), payload.slice()));
+            end = Math.max(end, position + recordLength);
+            offset += recordLength;
+        }
+
+        // Records older than one ring length were partially overwritten by the newest lap
+        final List<Record> valid = new ArrayList<>(records.size());
+        for (Record record : records) {
+            if (record.position >= end - capacity) {
+                valid.add(record);
+            }
+        }
+        Collections.sort(valid, new Comparator<Record>() {
+            @Override
+            public int compare(final Record o1, final Record o2) {
+                return Long.compare(o1.position, o2.position);
+            }
+        });
+        return valid;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.opendaylight.openflowjava.protocol.api.connection.ExtendedThreadConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.EpollTrigger;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.NativeTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport selection and socket options shared by {@link TcpHandler}, {@link UdpHandler}
+ * and {@link TcpConnectionInitializer}.
+ *
+ * <p>
+ * Transport and socket tuning is read from {@link ExtendedThreadConfiguration}, other thread
+ * configurations get the defaults.
+ */
+final class NativeTransportSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NativeTransportSupport.class);
+    private static final int DEFAULT_ACCEPT_BACKLOG = 128;
+
+    private NativeTransportSupport() {
+        throw new UnsupportedOperationException("Utility class shouldn't be instantiated");
+    }
+
+    /**
+     * @param threadConfig thread configuration, may be null
+     * @return configured transport preference
+     */
+    static NativeTransport getNativeTransport(final ThreadConfiguration threadConfig) {
+        final ExtendedThreadConfiguration extended = extended(threadConfig);
+        if (extended == null || extended.getNativeTransport() == null) {
+            return NativeTransport.AUTO;
+        }
+        return extended.getNativeTransport();
+    }
+
+    private static ExtendedThreadConfiguration extended(final ThreadConfiguration threadConfig) {
+        return threadConfig instanceof ExtendedThreadConfiguration ? (ExtendedThreadConfiguration) threadConfig
+                : null;
+    }
+
+    /**
+     * @param threadConfig thread configuration, may be null
+     * @return true if epoll is allowed by configuration and available
+     */
+    static boolean useEpoll(final ThreadConfiguration threadConfig) {
+        return getNativeTransport(threadConfig) != NativeTransport.NIO && Epoll.isAvailable();
+    }
+
+    /**
+     * @param threadConfig thread configuration, may be null
+     * @return SO_BACKLOG of listening socket
+     */
+    static int getAcceptBacklog(final ThreadConfiguration threadConfig) {
+        final ExtendedThreadConfiguration extended = extended(threadConfig);
+        if (extended == null || extended.getAcceptBacklog() <= 0) {
+            return DEFAULT_ACCEPT_BACKLOG;
+        }
+        return extended.getAcceptBacklog();
+    }
+
+    /**
+     * @param threadConfig thread configuration, may be null
+     * @return SO_RCVBUF size in bytes, 0 for system default
+     */
+    static int getReceiveBufferSize(final ThreadConfiguration threadConfig) {
+        final ExtendedThreadConfiguration extended = extended(threadConfig);
+        return extended == null ? 0 : Math.max(extended.getReceiveBufferSize(), 0);
+    }
+
+    /**
+     * @param channelClass channel class of the connection
+     * @return true if the channel belongs to the epoll transport
+     */
+    static boolean isEpollChannel(final Class<? extends Channel> channelClass) {
+        return channelClass == EpollSocketChannel.class || channelClass == EpollServerSocketChannel.class
+                || channelClass == EpollDatagramChannel.class;
+    }
+
+    /**
+     * Socket options of connections as configured in {@link ExtendedThreadConfiguration}. Epoll specific
+     * options are added only for epoll channels, NIO channels get the generic ones.
+     * @param threadConfig thread configuration, may be null
+     * @param channelClass channel class of the connection
+     * @param tcp true for TCP connections, false for UDP
+     * @return options to be set on connection channels
+     */
+    static Map<ChannelOption<?>, Object> getSocketOptions(final ThreadConfiguration threadConfig,
+            final Class<? extends Channel> channelClass, final boolean tcp) {
+        final Map<ChannelOption<?>, Object> options = new LinkedHashMap<>();
+        final ExtendedThreadConfiguration extended = extended(threadConfig);
+        if (extended == null) {
+            return options;
+        }
+        if (extended.getReceiveBufferSize() > 0) {
+            options.put(ChannelOption.SO_RCVBUF, extended.getReceiveBufferSize());
+        }
+        if (extended.getSendBufferSize() > 0) {
+            options.put(ChannelOption.SO_SNDBUF, extended.getSendBufferSize());
+        }
+        if (!isEpollChannel(channelClass)) {
+            if (extended.getEpollTrigger() != null || extended.isTcpQuickAck() || extended.getBusyPollMicros() > 0) {
+                LOG.info("epoll specific socket options ignored, {} is not an epoll channel",
+                        channelClass.getSimpleName());
+            }
+            return options;
+        }
+
+        if (extended.getEpollTrigger() != null) {
+            options.put(EpollChannelOption.EPOLL_MODE, extended.getEpollTrigger() == EpollTrigger.LEVEL
+                    ? EpollMode.LEVEL_TRIGGERED : EpollMode.EDGE_TRIGGERED);
+        }
+        if (tcp && extended.isTcpQuickAck()) {
+            options.put(EpollChannelOption.TCP_QUICKACK, Boolean.TRUE);
+        }
+        if (extended.getBusyPollMicros() > 0) {
+            options.put(EpollChannelOption.SO_BUSY_POLL, extended.getBusyPollMicros());
+        }
+        return options;
+    }
+}
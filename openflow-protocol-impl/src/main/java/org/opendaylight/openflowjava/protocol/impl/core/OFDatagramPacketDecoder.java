@@ -39,8 +39,12 @@ public class OFDatagramPacketDecoder extends SimpleChannelInboundHandler<Version
             if (dataObject == null) {
                 LOG.warn("Translated POJO is null");
             } else {
-                MessageConsumer consumer = UdpConnectionMap.getMessageConsumer(msg.getAddress());
-                consumer.consume(dataObject);
+                MessageConsumer consumer = msg.getMessageConsumer();
+                if (consumer == null) {
+                    LOG.warn("No consumer of datagram from {}", msg.getAddress());
+                } else {
+                    consumer.consume(dataObject);
+                }
             }
         } catch(Exception e) {
             LOG.warn("Message deserialization failed", e);
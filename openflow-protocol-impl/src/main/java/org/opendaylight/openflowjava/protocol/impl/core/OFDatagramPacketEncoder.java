@@ -53,4 +53,11 @@ public class OFDatagramPacketEncoder extends MessageToMessageEncoder<UdpMessageL
     public void setSerializationFactory(SerializationFactory serializationFactory) {
         this.serializationFactory = serializationFactory;
     }
+
+    /**
+     * @return serialization factory used by this encoder
+     */
+    public SerializationFactory getSerializationFactory() {
+        return serializationFactory;
+    }
 }
\ No newline at end of file
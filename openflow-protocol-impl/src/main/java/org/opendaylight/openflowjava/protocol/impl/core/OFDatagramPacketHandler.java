@@ -21,6 +21,7 @@ import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAda
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactoryImpl;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageDispatchTable;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +39,8 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
     private static final byte LENGTH_INDEX_IN_HEADER = 2;
     private ConnectionAdapterFactory adapterFactory = new ConnectionAdapterFactoryImpl();
     private SwitchConnectionHandler connectionHandler;
+    private MessageDispatchTable messageDispatchTable = MessageDispatchTable.EMPTY;
+    private final UdpConnectionMap connectionMap;
 
     /**
      * Default constructor
@@ -45,7 +48,24 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
      * what to do with incomming message / channel
      */
     public OFDatagramPacketHandler(SwitchConnectionHandler sch) {
+        this(sch, new UdpConnectionMap());
+    }
+
+    /**
+     * @param sch the switchConnectionHandler that decides
+     * what to do with incomming message / channel
+     * @param connectionMap senders known to the server, shared by all its channels
+     */
+    public OFDatagramPacketHandler(SwitchConnectionHandler sch, UdpConnectionMap connectionMap) {
         this.connectionHandler = sch;
+        this.connectionMap = connectionMap;
+    }
+
+    /**
+     * @param messageDispatchTable decoded message handlers of new connections
+     */
+    public void setMessageDispatchTable(final MessageDispatchTable messageDispatchTable) {
+        this.messageDispatchTable = messageDispatchTable;
     }
 
     @Override
@@ -59,13 +79,15 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
     protected void decode(ChannelHandlerContext ctx, DatagramPacket msg,
             List<Object> out) throws Exception {
         LOG.debug("OFDatagramPacketFramer");
-        MessageConsumer consumer = UdpConnectionMap.getMessageConsumer(msg.sender());
+        MessageConsumer consumer = connectionMap.getMessageConsumer(msg.sender());
         if (consumer == null) {
             ConnectionFacade connectionFacade =
                     adapterFactory.createConnectionFacade(ctx.channel(), msg.sender(), false);
+            connectionFacade.setMessageDispatchTable(messageDispatchTable);
             connectionHandler.onSwitchConnected(connectionFacade);
             connectionFacade.checkListeners();
-            UdpConnectionMap.addConnection(msg.sender(), connectionFacade);
+            connectionMap.addConnection(msg.sender(), connectionFacade, ctx.channel().eventLoop());
+            consumer = connectionFacade;
         }
         ByteBuf bb = msg.content();
         int readableBytes = bb.readableBytes();
@@ -94,7 +116,7 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
         if ((version == EncodeConstants.OF13_VERSION_ID) || (version == EncodeConstants.OF10_VERSION_ID)) {
             LOG.debug("detected version: {}", version);
             ByteBuf messageBuffer = bb.slice();
-            out.add(new VersionMessageUdpWrapper(version, messageBuffer, msg.sender()));
+            out.add(new VersionMessageUdpWrapper(version, messageBuffer, msg.sender(), consumer));
             messageBuffer.retain();
         } else {
             LOG.warn("detected version: {} - currently not supported", version);
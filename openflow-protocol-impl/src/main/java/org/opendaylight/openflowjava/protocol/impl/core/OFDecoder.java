@@ -12,6 +12,10 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.statistics.CounterEventTypes;
@@ -22,7 +26,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Transforms OpenFlow Protocol messages to POJOs
+ * Transforms OpenFlow Protocol messages to POJOs. Frames selected by {@link DecodeOffloadPolicy}
+ * are deserialized on a worker pool, later frames of the same channel wait for them, so that
+ * the order of messages is preserved. This includes {@link ClassifiedFrame}s, whose raw handlers
+ * run on the I/O thread once the frames before them are passed on.
  * @author michal.polkorab
  */
 public class OFDecoder extends MessageToMessageDecoder<VersionMessageWrapper> {
@@ -32,6 +39,13 @@ public class OFDecoder extends MessageToMessageDecoder<VersionMessageWrapper> {
 
     // TODO: make this final?
     private DeserializationFactory deserializationFactory;
+    private volatile DecodeOffloadPolicy offloadPolicy;
+
+    /* Offloaded frames, queued by I/O thread, decoded in order by one worker at a time */
+    private final Queue<VersionMessageWrapper> offloadQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    /* Offloaded frames whose results were not yet passed on, accessed from I/O thread only */
+    private int pendingOffloaded;
 
     /**
      * Constructor of class
@@ -43,14 +57,55 @@ public class OFDecoder extends MessageToMessageDecoder<VersionMessageWrapper> {
     }
 
     @Override
-    protected void decode(ChannelHandlerContext ctx, VersionMessageWrapper msg,
-            List<Object> out) throws Exception {
+    protected void decode(final ChannelHandlerContext ctx, final VersionMessageWrapper msg,
+            final List<Object> out) throws Exception {
         statisticsCounter.incrementCounter(CounterEventTypes.US_RECEIVED_IN_OFJAVA);
         if (LOG.isDebugEnabled()) {
             LOG.debug("VersionMessageWrapper received");
             LOG.debug("<< {}", ByteBufUtils.byteBufToHexString(msg.getMessageBuffer()));
         }
 
+        final DecodeOffloadPolicy policy = offloadPolicy;
+        if (policy != null && (pendingOffloaded > 0 || (!(msg instanceof ClassifiedFrame)
+                && policy.shouldOffload(msg.getVersion(), msg.getMessageBuffer())))) {
+            pendingOffloaded++;
+            offloadQueue.add(msg);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    policy.getExecutor().execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            drainOffloaded(ctx);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Results still go through the event loop, behind those of earlier offloaded frames
+                    LOG.warn("Decode offload rejected on channel {}, decoding inline", ctx.channel(), e);
+                    drainOffloaded(ctx);
+                }
+            }
+            return;
+        }
+
+        final DataObject dataObject = msg instanceof ClassifiedFrame ? handleClassified((ClassifiedFrame) msg)
+                : deserialize(msg);
+        if (dataObject != null) {
+            out.add(dataObject);
+        }
+    }
+
+    /**
+     * @return true if frames were offloaded and their results were not passed on yet, I/O thread only
+     */
+    boolean hasPendingOffloaded() {
+        return pendingOffloaded > 0;
+    }
+
+    private DataObject handleClassified(final ClassifiedFrame frame) {
+        return frame.dispatch() ? null : deserialize(frame);
+    }
+
+    private DataObject deserialize(final VersionMessageWrapper msg) {
         try {
             final DataObject dataObject = deserializationFactory.deserialize(msg.getMessageBuffer(),
                     msg.getVersion());
@@ -58,17 +113,71 @@ public class OFDecoder extends MessageToMessageDecoder<VersionMessageWrapper> {
                 LOG.warn("Translated POJO is null");
                 statisticsCounter.incrementCounter(CounterEventTypes.US_DECODE_FAIL);
             } else {
-                out.add(dataObject);
                 statisticsCounter.incrementCounter(CounterEventTypes.US_DECODE_SUCCESS);
             }
+            return dataObject;
         } catch (Exception e) {
             LOG.warn("Message deserialization failed", e);
             statisticsCounter.incrementCounter(CounterEventTypes.US_DECODE_FAIL);
+            return null;
         } finally {
             msg.getMessageBuffer().release();
         }
     }
 
+    /**
+     * Runs on the worker pool. Results are handed back to the I/O thread one by one, in order.
+     */
+    private void drainOffloaded(final ChannelHandlerContext ctx) {
+        for (;;) {
+            VersionMessageWrapper msg;
+            while ((msg = offloadQueue.poll()) != null) {
+                // Claimed frames are handled on the I/O thread, in their turn
+                final ClassifiedFrame classified = msg instanceof ClassifiedFrame ? (ClassifiedFrame) msg : null;
+                final DataObject dataObject = classified == null ? deserialize(msg) : null;
+                try {
+                    ctx.executor().execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            pendingOffloaded--;
+                            final DataObject result = classified == null ? dataObject : handleClassified(classified);
+                            if (result != null) {
+                                ctx.fireChannelRead(result);
+                                ctx.fireChannelReadComplete();
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    LOG.debug("Event loop of channel {} is shut down, dropping offloaded frames", ctx.channel(), e);
+                    if (classified != null) {
+                        classified.getMessageBuffer().release();
+                    }
+                    releaseOffloaded();
+                }
+            }
+
+            draining.set(false);
+            // A frame may have been queued after the last poll, but before the flag was cleared
+            if (offloadQueue.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void releaseOffloaded() {
+        VersionMessageWrapper msg;
+        while ((msg = offloadQueue.poll()) != null) {
+            msg.getMessageBuffer().release();
+        }
+    }
+
+    /**
+     * @param offloadPolicy policy selecting frames decoded off the I/O thread, null to decode all frames inline
+     */
+    public void setOffloadPolicy(final DecodeOffloadPolicy offloadPolicy) {
+        this.offloadPolicy = offloadPolicy;
+    }
+
     /**
      * @param deserializationFactory
      */
@@ -76,4 +185,11 @@ public class OFDecoder extends MessageToMessageDecoder<VersionMessageWrapper> {
         this.deserializationFactory = deserializationFactory;
     }
 
+    /**
+     * @return deserialization factory used by this decoder
+     */
+    public DeserializationFactory getDeserializationFactory() {
+        return deserializationFactory;
+    }
+
 }
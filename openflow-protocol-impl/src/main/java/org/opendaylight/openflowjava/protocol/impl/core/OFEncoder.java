@@ -66,4 +66,11 @@ public class OFEncoder extends MessageToByteEncoder<MessageListenerWrapper> {
         this.serializationFactory = serializationFactory;
     }
 
+    /**
+     * @return serialization factory used by this encoder
+     */
+    public SerializationFactory getSerializationFactory() {
+        return serializationFactory;
+    }
+
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Classifies frames produced by {@link OFVersionDetector} by version, message type and
+ * optionally multipart type. Frames claimed by a {@link RawFrameHandler} are handled
+ * at byte level, all other frames are passed to {@link OFDecoder}. While the decoder still holds
+ * frames decoded off the I/O thread, claimed frames are passed to it as {@link ClassifiedFrame}s
+ * and handled in their turn, so that they do not overtake earlier messages.
+ */
+public class OFFrameClassifier extends MessageToMessageDecoder<VersionMessageWrapper> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OFFrameClassifier.class);
+    private volatile RawFrameDispatchTable dispatchTable;
+    private OFDecoder decoder;
+
+    /**
+     * Creates classifier without any handlers
+     */
+    public OFFrameClassifier() {
+        this(RawFrameDispatchTable.EMPTY);
+    }
+
+    /**
+     * @param dispatchTable initial dispatch table
+     */
+    public OFFrameClassifier(final RawFrameDispatchTable dispatchTable) {
+        this.dispatchTable = Preconditions.checkNotNull(dispatchTable);
+    }
+
+    /**
+     * Registers handler for all frames of given version and type
+     * @param version OpenFlow wire version
+     * @param type message type
+     * @param handler raw frame handler
+     */
+    public synchronized void registerHandler(final short version, final short type, final RawFrameHandler handler) {
+        dispatchTable = dispatchTable.with(version, type, handler);
+    }
+
+    /**
+     * Registers handler for multipart (stats) frames of given version, type and multipart type
+     * @param version OpenFlow wire version
+     * @param type multipart request or reply message type
+     * @param multipartType multipart type
+     * @param handler raw frame handler
+     */
+    public synchronized void registerHandler(final short version, final short type, final int multipartType,
+            final RawFrameHandler handler) {
+        dispatchTable = dispatchTable.with(version, type, multipartType, handler);
+    }
+
+    /**
+     * @param version OpenFlow wire version
+     * @param type message type
+     */
+    public synchronized void unregisterHandler(final short version, final short type) {
+        dispatchTable = dispatchTable.without(version, type);
+    }
+
+    /**
+     * @param version OpenFlow wire version
+     * @param type multipart request or reply message type
+     * @param multipartType multipart type
+     */
+    public synchronized void unregisterHandler(final short version, final short type, final int multipartType) {
+        dispatchTable = dispatchTable.without(version, type, multipartType);
+    }
+
+    /**
+     * @param decoder decoder following the classifier in the pipeline, whose offloaded frames
+     *        claimed frames must not overtake
+     */
+    public void setDecoder(final OFDecoder decoder) {
+        this.decoder = decoder;
+    }
+
+    /**
+     * @return currently used dispatch table
+     */
+    public RawFrameDispatchTable getDispatchTable() {
+        return dispatchTable;
+    }
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final VersionMessageWrapper msg, final List<Object> out) {
+        final ByteBuf frame = msg.getMessageBuffer();
+        final short version = msg.getVersion();
+        final short type = frame.getUnsignedByte(frame.readerIndex());
+        final RawFrameHandler handler = dispatchTable.lookup(version, type, frame);
+        if (handler != null) {
+            if (decoder != null && decoder.hasPendingOffloaded()) {
+                out.add(new ClassifiedFrame(ctx, version, type, frame, handler));
+                return;
+            }
+            if (dispatch(ctx, handler, version, type, frame)) {
+                return;
+            }
+        }
+        out.add(msg);
+    }
+
+    /**
+     * @return true if the frame was consumed or dropped and it was released, false if it has to be deserialized
+     */
+    static boolean dispatch(final ChannelHandlerContext ctx, final RawFrameHandler handler, final short version,
+            final short type, final ByteBuf frame) {
+        final boolean consumed;
+        try {
+            consumed = handler.handleFrame(ctx, version, type, frame);
+        } catch (RuntimeException e) {
+            LOG.warn("Raw frame handler {} failed on message type {}, dropping frame", handler, type, e);
+            frame.release();
+            return true;
+        }
+        if (consumed) {
+            LOG.trace("Frame version {} type {} consumed by {}", version, type, handler);
+            frame.release();
+        }
+        return consumed;
+    }
+}
@@ -10,18 +10,22 @@
 package org.opendaylight.openflowjava.protocol.impl.core;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 
 import java.util.List;
 
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Decodes incoming messages into message frames.
+ * Decodes incoming messages into message frames. Frames spanning several reads are counted
+ * in {@link CounterEventTypes#US_CUMULATION_COPY} or {@link CounterEventTypes#US_CUMULATION_COMPOSITE}.
  * @author michal.polkorab
  */
 public class OFFrameDecoder extends ByteToMessageDecoder {
@@ -30,6 +34,10 @@ public class OFFrameDecoder extends ByteToMessageDecoder {
     public static final byte LENGTH_OF_HEADER = 8;
     private static final byte LENGTH_INDEX_IN_HEADER = 2;
     private static final Logger LOG = LoggerFactory.getLogger(OFFrameDecoder.class);
+    private static final Cumulator COUNTING_MERGE_CUMULATOR =
+            new CountingCumulator(MERGE_CUMULATOR, CounterEventTypes.US_CUMULATION_COPY);
+    private static final Cumulator COUNTING_COMPOSITE_CUMULATOR =
+            new CountingCumulator(COMPOSITE_CUMULATOR, CounterEventTypes.US_CUMULATION_COMPOSITE);
     private ConnectionFacade connectionFacade;
     private boolean firstTlsPass = false;
 
@@ -45,6 +53,15 @@ public class OFFrameDecoder extends ByteToMessageDecoder {
             firstTlsPass = true;
         }
         this.connectionFacade = connectionFacade;
+        setCumulator(COUNTING_MERGE_CUMULATOR);
+    }
+
+    /**
+     * @param compositeCumulation true to join frames spanning several reads into a composite buffer
+     * instead of copying the reads into one buffer
+     */
+    public void setCompositeCumulation(boolean compositeCumulation) {
+        setCumulator(compositeCumulation ? COUNTING_COMPOSITE_CUMULATOR : COUNTING_MERGE_CUMULATOR);
     }
 
     @Override
@@ -91,4 +108,19 @@ public class OFFrameDecoder extends ByteToMessageDecoder {
         bb.skipBytes(length);
     }
 
+    private static final class CountingCumulator implements Cumulator {
+        private final Cumulator delegate;
+        private final CounterEventTypes counter;
+
+        CountingCumulator(final Cumulator delegate, final CounterEventTypes counter) {
+            this.delegate = delegate;
+            this.counter = counter;
+        }
+
+        @Override
+        public ByteBuf cumulate(final ByteBufAllocator alloc, final ByteBuf cumulation, final ByteBuf in) {
+            StatisticsCounters.getInstance().incrementCounter(counter);
+            return delegate.cumulate(alloc, cumulation, in);
+        }
+    }
 }
@@ -27,10 +27,22 @@ public enum PipelineHandlers {
      * Decodes incoming messages into message frames
      */
     OF_FRAME_DECODER,
+    /**
+     * Ends handshake of admission controlled channel
+     */
+    ADMISSION_HANDLER,
+    /**
+     * Records raw frames into message journal
+     */
+    MESSAGE_JOURNAL,
     /**
      * Detects version of incoming OpenFlow Protocol message
      */
     OF_VERSION_DETECTOR,
+    /**
+     * Dispatches selected message types to raw frame handlers
+     */
+    OF_FRAME_CLASSIFIER,
     /**
      * Transforms OpenFlow Protocol byte messages into POJOs
      */
@@ -12,6 +12,8 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ListenerDispatchPolicy;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageDispatchTable;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
 
@@ -28,6 +30,13 @@ public abstract class ProtocolChannelInitializer<C extends Channel>
     private DeserializationFactory deserializationFactory;
     private TlsConfiguration tlsConfiguration;
     private boolean useBarrier;
+    private RawFrameDispatchTable rawFrameDispatchTable = RawFrameDispatchTable.EMPTY;
+    private DecodeOffloadPolicy decodeOffloadPolicy;
+    private MessageJournalPolicy messageJournalPolicy;
+    private ReceiveBufferPolicy receiveBufferPolicy;
+    private AdmissionController admissionController;
+    private ListenerDispatchPolicy listenerDispatchPolicy;
+    private MessageDispatchTable messageDispatchTable = MessageDispatchTable.EMPTY;
 
     /**
      * @param switchConnectionHandler the switchConnectionHandler to set
@@ -112,4 +121,102 @@ public abstract class ProtocolChannelInitializer<C extends Channel>
     public boolean useBarrier() {
         return useBarrier;
     }
+
+    /**
+     * @param rawFrameDispatchTable initial raw frame handlers of new channels
+     */
+    public void setRawFrameDispatchTable(final RawFrameDispatchTable rawFrameDispatchTable) {
+        this.rawFrameDispatchTable = rawFrameDispatchTable;
+    }
+
+    /**
+     * @return initial raw frame handlers of new channels
+     */
+    public RawFrameDispatchTable getRawFrameDispatchTable() {
+        return rawFrameDispatchTable;
+    }
+
+    /**
+     * @param decodeOffloadPolicy policy of decoding off the I/O thread, null to decode inline
+     */
+    public void setDecodeOffloadPolicy(final DecodeOffloadPolicy decodeOffloadPolicy) {
+        this.decodeOffloadPolicy = decodeOffloadPolicy;
+    }
+
+    /**
+     * @return policy of decoding off the I/O thread, null if all frames are decoded inline
+     */
+    public DecodeOffloadPolicy getDecodeOffloadPolicy() {
+        return decodeOffloadPolicy;
+    }
+
+    /**
+     * @param messageJournalPolicy selection of raw frame journals, null to record nothing
+     */
+    public void setMessageJournalPolicy(final MessageJournalPolicy messageJournalPolicy) {
+        this.messageJournalPolicy = messageJournalPolicy;
+    }
+
+    /**
+     * @return selection of raw frame journals, null if frames are not recorded
+     */
+    public MessageJournalPolicy getMessageJournalPolicy() {
+        return messageJournalPolicy;
+    }
+
+    /**
+     * @param receiveBufferPolicy receive side tuning of new channels, null for transport defaults
+     */
+    public void setReceiveBufferPolicy(final ReceiveBufferPolicy receiveBufferPolicy) {
+        this.receiveBufferPolicy = receiveBufferPolicy;
+    }
+
+    /**
+     * @return receive side tuning of new channels, null if transport defaults are used
+     */
+    public ReceiveBufferPolicy getReceiveBufferPolicy() {
+        return receiveBufferPolicy;
+    }
+
+    /**
+     * @param admissionController limits of concurrent handshakes of new channels, null for no limits
+     */
+    public void setAdmissionController(final AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * @return limits of concurrent handshakes of new channels, null if not limited
+     */
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * @param listenerDispatchPolicy policy of invoking listeners off the I/O thread, null to invoke them inline
+     */
+    public void setListenerDispatchPolicy(final ListenerDispatchPolicy listenerDispatchPolicy) {
+        this.listenerDispatchPolicy = listenerDispatchPolicy;
+    }
+
+    /**
+     * @return policy of invoking listeners off the I/O thread, null if listeners are invoked inline
+     */
+    public ListenerDispatchPolicy getListenerDispatchPolicy() {
+        return listenerDispatchPolicy;
+    }
+
+    /**
+     * @param messageDispatchTable initial decoded message handlers of new connections
+     */
+    public void setMessageDispatchTable(final MessageDispatchTable messageDispatchTable) {
+        this.messageDispatchTable = messageDispatchTable;
+    }
+
+    /**
+     * @return initial decoded message handlers of new connections
+     */
+    public MessageDispatchTable getMessageDispatchTable() {
+        return messageDispatchTable;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import io.netty.buffer.ByteBuf;
+import java.util.HashMap;
+import java.util.Map;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+
+/**
+ * Immutable table mapping (version, type) and optionally (version, type, multipart type)
+ * to {@link RawFrameHandler}s. Modifications produce a new table, so lookups done
+ * from Netty threads need no synchronization.
+ */
+public final class RawFrameDispatchTable {
+
+    /** Table without any handlers - every frame goes to the decoder */
+    public static final RawFrameDispatchTable EMPTY = new RawFrameDispatchTable(
+            new RawFrameHandler[2 * MAX_TYPES], new boolean[2 * MAX_TYPES],
+            ImmutableMap.<Integer, RawFrameHandler>of());
+
+    /** OFPT_MULTIPART_REQUEST / OFPT_STATS_REQUEST message types */
+    private static final short OF13_MULTIPART_REQUEST = 18;
+    private static final short OF10_STATS_REQUEST = 16;
+    /** OFPT_MULTIPART_REPLY / OFPT_STATS_REPLY message types */
+    private static final short OF13_MULTIPART_REPLY = 19;
+    private static final short OF10_STATS_REPLY = 17;
+    /** Offset of multipart type counted from message type (type + length + xid) */
+    private static final int MULTIPART_TYPE_OFFSET = 7;
+    private static final int MAX_TYPES = 64;
+
+    private final RawFrameHandler[] handlers;
+    private final boolean[] multipartKeyed;
+    private final Map<Integer, RawFrameHandler> multipartHandlers;
+
+    private RawFrameDispatchTable(final RawFrameHandler[] handlers, final boolean[] multipartKeyed,
+            final Map<Integer, RawFrameHandler> multipartHandlers) {
+        this.handlers = handlers;
+        this.multipartKeyed = multipartKeyed;
+        this.multipartHandlers = multipartHandlers;
+    }
+
+    /**
+     * @param version OpenFlow wire version
+     * @param type message type
+     * @param handler handler for all frames of given version and type
+     * @return new table containing the handler
+     */
+    public RawFrameDispatchTable with(final short version, final short type, final RawFrameHandler handler) {
+        Preconditions.checkNotNull(handler);
+        final RawFrameHandler[] newHandlers = handlers.clone();
+        newHandlers[index(version, type)] = handler;
+        return new RawFrameDispatchTable(newHandlers, multipartKeyed, multipartHandlers);
+    }
+
+    /**
+     * @param version OpenFlow wire version
+     * @param type multipart (stats) request or reply message type
+     * @param multipartType multipart type carried in the message body
+     * @param handler handler for frames of given version, type and multipart type
+     * @return new table containing the handler
+     */
+    public RawFrameDispatchTable with(final short version, final short type, final int multipartType,
+            final RawFrameHandler handler) {
+        Preconditions.checkNotNull(handler);
+        Preconditions.checkArgument(isMultipart(version, type), "Type %s is not a multipart message", type);
+        final boolean[] newKeyed = multipartKeyed.clone();
+        newKeyed[index(version, type)] = true;
+        final Map<Integer, RawFrameHandler> newMap = new HashMap<>(multipartHandlers);
+        newMap.put(multipartKey(version, type, multipartType), handler);
+        return new RawFrameDispatchTable(handlers, newKeyed, ImmutableMap.copyOf(newMap));
+    }
+
+    /**
+     * @param version OpenFlow wire version
+     * @param type message type
+     * @return new table without the handler for given version and type
+     */
+    public RawFrameDispatchTable without(final short version, final short type) {
+        final RawFrameHandler[] newHandlers = handlers.clone();
+        newHandlers[index(version, type)] = null;
+        return new RawFrameDispatchTable(newHandlers, multipartKeyed, multipartHandlers);
+    }
+
+    /**
+     * @param version OpenFlow wire version
+     * @param type multipart (stats) request or reply message type
+     * @param multipartType multipart type carried in the message body
+     * @return new table without the handler for given version, type and multipart type
+     */
+    public RawFrameDispatchTable without(final short version, final short type, final int multipartType) {
+        final Map<Integer, RawFrameHandler> newMap = new HashMap<>(multipartHandlers);
+        newMap.remove(multipartKey(version, type, multipartType));
+
+        final boolean[] newKeyed = multipartKeyed.clone();
+        final int prefix = multipartKey(version, type, 0);
+        boolean keyed = false;
+        for (Integer key : newMap.keySet()) {
+            if ((key & 0xFFFF0000) == prefix) {
+                keyed = true;
+                break;
+            }
+        }
+        newKeyed[index(version, type)] = keyed;
+        return new RawFrameDispatchTable(handlers, newKeyed, ImmutableMap.copyOf(newMap));
+    }
+
+    /**
+     * @return true if no handler is registered
+     */
+    public boolean isEmpty() {
+        if (!multipartHandlers.isEmpty()) {
+            return false;
+        }
+        for (RawFrameHandler handler : handlers) {
+            if (handler != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds handler for the frame. Multipart type specific handlers take precedence
+     * over handlers registered for the whole message type.
+     *
+     * @param version OpenFlow wire version
+     * @param type message type
+     * @param frame frame with reader index pointing to message type
+     * @return handler or null if the frame should be deserialized
+     */
+    RawFrameHandler lookup(final short version, final short type, final ByteBuf frame) {
+        if (type >= MAX_TYPES) {
+            return null;
+        }
+        final int index = index(version, type);
+        if (multipartKeyed[index]
+                && frame.readableBytes() >= MULTIPART_TYPE_OFFSET + EncodeConstants.SIZE_OF_SHORT_IN_BYTES) {
+            final int multipartType = frame.getUnsignedShort(frame.readerIndex() + MULTIPART_TYPE_OFFSET);
+            final RawFrameHandler handler = multipartHandlers.get(multipartKey(version, type, multipartType));
+            if (handler != null) {
+                return handler;
+            }
+        }
+        return handlers[index];
+    }
+
+    private static int index(final short version, final short type) {
+        Preconditions.checkArgument(type >= 0 && type < MAX_TYPES, "Unsupported message type %s", type);
+        if (version == EncodeConstants.OF13_VERSION_ID) {
+            return MAX_TYPES + type;
+        }
+        Preconditions.checkArgument(version == EncodeConstants.OF10_VERSION_ID, "Unsupported version %s", version);
+        return type;
+    }
+
+    private static int multipartKey(final short version, final short type, final int multipartType) {
+        return (version << 24) | (type << 16) | (multipartType & 0xFFFF);
+    }
+
+    private static boolean isMultipart(final short version, final short type) {
+        if (version == EncodeConstants.OF13_VERSION_ID) {
+            return type == OF13_MULTIPART_REQUEST || type == OF13_MULTIPART_REPLY;
+        }
+        return type == OF10_STATS_REQUEST || type == OF10_STATS_REPLY;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Handles raw OpenFlow frames selected by {@link OFFrameClassifier}. Frames consumed
+ * by a handler never reach {@link OFDecoder}, so no POJO is created for them.
+ */
+public interface RawFrameHandler {
+
+    /**
+     * Handles a single frame. The frame is released by the classifier once this method
+     * returns - handlers that need the frame later have to retain it.
+     *
+     * @param ctx context of the classifier, writes issued on it bypass {@link OFEncoder}
+     * @param version OpenFlow wire version of the frame
+     * @param type message type of the frame
+     * @param frame frame content, reader index points to the message type
+     *        (version was already consumed by {@link OFVersionDetector})
+     * @return true if the frame was consumed, false if it should be passed to {@link OFDecoder}
+     */
+    boolean handleFrame(ChannelHandlerContext ctx, short version, short type, ByteBuf frame);
+}
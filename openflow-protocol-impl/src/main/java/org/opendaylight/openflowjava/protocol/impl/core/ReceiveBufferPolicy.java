@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.RecvByteBufAllocator;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+/**
+ * Receive side tuning of TCP / TLS connections - size of buffers read from the socket, number of
+ * reads per event loop wakeup and the way {@link OFFrameDecoder} joins frames spanning several reads.
+ * Composite cumulation appends reads without copying them, which pays off for large multipart
+ * replies of stats-heavy switches. Settings of selected switches can be overridden with
+ * {@link #withSwitch(InetAddress, ReceiveBufferPolicy)}.
+ *
+ * <p>
+ * UDP channels read a single datagram per buffer, one syscall each. A {@link #fixed(int)} policy
+ * sized to the largest expected datagram avoids truncation by a shrinking adaptive buffer, and
+ * {@link #withMaxMessagesPerRead(int)} bounds datagrams read per wakeup. Composite cumulation and
+ * switch overrides do not apply to UDP. Instances are immutable.
+ */
+public final class ReceiveBufferPolicy {
+
+    private final RecvByteBufAllocator allocator;
+    private final int maxMessagesPerRead;
+    private final boolean compositeCumulation;
+    private final Map<InetAddress, ReceiveBufferPolicy> switchPolicies;
+
+    private ReceiveBufferPolicy(final RecvByteBufAllocator allocator, final int maxMessagesPerRead,
+            final boolean compositeCumulation, final Map<InetAddress, ReceiveBufferPolicy> switchPolicies) {
+        Preconditions.checkArgument(maxMessagesPerRead >= 0, "Negative messages per read %s", maxMessagesPerRead);
+        this.allocator = allocator;
+        this.maxMessagesPerRead = maxMessagesPerRead;
+        this.compositeCumulation = compositeCumulation;
+        this.switchPolicies = switchPolicies;
+    }
+
+    /**
+     * @param minimum minimal receive buffer size in bytes
+     * @param initial receive buffer size used before any feedback is received
+     * @param maximum maximal receive buffer size in bytes
+     * @return policy sizing receive buffers by the amount of data read recently
+     */
+    public static ReceiveBufferPolicy adaptive(final int minimum, final int initial, final int maximum) {
+        return new ReceiveBufferPolicy(new AdaptiveRecvByteBufAllocator(minimum, initial, maximum), 0, false,
+                ImmutableMap.<InetAddress, ReceiveBufferPolicy>of());
+    }
+
+    /**
+     * @param size receive buffer size in bytes
+     * @return policy reading into buffers of fixed size
+     */
+    public static ReceiveBufferPolicy fixed(final int size) {
+        return new ReceiveBufferPolicy(new FixedRecvByteBufAllocator(size), 0, false,
+                ImmutableMap.<InetAddress, ReceiveBufferPolicy>of());
+    }
+
+    /**
+     * @param maxMessagesPerRead maximal number of socket reads per event loop wakeup, 0 for transport default
+     * @return policy with updated reads per wakeup
+     */
+    public ReceiveBufferPolicy withMaxMessagesPerRead(final int maxMessagesPerRead) {
+        return new ReceiveBufferPolicy(allocator, maxMessagesPerRead, compositeCumulation, switchPolicies);
+    }
+
+    /**
+     * @param compositeCumulation true to join reads into a composite buffer instead of copying them
+     * @return policy with updated cumulation mode
+     */
+    public ReceiveBufferPolicy withCompositeCumulation(final boolean compositeCumulation) {
+        return new ReceiveBufferPolicy(allocator, maxMessagesPerRead, compositeCumulation, switchPolicies);
+    }
+
+    /**
+     * @param address switch address
+     * @param policy policy of connections from given address, its own overrides are ignored
+     * @return policy with updated override
+     */
+    public ReceiveBufferPolicy withSwitch(final InetAddress address, final ReceiveBufferPolicy policy) {
+        Preconditions.checkNotNull(address);
+        Preconditions.checkNotNull(policy);
+        final ImmutableMap.Builder<InetAddress, ReceiveBufferPolicy> builder = ImmutableMap.builder();
+        for (Map.Entry<InetAddress, ReceiveBufferPolicy> entry : switchPolicies.entrySet()) {
+            if (!entry.getKey().equals(address)) {
+                builder.put(entry);
+            }
+        }
+        return new ReceiveBufferPolicy(allocator, maxMessagesPerRead, compositeCumulation,
+                builder.put(address, policy).build());
+    }
+
+    /**
+     * @param remoteAddress switch address, may be null
+     * @return policy applicable to given switch
+     */
+    ReceiveBufferPolicy policyFor(final InetSocketAddress remoteAddress) {
+        if (remoteAddress != null && !switchPolicies.isEmpty()) {
+            final ReceiveBufferPolicy policy = switchPolicies.get(remoteAddress.getAddress());
+            if (policy != null) {
+                return policy;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Applies allocator and reads per wakeup to a channel
+     * @param config channel configuration
+     */
+    void configure(final ChannelConfig config) {
+        config.setRecvByteBufAllocator(allocator);
+        if (maxMessagesPerRead > 0) {
+            config.setMaxMessagesPerRead(maxMessagesPerRead);
+        }
+    }
+
+    /**
+     * @return true if reads are joined into a composite buffer instead of being copied
+     */
+    public boolean isCompositeCumulation() {
+        return compositeCumulation;
+    }
+
+    /**
+     * @return maximal number of socket reads per event loop wakeup, 0 for transport default
+     */
+    public int getMaxMessagesPerRead() {
+        return maxMessagesPerRead;
+    }
+}
@@ -13,12 +13,15 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.List;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.ExtendedThreadConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
 import org.opendaylight.openflowjava.protocol.spi.connection.SwitchConnectionProvider;
 import org.opendaylight.openflowjava.protocol.spi.connection.SwitchConnectionProviderFactory;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.EpollTrigger;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.KeystoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.NativeTransport;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.TransportProtocol;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflow._switch.connection.config.rev160506.SwitchConnectionConfig;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflow._switch.connection.config.rev160506._switch.connection.config.Threads;
@@ -55,6 +58,10 @@ public class SwitchConnectionProviderFactoryImpl implements SwitchConnectionProv
         }
     }
 
+    private static int toInt(final Long value) {
+        return value != null ? (int) Math.min(value, Integer.MAX_VALUE) : 0;
+    }
+
     private static byte[] address2bin(final String value) {
         //TODO: translate ipv4 or ipv6 into byte[]
         return null;
@@ -157,15 +164,50 @@ public class SwitchConnectionProviderFactoryImpl implements SwitchConnectionProv
                 return null;
             }
 
-            return new ThreadConfiguration() {
+            return new ExtendedThreadConfiguration() {
                 @Override
                 public int getWorkerThreadCount() {
-                    return threads.getWorkerThreads();
+                    return threads.getWorkerThreads() != null ? threads.getWorkerThreads() : 0;
                 }
 
                 @Override
                 public int getBossThreadCount() {
-                    return threads.getBossThreads();
+                    return threads.getBossThreads() != null ? threads.getBossThreads() : 0;
+                }
+
+                @Override
+                public NativeTransport getNativeTransport() {
+                    return threads.getNativeTransport();
+                }
+
+                @Override
+                public EpollTrigger getEpollTrigger() {
+                    return threads.getEpollTrigger();
+                }
+
+                @Override
+                public boolean isTcpQuickAck() {
+                    return Boolean.TRUE.equals(threads.isTcpQuickAck());
+                }
+
+                @Override
+                public int getBusyPollMicros() {
+                    return toInt(threads.getBusyPoll());
+                }
+
+                @Override
+                public int getReceiveBufferSize() {
+                    return toInt(threads.getReceiveBufferSize());
+                }
+
+                @Override
+                public int getSendBufferSize() {
+                    return toInt(threads.getSendBufferSize());
+                }
+
+                @Override
+                public int getAcceptBacklog() {
+                    return threads.getAcceptBacklog() != null ? threads.getAcceptBacklog() : 0;
                 }
             };
         }
@@ -12,7 +12,6 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.epoll.Epoll;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
@@ -33,6 +32,9 @@ import org.opendaylight.openflowjava.protocol.api.keys.MatchEntryDeserializerKey
 import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ListenerDispatchPolicy;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageDispatchTable;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageHandler;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
@@ -46,6 +48,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.meter.band.header.meter.band.MeterBandExperimenterCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.queue.property.header.QueueProperty;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.table.features.properties.grouping.TableFeatureProperties;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,6 +71,14 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
     private final DeserializerRegistry deserializerRegistry;
     private final DeserializationFactory deserializationFactory;
     private TcpConnectionInitializer connectionInitializer;
+    private volatile RawFrameDispatchTable rawFrameDispatchTable = RawFrameDispatchTable.EMPTY;
+    private volatile DecodeOffloadPolicy decodeOffloadPolicy;
+    private volatile MessageJournalPolicy messageJournalPolicy;
+    private volatile ReceiveBufferPolicy receiveBufferPolicy;
+    private volatile AdmissionController admissionController;
+    private volatile long udpConnectionIdleTimeout;
+    private volatile ListenerDispatchPolicy listenerDispatchPolicy;
+    private volatile MessageDispatchTable messageDispatchTable = MessageDispatchTable.EMPTY;
 
     /** Constructor */
     public SwitchConnectionProviderImpl() {
@@ -134,11 +145,18 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
         factory.setSerializationFactory(serializationFactory);
         factory.setDeserializationFactory(deserializationFactory);
         factory.setUseBarrier(connConfig.useBarrier());
+        factory.setRawFrameDispatchTable(rawFrameDispatchTable);
+        factory.setDecodeOffloadPolicy(decodeOffloadPolicy);
+        factory.setMessageJournalPolicy(messageJournalPolicy);
+        factory.setReceiveBufferPolicy(receiveBufferPolicy);
+        factory.setAdmissionController(admissionController);
+        factory.setUdpConnectionIdleTimeout(udpConnectionIdleTimeout);
+        factory.setListenerDispatchPolicy(listenerDispatchPolicy);
+        factory.setMessageDispatchTable(messageDispatchTable);
         final TransportProtocol transportProtocol = (TransportProtocol) connConfig.getTransferProtocol();
 
-        // Check if Epoll native transport is available.
-        // TODO : Add option to disable Epoll.
-        boolean isEpollEnabled = Epoll.isAvailable();
+        // Check if Epoll native transport is available and not disabled by configuration
+        boolean isEpollEnabled = NativeTransportSupport.useEpoll(connConfig.getThreadConfiguration());
 
         if (transportProtocol.equals(TransportProtocol.TCP) || transportProtocol.equals(TransportProtocol.TLS)) {
             server = new TcpHandler(connConfig.getAddress(), connConfig.getPort());
@@ -147,8 +165,10 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
             ((TcpHandler) server).initiateEventLoopGroups(connConfig.getThreadConfiguration(), isEpollEnabled);
 
             final EventLoopGroup workerGroupFromTcpHandler = ((TcpHandler) server).getWorkerGroup();
-            connectionInitializer = new TcpConnectionInitializer(workerGroupFromTcpHandler, isEpollEnabled);
+            connectionInitializer = new TcpConnectionInitializer(workerGroupFromTcpHandler,
+                    ((TcpHandler) server).getClientChannelClass());
             connectionInitializer.setChannelInitializer(channelInitializer);
+            connectionInitializer.setThreadConfig(connConfig.getThreadConfiguration());
             connectionInitializer.run();
         } else if (transportProtocol.equals(TransportProtocol.UDP)){
             server = new UdpHandler(connConfig.getAddress(), connConfig.getPort());
@@ -279,6 +299,116 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
         serializerRegistry.registerSerializer(key, serializer);
     }
 
+    /**
+     * Registers raw frame handler used by every TCP / TLS connection accepted after startup.
+     * Must be called before {@link #startup()}.
+     * @param version OpenFlow wire version
+     * @param type message type
+     * @param handler raw frame handler
+     */
+    public synchronized void registerRawFrameHandler(final short version, final short type,
+            final RawFrameHandler handler) {
+        rawFrameDispatchTable = rawFrameDispatchTable.with(version, type, handler);
+    }
+
+    /**
+     * Registers raw frame handler for multipart (stats) frames of given multipart type,
+     * used by every TCP / TLS connection accepted after startup. Must be called before {@link #startup()}.
+     * @param version OpenFlow wire version
+     * @param type multipart request or reply message type
+     * @param multipartType multipart type
+     * @param handler raw frame handler
+     */
+    public synchronized void registerRawFrameHandler(final short version, final short type,
+            final int multipartType, final RawFrameHandler handler) {
+        rawFrameDispatchTable = rawFrameDispatchTable.with(version, type, multipartType, handler);
+    }
+
+    /**
+     * Sets policy selecting frames (e.g. large multipart replies) which TCP / TLS connections decode
+     * on a worker pool instead of the I/O thread. Must be called before {@link #startup()}.
+     * @param decodeOffloadPolicy offload policy, null to decode all frames on the I/O thread
+     */
+    public void setDecodeOffloadPolicy(final DecodeOffloadPolicy decodeOffloadPolicy) {
+        this.decodeOffloadPolicy = decodeOffloadPolicy;
+    }
+
+    /**
+     * Enables recording of raw inbound and outbound frames of TCP / TLS connections into memory-mapped
+     * ring journals. The policy is not closed by this provider. Must be called before {@link #startup()}.
+     * @param messageJournalPolicy journal selection, null to record nothing
+     */
+    public void setMessageJournalPolicy(final MessageJournalPolicy messageJournalPolicy) {
+        this.messageJournalPolicy = messageJournalPolicy;
+    }
+
+    /**
+     * Sets receive buffer sizing, reads per wakeup and frame cumulation mode of TCP / TLS connections,
+     * optionally overridden for selected switches, or datagram sizing and datagrams read per wakeup
+     * of UDP channels. Must be called before {@link #startup()}.
+     * @param receiveBufferPolicy receive side tuning, null for transport defaults
+     */
+    public void setReceiveBufferPolicy(final ReceiveBufferPolicy receiveBufferPolicy) {
+        this.receiveBufferPolicy = receiveBufferPolicy;
+    }
+
+    /**
+     * Limits concurrent handshakes and the accept rate of TCP / TLS connections, so that a reconnect
+     * storm is admitted gradually. Must be called before {@link #startup()}.
+     * @param admissionController admission limits, null to start handshakes of all connections at once
+     */
+    public void setAdmissionController(final AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * Sets time of silence after which a UDP sender is forgotten and its connection receives
+     * a DisconnectEvent. Must be called before {@link #startup()}.
+     * @param udpConnectionIdleTimeout idle timeout in milliseconds, 0 to never forget senders
+     */
+    public void setUdpConnectionIdleTimeout(final long udpConnectionIdleTimeout) {
+        this.udpConnectionIdleTimeout = udpConnectionIdleTimeout;
+    }
+
+    /**
+     * Sets policy of invoking application listeners of TCP / TLS connections on a worker pool,
+     * so that a slow listener does not stall I/O of other switches. Must be called before {@link #startup()}.
+     * @param listenerDispatchPolicy dispatch policy, null to invoke listeners on the I/O thread
+     */
+    public void setListenerDispatchPolicy(final ListenerDispatchPolicy listenerDispatchPolicy) {
+        this.listenerDispatchPolicy = listenerDispatchPolicy;
+    }
+
+    /**
+     * Sets minimal length of PacketOut payloads committed through
+     * {@link org.opendaylight.openflowjava.protocol.api.connection.ExtendedOutboundQueue#commitPacketOutEntry}
+     * which are sent without being copied. Shorter payloads are copied, as a composite buffer costs more
+     * than copying them.
+     * @param zeroCopyThreshold payload length in bytes
+     */
+    public void setZeroCopyThreshold(final int zeroCopyThreshold) {
+        serializationFactory.setZeroCopyThreshold(zeroCopyThreshold);
+    }
+
+    /**
+     * Registers handler of decoded messages of given type, consulted before the built-in processing
+     * of every connection accepted after startup. Must be called before {@link #startup()}.
+     * @param type message interface
+     * @param handler message handler
+     */
+    public synchronized void registerMessageHandler(final Class<? extends DataContainer> type,
+            final MessageHandler handler) {
+        messageDispatchTable = messageDispatchTable.with(type, handler);
+    }
+
+    /**
+     * Unregisters handler of decoded messages of given type. Must be called before {@link #startup()}.
+     * @param type message interface
+     */
+    public synchronized void unregisterMessageHandler(final Class<? extends DataContainer> type) {
+        messageDispatchTable = messageDispatchTable.without(type);
+    }
+
     @Override
     public void initiateConnection(final String host, final int port) {
         connectionInitializer.initiateConnection(host, port);
@@ -67,10 +67,27 @@ public class TcpChannelInitializer extends ProtocolChannelInitializer<SocketChan
                 return;
             }
         }
+        final AdmissionController admissionController = getAdmissionController();
+        if (admissionController != null) {
+            LOG.debug("Incoming connection accepted - waiting for admission");
+            admissionController.admit(ch, new AdmissionController.AdmissionCallback() {
+                @Override
+                public void admitted(final AdmissionController.Admission admission) {
+                    buildPipeline(ch, admission);
+                }
+            });
+            return;
+        }
+        buildPipeline(ch, null);
+    }
+
+    private void buildPipeline(final SocketChannel ch, final AdmissionController.Admission admission) {
         LOG.debug("Incoming connection accepted - building pipeline");
         allChannels.add(ch);
         ConnectionFacade connectionFacade = null;
         connectionFacade = connectionAdapterFactory.createConnectionFacade(ch, null, useBarrier());
+        connectionFacade.setListenerDispatchPolicy(getListenerDispatchPolicy());
+        connectionFacade.setMessageDispatchTable(getMessageDispatchTable());
         try {
             LOG.debug("calling plugin: {}", getSwitchConnectionHandler());
             getSwitchConnectionHandler().onSwitchConnected(connectionFacade);
@@ -103,11 +120,29 @@ public class TcpChannelInitializer extends ProtocolChannelInitializer<SocketChan
                 });
                 ch.pipeline().addLast(PipelineHandlers.SSL_HANDLER.name(), ssl);
             }
-            ch.pipeline().addLast(PipelineHandlers.OF_FRAME_DECODER.name(),
-                    new OFFrameDecoder(connectionFacade, tlsPresent));
+            final OFFrameDecoder frameDecoder = new OFFrameDecoder(connectionFacade, tlsPresent);
+            final ReceiveBufferPolicy receivePolicy = getReceiveBufferPolicy() == null ? null
+                    : getReceiveBufferPolicy().policyFor(ch.remoteAddress());
+            if (receivePolicy != null) {
+                receivePolicy.configure(ch.config());
+                frameDecoder.setCompositeCumulation(receivePolicy.isCompositeCumulation());
+            }
+            ch.pipeline().addLast(PipelineHandlers.OF_FRAME_DECODER.name(), frameDecoder);
+            if (admission != null) {
+                ch.pipeline().addLast(PipelineHandlers.ADMISSION_HANDLER.name(), new AdmissionHandler(admission));
+            }
+            final MessageJournal journal = getMessageJournalPolicy() == null ? null
+                    : getMessageJournalPolicy().journalFor(ch.remoteAddress());
+            if (journal != null) {
+                ch.pipeline().addLast(PipelineHandlers.MESSAGE_JOURNAL.name(), new MessageJournalHandler(journal));
+            }
             ch.pipeline().addLast(PipelineHandlers.OF_VERSION_DETECTOR.name(), new OFVersionDetector());
             final OFDecoder ofDecoder = new OFDecoder();
             ofDecoder.setDeserializationFactory(getDeserializationFactory());
+            ofDecoder.setOffloadPolicy(getDecodeOffloadPolicy());
+            final OFFrameClassifier frameClassifier = new OFFrameClassifier(getRawFrameDispatchTable());
+            frameClassifier.setDecoder(ofDecoder);
+            ch.pipeline().addLast(PipelineHandlers.OF_FRAME_CLASSIFIER.name(), frameClassifier);
             ch.pipeline().addLast(PipelineHandlers.OF_DECODER.name(), ofDecoder);
             final OFEncoder ofEncoder = new OFEncoder();
             ofEncoder.setSerializationFactory(getSerializationFactory());
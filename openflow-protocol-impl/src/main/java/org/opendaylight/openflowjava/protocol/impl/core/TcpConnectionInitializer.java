@@ -9,9 +9,12 @@
 package org.opendaylight.openflowjava.protocol.impl.core;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.Map;
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,27 +38,36 @@ public class TcpConnectionInitializer implements ServerFacade,
 
     private TcpChannelInitializer channelInitializer;
     private Bootstrap b;
-    private boolean isEpollEnabled;
+    private final Class<? extends Channel> channelClass;
 
     /**
      * Constructor
      * @param workerGroup - shared worker group
      */
     public TcpConnectionInitializer(EventLoopGroup workerGroup, boolean isEpollEnabled) {
+        this(workerGroup, isEpollEnabled ? EpollSocketChannel.class : NioSocketChannel.class);
+    }
+
+    /**
+     * Constructor
+     * @param workerGroup - shared worker group
+     * @param channelClass - channel class matching the transport of worker group
+     */
+    public TcpConnectionInitializer(EventLoopGroup workerGroup, Class<? extends Channel> channelClass) {
         Preconditions.checkNotNull(workerGroup, "WorkerGroup can't be null");
         this.workerGroup = workerGroup;
-        this.isEpollEnabled = isEpollEnabled;
+        this.channelClass = Preconditions.checkNotNull(channelClass, "ChannelClass can't be null");
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void run() {
         b = new Bootstrap();
-        if(isEpollEnabled) {
-            b.group(workerGroup).channel(EpollSocketChannel.class)
-                    .handler(channelInitializer);
-        } else {
-            b.group(workerGroup).channel(NioSocketChannel.class)
-                    .handler(channelInitializer);
+        b.group(workerGroup).channel(channelClass)
+                .handler(channelInitializer);
+        for (Map.Entry<ChannelOption<?>, Object> option : NativeTransportSupport.getSocketOptions(threadConfig,
+                channelClass, true).entrySet()) {
+            b.option((ChannelOption<Object>) option.getKey(), option.getValue());
         }
     }
 
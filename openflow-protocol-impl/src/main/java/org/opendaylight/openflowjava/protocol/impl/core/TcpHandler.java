@@ -10,11 +10,13 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.concurrent.GenericFutureListener;
@@ -23,9 +25,11 @@ import io.netty.channel.epoll.Epoll;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.Map;
 
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.slf4j.Logger;
@@ -64,6 +68,7 @@ public class TcpHandler implements ServerFacade {
     private TcpChannelInitializer channelInitializer;
 
     private Class<? extends ServerSocketChannel> socketChannelClass;
+    private Class<? extends Channel> clientChannelClass;
 
     /**
      * Constructor of TCPHandler that listens on selected port.
@@ -89,6 +94,7 @@ public class TcpHandler implements ServerFacade {
      * Starts server on selected port.
      */
     @Override
+    @SuppressWarnings("unchecked")
     public void run() {
         /*
          * We generally do not perform IO-unrelated tasks, so we want to have
@@ -107,7 +113,7 @@ public class TcpHandler implements ServerFacade {
                     .channel(socketChannelClass)
                     .handler(new LoggingHandler(LogLevel.DEBUG))
                     .childHandler(channelInitializer)
-                    .option(ChannelOption.SO_BACKLOG, 128)
+                    .option(ChannelOption.SO_BACKLOG, NativeTransportSupport.getAcceptBacklog(threadConfig))
                     .option(ChannelOption.SO_REUSEADDR, true)
                     .childOption(ChannelOption.SO_KEEPALIVE, true)
                     .childOption(ChannelOption.TCP_NODELAY , true)
@@ -115,6 +121,15 @@ public class TcpHandler implements ServerFacade {
                     .childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, DEFAULT_WRITE_HIGH_WATERMARK * 1024)
                     .childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, DEFAULT_WRITE_LOW_WATERMARK * 1024)
                     .childOption(ChannelOption.WRITE_SPIN_COUNT, DEFAULT_WRITE_SPIN_COUNT);
+            for (Map.Entry<ChannelOption<?>, Object> option : NativeTransportSupport.getSocketOptions(threadConfig,
+                    socketChannelClass, true).entrySet()) {
+                b.childOption((ChannelOption<Object>) option.getKey(), option.getValue());
+            }
+            final int receiveBufferSize = NativeTransportSupport.getReceiveBufferSize(threadConfig);
+            if (receiveBufferSize > 0) {
+                // Accepted sockets inherit window scaling negotiated with the listening socket's buffer
+                b.option(ChannelOption.SO_RCVBUF, receiveBufferSize);
+            }
 
             if (startupAddress != null) {
                 f = b.bind(startupAddress.getHostAddress(), port).sync();
@@ -225,6 +240,7 @@ public class TcpHandler implements ServerFacade {
      */
     public void initiateNioEventLoopGroups(ThreadConfiguration threadConfiguration) {
         socketChannelClass = NioServerSocketChannel.class;
+        clientChannelClass = NioSocketChannel.class;
         if (threadConfiguration != null) {
             bossGroup = new NioEventLoopGroup(threadConfiguration.getBossThreadCount());
             workerGroup = new NioEventLoopGroup(threadConfiguration.getWorkerThreadCount());
@@ -242,6 +258,7 @@ public class TcpHandler implements ServerFacade {
     protected void initiateEpollEventLoopGroups(ThreadConfiguration threadConfiguration) {
         try {
             socketChannelClass = EpollServerSocketChannel.class;
+            clientChannelClass = EpollSocketChannel.class;
             if (threadConfiguration != null) {
                     bossGroup = new EpollEventLoopGroup(threadConfiguration.getBossThreadCount());
                 workerGroup = new EpollEventLoopGroup(threadConfiguration.getWorkerThreadCount());
@@ -259,6 +276,13 @@ public class TcpHandler implements ServerFacade {
         initiateNioEventLoopGroups(threadConfiguration);
     }
 
+    /**
+     * @return channel class of connections initiated towards switches, matching the server transport
+     */
+    public Class<? extends Channel> getClientChannelClass() {
+        return clientChannelClass;
+    }
+
     /**
      * @return workerGroup
      */
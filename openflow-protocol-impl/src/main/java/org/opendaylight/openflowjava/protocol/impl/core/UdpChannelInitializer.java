@@ -16,10 +16,18 @@ import io.netty.channel.socket.DatagramChannel;
  */
 public class UdpChannelInitializer extends ProtocolChannelInitializer<DatagramChannel> {
 
+    private UdpConnectionMap connectionMap = new UdpConnectionMap();
+
     @Override
     protected void initChannel(DatagramChannel ch) throws Exception {
+        OFDatagramPacketHandler ofDatagramPacketHandler = new OFDatagramPacketHandler(getSwitchConnectionHandler(),
+                connectionMap);
+        ofDatagramPacketHandler.setMessageDispatchTable(getMessageDispatchTable());
+        if (getReceiveBufferPolicy() != null) {
+            getReceiveBufferPolicy().configure(ch.config());
+        }
         ch.pipeline().addLast(PipelineHandlers.OF_DATAGRAMPACKET_HANDLER.name(),
-                new OFDatagramPacketHandler(getSwitchConnectionHandler()));
+                ofDatagramPacketHandler);
         OFDatagramPacketDecoder ofDatagramPacketDecoder = new OFDatagramPacketDecoder();
         ofDatagramPacketDecoder.setDeserializationFactory(getDeserializationFactory());
         ch.pipeline().addLast(PipelineHandlers.OF_DATAGRAMPACKET_DECODER.name(),
@@ -28,4 +36,18 @@ public class UdpChannelInitializer extends ProtocolChannelInitializer<DatagramCh
         ofDatagramPacketEncoder.setSerializationFactory(getSerializationFactory());
         ch.pipeline().addLast(PipelineHandlers.OF_ENCODER.name(), ofDatagramPacketEncoder);
     }
+
+    /**
+     * @param connectionMap senders known to the server, shared by all its channels
+     */
+    public void setConnectionMap(final UdpConnectionMap connectionMap) {
+        this.connectionMap = connectionMap;
+    }
+
+    /**
+     * @return senders known to the server
+     */
+    public UdpConnectionMap getConnectionMap() {
+        return connectionMap;
+    }
 }
\ No newline at end of file
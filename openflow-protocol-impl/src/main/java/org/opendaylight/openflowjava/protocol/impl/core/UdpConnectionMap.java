@@ -8,55 +8,180 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import java.net.InetSocketAddress;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEventBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * As UDP communication is handled only by one channel, it is needed
- * to store MessageConsumers, so that we know which consumer handles which channel
+ * As UDP communication is not connection oriented, it is needed to store MessageConsumers,
+ * so that we know which consumer handles which sender. One map is shared by all channels of
+ * a UDP server. Senders which stay silent for the idle timeout are evicted by a timer wheel -
+ * each sender keeps a single timeout, which is rescheduled when it fires while the sender
+ * was active meanwhile. Only the consumer of the evicted sender receives a DisconnectEvent,
+ * disconnecting it in response does not affect the datagram channel shared with other senders.
 
  * @author michal.polkorab
  */
-public final class UdpConnectionMap {
+public final class UdpConnectionMap implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UdpConnectionMap.class);
+    private static final long TICK_MILLIS = 100;
+
+    private final ConcurrentMap<InetSocketAddress, Connection> connections = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+    private final HashedWheelTimer timer;
+
+    /**
+     * Creates map which never evicts senders
+     */
+    public UdpConnectionMap() {
+        this(0);
+    }
+
+    /**
+     * @param idleTimeoutMillis time of sender silence after which it is evicted, 0 to never evict
+     */
+    public UdpConnectionMap(final long idleTimeoutMillis) {
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Idle timeout can not be negative");
+        }
+        idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        timer = idleTimeoutMillis == 0 ? null
+                : new HashedWheelTimer(new DefaultThreadFactory("ofjava-udp-idle", true), TICK_MILLIS,
+                        TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sender entry, remembers when the sender was last seen
+     */
+    private final class Connection implements TimerTask {
+        private final InetSocketAddress address;
+        private final MessageConsumer consumer;
+        private final Executor executor;
+        private volatile long lastSeen = System.nanoTime();
+        private volatile Timeout timeout;
 
-    private static Map<InetSocketAddress, MessageConsumer> connectionMap = new ConcurrentHashMap<>();
+        Connection(final InetSocketAddress address, final MessageConsumer consumer, final Executor executor) {
+            this.address = address;
+            this.consumer = consumer;
+            this.executor = executor;
+        }
+
+        @Override
+        public void run(final Timeout expired) {
+            final long idle = System.nanoTime() - lastSeen;
+            if (idle < idleTimeoutNanos) {
+                timeout = timer.newTimeout(this, idleTimeoutNanos - idle, TimeUnit.NANOSECONDS);
+                return;
+            }
+            if (connections.remove(address, this)) {
+                LOG.debug("Evicting idle UDP connection {}", address);
+                notifyEvicted();
+            }
+        }
 
-    private UdpConnectionMap() {
-        throw new UnsupportedOperationException("Utility class shouldn't be instantiated");
+        private void notifyEvicted() {
+            final Runnable notification = new Runnable() {
+                @Override
+                public void run() {
+                    final DisconnectEventBuilder builder = new DisconnectEventBuilder();
+                    builder.setInfo("UDP connection idle");
+                    consumer.consume(builder.build());
+                }
+            };
+            if (executor != null) {
+                executor.execute(notification);
+            } else {
+                notification.run();
+            }
+        }
     }
 
     /**
+     * Looks up consumer of a received datagram and marks the sender as active
      * @param address sender's address
      * @return corresponding MessageConsumer
      */
-    public static MessageConsumer getMessageConsumer(InetSocketAddress address) {
+    public MessageConsumer getMessageConsumer(final InetSocketAddress address) {
         if(address == null){
             throw new IllegalArgumentException("Address can not be null");
         }
-        return connectionMap.get(address);
+        final Connection connection = connections.get(address);
+        if (connection == null) {
+            return null;
+        }
+        if (timer != null) {
+            connection.lastSeen = System.nanoTime();
+        }
+        return connection.consumer;
+    }
+
+    /**
+     * @param address sender's address
+     * @param consumer MessageConsumer to be added / paired with specified address
+     */
+    public void addConnection(final InetSocketAddress address, final MessageConsumer consumer) {
+        addConnection(address, consumer, null);
     }
 
     /**
      * @param address sender's address
      * @param consumer MessageConsumer to be added / paired with specified address
+     * @param executor executor notifying consumer about eviction (typically channel's event loop),
+     *        null to notify it on the timer thread
      */
-    public static void addConnection(InetSocketAddress address, MessageConsumer consumer) {
+    public void addConnection(final InetSocketAddress address, final MessageConsumer consumer,
+            final Executor executor) {
         if(address == null){
             throw new IllegalArgumentException("Address can not be null");
         }
-        connectionMap.put(address, consumer);
+        final Connection connection = new Connection(address, consumer, executor);
+        cancel(connections.put(address, connection));
+        if (timer != null) {
+            connection.timeout = timer.newTimeout(connection, idleTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
     }
 
     /**
      * @param address sender's address
      */
-    public static void removeConnection(InetSocketAddress address) {
+    public void removeConnection(final InetSocketAddress address) {
         if(address == null){
             throw new IllegalArgumentException("Address can not be null");
         }
-        connectionMap.remove(address);
+        cancel(connections.remove(address));
+    }
+
+    private static void cancel(final Connection connection) {
+        if (connection != null && connection.timeout != null) {
+            connection.timeout.cancel();
+        }
+    }
+
+    /**
+     * @return number of known senders
+     */
+    public int size() {
+        return connections.size();
+    }
+
+    /**
+     * Stops idle eviction
+     */
+    @Override
+    public void close() {
+        if (timer != null) {
+            timer.stop();
+        }
     }
-}
\ No newline at end of file
+}
@@ -12,6 +12,7 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -21,6 +22,7 @@ import io.netty.util.concurrent.GenericFutureListener;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.Map;
 
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.slf4j.Logger;
@@ -30,7 +32,9 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 
 /**
- * Class implementing server over UDP for handling incoming connections.
+ * Class implementing server over UDP for handling incoming connections. With epoll transport
+ * one channel per worker thread is bound to the port with SO_REUSEPORT, so that the kernel
+ * spreads datagrams of different senders across cores.
  *
  * @author michal.polkorab
  */
@@ -67,19 +71,33 @@ public final class UdpHandler implements ServerFacade {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void run() {
         final ChannelFuture f;
         try {
+            final boolean epoll = NativeTransportSupport.isEpollChannel(datagramChannelClass);
             Bootstrap b = new Bootstrap();
             b.group(group)
              .channel(datagramChannelClass)
              .option(ChannelOption.SO_BROADCAST, false)
              .handler(channelInitializer);
+            for (Map.Entry<ChannelOption<?>, Object> option : NativeTransportSupport.getSocketOptions(threadConfig,
+                    datagramChannelClass, false).entrySet()) {
+                b.option((ChannelOption<Object>) option.getKey(), option.getValue());
+            }
+            if (epoll) {
+                b.option(EpollChannelOption.SO_REUSEPORT, true);
+            }
 
-            if (startupAddress != null) {
-                f = b.bind(startupAddress.getHostAddress(), port).sync();
-            } else {
-                f = b.bind(port).sync();
+            f = bind(b, port).sync();
+            if (epoll) {
+                // Remaining channels join the port actually bound, as it may have been specified as 0
+                final int boundPort = ((InetSocketAddress) f.channel().localAddress()).getPort();
+                final int channelCount = getChannelCount();
+                for (int i = 1; i < channelCount; i++) {
+                    bind(b, boundPort).sync();
+                }
+                LOG.debug("Bound {} UDP channels to port {}", channelCount, boundPort);
             }
         } catch (InterruptedException e) {
             LOG.error("Interrupted while binding port {}", port, e);
@@ -104,9 +122,26 @@ public final class UdpHandler implements ServerFacade {
         }
     }
 
+    private ChannelFuture bind(final Bootstrap b, final int bindPort) {
+        if (startupAddress != null) {
+            return b.bind(startupAddress.getHostAddress(), bindPort);
+        }
+        return b.bind(bindPort);
+    }
+
+    private int getChannelCount() {
+        if (threadConfig != null && threadConfig.getWorkerThreadCount() > 0) {
+            return threadConfig.getWorkerThreadCount();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
     @Override
     public ListenableFuture<Boolean> shutdown() {
         final SettableFuture<Boolean> result = SettableFuture.create();
+        if (channelInitializer != null) {
+            channelInitializer.getConnectionMap().close();
+        }
         group.shutdownGracefully().addListener(new GenericFutureListener<io.netty.util.concurrent.Future<Object>>() {
 
             @Override
@@ -192,4 +227,4 @@ public final class UdpHandler implements ServerFacade {
         //Fallback mechanism
         initiateNioEventLoopGroups(threadConfiguration);
     }
-}
\ No newline at end of file
+}
@@ -10,6 +10,7 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 
 import io.netty.buffer.ByteBuf;
 import java.net.InetSocketAddress;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
 
 /**
  * Wraps received messages (includes version) and sender address
@@ -18,6 +19,7 @@ import java.net.InetSocketAddress;
  */
 public class VersionMessageUdpWrapper extends VersionMessageWrapper {
     private final InetSocketAddress address;
+    private final MessageConsumer messageConsumer;
 
     /**
      * @param version Openflow wire version
@@ -25,8 +27,20 @@ public class VersionMessageUdpWrapper extends VersionMessageWrapper {
      * @param address sender address
      */
     public VersionMessageUdpWrapper(final short version, final ByteBuf messageBuffer, final InetSocketAddress address) {
+        this(version, messageBuffer, address, null);
+    }
+
+    /**
+     * @param version Openflow wire version
+     * @param messageBuffer ByteBuf containing binary message
+     * @param address sender address
+     * @param messageConsumer consumer of the sender, looked up when the datagram was received
+     */
+    public VersionMessageUdpWrapper(final short version, final ByteBuf messageBuffer, final InetSocketAddress address,
+            final MessageConsumer messageConsumer) {
         super(version, messageBuffer);
         this.address = address;
+        this.messageConsumer = messageConsumer;
     }
 
     /**
@@ -35,4 +49,11 @@ public class VersionMessageUdpWrapper extends VersionMessageWrapper {
     public InetSocketAddress getAddress() {
         return address;
     }
+
+    /**
+     * @return consumer of the sender, null if not known
+     */
+    public MessageConsumer getMessageConsumer() {
+        return messageConsumer;
+    }
 }
\ No newline at end of file
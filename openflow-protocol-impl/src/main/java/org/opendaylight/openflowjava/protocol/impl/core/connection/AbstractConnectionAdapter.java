@@ -19,6 +19,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.util.concurrent.GenericFutureListener;
 import java.net.InetSocketAddress;
 import java.util.concurrent.Future;
@@ -109,7 +110,9 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
 
     @Override
     public Future<Boolean> disconnect() {
-        final ChannelFuture disconnectResult = channel.disconnect();
+        // Datagram channel is shared by all UDP senders, disconnecting one of them must not touch it
+        final ChannelFuture disconnectResult = channel instanceof DatagramChannel ? channel.newSucceededFuture()
+                : channel.disconnect();
         responseCache.invalidateAll();
         disconnectOccured = true;
 
@@ -271,7 +274,7 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
      */
     protected <IN extends OfHeader, OUT extends OfHeader> ListenableFuture<RpcResult<OUT>> sendToSwitchExpectRpcResultFuture(
             final IN input, final Class<OUT> responseClazz, final String failureInfo) {
-        final RpcResponseKey key = new RpcResponseKey(input.getXid(), responseClazz.getName());
+        final RpcResponseKey key = new RpcResponseKey(input.getXid(), responseClazz);
         final ResponseExpectedRpcListener<OUT> listener = new ResponseExpectedRpcListener<>(input, failureInfo,
                 responseCache, key);
         return enqueueMessage(listener);
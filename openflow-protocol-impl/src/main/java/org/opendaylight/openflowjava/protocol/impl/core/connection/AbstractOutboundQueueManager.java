@@ -9,8 +9,10 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import java.net.InetSocketAddress;
@@ -260,6 +262,19 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
         parent.getChannel().write(wrapper);
     }
 
+    /**
+     * Writes already encoded message. It passes OFEncoder untouched, so for UDP
+     * it is wrapped into a datagram addressed to the switch here.
+     *
+     * @param rawMessage encoded message
+     * @param barrier true if the message is a barrier request
+     * @param now
+     */
+    void writeRawMessage(final ByteBuf rawMessage, final boolean barrier, final long now) {
+        final Object msg = address == null ? rawMessage : new DatagramPacket(rawMessage, address);
+        parent.getChannel().write(msg).addListener(LOG_ENCODER_LISTENER);
+    }
+
     /**
      * Wraps outgoing message and includes listener attached to this message
      * which is send to OFEncoder for serialization. Correct wrapper is
@@ -10,6 +10,8 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -17,19 +19,34 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.GuardedBy;
-import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
+import org.opendaylight.openflowjava.protocol.api.connection.ExtendedOutboundQueue;
+import org.opendaylight.openflowjava.protocol.api.connection.FlowStatsRecord;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyStreamCallback;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartRequestInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-abstract class AbstractStackedOutboundQueue implements OutboundQueue {
+abstract class AbstractStackedOutboundQueue implements ExtendedOutboundQueue {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractStackedOutboundQueue.class);
 
     protected static final AtomicLongFieldUpdater<AbstractStackedOutboundQueue> LAST_XID_OFFSET_UPDATER = AtomicLongFieldUpdater
             .newUpdater(AbstractStackedOutboundQueue.class, "lastXid");
 
+    private static final int RAW_TYPE_OFFSET = 1;
+    private static final int RAW_XID_OFFSET = 4;
+    private static final short OF10_BARRIER_REQUEST_TYPE = 18;
+    private static final short OF13_BARRIER_REQUEST_TYPE = 20;
+    /** OFPT_PACKET_OUT and OFPT_FLOW_MOD share their codes in OF 1.0 and OF 1.3 */
+    protected static final short PACKET_OUT_TYPE = 13;
+    protected static final short FLOW_MOD_TYPE = 14;
+
     @GuardedBy("unflushedSegments")
     protected volatile StackedSegment firstSegment;
     @GuardedBy("unflushedSegments")
@@ -110,6 +127,70 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
         return xid;
     }
 
+    /*
+     * This method is expected to be called from multiple threads concurrently
+     */
+    @Override
+    public void commitStreamingEntry(final Long xid, final MultipartRequestInput message,
+            final MultipartReplyStreamCallback<?> callback) {
+        Preconditions.checkArgument(message.getVersion() == EncodeConstants.OF13_VERSION_ID,
+                "Multipart reply streaming is not supported for version %s", message.getVersion());
+        final MultipartReplyStreams streams = manager.parent.getMultipartReplyStreams();
+        commitStreamingEntry(streams, xid, message, streams.register(xid, message.getType(), callback));
+    }
+
+    /**
+     * This method is expected to be called from multiple threads concurrently
+     */
+    @Override
+    public void commitFlowStatsEntry(final Long xid, final MultipartRequestInput message,
+            final MultipartReplyStreamCallback<FlowStatsRecord> callback) {
+        Preconditions.checkArgument(message.getVersion() == EncodeConstants.OF13_VERSION_ID,
+                "Multipart reply streaming is not supported for version %s", message.getVersion());
+        Preconditions.checkArgument(message.getType() == MultipartType.OFPMPFLOW,
+                "Multipart type %s is not flow statistics", message.getType());
+        final MultipartReplyStreams streams = manager.parent.getMultipartReplyStreams();
+        commitStreamingEntry(streams, xid, message, streams.registerFlowStats(xid, callback));
+    }
+
+    /**
+     * This method is expected to be called from multiple threads concurrently
+     */
+    @Override
+    public void commitTemplateEntry(final Long xid, final OfHeader message, final Object token,
+            final FutureCallback<OfHeader> callback) {
+        final SerializationFactory factory = manager.parent.getSerializationFactory();
+        final ByteBuf rawMessage = manager.parent.getChannel().alloc().buffer();
+        try {
+            factory.templateToBuffer(message.getVersion(), rawMessage, message, token, xid);
+        } catch (RuntimeException e) {
+            rawMessage.release();
+            throw e;
+        }
+        commitRawEntry(xid, rawMessage, callback);
+    }
+
+    /**
+     * This method is expected to be called from multiple threads concurrently
+     */
+    @Override
+    public void commitPacketOutEntry(final Long xid, final PacketOutInput message, final ByteBuf payload,
+            final FutureCallback<OfHeader> callback) {
+        final SerializationFactory factory = manager.parent.getSerializationFactory();
+        commitRawEntry(xid, factory.packetOutToBuffer(message.getVersion(), manager.parent.getChannel().alloc(),
+                message, payload), callback);
+    }
+
+    private void commitStreamingEntry(final MultipartReplyStreams streams, final Long xid,
+            final MultipartRequestInput message, final FutureCallback<OfHeader> queueCallback) {
+        try {
+            commitEntry(xid, message, queueCallback);
+        } catch (RuntimeException e) {
+            streams.unregister(xid);
+            throw e;
+        }
+    }
+
     /**
      * Write some entries from the queue to the channel. Guaranteed to run
      * in the corresponding EventLoop.
@@ -131,14 +212,21 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
             }
 
             LOG.trace("Queue {} flushing entry at offset {}", this, flushOffset);
-            final OfHeader message = entry.takeMessage();
-            flushOffset++;
-            entries++;
-
-            if (message != null) {
-                manager.writeMessage(message, now);
+            if (entry.isRaw()) {
+                final boolean barrier = entry.isBarrier();
+                manager.writeRawMessage(entry.takeRawMessage(), barrier, now);
+                flushOffset++;
+                entries++;
             } else {
-                entry.complete(null);
+                final OfHeader message = entry.takeMessage();
+                flushOffset++;
+                entries++;
+
+                if (message != null) {
+                    manager.writeMessage(message, now);
+                } else {
+                    entry.complete(null);
+                }
             }
 
             if (flushOffset >= StackedSegment.SEGMENT_SIZE) {
@@ -184,6 +272,33 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
         return entries;
     }
 
+    /**
+     * Checks the raw message header and stamps the reserved XID into it.
+     *
+     * @param xid reserved XID
+     * @param rawMessage encoded message, reader index pointing to the version field
+     * @return message type
+     */
+    protected static short prepareRawMessage(final Long xid, final ByteBuf rawMessage) {
+        Preconditions.checkArgument(rawMessage.readableBytes() >= EncodeConstants.OFHEADER_SIZE,
+                "Raw message too short: %s bytes", rawMessage.readableBytes());
+        rawMessage.setInt(rawMessage.readerIndex() + RAW_XID_OFFSET, xid.intValue());
+        return rawMessage.getUnsignedByte(rawMessage.readerIndex() + RAW_TYPE_OFFSET);
+    }
+
+    /**
+     * @param rawMessage encoded message, reader index pointing to the version field
+     * @param type message type
+     * @return true if the message is a barrier request
+     */
+    protected static boolean isRawBarrier(final ByteBuf rawMessage, final short type) {
+        final short version = rawMessage.getUnsignedByte(rawMessage.readerIndex());
+        if (version == EncodeConstants.OF10_VERSION_ID) {
+            return type == OF10_BARRIER_REQUEST_TYPE;
+        }
+        return type == OF13_BARRIER_REQUEST_TYPE;
+    }
+
     boolean pairRequest(final OfHeader message) {
         Iterator<StackedSegment> it = uncompletedSegments.iterator();
         while (it.hasNext()) {
@@ -10,13 +10,30 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import io.netty.channel.Channel;
 import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionReadyListener;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandlerRegistration;
+import org.opendaylight.openflowjava.protocol.api.connection.RawMessageListener;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.core.OFDatagramPacketEncoder;
+import org.opendaylight.openflowjava.protocol.impl.core.OFDecoder;
+import org.opendaylight.openflowjava.protocol.impl.core.OFEncoder;
+import org.opendaylight.openflowjava.protocol.impl.core.OFFrameClassifier;
 import org.opendaylight.openflowjava.protocol.impl.core.OFVersionDetector;
 import org.opendaylight.openflowjava.protocol.impl.core.PipelineHandlers;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.MultipartReplyMessageFactory;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ErrorMessage;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ExperimenterMessage;
@@ -30,6 +47,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEvent;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SwitchIdleEvent;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SystemNotificationsListener;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.Notification;
 import org.slf4j.Logger;
@@ -43,12 +61,71 @@ import org.slf4j.LoggerFactory;
 public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics implements ConnectionFacade {
 
     private static final Logger LOG = LoggerFactory.getLogger(ConnectionAdapterImpl.class);
+    private static final short OF13_MULTIPART_REPLY_TYPE = 19;
+    /* Error, experimenter and reply types, which complete outbound queue entries and RPC futures */
+    private static final Set<Short> OF10_COMPLETING_TYPES = ImmutableSet.of((short) 1, (short) 3, (short) 4,
+            (short) 6, (short) 8, (short) 17, (short) 19, (short) 21);
+    private static final Set<Short> OF13_COMPLETING_TYPES = ImmutableSet.of((short) 1, (short) 3, (short) 4,
+            (short) 6, (short) 8, (short) 19, (short) 21, (short) 23, (short) 25, (short) 27);
+
+    /**
+     * Processing kinds of inbound messages
+     */
+    private enum MessageKind {
+        DISCONNECT, SWITCH_IDLE, ECHO_REQUEST, ERROR, EXPERIMENTER, FLOW_REMOVED, HELLO, MULTIPART_REPLY,
+        PACKET_IN, PORT_STATUS, RPC_RESPONSE, UNSUPPORTED
+    }
+
+    /**
+     * Processing of a message interface - its kind and the handler from {@link MessageDispatchTable}, if any
+     */
+    private static final class MessageRoute {
+        private final MessageKind kind;
+        private final MessageHandler handler;
+
+        MessageRoute(final MessageKind kind, final MessageHandler handler) {
+            this.kind = kind;
+            this.handler = handler;
+        }
+    }
+
+    /**
+     * Routes of message interfaces resolved against one dispatch table, filled on first occurrence
+     * of each interface, so that an inbound message costs a single map lookup
+     */
+    private static final class MessageRoutes {
+        private final MessageDispatchTable table;
+        private final ConcurrentMap<Class<? extends DataContainer>, MessageRoute> routes =
+                new ConcurrentHashMap<>();
+
+        MessageRoutes(final MessageDispatchTable table) {
+            this.table = table;
+        }
+
+        MessageRoute routeOf(final DataObject message) {
+            final Class<? extends DataContainer> type = message.getImplementedInterface();
+            if (type == null) {
+                return new MessageRoute(classify(message.getClass()), null);
+            }
+
+            MessageRoute route = routes.get(type);
+            if (route == null) {
+                route = new MessageRoute(classify(type), table.lookup(type));
+                routes.putIfAbsent(type, route);
+            }
+            return route;
+        }
+    }
 
     private ConnectionReadyListener connectionReadyListener;
     private OpenflowProtocolListener messageListener;
     private SystemNotificationsListener systemListener;
     private AbstractOutboundQueueManager<?, ?> outputManager;
     private OFVersionDetector versionDetector;
+    private final Map<Short, Set<Short>> rawMessageTypes = new HashMap<>();
+    private MultipartReplyStreams multipartReplyStreams;
+    private volatile ListenerDispatcher listenerDispatcher;
+    private volatile MessageRoutes messageRoutes = new MessageRoutes(MessageDispatchTable.EMPTY);
 
     private final boolean useBarrier;
 
@@ -87,75 +164,194 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
         if (disconnectOccured ) {
             return;
         }
-        if (message instanceof Notification) {
 
+        final MessageRoute route = messageRoutes.routeOf(message);
+        if (route.handler != null && route.handler.handleMessage(this, message)) {
+            return;
+        }
+
+        final MessageKind kind = route.kind;
+        switch (kind) {
             // System events
-            if (message instanceof DisconnectEvent) {
-                systemListener.onDisconnectEvent((DisconnectEvent) message);
+            case DISCONNECT:
+                notifyListeners(kind, message);
                 responseCache.invalidateAll();
                 disconnectOccured = true;
-            } else if (message instanceof SwitchIdleEvent) {
-                systemListener.onSwitchIdleEvent((SwitchIdleEvent) message);
-                // OpenFlow messages
-            } else if (message instanceof EchoRequestMessage) {
+                break;
+            case SWITCH_IDLE:
+                notifyListeners(kind, message);
+                break;
+            // OpenFlow messages
+            case ECHO_REQUEST:
                 if (outputManager != null) {
                     outputManager.onEchoRequest((EchoRequestMessage) message);
                 } else {
-                    messageListener.onEchoRequestMessage((EchoRequestMessage) message);
+                    notifyListeners(kind, message);
                 }
-            } else if (message instanceof ErrorMessage) {
+                break;
+            case ERROR:
                 // Send only unmatched errors
                 if (outputManager == null || !outputManager.onMessage((OfHeader) message)) {
-                    messageListener.onErrorMessage((ErrorMessage) message);
+                    notifyListeners(kind, message);
                 }
-            } else if (message instanceof ExperimenterMessage) {
+                break;
+            case EXPERIMENTER:
+            case MULTIPART_REPLY:
                 if (outputManager != null) {
                     outputManager.onMessage((OfHeader) message);
                 }
+                notifyListeners(kind, message);
+                break;
+            case FLOW_REMOVED:
+            case HELLO:
+            case PACKET_IN:
+            case PORT_STATUS:
+                notifyListeners(kind, message);
+                break;
+            case RPC_RESPONSE:
+                LOG.debug("OFheader msg received");
+
+                if (outputManager == null || !outputManager.onMessage((OfHeader) message)) {
+                    final RpcResponseKey key = createRpcResponseKey((OfHeader) message);
+                    final ResponseExpectedRpcListener<?> listener = findRpcResponse(key);
+                    if (listener != null) {
+                        LOG.debug("corresponding rpcFuture found");
+                        listener.completed((OfHeader)message);
+                        LOG.debug("after setting rpcFuture");
+                        responseCache.invalidate(key);
+                    } else {
+                        LOG.warn("received unexpected rpc response: {}", key);
+                    }
+                }
+                break;
+            default:
+                LOG.warn("message listening not supported for type: {}", message.getClass());
+        }
+    }
+
+    /**
+     * Slow path for types not seen yet, follows the order of the original instanceof chain
+     */
+    private static MessageKind classify(final Class<?> type) {
+        if (Notification.class.isAssignableFrom(type)) {
+            if (DisconnectEvent.class.isAssignableFrom(type)) {
+                return MessageKind.DISCONNECT;
+            } else if (SwitchIdleEvent.class.isAssignableFrom(type)) {
+                return MessageKind.SWITCH_IDLE;
+            } else if (EchoRequestMessage.class.isAssignableFrom(type)) {
+                return MessageKind.ECHO_REQUEST;
+            } else if (ErrorMessage.class.isAssignableFrom(type)) {
+                return MessageKind.ERROR;
+            } else if (ExperimenterMessage.class.isAssignableFrom(type)) {
+                return MessageKind.EXPERIMENTER;
+            } else if (FlowRemovedMessage.class.isAssignableFrom(type)) {
+                return MessageKind.FLOW_REMOVED;
+            } else if (HelloMessage.class.isAssignableFrom(type)) {
+                return MessageKind.HELLO;
+            } else if (MultipartReplyMessage.class.isAssignableFrom(type)) {
+                return MessageKind.MULTIPART_REPLY;
+            } else if (PacketInMessage.class.isAssignableFrom(type)) {
+                return MessageKind.PACKET_IN;
+            } else if (PortStatusMessage.class.isAssignableFrom(type)) {
+                return MessageKind.PORT_STATUS;
+            }
+        } else if (OfHeader.class.isAssignableFrom(type)) {
+            return MessageKind.RPC_RESPONSE;
+        }
+        return MessageKind.UNSUPPORTED;
+    }
+
+    /**
+     * Passes notification to listeners, either directly or through the listener dispatcher.
+     * Outbound queue bookkeeping stays on the I/O thread.
+     */
+    private void notifyListeners(final MessageKind kind, final DataObject message) {
+        final ListenerDispatcher dispatcher = listenerDispatcher;
+        if (dispatcher == null) {
+            deliverToListeners(kind, message);
+            return;
+        }
+
+        dispatcher.dispatch(message, new Runnable() {
+            @Override
+            public void run() {
+                deliverToListeners(kind, message);
+            }
+        });
+    }
+
+    private void deliverToListeners(final MessageKind kind, final DataObject message) {
+        switch (kind) {
+            case DISCONNECT:
+                systemListener.onDisconnectEvent((DisconnectEvent) message);
+                break;
+            case SWITCH_IDLE:
+                systemListener.onSwitchIdleEvent((SwitchIdleEvent) message);
+                break;
+            case ECHO_REQUEST:
+                messageListener.onEchoRequestMessage((EchoRequestMessage) message);
+                break;
+            case ERROR:
+                messageListener.onErrorMessage((ErrorMessage) message);
+                break;
+            case EXPERIMENTER:
                 messageListener.onExperimenterMessage((ExperimenterMessage) message);
-            } else if (message instanceof FlowRemovedMessage) {
+                break;
+            case FLOW_REMOVED:
                 messageListener.onFlowRemovedMessage((FlowRemovedMessage) message);
-            } else if (message instanceof HelloMessage) {
+                break;
+            case HELLO:
                 LOG.info("Hello received / branch");
                 messageListener.onHelloMessage((HelloMessage) message);
-            } else if (message instanceof MultipartReplyMessage) {
-                if (outputManager != null) {
-                    outputManager.onMessage((OfHeader) message);
-                }
+                break;
+            case MULTIPART_REPLY:
                 messageListener.onMultipartReplyMessage((MultipartReplyMessage) message);
-            } else if (message instanceof PacketInMessage) {
+                break;
+            case PACKET_IN:
                 messageListener.onPacketInMessage((PacketInMessage) message);
-            } else if (message instanceof PortStatusMessage) {
+                break;
+            case PORT_STATUS:
                 messageListener.onPortStatusMessage((PortStatusMessage) message);
-            } else {
+                break;
+            default:
                 LOG.warn("message listening not supported for type: {}", message.getClass());
-            }
-        } else if (message instanceof OfHeader) {
-            LOG.debug("OFheader msg received");
-
-            if (outputManager == null || !outputManager.onMessage((OfHeader) message)) {
-                final RpcResponseKey key = createRpcResponseKey((OfHeader) message);
-                final ResponseExpectedRpcListener<?> listener = findRpcResponse(key);
-                if (listener != null) {
-                    LOG.debug("corresponding rpcFuture found");
-                    listener.completed((OfHeader)message);
-                    LOG.debug("after setting rpcFuture");
-                    responseCache.invalidate(key);
-                } else {
-                    LOG.warn("received unexpected rpc response: {}", key);
-                }
-            }
-        } else {
-            LOG.warn("message listening not supported for type: {}", message.getClass());
         }
     }
 
+    @Override
+    public void setMessageDispatchTable(final MessageDispatchTable table) {
+        messageRoutes = new MessageRoutes(Preconditions.checkNotNull(table));
+    }
+
+    @Override
+    public void setListenerDispatchPolicy(final ListenerDispatchPolicy policy) {
+        listenerDispatcher = policy == null ? null : new ListenerDispatcher(channel, policy);
+    }
+
+    @Override
+    public int getListenerQueueDepth() {
+        final ListenerDispatcher dispatcher = listenerDispatcher;
+        return dispatcher == null ? 0 : dispatcher.getQueueDepth();
+    }
+
+    @Override
+    public int getMaxListenerQueueDepth() {
+        final ListenerDispatcher dispatcher = listenerDispatcher;
+        return dispatcher == null ? 0 : dispatcher.getMaxQueueDepth();
+    }
+
+    @Override
+    public long getDroppedListenerCount() {
+        final ListenerDispatcher dispatcher = listenerDispatcher;
+        return dispatcher == null ? 0 : dispatcher.getDroppedCount();
+    }
+
     /**
      * @param message
      * @return
      */
     private static RpcResponseKey createRpcResponseKey(final OfHeader message) {
-        return new RpcResponseKey(message.getXid(), message.getImplementedInterface().getName());
+        return new RpcResponseKey(message.getXid(), message.getImplementedInterface());
     }
 
     @Override
@@ -228,4 +424,81 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
         versionDetector.setFilterPacketIns(enabled);
         LOG.debug("PacketIn filtering {}abled", enabled ? "en" : "dis");
     }
+
+    @Override
+    public synchronized void setRawMessageListener(final RawMessageListener rawListener, final short version,
+            final Set<Short> types) {
+        final Set<Short> completingTypes = version == EncodeConstants.OF10_VERSION_ID
+                ? OF10_COMPLETING_TYPES : OF13_COMPLETING_TYPES;
+        for (Short type : types) {
+            Preconditions.checkArgument(!completingTypes.contains(type),
+                    "Message type %s of version %s completes requests and can not be delivered raw", type, version);
+        }
+        final OFFrameClassifier classifier =
+                (OFFrameClassifier) channel.pipeline().get(PipelineHandlers.OF_FRAME_CLASSIFIER.name());
+        Preconditions.checkState(classifier != null, "Raw messages are not supported on channel %s", channel);
+
+        final Set<Short> previous = rawMessageTypes.remove(version);
+        if (previous != null) {
+            for (Short type : previous) {
+                classifier.unregisterHandler(version, type);
+            }
+        }
+
+        if (rawListener != null && !types.isEmpty()) {
+            final RawMessageFrameHandler handler = new RawMessageFrameHandler(rawListener);
+            for (Short type : types) {
+                classifier.registerHandler(version, type, handler);
+            }
+            rawMessageTypes.put(version, Collections.unmodifiableSet(new HashSet<>(types)));
+        }
+        LOG.debug("Raw message types for version {} set to {}", version, rawMessageTypes.get(version));
+    }
+
+    /**
+     * @return registry of streamed multipart replies, installed into the frame classifier on first use
+     */
+    synchronized MultipartReplyStreams getMultipartReplyStreams() {
+        if (multipartReplyStreams == null) {
+            final OFFrameClassifier classifier =
+                    (OFFrameClassifier) channel.pipeline().get(PipelineHandlers.OF_FRAME_CLASSIFIER.name());
+            final OFDecoder decoder = (OFDecoder) channel.pipeline().get(PipelineHandlers.OF_DECODER.name());
+            Preconditions.checkState(classifier != null && decoder != null,
+                    "Multipart reply streaming is not supported on channel %s", channel);
+
+            final MultipartReplyStreams streams = new MultipartReplyStreams(this, decoder.getDeserializationFactory());
+            for (MultipartType type : MultipartType.values()) {
+                if (MultipartReplyMessageFactory.isStreamable(type)) {
+                    classifier.registerHandler(EncodeConstants.OF13_VERSION_ID, OF13_MULTIPART_REPLY_TYPE,
+                            type.getIntValue(), streams);
+                }
+            }
+            multipartReplyStreams = streams;
+        }
+        return multipartReplyStreams;
+    }
+
+    /**
+     * @return serialization factory of the channel's encoder
+     */
+    SerializationFactory getSerializationFactory() {
+        final Object encoder = channel.pipeline().get(PipelineHandlers.OF_ENCODER.name());
+        if (encoder instanceof OFEncoder) {
+            return ((OFEncoder) encoder).getSerializationFactory();
+        }
+        Preconditions.checkState(encoder instanceof OFDatagramPacketEncoder,
+                "Message encoding is not supported on channel %s", channel);
+        return ((OFDatagramPacketEncoder) encoder).getSerializationFactory();
+    }
+
+    /**
+     * Completes the queue entry of a streamed multipart request. Invoked from Netty only.
+     *
+     * @param reply header-only reply standing for the whole streamed reply
+     */
+    void onMultipartReplyStreamFinished(final MultipartReplyMessage reply) {
+        if (outputManager != null) {
+            outputManager.onMessage(reply);
+        }
+    }
 }
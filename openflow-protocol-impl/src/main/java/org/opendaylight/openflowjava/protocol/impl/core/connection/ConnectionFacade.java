@@ -9,12 +9,38 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
-import org.opendaylight.openflowjava.protocol.api.connection.ConnectionAdapter;
+import org.opendaylight.openflowjava.protocol.api.connection.ExtendedConnectionAdapter;
 
 /**
  * @author michal.polkorab
  */
-public interface ConnectionFacade extends MessageConsumer, ConnectionAdapter {
+public interface ConnectionFacade extends MessageConsumer, ExtendedConnectionAdapter {
 
- // empty unifying superinterface
+    /**
+     * Moves listener invocations of this connection off the I/O thread. Must be called before
+     * the channel becomes active.
+     * @param policy dispatch policy, null to invoke listeners on the I/O thread
+     */
+    void setListenerDispatchPolicy(ListenerDispatchPolicy policy);
+
+    /**
+     * @return number of listener invocations waiting for the worker pool, 0 if listeners are invoked
+     *         on the I/O thread
+     */
+    int getListenerQueueDepth();
+
+    /**
+     * @return highest number of listener invocations waiting for the worker pool
+     */
+    int getMaxListenerQueueDepth();
+
+    /**
+     * @return number of messages dropped because the listener queue was full
+     */
+    long getDroppedListenerCount();
+
+    /**
+     * @param table handlers of decoded messages, consulted before the built-in processing
+     */
+    void setMessageDispatchTable(MessageDispatchTable table);
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+
+/**
+ * Configures delivery of switch messages to application listeners on a worker pool instead of
+ * the channel's I/O thread. Each connection gets its own bounded queue, which is drained in order
+ * by at most one worker at a time. Instances are immutable,
+ * {@link #withOverflowAction(Class, OverflowAction)} returns an updated copy.
+ */
+public final class ListenerDispatchPolicy {
+
+    /**
+     * Action taken when a message arrives while the connection's dispatch queue is full
+     */
+    public enum OverflowAction {
+        /**
+         * Message is not delivered to listeners
+         */
+        DROP,
+        /**
+         * Message is queued and reading from the channel is suspended until the queue drains
+         * to half of its capacity
+         */
+        SUSPEND_READ
+    }
+
+    private final Executor executor;
+    private final int capacity;
+    private final Map<Class<? extends DataContainer>, OverflowAction> overflowActions;
+
+    /**
+     * Creates policy dropping packet-ins and suspending reads for all other messages on overflow.
+     * @param executor worker pool used for listener invocation, shared by all connections
+     * @param capacity maximal number of messages queued per connection
+     */
+    public ListenerDispatchPolicy(final Executor executor, final int capacity) {
+        this(executor, capacity, ImmutableMap.<Class<? extends DataContainer>, OverflowAction>of(
+                PacketInMessage.class, OverflowAction.DROP));
+    }
+
+    private ListenerDispatchPolicy(final Executor executor, final int capacity,
+            final Map<Class<? extends DataContainer>, OverflowAction> overflowActions) {
+        Preconditions.checkArgument(capacity > 0, "Non-positive capacity %s", capacity);
+        this.executor = Preconditions.checkNotNull(executor);
+        this.capacity = capacity;
+        this.overflowActions = overflowActions;
+    }
+
+    /**
+     * @param type message interface, e.g. {@link PacketInMessage}
+     * @param action action taken when message of given type overflows the queue
+     * @return policy using given action for given message type
+     */
+    public ListenerDispatchPolicy withOverflowAction(final Class<? extends DataContainer> type,
+            final OverflowAction action) {
+        final ImmutableMap.Builder<Class<? extends DataContainer>, OverflowAction> builder = ImmutableMap.builder();
+        for (Map.Entry<Class<? extends DataContainer>, OverflowAction> entry : overflowActions.entrySet()) {
+            if (!entry.getKey().equals(type)) {
+                builder.put(entry);
+            }
+        }
+        return new ListenerDispatchPolicy(executor, capacity, builder.put(type, action).build());
+    }
+
+    /**
+     * @param type message interface
+     * @return action taken when message of given type overflows the queue
+     */
+    public OverflowAction getOverflowAction(final Class<? extends DataContainer> type) {
+        final OverflowAction action = overflowActions.get(type);
+        return action != null ? action : OverflowAction.SUSPEND_READ;
+    }
+
+    /**
+     * @return worker pool used for listener invocation
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return maximal number of messages queued per connection
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ListenerDispatchPolicy.OverflowAction;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serializes listener invocations of one connection over a shared worker pool. Tasks are
+ * submitted from the channel's I/O thread and run in submission order, one at a time.
+ * When the queue is full, a task is either dropped or queued while reading from the channel
+ * is suspended, as configured by {@link ListenerDispatchPolicy}.
+ */
+final class ListenerDispatcher implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ListenerDispatcher.class);
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean readSuspended = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private final StatisticsCounters statisticsCounters = StatisticsCounters.getInstance();
+    private final ListenerDispatchPolicy policy;
+    private final Channel channel;
+    private volatile int maxDepth;
+
+    ListenerDispatcher(final Channel channel, final ListenerDispatchPolicy policy) {
+        this.channel = Preconditions.checkNotNull(channel);
+        this.policy = Preconditions.checkNotNull(policy);
+    }
+
+    /**
+     * Queues a listener invocation. Invoked from Netty only.
+     *
+     * @param message message being delivered, used to select overflow action
+     * @param task listener invocation
+     */
+    void dispatch(final DataObject message, final Runnable task) {
+        final int capacity = policy.getCapacity();
+        if (depth.get() >= capacity) {
+            if (policy.getOverflowAction(message.getImplementedInterface()) == OverflowAction.DROP) {
+                dropped.incrementAndGet();
+                statisticsCounters.incrementCounter(CounterEventTypes.US_DISPATCH_DROPPED);
+                LOG.debug("Listener queue of channel {} full, dropping {}", channel, message.getImplementedInterface());
+                return;
+            }
+            if (readSuspended.compareAndSet(false, true)) {
+                LOG.debug("Listener queue of channel {} full, suspending read", channel);
+                channel.config().setAutoRead(false);
+            }
+        }
+
+        queue.add(task);
+        final int current = depth.incrementAndGet();
+        if (current > maxDepth) {
+            maxDepth = current;
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            policy.getExecutor().execute(this);
+        }
+
+        // The queue may have drained before read was suspended
+        resumeReadIfDrained();
+    }
+
+    @Override
+    public void run() {
+        for (;;) {
+            Runnable task;
+            while ((task = queue.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.warn("Listener of channel {} failed", channel, e);
+                }
+                depth.decrementAndGet();
+                resumeReadIfDrained();
+            }
+
+            scheduled.set(false);
+            // A task may have been queued after the last poll, but before the flag was cleared
+            if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void resumeReadIfDrained() {
+        if (readSuspended.get() && depth.get() <= policy.getCapacity() / 2
+                && readSuspended.compareAndSet(true, false)) {
+            LOG.debug("Listener queue of channel {} drained, resuming read", channel);
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    /**
+     * @return number of queued listener invocations
+     */
+    int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * @return highest number of queued listener invocations seen
+     */
+    int getMaxQueueDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return number of messages dropped due to full queue
+     */
+    long getDroppedCount() {
+        return dropped.get();
+    }
+}
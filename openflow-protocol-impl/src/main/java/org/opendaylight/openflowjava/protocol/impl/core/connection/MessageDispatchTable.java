@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+
+/**
+ * Immutable table mapping message interfaces (as returned by
+ * {@link DataContainer#getImplementedInterface()}) to {@link MessageHandler}s. Modifications
+ * produce a new table, so lookups done from Netty threads need no synchronization.
+ */
+public final class MessageDispatchTable {
+
+    /** Table without any handlers - every message gets the built-in processing */
+    public static final MessageDispatchTable EMPTY = new MessageDispatchTable(
+            ImmutableMap.<Class<? extends DataContainer>, MessageHandler>of());
+
+    private final Map<Class<? extends DataContainer>, MessageHandler> handlers;
+
+    private MessageDispatchTable(final Map<Class<? extends DataContainer>, MessageHandler> handlers) {
+        this.handlers = handlers;
+    }
+
+    /**
+     * @param type message interface
+     * @param handler handler for messages of given type
+     * @return new table containing the handler
+     */
+    public MessageDispatchTable with(final Class<? extends DataContainer> type, final MessageHandler handler) {
+        Preconditions.checkNotNull(type);
+        Preconditions.checkNotNull(handler);
+        final Map<Class<? extends DataContainer>, MessageHandler> newMap = new HashMap<>(handlers);
+        newMap.put(type, handler);
+        return new MessageDispatchTable(ImmutableMap.copyOf(newMap));
+    }
+
+    /**
+     * @param type message interface
+     * @return new table without the handler for given type
+     */
+    public MessageDispatchTable without(final Class<? extends DataContainer> type) {
+        final Map<Class<? extends DataContainer>, MessageHandler> newMap = new HashMap<>(handlers);
+        newMap.remove(type);
+        return new MessageDispatchTable(ImmutableMap.copyOf(newMap));
+    }
+
+    /**
+     * @return true if no handler is registered
+     */
+    public boolean isEmpty() {
+        return handlers.isEmpty();
+    }
+
+    /**
+     * @param type message interface, may be null
+     * @return handler or null if the message gets the built-in processing
+     */
+    MessageHandler lookup(final Class<? extends DataContainer> type) {
+        return type == null ? null : handlers.get(type);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import org.opendaylight.openflowjava.protocol.api.connection.ConnectionAdapter;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Handles decoded messages selected by {@link MessageDispatchTable} before the built-in
+ * processing of {@link ConnectionAdapterImpl}. Invoked from Netty only.
+ */
+public interface MessageHandler {
+
+    /**
+     * @param connection connection which received the message
+     * @param message decoded message
+     * @return true if the message was consumed, false if it should be processed as usual
+     */
+    boolean handleMessage(ConnectionAdapter connection, DataObject message);
+}
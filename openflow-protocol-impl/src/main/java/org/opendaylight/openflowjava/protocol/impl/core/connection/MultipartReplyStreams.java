@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.openflowjava.protocol.api.connection.FlowStatsRecord;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyStreamCallback;
+import org.opendaylight.openflowjava.protocol.impl.core.RawFrameHandler;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.FlowStatsFlyweight;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.MultipartReplyMessageFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartRequestFlags;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-connection registry of multipart requests whose replies are streamed. Reply parts
+ * are intercepted before deserialization, their entries are decoded lazily while the
+ * application iterates over them. Once the last part is delivered, the request's queue
+ * entry is completed with a header-only reply. If a part can not be streamed, the callback
+ * is notified and the remaining parts of the reply are dropped up to the last one.
+ */
+final class MultipartReplyStreams implements RawFrameHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(MultipartReplyStreams.class);
+
+    /* Offsets counted from message type (type, length, xid, multipart type, flags, padding) */
+    private static final int XID_OFFSET = 3;
+    private static final int MULTIPART_TYPE_OFFSET = 7;
+    private static final int FLAGS_OFFSET = 9;
+    private static final int BODY_OFFSET = 15;
+
+    private static final class Stream {
+        final MultipartType type;
+        final MultipartReplyStreamCallback<Object> callback;
+        final FlowStatsFlyweight flyweight;
+
+        Stream(final MultipartType type, final MultipartReplyStreamCallback<Object> callback,
+                final FlowStatsFlyweight flyweight) {
+            this.type = type;
+            this.callback = callback;
+            this.flyweight = flyweight;
+        }
+
+        /**
+         * @return placeholder swallowing remaining parts of a failed reply
+         */
+        Stream failed() {
+            return new Stream(type, null, null);
+        }
+
+        boolean isFailed() {
+            return callback == null;
+        }
+    }
+
+    private final ConcurrentMap<Long, Stream> streams = new ConcurrentHashMap<>();
+    private final ConnectionAdapterImpl adapter;
+    private final DeserializationFactory deserializationFactory;
+
+    MultipartReplyStreams(final ConnectionAdapterImpl adapter, final DeserializationFactory deserializationFactory) {
+        this.adapter = Preconditions.checkNotNull(adapter);
+        this.deserializationFactory = Preconditions.checkNotNull(deserializationFactory);
+    }
+
+    /**
+     * Registers a stream for request with given XID. Has to be invoked before the request is sent out.
+     *
+     * @param xid request XID
+     * @param type requested multipart type
+     * @param callback application callback
+     * @return callback to be attached to the request's queue entry
+     */
+    @SuppressWarnings("unchecked")
+    FutureCallback<OfHeader> register(final long xid, final MultipartType type,
+            final MultipartReplyStreamCallback<?> callback) {
+        Preconditions.checkNotNull(callback);
+        Preconditions.checkArgument(MultipartReplyMessageFactory.isStreamable(type),
+                "Multipart type %s can not be streamed", type);
+        return register(xid, new Stream(type, (MultipartReplyStreamCallback<Object>) callback, null));
+    }
+
+    /**
+     * Registers a flow statistics stream for request with given XID, whose entries are delivered
+     * through a single reused {@link FlowStatsFlyweight}. Has to be invoked before the request is sent out.
+     *
+     * @param xid request XID
+     * @param callback application callback
+     * @return callback to be attached to the request's queue entry
+     */
+    @SuppressWarnings("unchecked")
+    FutureCallback<OfHeader> registerFlowStats(final long xid,
+            final MultipartReplyStreamCallback<FlowStatsRecord> callback) {
+        Preconditions.checkNotNull(callback);
+        final MultipartReplyStreamCallback<?> wildcard = callback;
+        return register(xid, new Stream(MultipartType.OFPMPFLOW, (MultipartReplyStreamCallback<Object>) wildcard,
+                new FlowStatsFlyweight()));
+    }
+
+    private FutureCallback<OfHeader> register(final long xid, final Stream stream) {
+        Preconditions.checkArgument(streams.putIfAbsent(xid, stream) == null, "XID %s is already streaming", xid);
+        LOG.trace("Registered {} stream for XID {}", stream.type, xid);
+
+        return new FutureCallback<OfHeader>() {
+            @Override
+            public void onSuccess(final OfHeader result) {
+                // Stream completion is driven by the last reply part
+            }
+
+            @Override
+            public void onFailure(final Throwable cause) {
+                if (streams.remove(xid, stream) && !stream.isFailed()) {
+                    stream.callback.onFailure(cause);
+                }
+            }
+        };
+    }
+
+    /**
+     * Drops stream registered for given XID without notifying its callback.
+     *
+     * @param xid request XID
+     */
+    void unregister(final long xid) {
+        streams.remove(xid);
+    }
+
+    /**
+     * @return number of requests whose replies are being streamed
+     */
+    int size() {
+        return streams.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean handleFrame(final ChannelHandlerContext ctx, final short version, final short type,
+            final ByteBuf frame) {
+        final int start = frame.readerIndex();
+        final long xid = frame.getUnsignedInt(start + XID_OFFSET);
+        final Stream stream = streams.get(xid);
+        if (stream == null || stream.type.getIntValue() != frame.getUnsignedShort(start + MULTIPART_TYPE_OFFSET)) {
+            return false;
+        }
+
+        final boolean last = (frame.getUnsignedShort(start + FLAGS_OFFSET) & 0x01) == 0;
+        if (stream.isFailed()) {
+            LOG.trace("Dropping part of failed {} reply XID {}", stream.type, xid);
+            if (last) {
+                streams.remove(xid, stream);
+            }
+            return true;
+        }
+
+        final ByteBuf body = frame.slice(start + BODY_OFFSET, frame.readableBytes() - BODY_OFFSET);
+        boolean failed = false;
+        try {
+            final Iterator<?> entries;
+            if (stream.flyweight != null) {
+                entries = stream.flyweight.reset(body);
+            } else {
+                entries = deserializationFactory.deserializeMultipartReplyEntries(stream.type, body);
+            }
+            stream.callback.onPart((Iterator<Object>) entries, last);
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to stream {} reply XID {}", stream.type, xid, e);
+            failed = true;
+            stream.callback.onFailure(e);
+        }
+
+        if (last) {
+            streams.remove(xid, stream);
+        } else if (failed) {
+            streams.replace(xid, stream, stream.failed());
+        }
+        if (last || failed) {
+            adapter.onMultipartReplyStreamFinished(new MultipartReplyMessageBuilder().setVersion(version)
+                    .setXid(xid).setType(stream.type).setFlags(new MultipartRequestFlags(false)).build());
+        }
+        return true;
+    }
+}
@@ -10,6 +10,7 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.ByteBuf;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
@@ -22,8 +23,10 @@ final class OutboundQueueEntry {
     private static final Logger LOG = LoggerFactory.getLogger(OutboundQueueEntry.class);
     private FutureCallback<OfHeader> callback;
     private OfHeader message;
+    private ByteBuf rawMessage;
     private boolean completed;
     private boolean barrier;
+    private boolean noReply;
     private volatile boolean committed;
     private OutboundQueueException lastException = null;
 
@@ -37,6 +40,26 @@ final class OutboundQueueEntry {
             this.message = message;
             this.callback = callback;
             this.barrier = message instanceof BarrierInput;
+            this.noReply = message instanceof PacketOutInput;
+
+            // Volatile write, needs to be last
+            this.committed = true;
+        }
+    }
+
+    void commitRaw(final ByteBuf rawMessage, final boolean barrier, final boolean noReply,
+            final FutureCallback<OfHeader> callback) {
+        if (this.completed) {
+            LOG.warn("Can't commit a completed message.");
+            rawMessage.release();
+            if (callback != null) {
+                callback.onFailure(lastException);
+            }
+        } else {
+            this.rawMessage = rawMessage;
+            this.callback = callback;
+            this.barrier = barrier;
+            this.noReply = noReply;
 
             // Volatile write, needs to be last
             this.committed = true;
@@ -45,9 +68,11 @@ final class OutboundQueueEntry {
 
     void reset() {
         barrier = false;
+        noReply = false;
         callback = null;
         completed = false;
         message = null;
+        releaseRawMessage();
 
         // Volatile write, needs to be last
         committed = false;
@@ -65,6 +90,10 @@ final class OutboundQueueEntry {
         return completed;
     }
 
+    boolean isRaw() {
+        return rawMessage != null;
+    }
+
     OfHeader takeMessage() {
         final OfHeader ret = message;
         if (!barrier) {
@@ -74,8 +103,24 @@ final class OutboundQueueEntry {
         return ret;
     }
 
+    ByteBuf takeRawMessage() {
+        final ByteBuf ret = rawMessage;
+        if (!barrier) {
+            checkCompletionNeed();
+        }
+        rawMessage = null;
+        return ret;
+    }
+
+    private void releaseRawMessage() {
+        if (rawMessage != null) {
+            rawMessage.release();
+            rawMessage = null;
+        }
+    }
+
     private void checkCompletionNeed() {
-        if (callback == null || (message instanceof PacketOutInput)) {
+        if (callback == null || noReply) {
             completed = true;
             if (callback != null) {
                 callback.onSuccess(null);
@@ -114,6 +159,7 @@ final class OutboundQueueEntry {
         if (!completed) {
             lastException = cause;
             completed = true;
+            releaseRawMessage();
             if (callback != null) {
                 callback.onFailure(cause);
                 callback = null;
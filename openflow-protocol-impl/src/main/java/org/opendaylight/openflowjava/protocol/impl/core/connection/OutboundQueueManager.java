@@ -8,6 +8,7 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
 import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
@@ -107,7 +108,17 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
     @Override
     void writeMessage(final OfHeader message, final long now) {
         super.writeMessage(message, now);
-        if (message instanceof BarrierInput) {
+        onMessageWritten(message instanceof BarrierInput, now);
+    }
+
+    @Override
+    void writeRawMessage(final ByteBuf rawMessage, final boolean barrier, final long now) {
+        super.writeRawMessage(rawMessage, barrier, now);
+        onMessageWritten(barrier, now);
+    }
+
+    private void onMessageWritten(final boolean barrier, final long now) {
+        if (barrier) {
             LOG.trace("Barrier message seen, resetting counters");
             nonBarrierMessages = 0;
             lastBarrierNanos = now;
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import org.opendaylight.openflowjava.protocol.api.connection.RawMessageListener;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.core.RawFrameHandler;
+
+/**
+ * Hands classified frames over to application's {@link RawMessageListener}.
+ */
+final class RawMessageFrameHandler implements RawFrameHandler {
+    private final RawMessageListener listener;
+
+    RawMessageFrameHandler(final RawMessageListener listener) {
+        this.listener = Preconditions.checkNotNull(listener);
+    }
+
+    @Override
+    public boolean handleFrame(final ChannelHandlerContext ctx, final short version, final short type,
+            final ByteBuf frame) {
+        // Skip the type, the listener gets the message from the length field on
+        final ByteBuf message = frame.slice(frame.readerIndex() + EncodeConstants.SIZE_OF_BYTE_IN_BYTES,
+                frame.readableBytes() - EncodeConstants.SIZE_OF_BYTE_IN_BYTES);
+        message.retain();
+        listener.onRawMessage(version, type, message);
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "RawMessageFrameHandler [listener=" + listener + "]";
+    }
+}
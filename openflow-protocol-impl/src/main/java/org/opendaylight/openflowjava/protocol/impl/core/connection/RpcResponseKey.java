@@ -17,12 +17,12 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 public class RpcResponseKey {
 
     private final long xid;
-    private final String outputClazz;
+    private final Class<?> outputClazz;
     /**
      * @param xid
      * @param outputClazz
      */
-    public RpcResponseKey(long xid, String outputClazz) {
+    public RpcResponseKey(long xid, Class<?> outputClazz) {
         this.xid = xid;
         this.outputClazz = outputClazz;
     }
@@ -37,7 +37,7 @@ public class RpcResponseKey {
     /**
      * @return the outputClazz
      */
-    public String getOutputClazz() {
+    public Class<?> getOutputClazz() {
         return outputClazz;
     }
 
@@ -47,6 +47,7 @@ public class RpcResponseKey {
         int result = 1;
         result = prime * result
                 + ((outputClazz == null) ? 0 : outputClazz.hashCode());
+        result = prime * result + (int) (xid ^ (xid >>> 32));
         return result;
     }
 
@@ -62,16 +63,8 @@ public class RpcResponseKey {
             return false;
         }
         RpcResponseKey other = (RpcResponseKey) obj;
-        if (outputClazz == null) {
-            if (other.outputClazz != null) {
-                return false;
-            }
-        } else if (!outputClazz.equals(other.outputClazz)) {
-            return false;
-        } else if (xid != other.getXid()) {
-            return false;
-        }
-        return true;
+        // Classes are compared by identity, the cheap XID check rejects most keys first
+        return xid == other.xid && outputClazz == other.outputClazz;
     }
 
     @Override
@@ -8,6 +8,8 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 import org.slf4j.Logger;
@@ -32,24 +34,51 @@ final class StackedOutboundQueue extends AbstractStackedOutboundQueue {
 
         entry.commit(message, callback);
         if (entry.isBarrier()) {
-            long my = xid;
-            for (;;) {
-                final long prev = BARRIER_XID_UPDATER.getAndSet(this, my);
-                if (prev < my) {
-                    LOG.debug("Queue {} recorded pending barrier XID {}", this, my);
-                    break;
-                }
-
-                // We have traveled back, recover
-                LOG.debug("Queue {} retry pending barrier {} >= {}", this, prev, my);
-                my = prev;
-            }
+            recordBarrier(xid);
         }
 
         LOG.trace("Queue {} committed XID {}", this, xid);
         manager.ensureFlushing();
     }
 
+    /*
+     * This method is expected to be called from multiple threads concurrently
+     */
+    @Override
+    public void commitRawEntry(final Long xid, final ByteBuf rawMessage, final FutureCallback<OfHeader> callback) {
+        final OutboundQueueEntry entry;
+        try {
+            final short type = prepareRawMessage(xid, rawMessage);
+            entry = getEntry(xid);
+            entry.commitRaw(rawMessage, isRawBarrier(rawMessage, type), type == PACKET_OUT_TYPE, callback);
+        } catch (RuntimeException e) {
+            // The queue owns the buffer even if the commit is refused
+            ReferenceCountUtil.release(rawMessage);
+            throw e;
+        }
+        if (entry.isBarrier()) {
+            recordBarrier(xid);
+        }
+
+        LOG.trace("Queue {} committed raw XID {}", this, xid);
+        manager.ensureFlushing();
+    }
+
+    private void recordBarrier(final long xid) {
+        long my = xid;
+        for (;;) {
+            final long prev = BARRIER_XID_UPDATER.getAndSet(this, my);
+            if (prev < my) {
+                LOG.debug("Queue {} recorded pending barrier XID {}", this, my);
+                break;
+            }
+
+            // We have traveled back, recover
+            LOG.debug("Queue {} retry pending barrier {} >= {}", this, prev, my);
+            my = prev;
+        }
+    }
+
     Long reserveBarrierIfNeeded() {
         if (isBarrierNeeded()) {
             return reserveEntry();
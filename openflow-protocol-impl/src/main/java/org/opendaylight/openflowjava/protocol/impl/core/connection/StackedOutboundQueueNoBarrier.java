@@ -9,7 +9,9 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.util.ReferenceCountUtil;
 import javax.annotation.Nonnull;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
@@ -46,6 +48,32 @@ public class StackedOutboundQueueNoBarrier extends AbstractStackedOutboundQueue
         manager.ensureFlushing();
     }
 
+    @Override
+    public void commitRawEntry(final Long xid, final ByteBuf rawMessage, final FutureCallback<OfHeader> callback) {
+        final short type;
+        final OutboundQueueEntry entry;
+        try {
+            type = prepareRawMessage(xid, rawMessage);
+            entry = getEntry(xid);
+        } catch (RuntimeException e) {
+            // The queue owns the buffer even if the commit is refused
+            ReferenceCountUtil.release(rawMessage);
+            throw e;
+        }
+
+        if (type == FLOW_MOD_TYPE) {
+            if (callback != null) {
+                callback.onSuccess(null);
+            }
+            entry.commitRaw(rawMessage, false, false, null);
+        } else {
+            entry.commitRaw(rawMessage, isRawBarrier(rawMessage, type), type == PACKET_OUT_TYPE, callback);
+        }
+
+        LOG.trace("Queue {} committed raw XID {}", this, xid);
+        manager.ensureFlushing();
+    }
+
     @Override
     int writeEntries(@Nonnull final Channel channel, final long now) {
         // Local cache
@@ -61,14 +89,21 @@ public class StackedOutboundQueueNoBarrier extends AbstractStackedOutboundQueue
             }
 
             LOG.trace("Queue {} flushing entry at offset {}", this, flushOffset);
-            final OfHeader message = entry.takeMessage();
-            flushOffset++;
-            entries++;
-
-            if (message != null) {
-                manager.writeMessage(message, now);
+            if (entry.isRaw()) {
+                final boolean barrier = entry.isBarrier();
+                manager.writeRawMessage(entry.takeRawMessage(), barrier, now);
+                flushOffset++;
+                entries++;
             } else {
-                entry.complete(null);
+                final OfHeader message = entry.takeMessage();
+                flushOffset++;
+                entries++;
+
+                if (message != null) {
+                    manager.writeMessage(message, now);
+                } else {
+                    entry.complete(null);
+                }
             }
 
             if (flushOffset >= StackedSegment.SEGMENT_SIZE) {
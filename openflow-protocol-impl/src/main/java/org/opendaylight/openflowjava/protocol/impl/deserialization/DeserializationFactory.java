@@ -8,15 +8,20 @@
 
 package org.opendaylight.openflowjava.protocol.impl.deserialization;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import io.netty.buffer.ByteBuf;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.MultipartReplyMessageFactory;
 import org.opendaylight.openflowjava.protocol.impl.util.TypeToClassKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 
 /**
@@ -26,6 +31,8 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
  */
 public class DeserializationFactory {
 
+    private static final int OF13_MULTIPART_REPLY_TYPE = 19;
+
     private final Map<TypeToClassKey, Class<?>> messageClassMap;
     private DeserializerRegistry registry;
 
@@ -60,6 +67,23 @@ public class DeserializationFactory {
         return dataObject;
     }
 
+    /**
+     * Decodes entries of an OpenFlow 1.3 multipart reply body lazily, one per
+     * {@link Iterator#next()} call.
+     *
+     * @param type multipart type of the reply
+     * @param body reply body following the multipart reply header
+     * @return iterator over reply entries
+     * @see MultipartReplyMessageFactory#entryIterator(MultipartType, ByteBuf)
+     */
+    public Iterator<DataObject> deserializeMultipartReplyEntries(final MultipartType type, final ByteBuf body) {
+        final OFDeserializer<DataObject> deserializer = registry.getDeserializer(new MessageCodeKey(
+                EncodeConstants.OF13_VERSION_ID, OF13_MULTIPART_REPLY_TYPE, MultipartReplyMessage.class));
+        Preconditions.checkState(deserializer instanceof MultipartReplyMessageFactory,
+                "Multipart reply deserializer %s does not support streaming", deserializer);
+        return ((MultipartReplyMessageFactory) deserializer).entryIterator(type, body);
+    }
+
     /**
      * @param registry
      */
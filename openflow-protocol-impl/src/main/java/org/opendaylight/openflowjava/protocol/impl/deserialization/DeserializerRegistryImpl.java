@@ -13,6 +13,7 @@ import java.util.Map;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.MatchEntryDeserializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.MatchDeserializer;
@@ -85,6 +86,9 @@ public class DeserializerRegistryImpl implements DeserializerRegistry {
         if (deserializer instanceof DeserializerRegistryInjector) {
             ((DeserializerRegistryInjector) deserializer).injectDeserializerRegistry(this);
         }
+        if (key instanceof MatchEntryDeserializerKey) {
+            resetMatchEntryDeserializers();
+        }
     }
 
     @Override
@@ -96,7 +100,18 @@ public class DeserializerRegistryImpl implements DeserializerRegistry {
         if (deserializer == null) {
             return false;
         }
+        if (key instanceof MatchEntryDeserializerKey) {
+            resetMatchEntryDeserializers();
+        }
         return true;
     }
 
+    private void resetMatchEntryDeserializers() {
+        OFGeneralDeserializer matchDeserializer = registry.get(
+                new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, EncodeConstants.EMPTY_VALUE, Match.class));
+        if (matchDeserializer instanceof MatchDeserializer) {
+            ((MatchDeserializer) matchDeserializer).resetEntryDeserializers();
+        }
+    }
+
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization;
+
+/**
+ * Keeps one builder per thread, so that deserializers running on Netty event loops can reuse it
+ * instead of allocating a new builder for every message. Reuse is disabled by default and is
+ * switched on globally by {@link #setEnabled(boolean)}.
+ *
+ * <p>
+ * A deserializer using this facility has to set every field of the builder on each use (or reset
+ * it to null) and must not let the builder escape - only the built immutable object may leave
+ * the deserializer. Builders must not be held across nested deserializer invocations of the
+ * same kind.
+ *
+ * @param <B> builder type
+ */
+public abstract class ReusableBuilder<B> {
+
+    private static volatile boolean enabled;
+
+    private final ThreadLocal<B> builders = new ThreadLocal<B>() {
+        @Override
+        protected B initialValue() {
+            return create();
+        }
+    };
+
+    /**
+     * @param enable true to reuse builders, false to allocate a new builder on each use
+     */
+    public static void setEnabled(final boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * @return true if builders are reused
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return builder confined to the calling thread if reuse is enabled, new builder otherwise
+     */
+    public final B get() {
+        return enabled ? builders.get() : create();
+    }
+
+    /**
+     * @return new builder instance
+     */
+    protected abstract B create();
+}
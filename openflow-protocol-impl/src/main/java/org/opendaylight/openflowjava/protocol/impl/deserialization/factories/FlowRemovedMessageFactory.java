@@ -10,13 +10,13 @@ package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
 
 import io.netty.buffer.ByteBuf;
 
-import java.math.BigInteger;
-
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.ReusableBuilder;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.FlowRemovedReason;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.TableId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
@@ -31,16 +31,21 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 public class FlowRemovedMessageFactory implements OFDeserializer<FlowRemovedMessage>,
         DeserializerRegistryInjector {
 
+    private static final ReusableBuilder<FlowRemovedMessageBuilder> BUILDERS =
+            new ReusableBuilder<FlowRemovedMessageBuilder>() {
+                @Override
+                protected FlowRemovedMessageBuilder create() {
+                    return new FlowRemovedMessageBuilder();
+                }
+            };
     private DeserializerRegistry registry;
 
     @Override
     public FlowRemovedMessage deserialize(ByteBuf rawMessage) {
-        FlowRemovedMessageBuilder builder = new FlowRemovedMessageBuilder();
+        FlowRemovedMessageBuilder builder = BUILDERS.get();
         builder.setVersion((short) EncodeConstants.OF13_VERSION_ID);
         builder.setXid(rawMessage.readUnsignedInt());
-        byte[] cookie = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-        rawMessage.readBytes(cookie);
-        builder.setCookie(new BigInteger(1, cookie));
+        builder.setCookie(ByteBufUtils.readUint64(rawMessage));
         builder.setPriority(rawMessage.readUnsignedShort());
         builder.setReason(FlowRemovedReason.forValue(rawMessage.readUnsignedByte()));
         builder.setTableId(new TableId((long)rawMessage.readUnsignedByte()));
@@ -48,12 +53,8 @@ public class FlowRemovedMessageFactory implements OFDeserializer<FlowRemovedMess
         builder.setDurationNsec(rawMessage.readUnsignedInt());
         builder.setIdleTimeout(rawMessage.readUnsignedShort());
         builder.setHardTimeout(rawMessage.readUnsignedShort());
-        byte[] packetCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-        rawMessage.readBytes(packetCount);
-        builder.setPacketCount(new BigInteger(1, packetCount));
-        byte[] byteCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-        rawMessage.readBytes(byteCount);
-        builder.setByteCount(new BigInteger(1, byteCount));
+        builder.setPacketCount(ByteBufUtils.readUint64(rawMessage));
+        builder.setByteCount(ByteBufUtils.readUint64(rawMessage));
         OFDeserializer<Match> matchDeserializer = registry.getDeserializer(new MessageCodeKey(
                 EncodeConstants.OF13_VERSION_ID, EncodeConstants.EMPTY_VALUE, Match.class));
         builder.setMatch(matchDeserializer.deserialize(rawMessage));
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import io.netty.buffer.ByteBuf;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.opendaylight.openflowjava.protocol.api.connection.FlowStatsRecord;
+
+/**
+ * Iterates over ofp_flow_stats records of an OpenFlow 1.3 flow statistics reply body
+ * without creating any objects per record. The iterator returns itself positioned
+ * at the next record, all accessors read directly from the underlying buffer.
+ * A single instance can be reused for multiple bodies through {@link #reset(ByteBuf)}.
+ */
+public final class FlowStatsFlyweight implements FlowStatsRecord, Iterator<FlowStatsRecord> {
+
+    /* Offsets counted from start of ofp_flow_stats */
+    private static final int TABLE_ID_OFFSET = 2;
+    private static final int DURATION_SEC_OFFSET = 4;
+    private static final int DURATION_NSEC_OFFSET = 8;
+    private static final int PRIORITY_OFFSET = 12;
+    private static final int IDLE_TIMEOUT_OFFSET = 14;
+    private static final int HARD_TIMEOUT_OFFSET = 16;
+    private static final int FLAGS_OFFSET = 18;
+    private static final int COOKIE_OFFSET = 24;
+    private static final int PACKET_COUNT_OFFSET = 32;
+    private static final int BYTE_COUNT_OFFSET = 40;
+    private static final int MATCH_OFFSET = 48;
+    private static final int MATCH_LENGTH_OFFSET = MATCH_OFFSET + 2;
+    /** Fixed part plus minimal (empty) padded match */
+    private static final int MIN_RECORD_LENGTH = MATCH_OFFSET + 8;
+    private static final int MATCH_ALIGNMENT = 8;
+
+    private ByteBuf body;
+    private int nextOffset;
+    private int limit;
+    private int offset = -1;
+    private int length;
+
+    /**
+     * Creates flyweight without any body, {@link #reset(ByteBuf)} has to be called before use
+     */
+    public FlowStatsFlyweight() {
+        // Nothing to do
+    }
+
+    /**
+     * @param body flow statistics reply body (readable bytes only)
+     */
+    public FlowStatsFlyweight(final ByteBuf body) {
+        reset(body);
+    }
+
+    /**
+     * Repositions this flyweight before the first record of given body
+     * @param body flow statistics reply body (readable bytes only)
+     * @return this flyweight
+     */
+    public FlowStatsFlyweight reset(final ByteBuf body) {
+        this.body = body;
+        this.nextOffset = body.readerIndex();
+        this.limit = body.writerIndex();
+        this.offset = -1;
+        this.length = 0;
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return body != null && nextOffset < limit;
+    }
+
+    @Override
+    public FlowStatsRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final int recordLength = body.getUnsignedShort(nextOffset);
+        if (recordLength < MIN_RECORD_LENGTH || recordLength > limit - nextOffset) {
+            throw new IllegalArgumentException("Invalid flow stats length " + recordLength + " at offset "
+                    + nextOffset);
+        }
+        offset = nextOffset;
+        length = recordLength;
+        nextOffset += recordLength;
+        return this;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public short getTableId() {
+        return body.getUnsignedByte(position(TABLE_ID_OFFSET));
+    }
+
+    @Override
+    public long getDurationSec() {
+        return body.getUnsignedInt(position(DURATION_SEC_OFFSET));
+    }
+
+    @Override
+    public long getDurationNsec() {
+        return body.getUnsignedInt(position(DURATION_NSEC_OFFSET));
+    }
+
+    @Override
+    public int getPriority() {
+        return body.getUnsignedShort(position(PRIORITY_OFFSET));
+    }
+
+    @Override
+    public int getIdleTimeout() {
+        return body.getUnsignedShort(position(IDLE_TIMEOUT_OFFSET));
+    }
+
+    @Override
+    public int getHardTimeout() {
+        return body.getUnsignedShort(position(HARD_TIMEOUT_OFFSET));
+    }
+
+    @Override
+    public int getFlags() {
+        return body.getUnsignedShort(position(FLAGS_OFFSET));
+    }
+
+    @Override
+    public long getCookie() {
+        return body.getLong(position(COOKIE_OFFSET));
+    }
+
+    @Override
+    public long getPacketCount() {
+        return body.getLong(position(PACKET_COUNT_OFFSET));
+    }
+
+    @Override
+    public long getByteCount() {
+        return body.getLong(position(BYTE_COUNT_OFFSET));
+    }
+
+    @Override
+    public ByteBuf getMatch() {
+        return body.slice(position(MATCH_OFFSET), matchLength());
+    }
+
+    @Override
+    public ByteBuf getInstructions() {
+        final int matchLength = matchLength();
+        final int instructionsOffset = MATCH_OFFSET + matchLength + paddingNeeded(matchLength);
+        if (instructionsOffset >= length) {
+            return body.slice(offset + length, 0);
+        }
+        return body.slice(position(instructionsOffset), length - instructionsOffset);
+    }
+
+    private int matchLength() {
+        final int matchLength = body.getUnsignedShort(position(MATCH_LENGTH_OFFSET));
+        if (matchLength > length - MATCH_OFFSET) {
+            throw new IllegalArgumentException("Invalid match length " + matchLength + " at offset " + offset);
+        }
+        return matchLength;
+    }
+
+    private int position(final int fieldOffset) {
+        if (offset < 0) {
+            throw new IllegalStateException("Flyweight is not positioned at a record");
+        }
+        return offset + fieldOffset;
+    }
+
+    private static int paddingNeeded(final int length) {
+        final int remainder = length % MATCH_ALIGNMENT;
+        return remainder == 0 ? 0 : MATCH_ALIGNMENT - remainder;
+    }
+}
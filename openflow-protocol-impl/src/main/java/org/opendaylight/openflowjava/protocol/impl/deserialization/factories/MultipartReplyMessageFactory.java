@@ -9,9 +9,10 @@
 package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
 
 import io.netty.buffer.ByteBuf;
-import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
@@ -138,6 +139,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.table.features._case.multipart.reply.table.features.TableFeaturesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.table.features.properties.grouping.TableFeatureProperties;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.table.features.properties.grouping.TableFeaturePropertiesBuilder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
 
 /**
  * Translates MultipartReply messages
@@ -243,6 +245,79 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return builder.build();
     }
 
+    /**
+     * Creates iterator decoding entries of a multipart reply body one at a time, so that
+     * the whole list of entries never needs to be materialized. Supported for multipart types
+     * carrying a list of statistics - flow, table, port stats, queue, group and meter.
+     *
+     * @param type multipart type of the reply
+     * @param body reply body (following the multipart reply header)
+     * @return iterator over FlowStats, TableStats, PortStats, QueueStats, GroupStats
+     *         or MeterStats, depending on multipart type
+     * @throws IllegalArgumentException if the multipart type does not carry a list of entries
+     */
+    public Iterator<DataObject> entryIterator(final MultipartType type, final ByteBuf body) {
+        if (!isStreamable(type)) {
+            throw new IllegalArgumentException("Multipart type " + type + " can not be streamed");
+        }
+        return new Iterator<DataObject>() {
+            @Override
+            public boolean hasNext() {
+                return body.isReadable();
+            }
+
+            @Override
+            public DataObject next() {
+                if (!body.isReadable()) {
+                    throw new NoSuchElementException();
+                }
+                return readEntry(type, body);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * @param type multipart type
+     * @return true if entries of given multipart type can be decoded through {@link #entryIterator(MultipartType, ByteBuf)}
+     */
+    public static boolean isStreamable(final MultipartType type) {
+        switch (type) {
+            case OFPMPFLOW:
+            case OFPMPTABLE:
+            case OFPMPPORTSTATS:
+            case OFPMPQUEUE:
+            case OFPMPGROUP:
+            case OFPMPMETER:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private DataObject readEntry(final MultipartType type, final ByteBuf input) {
+        switch (type) {
+            case OFPMPFLOW:
+                return readFlowStats(input);
+            case OFPMPTABLE:
+                return readTableStats(input);
+            case OFPMPPORTSTATS:
+                return readPortStats(input);
+            case OFPMPQUEUE:
+                return readQueueStats(input);
+            case OFPMPGROUP:
+                return readGroupStats(input);
+            case OFPMPMETER:
+                return readMeterStats(input);
+            default:
+                throw new IllegalArgumentException("Multipart type " + type + " can not be streamed");
+        }
+    }
+
     private static MultipartReplyDescCase setDesc(final ByteBuf input) {
         MultipartReplyDescCaseBuilder caseBuilder = new MultipartReplyDescCaseBuilder();
         MultipartReplyDescBuilder descBuilder = new MultipartReplyDescBuilder();
@@ -275,42 +350,40 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         MultipartReplyFlowBuilder flowBuilder = new MultipartReplyFlowBuilder();
         List<FlowStats> flowStatsList = new ArrayList<>();
         while (input.readableBytes() > 0) {
-            FlowStatsBuilder flowStatsBuilder = new FlowStatsBuilder();
-            int flowRecordLength = input.readUnsignedShort();
-            ByteBuf subInput = input.readSlice(flowRecordLength - EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
-            flowStatsBuilder.setTableId(subInput.readUnsignedByte());
-            subInput.skipBytes(PADDING_IN_FLOW_STATS_HEADER_01);
-            flowStatsBuilder.setDurationSec(subInput.readUnsignedInt());
-            flowStatsBuilder.setDurationNsec(subInput.readUnsignedInt());
-            flowStatsBuilder.setPriority(subInput.readUnsignedShort());
-            flowStatsBuilder.setIdleTimeout(subInput.readUnsignedShort());
-            flowStatsBuilder.setHardTimeout(subInput.readUnsignedShort());
-            flowStatsBuilder.setFlags(createFlowModFlagsFromBitmap(subInput.readUnsignedShort()));
-            subInput.skipBytes(PADDING_IN_FLOW_STATS_HEADER_02);
-            byte[] cookie = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            subInput.readBytes(cookie);
-            flowStatsBuilder.setCookie(new BigInteger(1, cookie));
-            byte[] packetCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            subInput.readBytes(packetCount);
-            flowStatsBuilder.setPacketCount(new BigInteger(1, packetCount));
-            byte[] byteCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            subInput.readBytes(byteCount);
-            flowStatsBuilder.setByteCount(new BigInteger(1, byteCount));
-            OFDeserializer<Match> matchDeserializer = registry.getDeserializer(new MessageCodeKey(
-                    EncodeConstants.OF13_VERSION_ID, EncodeConstants.EMPTY_VALUE, Match.class));
-            flowStatsBuilder.setMatch(matchDeserializer.deserialize(subInput));
-            CodeKeyMaker keyMaker = CodeKeyMakerFactory
-                    .createInstructionsKeyMaker(EncodeConstants.OF13_VERSION_ID);
-            List<Instruction> instructions = ListDeserializer.deserializeList(
-                    EncodeConstants.OF13_VERSION_ID, subInput.readableBytes(), subInput, keyMaker, registry);
-            flowStatsBuilder.setInstruction(instructions);
-            flowStatsList.add(flowStatsBuilder.build());
+            flowStatsList.add(readFlowStats(input));
         }
         flowBuilder.setFlowStats(flowStatsList);
         caseBuilder.setMultipartReplyFlow(flowBuilder.build());
         return caseBuilder.build();
     }
 
+    private FlowStats readFlowStats(final ByteBuf input) {
+        FlowStatsBuilder flowStatsBuilder = new FlowStatsBuilder();
+        int flowRecordLength = input.readUnsignedShort();
+        ByteBuf subInput = input.readSlice(flowRecordLength - EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
+        flowStatsBuilder.setTableId(subInput.readUnsignedByte());
+        subInput.skipBytes(PADDING_IN_FLOW_STATS_HEADER_01);
+        flowStatsBuilder.setDurationSec(subInput.readUnsignedInt());
+        flowStatsBuilder.setDurationNsec(subInput.readUnsignedInt());
+        flowStatsBuilder.setPriority(subInput.readUnsignedShort());
+        flowStatsBuilder.setIdleTimeout(subInput.readUnsignedShort());
+        flowStatsBuilder.setHardTimeout(subInput.readUnsignedShort());
+        flowStatsBuilder.setFlags(createFlowModFlagsFromBitmap(subInput.readUnsignedShort()));
+        subInput.skipBytes(PADDING_IN_FLOW_STATS_HEADER_02);
+        flowStatsBuilder.setCookie(ByteBufUtils.readUint64(subInput));
+        flowStatsBuilder.setPacketCount(ByteBufUtils.readUint64(subInput));
+        flowStatsBuilder.setByteCount(ByteBufUtils.readUint64(subInput));
+        OFDeserializer<Match> matchDeserializer = registry.getDeserializer(new MessageCodeKey(
+                EncodeConstants.OF13_VERSION_ID, EncodeConstants.EMPTY_VALUE, Match.class));
+        flowStatsBuilder.setMatch(matchDeserializer.deserialize(subInput));
+        CodeKeyMaker keyMaker = CodeKeyMakerFactory
+                .createInstructionsKeyMaker(EncodeConstants.OF13_VERSION_ID);
+        List<Instruction> instructions = ListDeserializer.deserializeList(
+                EncodeConstants.OF13_VERSION_ID, subInput.readableBytes(), subInput, keyMaker, registry);
+        flowStatsBuilder.setInstruction(instructions);
+        return flowStatsBuilder.build();
+    }
+
     private static FlowModFlags createFlowModFlagsFromBitmap(final int input) {
         final Boolean fmfSENDFLOWREM = (input & (1 << 0)) != 0;
         final Boolean fmfCHECKOVERLAP = (input & (1 << 1)) != 0;
@@ -323,12 +396,8 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
     private static MultipartReplyAggregateCase setAggregate(final ByteBuf input) {
         MultipartReplyAggregateCaseBuilder caseBuilder = new MultipartReplyAggregateCaseBuilder();
         MultipartReplyAggregateBuilder builder = new MultipartReplyAggregateBuilder();
-        byte[] packetCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-        input.readBytes(packetCount);
-        builder.setPacketCount(new BigInteger(1, packetCount));
-        byte[] byteCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-        input.readBytes(byteCount);
-        builder.setByteCount(new BigInteger(1, byteCount));
+        builder.setPacketCount(ByteBufUtils.readUint64(input));
+        builder.setByteCount(ByteBufUtils.readUint64(input));
         builder.setFlowCount(input.readUnsignedInt());
         input.skipBytes(PADDING_IN_AGGREGATE_HEADER);
         caseBuilder.setMultipartReplyAggregate(builder.build());
@@ -340,23 +409,23 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         MultipartReplyTableBuilder builder = new MultipartReplyTableBuilder();
         List<TableStats> tableStatsList = new ArrayList<>();
         while (input.readableBytes() > 0) {
-            TableStatsBuilder tableStatsBuilder = new TableStatsBuilder();
-            tableStatsBuilder.setTableId(input.readUnsignedByte());
-            input.skipBytes(PADDING_IN_TABLE_HEADER);
-            tableStatsBuilder.setActiveCount(input.readUnsignedInt());
-            byte[] lookupCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(lookupCount);
-            tableStatsBuilder.setLookupCount(new BigInteger(1, lookupCount));
-            byte[] matchedCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(matchedCount);
-            tableStatsBuilder.setMatchedCount(new BigInteger(1, matchedCount));
-            tableStatsList.add(tableStatsBuilder.build());
+            tableStatsList.add(readTableStats(input));
         }
         builder.setTableStats(tableStatsList);
         caseBuilder.setMultipartReplyTable(builder.build());
         return caseBuilder.build();
     }
 
+    private static TableStats readTableStats(final ByteBuf input) {
+        TableStatsBuilder tableStatsBuilder = new TableStatsBuilder();
+        tableStatsBuilder.setTableId(input.readUnsignedByte());
+        input.skipBytes(PADDING_IN_TABLE_HEADER);
+        tableStatsBuilder.setActiveCount(input.readUnsignedInt());
+        tableStatsBuilder.setLookupCount(ByteBufUtils.readUint64(input));
+        tableStatsBuilder.setMatchedCount(ByteBufUtils.readUint64(input));
+        return tableStatsBuilder.build();
+    }
+
     private MultipartReplyTableFeaturesCase setTableFeatures(final ByteBuf input) {
         MultipartReplyTableFeaturesCaseBuilder caseBuilder = new MultipartReplyTableFeaturesCaseBuilder();
         MultipartReplyTableFeaturesBuilder builder = new MultipartReplyTableFeaturesBuilder();
@@ -469,120 +538,94 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         MultipartReplyPortStatsBuilder builder = new MultipartReplyPortStatsBuilder();
         List<PortStats> portStatsList = new ArrayList<>();
         while (input.readableBytes() > 0) {
-            PortStatsBuilder portStatsBuilder = new PortStatsBuilder();
-            portStatsBuilder.setPortNo(input.readUnsignedInt());
-            input.skipBytes(PADDING_IN_PORT_STATS_HEADER);
-            byte[] rxPackets = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxPackets);
-            portStatsBuilder.setRxPackets(new BigInteger(1, rxPackets));
-            byte[] txPackets = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txPackets);
-            portStatsBuilder.setTxPackets(new BigInteger(1, txPackets));
-            byte[] rxBytes = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxBytes);
-            portStatsBuilder.setRxBytes(new BigInteger(1, rxBytes));
-            byte[] txBytes = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txBytes);
-            portStatsBuilder.setTxBytes(new BigInteger(1, txBytes));
-            byte[] rxDropped = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxDropped);
-            portStatsBuilder.setRxDropped(new BigInteger(1, rxDropped));
-            byte[] txDropped = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txDropped);
-            portStatsBuilder.setTxDropped(new BigInteger(1, txDropped));
-            byte[] rxErrors = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxErrors);
-            portStatsBuilder.setRxErrors(new BigInteger(1, rxErrors));
-            byte[] txErrors = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txErrors);
-            portStatsBuilder.setTxErrors(new BigInteger(1, txErrors));
-            byte[] rxFrameErr = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxFrameErr);
-            portStatsBuilder.setRxFrameErr(new BigInteger(1, rxFrameErr));
-            byte[] rxOverErr = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxOverErr);
-            portStatsBuilder.setRxOverErr(new BigInteger(1, rxOverErr));
-            byte[] rxCrcErr = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxCrcErr);
-            portStatsBuilder.setRxCrcErr(new BigInteger(1, rxCrcErr));
-            byte[] collisions = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(collisions);
-            portStatsBuilder.setCollisions(new BigInteger(1, collisions));
-            portStatsBuilder.setDurationSec(input.readUnsignedInt());
-            portStatsBuilder.setDurationNsec(input.readUnsignedInt());
-            portStatsList.add(portStatsBuilder.build());
+            portStatsList.add(readPortStats(input));
         }
         builder.setPortStats(portStatsList);
         caseBuilder.setMultipartReplyPortStats(builder.build());
         return caseBuilder.build();
     }
 
+    private static PortStats readPortStats(final ByteBuf input) {
+        PortStatsBuilder portStatsBuilder = new PortStatsBuilder();
+        portStatsBuilder.setPortNo(input.readUnsignedInt());
+        input.skipBytes(PADDING_IN_PORT_STATS_HEADER);
+        portStatsBuilder.setRxPackets(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setTxPackets(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setRxBytes(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setTxBytes(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setRxDropped(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setTxDropped(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setRxErrors(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setTxErrors(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setRxFrameErr(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setRxOverErr(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setRxCrcErr(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setCollisions(ByteBufUtils.readUint64(input));
+        portStatsBuilder.setDurationSec(input.readUnsignedInt());
+        portStatsBuilder.setDurationNsec(input.readUnsignedInt());
+        return portStatsBuilder.build();
+    }
+
     private static MultipartReplyQueueCase setQueue(final ByteBuf input) {
         MultipartReplyQueueCaseBuilder caseBuilder = new MultipartReplyQueueCaseBuilder();
         MultipartReplyQueueBuilder builder = new MultipartReplyQueueBuilder();
         List<QueueStats> queueStatsList = new ArrayList<>();
         while (input.readableBytes() > 0) {
-            QueueStatsBuilder queueStatsBuilder = new QueueStatsBuilder();
-            queueStatsBuilder.setPortNo(input.readUnsignedInt());
-            queueStatsBuilder.setQueueId(input.readUnsignedInt());
-            byte[] txBytes = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txBytes);
-            queueStatsBuilder.setTxBytes(new BigInteger(1, txBytes));
-            byte[] txPackets = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txPackets);
-            queueStatsBuilder.setTxPackets(new BigInteger(1, txPackets));
-            byte[] txErrors = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txErrors);
-            queueStatsBuilder.setTxErrors(new BigInteger(1, txErrors));
-            queueStatsBuilder.setDurationSec(input.readUnsignedInt());
-            queueStatsBuilder.setDurationNsec(input.readUnsignedInt());
-            queueStatsList.add(queueStatsBuilder.build());
+            queueStatsList.add(readQueueStats(input));
         }
         builder.setQueueStats(queueStatsList);
         caseBuilder.setMultipartReplyQueue(builder.build());
         return caseBuilder.build();
     }
 
+    private static QueueStats readQueueStats(final ByteBuf input) {
+        QueueStatsBuilder queueStatsBuilder = new QueueStatsBuilder();
+        queueStatsBuilder.setPortNo(input.readUnsignedInt());
+        queueStatsBuilder.setQueueId(input.readUnsignedInt());
+        queueStatsBuilder.setTxBytes(ByteBufUtils.readUint64(input));
+        queueStatsBuilder.setTxPackets(ByteBufUtils.readUint64(input));
+        queueStatsBuilder.setTxErrors(ByteBufUtils.readUint64(input));
+        queueStatsBuilder.setDurationSec(input.readUnsignedInt());
+        queueStatsBuilder.setDurationNsec(input.readUnsignedInt());
+        return queueStatsBuilder.build();
+    }
+
     private static MultipartReplyGroupCase setGroup(final ByteBuf input) {
         MultipartReplyGroupCaseBuilder caseBuilder = new MultipartReplyGroupCaseBuilder();
         MultipartReplyGroupBuilder builder = new MultipartReplyGroupBuilder();
         List<GroupStats> groupStatsList = new ArrayList<>();
         while (input.readableBytes() > 0) {
-            GroupStatsBuilder groupStatsBuilder = new GroupStatsBuilder();
-            int bodyLength = input.readUnsignedShort();
-            input.skipBytes(PADDING_IN_GROUP_HEADER_01);
-            groupStatsBuilder.setGroupId(new GroupId(input.readUnsignedInt()));
-            groupStatsBuilder.setRefCount(input.readUnsignedInt());
-            input.skipBytes(PADDING_IN_GROUP_HEADER_02);
-            byte[] packetCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(packetCount);
-            groupStatsBuilder.setPacketCount(new BigInteger(1, packetCount));
-            byte[] byteCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(byteCount);
-            groupStatsBuilder.setByteCount(new BigInteger(1, byteCount));
-            groupStatsBuilder.setDurationSec(input.readUnsignedInt());
-            groupStatsBuilder.setDurationNsec(input.readUnsignedInt());
-            int actualLength = GROUP_BODY_LENGTH;
-            List<BucketStats> bucketStatsList = new ArrayList<>();
-            while (actualLength < bodyLength) {
-                BucketStatsBuilder bucketStatsBuilder = new BucketStatsBuilder();
-                byte[] packetCountBucket = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-                input.readBytes(packetCountBucket);
-                bucketStatsBuilder.setPacketCount(new BigInteger(1, packetCountBucket));
-                byte[] byteCountBucket = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-                input.readBytes(byteCountBucket);
-                bucketStatsBuilder.setByteCount(new BigInteger(1, byteCountBucket));
-                bucketStatsList.add(bucketStatsBuilder.build());
-                actualLength += BUCKET_COUNTER_LENGTH;
-            }
-            groupStatsBuilder.setBucketStats(bucketStatsList);
-            groupStatsList.add(groupStatsBuilder.build());
+            groupStatsList.add(readGroupStats(input));
         }
         builder.setGroupStats(groupStatsList);
         caseBuilder.setMultipartReplyGroup(builder.build());
         return caseBuilder.build();
     }
 
+    private static GroupStats readGroupStats(final ByteBuf input) {
+        GroupStatsBuilder groupStatsBuilder = new GroupStatsBuilder();
+        int bodyLength = input.readUnsignedShort();
+        input.skipBytes(PADDING_IN_GROUP_HEADER_01);
+        groupStatsBuilder.setGroupId(new GroupId(input.readUnsignedInt()));
+        groupStatsBuilder.setRefCount(input.readUnsignedInt());
+        input.skipBytes(PADDING_IN_GROUP_HEADER_02);
+        groupStatsBuilder.setPacketCount(ByteBufUtils.readUint64(input));
+        groupStatsBuilder.setByteCount(ByteBufUtils.readUint64(input));
+        groupStatsBuilder.setDurationSec(input.readUnsignedInt());
+        groupStatsBuilder.setDurationNsec(input.readUnsignedInt());
+        int actualLength = GROUP_BODY_LENGTH;
+        List<BucketStats> bucketStatsList = new ArrayList<>();
+        while (actualLength < bodyLength) {
+            BucketStatsBuilder bucketStatsBuilder = new BucketStatsBuilder();
+            bucketStatsBuilder.setPacketCount(ByteBufUtils.readUint64(input));
+            bucketStatsBuilder.setByteCount(ByteBufUtils.readUint64(input));
+            bucketStatsList.add(bucketStatsBuilder.build());
+            actualLength += BUCKET_COUNTER_LENGTH;
+        }
+        groupStatsBuilder.setBucketStats(bucketStatsList);
+        return groupStatsBuilder.build();
+    }
+
     private static MultipartReplyMeterFeaturesCase setMeterFeatures(final ByteBuf input) {
         MultipartReplyMeterFeaturesCaseBuilder caseBuilder = new MultipartReplyMeterFeaturesCaseBuilder();
         MultipartReplyMeterFeaturesBuilder builder = new MultipartReplyMeterFeaturesBuilder();
@@ -615,40 +658,36 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         MultipartReplyMeterBuilder builder = new MultipartReplyMeterBuilder();
         List<MeterStats> meterStatsList = new ArrayList<>();
         while (input.readableBytes() > 0) {
-            MeterStatsBuilder meterStatsBuilder = new MeterStatsBuilder();
-            meterStatsBuilder.setMeterId(new MeterId(input.readUnsignedInt()));
-            int meterStatsBodyLength = input.readUnsignedShort();
-            input.skipBytes(PADDING_IN_METER_STATS_HEADER);
-            meterStatsBuilder.setFlowCount(input.readUnsignedInt());
-            byte[] packetInCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(packetInCount);
-            meterStatsBuilder.setPacketInCount(new BigInteger(1, packetInCount));
-            byte[] byteInCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(byteInCount);
-            meterStatsBuilder.setByteInCount(new BigInteger(1, byteInCount));
-            meterStatsBuilder.setDurationSec(input.readUnsignedInt());
-            meterStatsBuilder.setDurationNsec(input.readUnsignedInt());
-            int actualLength = METER_BODY_LENGTH;
-            List<MeterBandStats> meterBandStatsList = new ArrayList<>();
-            while (actualLength < meterStatsBodyLength) {
-                MeterBandStatsBuilder meterBandStatsBuilder = new MeterBandStatsBuilder();
-                byte[] packetBandCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-                input.readBytes(packetBandCount);
-                meterBandStatsBuilder.setPacketBandCount(new BigInteger(1, packetBandCount));
-                byte[] byteBandCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-                input.readBytes(byteBandCount);
-                meterBandStatsBuilder.setByteBandCount(new BigInteger(1, byteBandCount));
-                meterBandStatsList.add(meterBandStatsBuilder.build());
-                actualLength += METER_BAND_STATS_LENGTH;
-            }
-            meterStatsBuilder.setMeterBandStats(meterBandStatsList);
-            meterStatsList.add(meterStatsBuilder.build());
+            meterStatsList.add(readMeterStats(input));
         }
         builder.setMeterStats(meterStatsList);
         caseBuilder.setMultipartReplyMeter(builder.build());
         return caseBuilder.build();
     }
 
+    private static MeterStats readMeterStats(final ByteBuf input) {
+        MeterStatsBuilder meterStatsBuilder = new MeterStatsBuilder();
+        meterStatsBuilder.setMeterId(new MeterId(input.readUnsignedInt()));
+        int meterStatsBodyLength = input.readUnsignedShort();
+        input.skipBytes(PADDING_IN_METER_STATS_HEADER);
+        meterStatsBuilder.setFlowCount(input.readUnsignedInt());
+        meterStatsBuilder.setPacketInCount(ByteBufUtils.readUint64(input));
+        meterStatsBuilder.setByteInCount(ByteBufUtils.readUint64(input));
+        meterStatsBuilder.setDurationSec(input.readUnsignedInt());
+        meterStatsBuilder.setDurationNsec(input.readUnsignedInt());
+        int actualLength = METER_BODY_LENGTH;
+        List<MeterBandStats> meterBandStatsList = new ArrayList<>();
+        while (actualLength < meterStatsBodyLength) {
+            MeterBandStatsBuilder meterBandStatsBuilder = new MeterBandStatsBuilder();
+            meterBandStatsBuilder.setPacketBandCount(ByteBufUtils.readUint64(input));
+            meterBandStatsBuilder.setByteBandCount(ByteBufUtils.readUint64(input));
+            meterBandStatsList.add(meterBandStatsBuilder.build());
+            actualLength += METER_BAND_STATS_LENGTH;
+        }
+        meterStatsBuilder.setMeterBandStats(meterBandStatsList);
+        return meterStatsBuilder.build();
+    }
+
     private MultipartReplyMeterConfigCase setMeterConfig(final ByteBuf input) {
         MultipartReplyMeterConfigCaseBuilder caseBuilder = new MultipartReplyMeterConfigCaseBuilder();
         MultipartReplyMeterConfigBuilder builder = new MultipartReplyMeterConfigBuilder();
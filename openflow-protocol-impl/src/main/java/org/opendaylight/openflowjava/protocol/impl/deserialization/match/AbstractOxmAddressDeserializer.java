@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.deserialization.match;
+
+import io.netty.buffer.ByteBuf;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.util.InterningCache;
+import org.opendaylight.openflowjava.util.InterningCaches;
+import org.opendaylight.openflowjava.util.InterningKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
+
+/**
+ * Base class for address match entry deserializers. Exact-match (unmasked) entries are
+ * returned as canonical instances when interning is enabled, see {@link InterningCaches}.
+ * Subclasses overriding {@link #deserialize(ByteBuf)} keep interning by calling {@link #intern(ByteBuf)}.
+ */
+public abstract class AbstractOxmAddressDeserializer extends AbstractOxmMatchEntryDeserializer
+        implements OFDeserializer<MatchEntry> {
+
+    /* Offsets counted from start of oxm header (class, field + hasMask, length) */
+    private static final int FIELD_OFFSET = 2;
+    private static final int LENGTH_OFFSET = 3;
+    private static final int VALUE_OFFSET = 4;
+    private static final int MAX_INTERNED_LENGTH = 16;
+
+    @Override
+    public MatchEntry deserialize(final ByteBuf input) {
+        return intern(input);
+    }
+
+    /**
+     * Deserializes match entry including its header, exact-match entries are looked up in
+     * and added to the match entry cache if interning is enabled
+     * @param input input bytebuf
+     * @return match entry, canonical instance if interned
+     */
+    protected MatchEntry intern(final ByteBuf input) {
+        final InterningCaches caches = InterningCaches.getInstance();
+        final int start = input.readerIndex();
+        final int length = input.getUnsignedByte(start + LENGTH_OFFSET);
+        if (caches == null || (input.getUnsignedByte(start + FIELD_OFFSET) & 1) != 0
+                || length > MAX_INTERNED_LENGTH) {
+            return deserializeEntry(input);
+        }
+
+        final InterningCache<InterningKey, MatchEntry> cache = caches.getMatchEntryCache();
+        final InterningKey key = InterningKey.of(getOxmField(), input, start + VALUE_OFFSET, length);
+        final MatchEntry cached = cache.get(key);
+        if (cached != null) {
+            input.skipBytes(VALUE_OFFSET + length);
+            return cached;
+        }
+        return cache.intern(key, deserializeEntry(input));
+    }
+
+    /**
+     * Deserializes match entry including its header
+     * @param input input bytebuf
+     * @return match entry
+     */
+    protected abstract MatchEntry deserializeEntry(ByteBuf input);
+}
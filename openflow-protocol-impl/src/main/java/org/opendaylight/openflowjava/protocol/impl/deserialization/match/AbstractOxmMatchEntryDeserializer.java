@@ -7,10 +7,12 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.deserialization.match;
 
+import com.google.common.base.Objects;
 import io.netty.buffer.ByteBuf;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.HeaderDeserializer;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.ReusableBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.MatchField;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmClassBase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
@@ -22,6 +24,16 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.matc
  */
 public abstract class AbstractOxmMatchEntryDeserializer implements HeaderDeserializer<MatchEntry> {
 
+    private static final ReusableBuilder<MatchEntryBuilder> BUILDERS = new ReusableBuilder<MatchEntryBuilder>() {
+        @Override
+        protected MatchEntryBuilder create() {
+            return new MatchEntryBuilder();
+        }
+    };
+    /* Only deserializers from this package are known not to add augmentations, which would leak on reuse */
+    private final boolean reusable = Objects.equal(getClass().getPackage(),
+            AbstractOxmMatchEntryDeserializer.class.getPackage());
+
     @Override
     public MatchEntry deserializeHeader(ByteBuf input) {
         MatchEntryBuilder builder = processHeader(getOxmClass(), getOxmField(), input);
@@ -49,7 +61,13 @@ public abstract class AbstractOxmMatchEntryDeserializer implements HeaderDeseria
      */
     protected MatchEntryBuilder processHeader(Class<? extends OxmClassBase> oxmClass,
             Class<? extends MatchField> oxmField, ByteBuf input) {
-        MatchEntryBuilder builder = new MatchEntryBuilder();
+        MatchEntryBuilder builder;
+        if (reusable) {
+            builder = BUILDERS.get();
+            builder.setMatchEntryValue(null);
+        } else {
+            builder = new MatchEntryBuilder();
+        }
         builder.setOxmClass(oxmClass);
         // skip oxm_class (provided)
         input.skipBytes(EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
@@ -9,10 +9,18 @@
 package org.opendaylight.openflowjava.protocol.impl.serialization;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.serialization.factories.PacketOutHeaderSerializer;
+import org.opendaylight.openflowjava.util.InterningCache;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInputBuilder;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 
 /**
@@ -21,7 +29,44 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
  */
 public class SerializationFactory {
 
+    /** Default number of encoded message templates kept by {@link #templateToBuffer} */
+    public static final int DEFAULT_TEMPLATE_CACHE_CAPACITY = 256;
+    /** Default minimal PacketOut payload length sent without copying by {@link #packetOutToBuffer} */
+    public static final int DEFAULT_ZERO_COPY_THRESHOLD = 256;
+    private static final int XID_OFFSET = 4;
+    private static final int PACKET_OUT_HEADER_CAPACITY = 64;
+
+    private static final class TemplateKey {
+        private final short version;
+        private final Object token;
+
+        TemplateKey(final short version, final Object token) {
+            this.version = version;
+            this.token = token;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * version + token.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TemplateKey)) {
+                return false;
+            }
+            final TemplateKey other = (TemplateKey) obj;
+            return version == other.version && token.equals(other.token);
+        }
+    }
+
     private SerializerRegistry registry;
+    private volatile int zeroCopyThreshold = DEFAULT_ZERO_COPY_THRESHOLD;
+    private volatile InterningCache<Object, byte[]> templateCache =
+            new InterningCache<>(DEFAULT_TEMPLATE_CACHE_CAPACITY);
 
     /**
      * Transforms POJO message into ByteBuf
@@ -35,6 +80,112 @@ public class SerializationFactory {
         serializer.serialize(message, out);
     }
 
+    /**
+     * Transforms a repeatedly sent message into ByteBuf using its cached encoded form. On a cache
+     * miss the message is serialized and the result is stored under the version and token, on a hit
+     * the stored bytes are copied into the output buffer. In both cases the XID field is overwritten
+     * with the supplied XID.
+     * @param version version used for encoding received message
+     * @param out ByteBuf for storing and sending transformed message
+     * @param message immutable POJO message
+     * @param token cache key, or null to serialize the message without caching
+     * @param xid XID to be written into the message header
+     */
+    public void templateToBuffer(short version, ByteBuf out, OfHeader message, Object token, long xid) {
+        final InterningCache<Object, byte[]> cache = templateCache;
+        final int start = out.writerIndex();
+        if (cache == null || token == null) {
+            messageToBuffer(version, out, message);
+        } else {
+            final Object key = new TemplateKey(version, token);
+            final byte[] template = cache.get(key);
+            if (template != null) {
+                out.writeBytes(template);
+            } else {
+                messageToBuffer(version, out, message);
+                final byte[] encoded = new byte[out.writerIndex() - start];
+                out.getBytes(start, encoded);
+                cache.intern(key, encoded);
+            }
+        }
+        out.setInt(start + XID_OFFSET, (int) xid);
+    }
+
+    /**
+     * Transforms PacketOut into a buffer carrying the supplied payload as its data, typically a slice
+     * of a retained PacketIn frame. Header and actions are encoded into a small direct buffer, a direct
+     * payload of at least {@link #getZeroCopyThreshold()} bytes follows as a second component without
+     * being copied. Smaller or heap payloads are copied, as the transport would copy a composite buffer
+     * with a heap component anyway. Falls back to copying if PacketOut serializer does not implement
+     * {@link PacketOutHeaderSerializer}.
+     * @param version version used for encoding the message
+     * @param allocator allocator of the header buffer
+     * @param message PacketOut message, its data are ignored
+     * @param payload PacketOut data, readable bytes are used; the buffer is retained by the returned frame
+     *        if not copied and its indices are not modified
+     * @return encoded frame, released by the channel once written
+     */
+    public ByteBuf packetOutToBuffer(short version, ByteBufAllocator allocator, PacketOutInput message,
+            ByteBuf payload) {
+        final OFSerializer<PacketOutInput> serializer = registry.getSerializer(
+                new MessageTypeKey<>(version, PacketOutInput.class));
+        final boolean zeroCopy = serializer instanceof PacketOutHeaderSerializer && payload.isDirect()
+                && payload.readableBytes() >= zeroCopyThreshold;
+        final ByteBuf header = allocator.directBuffer(zeroCopy ? PACKET_OUT_HEADER_CAPACITY
+                : PACKET_OUT_HEADER_CAPACITY + payload.readableBytes());
+        try {
+            if (serializer instanceof PacketOutHeaderSerializer) {
+                ((PacketOutHeaderSerializer) serializer).serializeHeader(message, header);
+            } else {
+                serializer.serialize(new PacketOutInputBuilder(message).setData(null).build(), header);
+            }
+        } catch (RuntimeException e) {
+            header.release();
+            throw e;
+        }
+
+        if (!zeroCopy) {
+            header.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+            header.setShort(EncodeConstants.OFHEADER_LENGTH_INDEX, header.readableBytes());
+            return header;
+        }
+        final int length = header.readableBytes() + payload.readableBytes();
+        header.setShort(EncodeConstants.OFHEADER_LENGTH_INDEX, length);
+        final CompositeByteBuf frame = allocator.compositeDirectBuffer(2);
+        frame.addComponent(header);
+        frame.addComponent(payload.slice().retain());
+        frame.writerIndex(length);
+        return frame;
+    }
+
+    /**
+     * @param zeroCopyThreshold minimal PacketOut payload length, which is sent without being copied
+     */
+    public void setZeroCopyThreshold(int zeroCopyThreshold) {
+        this.zeroCopyThreshold = zeroCopyThreshold;
+    }
+
+    /**
+     * @return minimal PacketOut payload length, which is sent without being copied
+     */
+    public int getZeroCopyThreshold() {
+        return zeroCopyThreshold;
+    }
+
+    /**
+     * @param capacity maximum number of cached message templates, 0 disables caching
+     */
+    public void setTemplateCacheCapacity(int capacity) {
+        templateCache = capacity > 0 ? new InterningCache<Object, byte[]>(capacity) : null;
+    }
+
+    /**
+     * @return cache of encoded message templates, null if caching is disabled
+     */
+    public InterningCache<Object, byte[]> getTemplateCache() {
+        return templateCache;
+    }
+
     /**
      * @param serializerRegistry registry with serializers
      */
@@ -13,6 +13,7 @@ import java.util.Map;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
+import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.OF10MatchSerializer;
@@ -89,6 +90,9 @@ public class SerializerRegistryImpl implements SerializerRegistry {
         if (serializer instanceof SerializerRegistryInjector) {
             ((SerializerRegistryInjector) serializer).injectSerializerRegistry(this);
         }
+        if (msgTypeKey instanceof MatchEntrySerializerKey) {
+            resetMatchEntrySerializers();
+        }
     }
 
     @Override
@@ -100,6 +104,16 @@ public class SerializerRegistryImpl implements SerializerRegistry {
         if (serializer == null) {
             return false;
         }
+        if (msgTypeKey instanceof MatchEntrySerializerKey) {
+            resetMatchEntrySerializers();
+        }
         return true;
     }
+
+    private void resetMatchEntrySerializers() {
+        OFGeneralSerializer matchSerializer = registry.get(new MessageTypeKey<>(OF13, Match.class));
+        if (matchSerializer instanceof OF13MatchSerializer) {
+            ((OF13MatchSerializer) matchSerializer).resetEntrySerializers();
+        }
+    }
 }
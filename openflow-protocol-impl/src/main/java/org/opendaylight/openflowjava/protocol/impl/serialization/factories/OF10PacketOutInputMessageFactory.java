@@ -23,13 +23,24 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  * Translates PacketOut messages
  * @author michal.polkorab
  */
-public class OF10PacketOutInputMessageFactory implements OFSerializer<PacketOutInput>, SerializerRegistryInjector {
+public class OF10PacketOutInputMessageFactory implements OFSerializer<PacketOutInput>, SerializerRegistryInjector,
+        PacketOutHeaderSerializer {
 
     private static final byte MESSAGE_TYPE = 13;
     private SerializerRegistry registry;
 
     @Override
     public void serialize(PacketOutInput message, ByteBuf outBuffer) {
+        serializeHeader(message, outBuffer);
+        byte[] data = message.getData();
+        if (data != null) {
+            outBuffer.writeBytes(data);
+        }
+        ByteBufUtils.updateOFHeaderLength(outBuffer);
+    }
+
+    @Override
+    public void serializeHeader(PacketOutInput message, ByteBuf outBuffer) {
         ByteBufUtils.writeOFHeader(MESSAGE_TYPE, message, outBuffer, EncodeConstants.EMPTY_LENGTH);
         outBuffer.writeInt(message.getBufferId().intValue());
         outBuffer.writeShort(message.getInPort().getValue().intValue());
@@ -39,11 +50,6 @@ public class OF10PacketOutInputMessageFactory implements OFSerializer<PacketOutI
         ListSerializer.serializeList(message.getAction(), TypeKeyMakerFactory
                 .createActionKeyMaker(EncodeConstants.OF10_VERSION_ID), registry, outBuffer);
         outBuffer.setShort(actionsLengthIndex, outBuffer.writerIndex() - actionsStartIndex);
-        byte[] data = message.getData();
-        if (data != null) {
-            outBuffer.writeBytes(data);
-        }
-        ByteBufUtils.updateOFHeaderLength(outBuffer);
     }
 
     @Override
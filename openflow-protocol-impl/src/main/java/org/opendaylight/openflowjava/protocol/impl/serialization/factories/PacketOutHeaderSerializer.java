@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.serialization.factories;
+
+import io.netty.buffer.ByteBuf;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+
+/**
+ * PacketOut serializer able to encode a message without its data, so that the data can follow
+ * as a separate buffer component instead of being copied
+ */
+public interface PacketOutHeaderSerializer {
+
+    /**
+     * Writes OpenFlow header, fixed fields and actions of given message, ignoring its data.
+     * Length field of the OpenFlow header is left for the caller to set.
+     * @param message PacketOut message
+     * @param outBuffer output buffer, has to be empty
+     */
+    void serializeHeader(PacketOutInput message, ByteBuf outBuffer);
+}
@@ -24,7 +24,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  * @author michal.polkorab
  * @author timotej.kubas
  */
-public class PacketOutInputMessageFactory implements OFSerializer<PacketOutInput>, SerializerRegistryInjector {
+public class PacketOutInputMessageFactory implements OFSerializer<PacketOutInput>, SerializerRegistryInjector,
+        PacketOutHeaderSerializer {
 
     /** Code type of PacketOut message */
     private static final byte MESSAGE_TYPE = 13;
@@ -33,6 +34,16 @@ public class PacketOutInputMessageFactory implements OFSerializer<PacketOutInput
 
     @Override
     public void serialize(PacketOutInput message, ByteBuf outBuffer) {
+        serializeHeader(message, outBuffer);
+        byte[] data = message.getData();
+        if (data != null) {
+            outBuffer.writeBytes(data);
+        }
+        ByteBufUtils.updateOFHeaderLength(outBuffer);
+    }
+
+    @Override
+    public void serializeHeader(PacketOutInput message, ByteBuf outBuffer) {
         ByteBufUtils.writeOFHeader(MESSAGE_TYPE, message, outBuffer, EncodeConstants.EMPTY_LENGTH);
         outBuffer.writeInt(message.getBufferId().intValue());
         outBuffer.writeInt(message.getInPort().getValue().intValue());
@@ -43,11 +54,6 @@ public class PacketOutInputMessageFactory implements OFSerializer<PacketOutInput
         ListSerializer.serializeList(message.getAction(), TypeKeyMakerFactory
                 .createActionKeyMaker(EncodeConstants.OF13_VERSION_ID), registry, outBuffer);
         outBuffer.setShort(actionsLengthIndex, outBuffer.writerIndex() - actionsStartIndex);
-        byte[] data = message.getData();
-        if (data != null) {
-            outBuffer.writeBytes(data);
-        }
-        ByteBufUtils.updateOFHeaderLength(outBuffer);
     }
 
     @Override
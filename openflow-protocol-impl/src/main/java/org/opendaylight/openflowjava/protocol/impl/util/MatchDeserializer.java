@@ -10,12 +10,18 @@ package org.opendaylight.openflowjava.protocol.impl.util;
 
 import io.netty.buffer.ByteBuf;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.api.util.OxmMatchConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.ReusableBuilder;
+import org.opendaylight.openflowjava.util.InterningCache;
+import org.opendaylight.openflowjava.util.InterningCaches;
+import org.opendaylight.openflowjava.util.RawBytesKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.StandardMatchType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmMatchType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
@@ -23,47 +29,117 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.matc
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.MatchBuilder;
 
 /**
- * Deserializes ofp_match (OpenFlow v1.3) and its oxm_fields structures
+ * Deserializes ofp_match (OpenFlow v1.3) and its oxm_fields structures. When whole match
+ * caching is enabled (see {@link InterningCaches}), byte-identical matches are decoded once
+ * and shared. Deserializers of OpenFlow basic match entries are looked up in the registry
+ * once per field and kept in a table indexed by field number.
  * @author timotej.kubas
  * @author michal.polkorab
  */
 public class MatchDeserializer implements OFDeserializer<Match>,
         DeserializerRegistryInjector {
 
+    /** oxm_field is a 7-bit value */
+    private static final int OXM_FIELD_COUNT = 128;
+    private static final CodeKeyMaker KEY_MAKER =
+            CodeKeyMakerFactory.createMatchEntriesKeyMaker(EncodeConstants.OF13_VERSION_ID);
+    private static final ReusableBuilder<MatchBuilder> BUILDERS = new ReusableBuilder<MatchBuilder>() {
+        @Override
+        protected MatchBuilder create() {
+            return new MatchBuilder();
+        }
+    };
     private DeserializerRegistry registry;
+    private volatile OFDeserializer<MatchEntry>[] basicEntryDeserializers = newEntryTable();
 
     @Override
     public Match deserialize(ByteBuf input) {
         if (input.readableBytes() > 0) {
-            MatchBuilder builder = new MatchBuilder();
-            int type = input.readUnsignedShort();
-            int length = input.readUnsignedShort();
-            switch (type) {
-            case 0:
-                builder.setType(StandardMatchType.class);
-                break;
-            case 1:
-                builder.setType(OxmMatchType.class);
-                break;
-            default:
-                break;
+            final InterningCaches caches = InterningCaches.getInstance();
+            final InterningCache<RawBytesKey, Match> cache = caches == null ? null : caches.getMatchCache();
+            if (cache == null) {
+                return deserializeMatch(input);
             }
-            CodeKeyMaker keyMaker = CodeKeyMakerFactory
-                    .createMatchEntriesKeyMaker(EncodeConstants.OF13_VERSION_ID);
-            List<MatchEntry> entries = ListDeserializer.deserializeList(EncodeConstants.OF13_VERSION_ID,
-                    length - 2 * EncodeConstants.SIZE_OF_SHORT_IN_BYTES, input, keyMaker, registry);
-            builder.setMatchEntry(entries);
-            int paddingRemainder = length % EncodeConstants.PADDING;
-            if (paddingRemainder != 0) {
-                input.skipBytes(EncodeConstants.PADDING - paddingRemainder);
+
+            final int start = input.readerIndex();
+            final int length = input.getUnsignedShort(start + EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
+            final RawBytesKey key = RawBytesKey.probe(input, start, length);
+            final Match cached = cache.get(key);
+            if (cached != null) {
+                input.skipBytes(length + paddingNeeded(length));
+                return cached;
             }
-            return builder.build();
+            return cache.intern(key.toStored(), deserializeMatch(input));
         }
         return null;
     }
 
+    private Match deserializeMatch(ByteBuf input) {
+        MatchBuilder builder = BUILDERS.get();
+        int type = input.readUnsignedShort();
+        int length = input.readUnsignedShort();
+        switch (type) {
+        case 0:
+            builder.setType(StandardMatchType.class);
+            break;
+        case 1:
+            builder.setType(OxmMatchType.class);
+            break;
+        default:
+            builder.setType(null);
+            break;
+        }
+        builder.setMatchEntry(deserializeEntries(length - 2 * EncodeConstants.SIZE_OF_SHORT_IN_BYTES, input));
+        input.skipBytes(paddingNeeded(length));
+        return builder.build();
+    }
+
+    private List<MatchEntry> deserializeEntries(int length, ByteBuf input) {
+        List<MatchEntry> entries = null;
+        if (input.readableBytes() > 0) {
+            entries = new ArrayList<>();
+            int startIndex = input.readerIndex();
+            while ((input.readerIndex() - startIndex) < length) {
+                entries.add(getEntryDeserializer(input).deserialize(input));
+            }
+        }
+        return entries;
+    }
+
+    private OFDeserializer<MatchEntry> getEntryDeserializer(ByteBuf input) {
+        if (input.getUnsignedShort(input.readerIndex()) != OxmMatchConstants.OPENFLOW_BASIC_CLASS) {
+            return registry.getDeserializer(KEY_MAKER.make(input));
+        }
+        int oxmField = input.getUnsignedByte(input.readerIndex() + EncodeConstants.SIZE_OF_SHORT_IN_BYTES) >>> 1;
+        OFDeserializer<MatchEntry>[] table = basicEntryDeserializers;
+        OFDeserializer<MatchEntry> deserializer = table[oxmField];
+        if (deserializer == null) {
+            deserializer = registry.getDeserializer(KEY_MAKER.make(input));
+            table[oxmField] = deserializer;
+        }
+        return deserializer;
+    }
+
+    /**
+     * Drops looked up match entry deserializers, so that changes in the registry take effect
+     */
+    public void resetEntryDeserializers() {
+        basicEntryDeserializers = newEntryTable();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OFDeserializer<MatchEntry>[] newEntryTable() {
+        return new OFDeserializer[OXM_FIELD_COUNT];
+    }
+
+    private static int paddingNeeded(int length) {
+        int paddingRemainder = length % EncodeConstants.PADDING;
+        return paddingRemainder == 0 ? 0 : EncodeConstants.PADDING - paddingRemainder;
+    }
+
     @Override
     public void injectDeserializerRegistry(DeserializerRegistry deserializerRegistry) {
         this.registry = deserializerRegistry;
+        resetEntryDeserializers();
     }
 }
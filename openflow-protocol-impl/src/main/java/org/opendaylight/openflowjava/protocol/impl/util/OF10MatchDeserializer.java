@@ -16,7 +16,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.matc
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.v10.grouping.MatchV10Builder;
 
 /**
- * Deserializes ofp_match (OpenFlow v1.0) structure
+ * Deserializes ofp_match (OpenFlow v1.0) structure. There are only 1024 combinations of wildcard
+ * flags, so {@link FlowWildcardsV10} instances are shared between matches.
  * @author michal.polkorab
  */
 public class OF10MatchDeserializer implements OFDeserializer<MatchV10> {
@@ -29,12 +30,18 @@ public class OF10MatchDeserializer implements OFDeserializer<MatchV10> {
     private static final byte NW_DST_BITS = 6;
     private static final byte NW_DST_SHIFT = 14;
     private static final int NW_DST_MASK = ((1 << NW_DST_BITS) - 1) << NW_DST_SHIFT;
+    /** Flag bits 0-7 form the lower part of wildcards cache index */
+    private static final int LOW_FLAGS_MASK = 0xFF;
+    /** Flag bits 20-21 form the upper part of wildcards cache index */
+    private static final int HIGH_FLAGS_SHIFT = 20;
+    private static final int HIGH_FLAGS_MASK = 0x3;
+    private static final FlowWildcardsV10[] WILDCARDS = new FlowWildcardsV10[1 << 10];
 
     @Override
     public MatchV10 deserialize(final ByteBuf input) {
         MatchV10Builder builder = new MatchV10Builder();
         long wildcards = input.readUnsignedInt();
-        builder.setWildcards(createWildcards(wildcards));
+        builder.setWildcards(getWildcards(wildcards));
         builder.setNwSrcMask(decodeNwSrcMask(wildcards));
         builder.setNwDstMask(decodeNwDstMask(wildcards));
         builder.setInPort(input.readUnsignedShort());
@@ -55,6 +62,43 @@ public class OF10MatchDeserializer implements OFDeserializer<MatchV10> {
         return builder.build();
     }
 
+    /**
+     * Decodes FlowWildcards, returning a shared instance
+     * @param input binary FlowWildcards
+     * @return decoded FlowWildcardsV10
+     */
+    public static FlowWildcardsV10 getWildcards(final long input) {
+        final int index = (int) (input & LOW_FLAGS_MASK)
+                | (int) ((input >>> HIGH_FLAGS_SHIFT) & HIGH_FLAGS_MASK) << Byte.SIZE;
+        FlowWildcardsV10 wildcards = WILDCARDS[index];
+        if (wildcards == null) {
+            // Benign race, FlowWildcardsV10 is immutable
+            wildcards = createWildcards(input);
+            WILDCARDS[index] = wildcards;
+        }
+        return wildcards;
+    }
+
+    /**
+     * Encodes FlowWildcards flags (without network masks)
+     * @param wildcards FlowWildcards
+     * @return binary FlowWildcards
+     */
+    public static int encodeWildcardFlags(final FlowWildcardsV10 wildcards) {
+        int bitmask = 0;
+        bitmask |= wildcards.isINPORT() ? 1 << 0 : 0;
+        bitmask |= wildcards.isDLVLAN() ? 1 << 1 : 0;
+        bitmask |= wildcards.isDLSRC() ? 1 << 2 : 0;
+        bitmask |= wildcards.isDLDST() ? 1 << 3 : 0;
+        bitmask |= wildcards.isDLTYPE() ? 1 << 4 : 0;
+        bitmask |= wildcards.isNWPROTO() ? 1 << 5 : 0;
+        bitmask |= wildcards.isTPSRC() ? 1 << 6 : 0;
+        bitmask |= wildcards.isTPDST() ? 1 << 7 : 0;
+        bitmask |= wildcards.isDLVLANPCP() ? 1 << 20 : 0;
+        bitmask |= wildcards.isNWTOS() ? 1 << 21 : 0;
+        return bitmask;
+    }
+
     /**
      * Decodes FlowWildcards
      * @param input input ByteBuf
@@ -11,13 +11,12 @@ package org.opendaylight.openflowjava.protocol.impl.util;
 import io.netty.buffer.ByteBuf;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
-import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IetfInetUtil;
-import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.IetfYangUtil;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.FlowWildcardsV10;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.v10.grouping.MatchV10;
 
 /**
- * Serializes ofp_match (OpenFlow v1.0) structure
+ * Serializes ofp_match (OpenFlow v1.0) structure. Addresses are written straight from their
+ * string form and wildcards are encoded into a single 32-bit word.
  * @author michal.polkorab
  */
 public class OF10MatchSerializer implements OFSerializer<MatchV10> {
@@ -36,8 +35,8 @@ public class OF10MatchSerializer implements OFSerializer<MatchV10> {
     public void serialize(final MatchV10 match, final ByteBuf outBuffer) {
         outBuffer.writeInt(encodeWildcards(match.getWildcards(), match.getNwSrcMask(), match.getNwDstMask()));
         outBuffer.writeShort(match.getInPort());
-        outBuffer.writeBytes(IetfYangUtil.INSTANCE.bytesFor(match.getDlSrc()));
-        outBuffer.writeBytes(IetfYangUtil.INSTANCE.bytesFor(match.getDlDst()));
+        ByteBufUtils.writeIetfMacAddress(match.getDlSrc(), outBuffer);
+        ByteBufUtils.writeIetfMacAddress(match.getDlDst(), outBuffer);
         outBuffer.writeShort(match.getDlVlan());
         outBuffer.writeByte(match.getDlVlanPcp());
         outBuffer.writeZero(PADDING_IN_MATCH);
@@ -45,25 +44,14 @@ public class OF10MatchSerializer implements OFSerializer<MatchV10> {
         outBuffer.writeByte(match.getNwTos());
         outBuffer.writeByte(match.getNwProto());
         outBuffer.writeZero(PADDING_IN_MATCH_2);
-        outBuffer.writeBytes(IetfInetUtil.INSTANCE.ipv4AddressBytes(match.getNwSrc()));
-        outBuffer.writeBytes(IetfInetUtil.INSTANCE.ipv4AddressBytes(match.getNwDst()));
+        ByteBufUtils.writeIetfIpv4Address(match.getNwSrc(), outBuffer);
+        ByteBufUtils.writeIetfIpv4Address(match.getNwDst(), outBuffer);
         outBuffer.writeShort(match.getTpSrc());
         outBuffer.writeShort(match.getTpDst());
     }
 
     private static int encodeWildcards(final FlowWildcardsV10 wildcards, final short srcMask, final short dstMask) {
-        int bitmask = ByteBufUtils.fillBitMask(0,
-                wildcards.isINPORT(),
-                wildcards.isDLVLAN(),
-                wildcards.isDLSRC(),
-                wildcards.isDLDST(),
-                wildcards.isDLTYPE(),
-                wildcards.isNWPROTO(),
-                wildcards.isTPSRC(),
-                wildcards.isTPDST());
-        bitmask |= ByteBufUtils.fillBitMask(20,
-                wildcards.isDLVLANPCP(),
-                wildcards.isNWTOS());
+        int bitmask = OF10MatchDeserializer.encodeWildcardFlags(wildcards);
         bitmask |= ((32 - srcMask) << NW_SRC_SHIFT);
         bitmask |= ((32 - dstMask) << NW_DST_SHIFT);
         return bitmask;
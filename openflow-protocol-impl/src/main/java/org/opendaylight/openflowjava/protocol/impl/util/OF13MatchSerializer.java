@@ -8,18 +8,24 @@
 
 package org.opendaylight.openflowjava.protocol.impl.util;
 
+import com.google.common.cache.Cache;
 import io.netty.buffer.ByteBuf;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.util.InterningCaches;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.augments.rev150225.oxm.container.match.entry.value.ExperimenterIdCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.StandardMatchType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.ExperimenterClass;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.MatchField;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OpenflowBasicClass;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmMatchType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
@@ -27,7 +33,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Serializes ofp_match (OpenFlow v1.3)
+ * Serializes ofp_match (OpenFlow v1.3). When whole match caching is enabled
+ * (see {@link InterningCaches}), encoded form of each {@link Match} instance is kept
+ * and copied for subsequent messages carrying the same instance. Serializers of OpenFlow basic
+ * match entries are looked up in the registry once per match field.
  * @author michal.polkorab
  * @author timotej.kubas
  */
@@ -36,6 +45,8 @@ public class OF13MatchSerializer implements OFSerializer<Match>, SerializerRegis
     private static final byte STANDARD_MATCH_TYPE_CODE = 0;
     private static final byte OXM_MATCH_TYPE_CODE = 1;
     private SerializerRegistry registry;
+    private volatile ConcurrentMap<Class<? extends MatchField>, OFSerializer<MatchEntry>> basicEntrySerializers =
+            new ConcurrentHashMap<>();
 
     @Override
     public void serialize(Match match, ByteBuf outBuffer) {
@@ -43,6 +54,31 @@ public class OF13MatchSerializer implements OFSerializer<Match>, SerializerRegis
             LOG.debug("Match is null");
             return;
         }
+        final InterningCaches caches = InterningCaches.getInstance();
+        final Cache<Match, byte[]> cache = caches == null ? null : caches.getEncodedMatchCache();
+        if (cache == null) {
+            serializeMatch(match, outBuffer);
+            return;
+        }
+
+        final byte[] cached = cache.getIfPresent(match);
+        if (cached != null) {
+            outBuffer.writeBytes(cached);
+            return;
+        }
+        final ConcurrentMap<Class<? extends MatchField>, OFSerializer<MatchEntry>> table = basicEntrySerializers;
+        final int startIndex = outBuffer.writerIndex();
+        serializeMatch(match, outBuffer);
+        final byte[] encoded = new byte[outBuffer.writerIndex() - startIndex];
+        outBuffer.getBytes(startIndex, encoded);
+        cache.put(match, encoded);
+        if (table != basicEntrySerializers) {
+            // Serializers were reset meanwhile, the match may have been encoded by a replaced one
+            cache.invalidate(match);
+        }
+    }
+
+    private void serializeMatch(Match match, ByteBuf outBuffer) {
         int matchStartIndex = outBuffer.writerIndex();
         serializeType(match, outBuffer);
         int matchLengthIndex = outBuffer.writerIndex();
@@ -76,23 +112,52 @@ public class OF13MatchSerializer implements OFSerializer<Match>, SerializerRegis
             return;
         }
         for (MatchEntry entry : matchEntries) {
+            getEntrySerializer(entry).serialize(entry, out);
+        }
+    }
 
-            MatchEntrySerializerKey<?, ?> key = new MatchEntrySerializerKey<>(
-                    EncodeConstants.OF13_VERSION_ID, entry.getOxmClass(), entry.getOxmMatchField());
-            if (entry.getOxmClass().equals(ExperimenterClass.class)) {
-                ExperimenterIdCase entryValue = (ExperimenterIdCase) entry.getMatchEntryValue();
-                key.setExperimenterId(entryValue.getExperimenter().getExperimenter().getValue());
-            } else {
-                key.setExperimenterId(null);
-            }
-            OFSerializer<MatchEntry> entrySerializer = registry.getSerializer(key);
-            entrySerializer.serialize(entry, out);
+    private OFSerializer<MatchEntry> getEntrySerializer(MatchEntry entry) {
+        if (!OpenflowBasicClass.class.equals(entry.getOxmClass())) {
+            return registry.getSerializer(createEntryKey(entry));
+        }
+        final ConcurrentMap<Class<? extends MatchField>, OFSerializer<MatchEntry>> table = basicEntrySerializers;
+        OFSerializer<MatchEntry> serializer = table.get(entry.getOxmMatchField());
+        if (serializer == null) {
+            serializer = registry.getSerializer(createEntryKey(entry));
+            table.put(entry.getOxmMatchField(), serializer);
+        }
+        return serializer;
+    }
+
+    private static MatchEntrySerializerKey<?, ?> createEntryKey(MatchEntry entry) {
+        MatchEntrySerializerKey<?, ?> key = new MatchEntrySerializerKey<>(
+                EncodeConstants.OF13_VERSION_ID, entry.getOxmClass(), entry.getOxmMatchField());
+        if (entry.getOxmClass().equals(ExperimenterClass.class)) {
+            ExperimenterIdCase entryValue = (ExperimenterIdCase) entry.getMatchEntryValue();
+            key.setExperimenterId(entryValue.getExperimenter().getExperimenter().getValue());
+        } else {
+            key.setExperimenterId(null);
+        }
+        return key;
+    }
+
+    /**
+     * Drops looked up match entry serializers and encoded matches, so that changes in the registry take effect
+     */
+    public void resetEntrySerializers() {
+        // Swapped rather than cleared, so that a lookup racing with the reset can not repopulate it
+        basicEntrySerializers = new ConcurrentHashMap<>();
+        final InterningCaches caches = InterningCaches.getInstance();
+        final Cache<Match, byte[]> cache = caches == null ? null : caches.getEncodedMatchCache();
+        if (cache != null) {
+            cache.invalidateAll();
         }
     }
 
     @Override
     public void injectSerializerRegistry(SerializerRegistry serializerRegistry) {
         this.registry = serializerRegistry;
+        resetEntrySerializers();
     }
 
 }
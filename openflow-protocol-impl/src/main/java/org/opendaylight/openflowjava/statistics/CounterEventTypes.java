@@ -50,8 +50,20 @@ public enum CounterEventTypes {
      * fail decode message
      */
     US_DECODE_FAIL,
+    /**
+     * message not passed to listeners - dispatch queue is full
+     */
+    US_DISPATCH_DROPPED,
     /**
      * pass message to consumer (end of upstream)
      */
-    US_MESSAGE_PASS;
+    US_MESSAGE_PASS,
+    /**
+     * frame spanning several reads - received bytes copied into cumulation buffer
+     */
+    US_CUMULATION_COPY,
+    /**
+     * frame spanning several reads - received buffer appended to composite cumulation without copying
+     */
+    US_CUMULATION_COMPOSITE;
 }
\ No newline at end of file
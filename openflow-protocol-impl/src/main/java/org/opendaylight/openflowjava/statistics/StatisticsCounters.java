@@ -48,8 +48,11 @@ public final class StatisticsCounters implements StatisticsHandler {
             CounterEventTypes.US_DROPPED_PACKET_IN,
                     CounterEventTypes.US_DECODE_FAIL,
                     CounterEventTypes.US_DECODE_SUCCESS,
+                    CounterEventTypes.US_DISPATCH_DROPPED,
                     CounterEventTypes.US_MESSAGE_PASS,
-                    CounterEventTypes.US_RECEIVED_IN_OFJAVA};
+                    CounterEventTypes.US_RECEIVED_IN_OFJAVA,
+                    CounterEventTypes.US_CUMULATION_COPY,
+                    CounterEventTypes.US_CUMULATION_COMPOSITE};
 
     /**
      * Get instance of statistics counters, first created object does not start counting and log reporting
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Unit tests for AdmissionController
+ */
+public class AdmissionControllerTest {
+
+    private final List<AdmissionController.Admission> admissions = new ArrayList<>();
+    private final AdmissionController.AdmissionCallback callback = new AdmissionController.AdmissionCallback() {
+        @Override
+        public void admitted(final AdmissionController.Admission admission) {
+            admissions.add(admission);
+        }
+    };
+
+    /**
+     * Test handshakes over the limit wait and are admitted in order as slots are released
+     */
+    @Test
+    public void testConcurrentHandshakeLimit() {
+        final AdmissionController controller = new AdmissionController(2, 0, 10000);
+        final Channel first = mockChannel();
+        final Channel third = mockChannel();
+        controller.admit(first, callback);
+        controller.admit(mockChannel(), callback);
+        controller.admit(third, callback);
+        Assert.assertEquals("Wrong admitted count", 2, admissions.size());
+        Assert.assertEquals("Wrong active count", 2, controller.getActiveCount());
+        Assert.assertEquals("Wrong waiting count", 1, controller.getWaitingCount());
+        verify(third.config(), times(0)).setAutoRead(true);
+
+        admissions.get(0).release();
+        admissions.get(0).release();
+        Assert.assertEquals("Wrong admitted count", 3, admissions.size());
+        Assert.assertEquals("Wrong active count", 2, controller.getActiveCount());
+        Assert.assertEquals("Wrong waiting count", 0, controller.getWaitingCount());
+        verify(third.config()).setAutoRead(true);
+    }
+
+    /**
+     * Test accept rate limit postpones admission of the next channel
+     */
+    @Test
+    public void testAcceptRateLimit() {
+        final AdmissionController controller = new AdmissionController(0, 1, 10000);
+        final Channel second = mockChannel();
+        controller.admit(mockChannel(), callback);
+        controller.admit(second, callback);
+        Assert.assertEquals("Wrong admitted count", 1, admissions.size());
+        Assert.assertEquals("Wrong waiting count", 1, controller.getWaitingCount());
+        verify(second.eventLoop()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    private static Channel mockChannel() {
+        final Channel channel = mock(Channel.class);
+        final EventLoop eventLoop = mock(EventLoop.class);
+        when(channel.config()).thenReturn(mock(ChannelConfig.class));
+        when(channel.closeFuture()).thenReturn(mock(ChannelFuture.class));
+        when(channel.isOpen()).thenReturn(true);
+        when(channel.eventLoop()).thenReturn(eventLoop);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                ((Runnable) invocation.getArguments()[0]).run();
+                return null;
+            }
+        }).when(eventLoop).execute(any(Runnable.class));
+        return channel;
+    }
+}
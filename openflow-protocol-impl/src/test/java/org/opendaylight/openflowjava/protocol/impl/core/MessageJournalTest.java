@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.openflowjava.protocol.impl.core.MessageJournalReader.Record;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+
+/**
+ * Unit tests for MessageJournal, MessageJournalReader and MessageJournalHandler
+ */
+public class MessageJournalTest {
+
+    private static final int CAPACITY = 4096;
+
+    /** Directory of journal files */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Ring keeps the most recent records in order after wrapping several times
+     * @throws Exception
+     */
+    @Test
+    public void testRingWrap() throws Exception {
+        final File file = new File(folder.getRoot(), "test.ring");
+        final MessageJournal journal = MessageJournal.create(file, CAPACITY);
+        final int connectionId = journal.newConnectionId();
+        final ByteBuf frame = Unpooled.buffer(100);
+        for (int i = 0; i < 100; i++) {
+            frame.clear();
+            frame.writeInt(i);
+            frame.writeZero(96);
+            journal.record(connectionId, MessageJournal.INBOUND, frame);
+            Assert.assertEquals("Frame modified", 100, frame.readableBytes());
+        }
+        journal.close();
+
+        final List<Record> records = MessageJournalReader.read(file);
+        // 136 byte records, skipped tail of each lap
+        Assert.assertEquals("Wrong record count", CAPACITY / 136 - 1, records.size(), 1);
+        int expected = 100 - records.size();
+        for (Record record : records) {
+            Assert.assertEquals("Wrong connection", connectionId, record.getConnectionId());
+            Assert.assertEquals("Wrong kind", MessageJournal.INBOUND, record.getKind());
+            Assert.assertEquals("Wrong length", 100, record.getPayload().readableBytes());
+            Assert.assertEquals("Wrong order", expected, record.getPayload().getInt(0));
+            expected++;
+        }
+    }
+
+    /**
+     * Recreated journal preserves the previous recording
+     * @throws Exception
+     */
+    @Test
+    public void testPreviousJournalKept() throws Exception {
+        final File file = new File(folder.getRoot(), "test.ring");
+        final MessageJournal first = MessageJournal.create(file, CAPACITY);
+        first.record(first.newConnectionId(), MessageJournal.INBOUND,
+                ByteBufUtils.hexStringToByteBuf("04 00 00 08 00 00 00 01"));
+        first.close();
+        MessageJournal.create(file, CAPACITY).close();
+
+        Assert.assertEquals("Previous records lost", 1,
+                MessageJournalReader.read(new File(file.getPath() + ".1")).size());
+        Assert.assertTrue("New journal not empty", MessageJournalReader.read(file).isEmpty());
+    }
+
+    /**
+     * Handler records connection, inbound and outbound frames and passes them on
+     * @throws Exception
+     */
+    @Test
+    public void testHandler() throws Exception {
+        final File file = new File(folder.getRoot(), "test.ring");
+        final MessageJournal journal = MessageJournal.create(file, CAPACITY);
+        final EmbeddedChannel channel = new EmbeddedChannel(new MessageJournalHandler(journal));
+        channel.writeInbound(ByteBufUtils.hexStringToByteBuf("04 00 00 08 00 00 00 01"));
+        channel.writeOutbound(ByteBufUtils.hexStringToByteBuf("04 02 00 08 00 00 00 02"));
+        Assert.assertNotNull("Inbound frame not passed", channel.readInbound());
+        Assert.assertNotNull("Outbound frame not passed", channel.readOutbound());
+        journal.close();
+
+        final List<Record> records = MessageJournalReader.read(file);
+        Assert.assertEquals("Wrong record count", 3, records.size());
+        Assert.assertEquals("Wrong kind", MessageJournal.CONNECTED, records.get(0).getKind());
+        Assert.assertEquals("Wrong address", String.valueOf(channel.remoteAddress()),
+                records.get(0).getPayload().toString(StandardCharsets.UTF_8));
+        Assert.assertEquals("Wrong kind", MessageJournal.INBOUND, records.get(1).getKind());
+        Assert.assertEquals("Wrong frame", "04 00 00 08 00 00 00 01",
+                ByteBufUtils.byteBufToHexString(records.get(1).getPayload()));
+        Assert.assertEquals("Wrong kind", MessageJournal.OUTBOUND, records.get(2).getKind());
+        Assert.assertEquals("Wrong frame", "04 02 00 08 00 00 00 02",
+                ByteBufUtils.byteBufToHexString(records.get(2).getPayload()));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.ExtendedThreadConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.EpollTrigger;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.NativeTransport;
+
+/**
+ * Unit tests for NativeTransportSupport
+ */
+public class NativeTransportSupportTest {
+
+    @Mock ExtendedThreadConfiguration threadConfig;
+
+    /**
+     * Initializes mocks
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(threadConfig.getReceiveBufferSize()).thenReturn(1 << 20);
+        when(threadConfig.getSendBufferSize()).thenReturn(1 << 19);
+        when(threadConfig.getEpollTrigger()).thenReturn(EpollTrigger.LEVEL);
+        when(threadConfig.isTcpQuickAck()).thenReturn(true);
+        when(threadConfig.getBusyPollMicros()).thenReturn(50);
+    }
+
+    /**
+     * Test defaults without configuration
+     */
+    @Test
+    public void testDefaults() {
+        Assert.assertEquals("Wrong transport", NativeTransport.AUTO, NativeTransportSupport.getNativeTransport(null));
+        Assert.assertEquals("Wrong backlog", 128, NativeTransportSupport.getAcceptBacklog(null));
+        Assert.assertTrue("Unexpected options", NativeTransportSupport.getSocketOptions(null, EpollSocketChannel.class,
+                true).isEmpty());
+    }
+
+    /**
+     * Test NIO transport disables epoll
+     */
+    @Test
+    public void testNioTransport() {
+        when(threadConfig.getNativeTransport()).thenReturn(NativeTransport.NIO);
+        Assert.assertFalse("Epoll not disabled", NativeTransportSupport.useEpoll(threadConfig));
+    }
+
+    /**
+     * Test epoll specific options are used on epoll connections only
+     */
+    @Test
+    public void testSocketOptions() {
+        Map<ChannelOption<?>, Object> options = NativeTransportSupport.getSocketOptions(threadConfig,
+                NioSocketChannel.class, true);
+        Assert.assertEquals("Wrong options", 2, options.size());
+        Assert.assertEquals("Wrong receive buffer", 1 << 20, options.get(ChannelOption.SO_RCVBUF));
+        Assert.assertEquals("Wrong send buffer", 1 << 19, options.get(ChannelOption.SO_SNDBUF));
+
+        options = NativeTransportSupport.getSocketOptions(threadConfig, EpollSocketChannel.class, true);
+        Assert.assertEquals("Wrong epoll mode", EpollMode.LEVEL_TRIGGERED, options.get(EpollChannelOption.EPOLL_MODE));
+        Assert.assertEquals("Wrong quick ack", Boolean.TRUE, options.get(EpollChannelOption.TCP_QUICKACK));
+        Assert.assertEquals("Wrong busy poll", 50, options.get(EpollChannelOption.SO_BUSY_POLL));
+
+        options = NativeTransportSupport.getSocketOptions(threadConfig, EpollDatagramChannel.class, false);
+        Assert.assertFalse("Quick ack set on UDP", options.containsKey(EpollChannelOption.TCP_QUICKACK));
+    }
+
+    /**
+     * Test non-epoll channels get no epoll options
+     */
+    @Test
+    public void testNonEpollChannel() {
+        final Map<ChannelOption<?>, Object> options = NativeTransportSupport.getSocketOptions(threadConfig,
+                mock(Channel.class).getClass(), true);
+        Assert.assertEquals("Wrong options", 2, options.size());
+        Assert.assertFalse("Epoll mode set", options.containsKey(EpollChannelOption.EPOLL_MODE));
+        Assert.assertFalse("Quick ack set", options.containsKey(EpollChannelOption.TCP_QUICKACK));
+        Assert.assertFalse("Busy poll set", options.containsKey(EpollChannelOption.SO_BUSY_POLL));
+    }
+
+    /**
+     * Test plain thread configuration gets the defaults
+     */
+    @Test
+    public void testPlainConfiguration() {
+        final ThreadConfiguration plain = mock(ThreadConfiguration.class);
+        Assert.assertEquals("Wrong transport", NativeTransport.AUTO, NativeTransportSupport.getNativeTransport(plain));
+        Assert.assertEquals("Wrong backlog", 128, NativeTransportSupport.getAcceptBacklog(plain));
+        Assert.assertEquals("Wrong receive buffer", 0, NativeTransportSupport.getReceiveBufferSize(plain));
+        Assert.assertTrue("Unexpected options", NativeTransportSupport.getSocketOptions(plain,
+                EpollSocketChannel.class, true).isEmpty());
+    }
+}
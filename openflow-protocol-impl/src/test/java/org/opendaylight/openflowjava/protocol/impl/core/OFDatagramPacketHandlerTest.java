@@ -48,13 +48,14 @@ public class OFDatagramPacketHandlerTest {
      */
     @Test
     public void test(){
-        OFDatagramPacketHandler handler = new OFDatagramPacketHandler(switchConnHandler);
+        UdpConnectionMap connectionMap = new UdpConnectionMap();
+        OFDatagramPacketHandler handler = new OFDatagramPacketHandler(switchConnHandler, connectionMap);
         byte version = EncodeConstants.OF13_VERSION_ID;
         ByteBuf messageBuffer = ByteBufUtils.hexStringToByteBuf("04 02 00 08 01 02 03 04");
         InetSocketAddress recipientISA = InetSocketAddress.createUnresolved("localhost", 9876);
         InetSocketAddress senderISA = InetSocketAddress.createUnresolved("192.168.15.24", 21021);
         DatagramPacket datagramPacket = new DatagramPacket(messageBuffer, recipientISA, senderISA);
-        UdpConnectionMap.addConnection(datagramPacket.sender(), consumerMock);
+        connectionMap.addConnection(datagramPacket.sender(), consumerMock);
         List<Object> outList = new ArrayList<>();
         try {
             handler.decode(ctxMock, datagramPacket, outList);
@@ -64,6 +65,7 @@ public class OFDatagramPacketHandlerTest {
         VersionMessageUdpWrapper versionUdpWrapper = (VersionMessageUdpWrapper) outList.get(0);
         Assert.assertEquals("Wrong - incorrect version has been decoded",version, versionUdpWrapper.getVersion());
         Assert.assertEquals("Wrong - sender addresses are different", senderISA, versionUdpWrapper.getAddress());
+        Assert.assertEquals("Wrong - consumer has not been passed", consumerMock, versionUdpWrapper.getMessageConsumer());
         messageBuffer.readerIndex(1);
         Assert.assertEquals("Wrong - undecoded part of input ByteBuff is differnt to output",0, messageBuffer.compareTo(versionUdpWrapper.getMessageBuffer()));
     }
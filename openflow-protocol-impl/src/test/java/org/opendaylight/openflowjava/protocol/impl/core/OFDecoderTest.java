@@ -11,16 +11,28 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyShort;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ImmediateEventExecutor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
@@ -36,6 +48,7 @@ public class OFDecoderTest {
     @Mock ChannelHandlerContext mockChHndlrCtx ;
     @Mock DeserializationFactory mockDeserializationFactory ;
     @Mock DataObject mockDataObject ;
+    @Mock DataObject mockDataObject2 ;
 
     OFDecoder ofDecoder ;
     private ByteBuf writeObj;
@@ -110,4 +123,146 @@ public class OFDecoderTest {
         assertEquals( 0, outList.size() ) ;
         assertEquals( 0, writeObj.refCnt() ) ;
     }
+
+    /**
+     * Large frame is decoded on the worker pool, following small frame waits for it
+     * and both are passed on in the original order
+     */
+    @Test
+    public void testDecodeOffloaded() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        ofDecoder.setOffloadPolicy(new DecodeOffloadPolicy(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                tasks.add(command);
+            }
+        }, 4));
+        when(mockChHndlrCtx.executor()).thenReturn(ImmediateEventExecutor.INSTANCE);
+        ByteBuf smallObj = ByteBufUtils.hexStringToByteBuf("16 03 01");
+        when(mockDeserializationFactory.deserialize(writeObj, (short) 8)).thenReturn(mockDataObject);
+        when(mockDeserializationFactory.deserialize(smallObj, (short) 8)).thenReturn(mockDataObject2);
+
+        ofDecoder.decode(mockChHndlrCtx, inMsg, outList);
+        ofDecoder.decode(mockChHndlrCtx, new VersionMessageWrapper((short) 8, smallObj), outList);
+
+        assertEquals("Frames decoded inline", 0, outList.size());
+        assertEquals("Wrong number of worker tasks", 1, tasks.size());
+        verify(mockChHndlrCtx, never()).fireChannelRead(any());
+
+        tasks.get(0).run();
+        InOrder order = inOrder(mockChHndlrCtx);
+        order.verify(mockChHndlrCtx).fireChannelRead(mockDataObject);
+        order.verify(mockChHndlrCtx).fireChannelRead(mockDataObject2);
+        assertEquals(0, writeObj.refCnt());
+        assertEquals(0, smallObj.refCnt());
+
+        ByteBuf nextObj = ByteBufUtils.hexStringToByteBuf("16 03 01");
+        when(mockDeserializationFactory.deserialize(nextObj, (short) 8)).thenReturn(mockDataObject);
+        ofDecoder.decode(mockChHndlrCtx, new VersionMessageWrapper((short) 8, nextObj), outList);
+        assertEquals("Small frame not decoded inline", 1, outList.size());
+        assertEquals("Unexpected worker task", 1, tasks.size());
+    }
+
+    /**
+     * Frame claimed by a raw handler does not overtake an earlier offloaded frame
+     */
+    @Test
+    public void testClassifiedFrameOrdering() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        ofDecoder.setOffloadPolicy(new DecodeOffloadPolicy(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                tasks.add(command);
+            }
+        }, 4));
+        when(mockChHndlrCtx.executor()).thenReturn(ImmediateEventExecutor.INSTANCE);
+        when(mockDeserializationFactory.deserialize(writeObj, (short) 8)).thenReturn(mockDataObject);
+        final RawFrameHandler handler = mock(RawFrameHandler.class);
+        when(handler.handleFrame(any(ChannelHandlerContext.class), anyShort(), anyShort(), any(ByteBuf.class)))
+                .thenReturn(true);
+        final OFFrameClassifier classifier = new OFFrameClassifier();
+        classifier.registerHandler((short) 8, (short) 2, handler);
+        classifier.setDecoder(ofDecoder);
+
+        // Offloaded frame followed by a claimed one, as passed through the pipeline
+        final ByteBuf echoObj = ByteBufUtils.hexStringToByteBuf("02 00 00");
+        final List<Object> classified = new ArrayList<>();
+        classifier.decode(mockChHndlrCtx, inMsg, classified);
+        ofDecoder.decode(mockChHndlrCtx, (VersionMessageWrapper) classified.remove(0), outList);
+        classifier.decode(mockChHndlrCtx, new VersionMessageWrapper((short) 8, echoObj), classified);
+        assertEquals("Claimed frame not deferred", 1, classified.size());
+        ofDecoder.decode(mockChHndlrCtx, (VersionMessageWrapper) classified.remove(0), outList);
+        verify(handler, never()).handleFrame(any(ChannelHandlerContext.class), anyShort(), anyShort(),
+                any(ByteBuf.class));
+
+        tasks.get(0).run();
+        InOrder order = inOrder(mockChHndlrCtx, handler);
+        order.verify(mockChHndlrCtx).fireChannelRead(mockDataObject);
+        order.verify(handler).handleFrame(eq(mockChHndlrCtx), eq((short) 8), eq((short) 2), same(echoObj));
+        assertEquals(0, outList.size());
+        assertEquals(0, echoObj.refCnt());
+
+        // Nothing pending, claimed frames are handled by the classifier right away
+        final ByteBuf nextEchoObj = ByteBufUtils.hexStringToByteBuf("02 00 00");
+        classifier.decode(mockChHndlrCtx, new VersionMessageWrapper((short) 8, nextEchoObj), classified);
+        assertEquals("Claimed frame passed on", 0, classified.size());
+        assertEquals(0, nextEchoObj.refCnt());
+    }
+
+    /**
+     * Frames rejected by the worker pool are decoded inline and the pool is tried again for later frames
+     */
+    @Test
+    public void testDecodeOffloadRejected() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        final boolean[] reject = {true};
+        ofDecoder.setOffloadPolicy(new DecodeOffloadPolicy(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                if (reject[0]) {
+                    throw new RejectedExecutionException();
+                }
+                tasks.add(command);
+            }
+        }, 4));
+        when(mockChHndlrCtx.executor()).thenReturn(ImmediateEventExecutor.INSTANCE);
+        when(mockDeserializationFactory.deserialize(writeObj, (short) 8)).thenReturn(mockDataObject);
+
+        ofDecoder.decode(mockChHndlrCtx, inMsg, outList);
+        verify(mockChHndlrCtx).fireChannelRead(mockDataObject);
+        assertEquals(0, writeObj.refCnt());
+
+        reject[0] = false;
+        ofDecoder.decode(mockChHndlrCtx, new VersionMessageWrapper((short) 8,
+                ByteBufUtils.hexStringToByteBuf("16 03 01 00")), outList);
+        assertEquals("Worker task not submitted", 1, tasks.size());
+    }
+
+    /**
+     * Offloaded frames are released once the channel's event loop rejects their results
+     */
+    @Test
+    public void testDecodeEventLoopRejected() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        ofDecoder.setOffloadPolicy(new DecodeOffloadPolicy(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                tasks.add(command);
+            }
+        }, 4));
+        EventExecutor executor = mock(EventExecutor.class);
+        doThrow(new RejectedExecutionException()).when(executor).execute(any(Runnable.class));
+        when(mockChHndlrCtx.executor()).thenReturn(executor);
+        ByteBuf nextObj = ByteBufUtils.hexStringToByteBuf("16 03 01 00");
+
+        ofDecoder.decode(mockChHndlrCtx, inMsg, outList);
+        ofDecoder.decode(mockChHndlrCtx, new VersionMessageWrapper((short) 8, nextObj), outList);
+        tasks.get(0).run();
+        assertEquals(0, writeObj.refCnt());
+        assertEquals(0, nextObj.refCnt());
+
+        ByteBuf lastObj = ByteBufUtils.hexStringToByteBuf("16 03 01 00");
+        ofDecoder.decode(mockChHndlrCtx, new VersionMessageWrapper((short) 8, lastObj), outList);
+        assertEquals("Worker task not submitted", 2, tasks.size());
+    }
 }
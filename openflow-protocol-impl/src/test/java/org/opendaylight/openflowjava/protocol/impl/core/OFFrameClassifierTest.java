@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+
+/**
+ * Unit tests for OFFrameClassifier
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OFFrameClassifierTest {
+
+    @Mock ChannelHandlerContext channelHandlerContext;
+
+    private OFFrameClassifier classifier;
+    private List<Object> list = new ArrayList<>();
+
+    /**
+     * Sets up test environment
+     */
+    @Before
+    public void setUp() {
+        list.clear();
+        classifier = new OFFrameClassifier();
+        when(channelHandlerContext.alloc()).thenReturn(UnpooledByteBufAllocator.DEFAULT);
+    }
+
+    /**
+     * Frames without registered handler are passed to decoder
+     */
+    @Test
+    public void testPassThrough() {
+        VersionMessageWrapper wrapper = createWrapper(EncodeConstants.OF13_VERSION_ID, "00 00 08 00 00 00 01");
+        classifier.decode(channelHandlerContext, wrapper, list);
+
+        Assert.assertEquals("Wrong number of messages", 1, list.size());
+        Assert.assertSame("Wrong message", wrapper, list.get(0));
+        Assert.assertEquals("Buffer released", 1, wrapper.getMessageBuffer().refCnt());
+    }
+
+    /**
+     * Dropping handler consumes and releases matching frames only
+     */
+    @Test
+    public void testDroppingHandler() {
+        DroppingFrameHandler dropper = new DroppingFrameHandler();
+        classifier.registerHandler(EncodeConstants.OF13_VERSION_ID, (short) 10, dropper);
+
+        VersionMessageWrapper packetIn = createWrapper(EncodeConstants.OF13_VERSION_ID, "0A 00 08 00 00 00 01");
+        classifier.decode(channelHandlerContext, packetIn, list);
+        VersionMessageWrapper of10PacketIn = createWrapper(EncodeConstants.OF10_VERSION_ID, "0A 00 08 00 00 00 01");
+        classifier.decode(channelHandlerContext, of10PacketIn, list);
+
+        Assert.assertEquals("Wrong drop count", 1, dropper.getDroppedCount());
+        Assert.assertEquals("Frame not released", 0, packetIn.getMessageBuffer().refCnt());
+        Assert.assertEquals("Wrong number of messages", 1, list.size());
+        Assert.assertSame("Wrong message", of10PacketIn, list.get(0));
+
+        classifier.unregisterHandler(EncodeConstants.OF13_VERSION_ID, (short) 10);
+        Assert.assertTrue("Table not empty", classifier.getDispatchTable().isEmpty());
+    }
+
+    /**
+     * Multipart type specific handler takes precedence over type handler
+     */
+    @Test
+    public void testMultipartHandler() {
+        DroppingFrameHandler typeDropper = new DroppingFrameHandler();
+        DroppingFrameHandler flowDropper = new DroppingFrameHandler();
+        classifier.registerHandler(EncodeConstants.OF13_VERSION_ID, (short) 19, typeDropper);
+        classifier.registerHandler(EncodeConstants.OF13_VERSION_ID, (short) 19, 1, flowDropper);
+
+        classifier.decode(channelHandlerContext, createWrapper(EncodeConstants.OF13_VERSION_ID,
+                "13 00 10 00 00 00 01 00 01 00 00 00 00 00 00"), list);
+        classifier.decode(channelHandlerContext, createWrapper(EncodeConstants.OF13_VERSION_ID,
+                "13 00 10 00 00 00 01 00 04 00 00 00 00 00 00"), list);
+
+        Assert.assertEquals("Wrong flow drop count", 1, flowDropper.getDroppedCount());
+        Assert.assertEquals("Wrong type drop count", 1, typeDropper.getDroppedCount());
+        Assert.assertEquals("Wrong number of messages", 0, list.size());
+    }
+
+    /**
+     * Echo request is answered directly with echo reply
+     */
+    @Test
+    public void testEchoReply() {
+        classifier.registerHandler(EncodeConstants.OF13_VERSION_ID, EchoReplyFrameHandler.ECHO_REQUEST_TYPE,
+                new EchoReplyFrameHandler());
+        classifier.decode(channelHandlerContext, createWrapper(EncodeConstants.OF13_VERSION_ID,
+                "02 00 0A 00 00 00 2A AB CD"), list);
+
+        ArgumentCaptor<ByteBuf> captor = ArgumentCaptor.forClass(ByteBuf.class);
+        verify(channelHandlerContext).writeAndFlush(captor.capture());
+        Assert.assertEquals("Wrong reply", "04 03 00 0a 00 00 00 2a ab cd",
+                ByteBufUtils.byteBufToHexString(captor.getValue()));
+        Assert.assertEquals("Wrong number of messages", 0, list.size());
+    }
+
+    /**
+     * Unsupported registrations are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultipartRegistrationOnNonMultipartType() {
+        classifier.registerHandler(EncodeConstants.OF13_VERSION_ID, (short) 10, 1, new DroppingFrameHandler());
+    }
+
+    /**
+     * Failing handler causes the frame to be dropped, not leaked
+     */
+    @Test
+    public void testFailingHandler() {
+        RawFrameHandler failing = new RawFrameHandler() {
+            @Override
+            public boolean handleFrame(final ChannelHandlerContext ctx, final short version, final short type,
+                    final ByteBuf frame) {
+                throw new IllegalStateException("test");
+            }
+        };
+        classifier.registerHandler(EncodeConstants.OF10_VERSION_ID, (short) 0, failing);
+        VersionMessageWrapper hello = createWrapper(EncodeConstants.OF10_VERSION_ID, "00 00 08 00 00 00 01");
+        classifier.decode(channelHandlerContext, hello, list);
+
+        Assert.assertEquals("Frame not released", 0, hello.getMessageBuffer().refCnt());
+        Assert.assertEquals("Wrong number of messages", 0, list.size());
+        verify(channelHandlerContext, never()).writeAndFlush(any());
+    }
+
+    private static VersionMessageWrapper createWrapper(final short version, final String hex) {
+        return new VersionMessageWrapper(version, ByteBufUtils.hexStringToByteBuf(hex));
+    }
+}
@@ -11,6 +11,7 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 import static org.junit.Assert.assertEquals;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +24,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
 
 /**
@@ -164,4 +167,41 @@ public class OFFrameDecoderTest {
 
         assertEquals(8, ((ByteBuf) list.get(0)).readableBytes());
     }
+
+    /**
+     * Test frames spanning several reads are joined and counted by cumulation mode
+     */
+    @Test
+    public void testCumulationCounters() {
+        StatisticsCounters statCounters = StatisticsCounters.getInstance();
+        statCounters.startCounting(false, 0);
+        statCounters.resetCounters();
+        try {
+            EmbeddedChannel channel = new EmbeddedChannel(decoder);
+            channel.writeInbound(ByteBufUtils.hexStringToByteBuf("04 00 00 10 00 00 00 01"));
+            channel.writeInbound(ByteBufUtils.hexStringToByteBuf("00 00 00 00 00 00 00 42"));
+            ByteBuf frame = (ByteBuf) channel.readInbound();
+            assertEquals("Wrong frame", "04 00 00 10 00 00 00 01 00 00 00 00 00 00 00 42",
+                    ByteBufUtils.byteBufToHexString(frame));
+            frame.release();
+
+            decoder = new OFFrameDecoder(connectionFacade, false);
+            decoder.setCompositeCumulation(true);
+            channel = new EmbeddedChannel(decoder);
+            channel.writeInbound(ByteBufUtils.hexStringToByteBuf("04 00 00 10 00 00 00 02"));
+            channel.writeInbound(ByteBufUtils.hexStringToByteBuf("00 00 00 00"));
+            channel.writeInbound(ByteBufUtils.hexStringToByteBuf("00 00 00 42"));
+            frame = (ByteBuf) channel.readInbound();
+            assertEquals("Wrong frame", "04 00 00 10 00 00 00 02 00 00 00 00 00 00 00 42",
+                    ByteBufUtils.byteBufToHexString(frame));
+            frame.release();
+
+            assertEquals("Wrong copy count", 1,
+                    statCounters.getCounter(CounterEventTypes.US_CUMULATION_COPY).getCounterValue());
+            assertEquals("Wrong composite count", 2,
+                    statCounters.getCounter(CounterEventTypes.US_CUMULATION_COMPOSITE).getCounterValue());
+        } finally {
+            statCounters.stopCounting();
+        }
+    }
 }
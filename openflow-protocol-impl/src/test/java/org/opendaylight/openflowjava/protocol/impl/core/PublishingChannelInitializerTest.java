@@ -165,6 +165,7 @@ public class PublishingChannelInitializerTest {
         verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.OF_ENCODER.name()),any(OFEncoder.class)) ;
         verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.OF_FRAME_DECODER.name()),any(OFFrameDecoder.class)) ;
         verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.OF_VERSION_DETECTOR.name()),any(OFVersionDetector.class)) ;
+        verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.OF_FRAME_CLASSIFIER.name()),any(OFFrameClassifier.class)) ;
         verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.DELEGATING_INBOUND_HANDLER.name()),any(DelegatingInboundHandler.class));
         assertEquals(1, pubChInitializer.size()) ;
     }
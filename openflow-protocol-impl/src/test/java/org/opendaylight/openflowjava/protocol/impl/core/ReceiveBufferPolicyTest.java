@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.socket.DatagramChannelConfig;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for ReceiveBufferPolicy
+ */
+public class ReceiveBufferPolicyTest {
+
+    /**
+     * Test fixed policy sizes datagram buffers and bounds datagrams read per wakeup
+     */
+    @Test
+    public void testConfigureDatagram() {
+        final DatagramChannelConfig config = mock(DatagramChannelConfig.class);
+        final ReceiveBufferPolicy policy = ReceiveBufferPolicy.fixed(1500).withMaxMessagesPerRead(32);
+        policy.configure(config);
+        verify(config).setRecvByteBufAllocator(any(FixedRecvByteBufAllocator.class));
+        verify(config).setMaxMessagesPerRead(32);
+        Assert.assertEquals("Wrong reads per wakeup", 32, policy.getMaxMessagesPerRead());
+    }
+
+    /**
+     * Test transport default of reads per wakeup is kept
+     */
+    @Test
+    public void testConfigureDefaultReads() {
+        final DatagramChannelConfig config = mock(DatagramChannelConfig.class);
+        ReceiveBufferPolicy.adaptive(64, 1024, 65536).configure(config);
+        verify(config).setRecvByteBufAllocator(any(AdaptiveRecvByteBufAllocator.class));
+        verify(config, never()).setMaxMessagesPerRead(anyInt());
+    }
+
+    /**
+     * Test switch overrides
+     */
+    @Test
+    public void testPolicyFor() throws Exception {
+        final InetAddress address = InetAddress.getByName("10.0.0.1");
+        final ReceiveBufferPolicy override = ReceiveBufferPolicy.fixed(4096).withCompositeCumulation(true);
+        final ReceiveBufferPolicy policy = ReceiveBufferPolicy.fixed(1500).withSwitch(address, override);
+        Assert.assertSame("Wrong policy", override, policy.policyFor(new InetSocketAddress(address, 6653)));
+        Assert.assertSame("Wrong policy", policy, policy.policyFor(new InetSocketAddress("10.0.0.2", 6653)));
+        Assert.assertSame("Wrong policy", policy, policy.policyFor(null));
+    }
+
+    /**
+     * Test reads per wakeup can not be negative
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxMessagesPerRead() {
+        ReceiveBufferPolicy.fixed(1500).withMaxMessagesPerRead(-1);
+    }
+}
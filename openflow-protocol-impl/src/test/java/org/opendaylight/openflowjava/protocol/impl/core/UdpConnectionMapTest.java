@@ -7,6 +7,9 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.socket.DatagramPacket;
 
@@ -18,6 +21,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEvent;
 
 /**
  * @author madamjak
@@ -27,6 +31,7 @@ public class UdpConnectionMapTest {
 
     @Mock MessageConsumer consumerMock;
     @Mock  ByteBuf messageBuffer;
+    private final UdpConnectionMap connectionMap = new UdpConnectionMap();
 
     @Before
     public void startUp(){
@@ -41,12 +46,12 @@ public class UdpConnectionMapTest {
         InetSocketAddress recipientISA = InetSocketAddress.createUnresolved("localhost", 9876);
         InetSocketAddress senderISA = InetSocketAddress.createUnresolved("192.168.15.2", 21021);
         DatagramPacket datagramPacket = new DatagramPacket(messageBuffer, recipientISA, senderISA);
-        UdpConnectionMap.addConnection(datagramPacket.sender(), consumerMock);
+        connectionMap.addConnection(datagramPacket.sender(), consumerMock);
         Assert.assertEquals("Wrong - different object has been returned",
-                consumerMock, UdpConnectionMap.getMessageConsumer(datagramPacket.sender()));
-        UdpConnectionMap.removeConnection(datagramPacket.sender());
+                consumerMock, connectionMap.getMessageConsumer(datagramPacket.sender()));
+        connectionMap.removeConnection(datagramPacket.sender());
         Assert.assertNull("Wrong - object has been returned after remove key-value pair",
-                UdpConnectionMap.getMessageConsumer(datagramPacket.sender()));
+                connectionMap.getMessageConsumer(datagramPacket.sender()));
     }
 
     /**
@@ -54,7 +59,7 @@ public class UdpConnectionMapTest {
      */
     @Test(expected = IllegalArgumentException.class)
     public void testWithoutSenderAddressOnAdd(){
-        UdpConnectionMap.addConnection(null, consumerMock);
+        connectionMap.addConnection(null, consumerMock);
     }
 
     /**
@@ -62,7 +67,7 @@ public class UdpConnectionMapTest {
      */
     @Test(expected = IllegalArgumentException.class)
     public void testWithoutSenderAddressOnGet(){
-        UdpConnectionMap.getMessageConsumer(null);
+        connectionMap.getMessageConsumer(null);
     }
 
     /**
@@ -70,6 +75,21 @@ public class UdpConnectionMapTest {
      */
     @Test(expected = IllegalArgumentException.class)
     public void testWithoutSenderAddressOnRemove(){
-        UdpConnectionMap.removeConnection(null);
+        connectionMap.removeConnection(null);
+    }
+
+    /**
+     * Test {@link UdpConnectionMap} - silent sender is evicted and its consumer is notified
+     */
+    @Test
+    public void testIdleEviction(){
+        InetSocketAddress senderISA = InetSocketAddress.createUnresolved("192.168.15.3", 21021);
+        try (UdpConnectionMap evictingMap = new UdpConnectionMap(50)) {
+            evictingMap.addConnection(senderISA, consumerMock);
+            Assert.assertEquals("Wrong - connection has not been added", 1, evictingMap.size());
+            verify(consumerMock, timeout(5000)).consume(any(DisconnectEvent.class));
+            Assert.assertNull("Wrong - idle connection has not been evicted",
+                    evictingMap.getMessageConsumer(senderISA));
+        }
     }
 }
@@ -9,6 +9,7 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -16,18 +17,35 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableSet;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultChannelPromise;
+import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.util.concurrent.ImmediateEventExecutor;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionReadyListener;
+import org.opendaylight.openflowjava.protocol.api.connection.RawMessageListener;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.core.OFFrameClassifier;
+import org.opendaylight.openflowjava.protocol.impl.core.PipelineHandlers;
+import org.opendaylight.openflowjava.protocol.impl.core.VersionMessageWrapper;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput;
@@ -81,6 +99,8 @@ public class ConnectionAdapterImplTest {
     @Mock ConnectionReadyListener readyListener;
     @Mock Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> mockCache;
     @Mock ChannelFuture channelFuture;
+    @Mock RawMessageListener rawListener;
+    @Mock ChannelHandlerContext channelHandlerContext;
 
     private ConnectionAdapterImpl adapter;
     private Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache;
@@ -164,7 +184,7 @@ public class ConnectionAdapterImplTest {
         inputBuilder.setVersion((short) EncodeConstants.OF13_VERSION_ID);
         inputBuilder.setXid(42L);
         final BarrierInput barrierInput = inputBuilder.build();
-        final RpcResponseKey key = new RpcResponseKey(42L, "org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput");
+        final RpcResponseKey key = new RpcResponseKey(42L, BarrierOutput.class);
         final ResponseExpectedRpcListener<OfHeader> listener = new ResponseExpectedRpcListener<>(barrierInput,
                 "failure", mockCache, key);
         cache.put(key, listener);
@@ -190,6 +210,28 @@ public class ConnectionAdapterImplTest {
         Assert.assertFalse("Wrong - ConnectionAdapterImpl can not be alive after disconnet.", connAddapter.isAlive());
     }
 
+    /**
+     * Tests disconnecting a UDP sender, e.g. in response to its idle eviction, keeps the datagram channel
+     * shared with other senders
+     */
+    @Test
+    public void testDisconnectDatagram() throws Exception {
+        final DatagramChannel datagramChannel = Mockito.mock(DatagramChannel.class);
+        when(datagramChannel.pipeline()).thenReturn(pipeline);
+        when(datagramChannel.newSucceededFuture()).thenReturn(
+                new DefaultChannelPromise(datagramChannel, ImmediateEventExecutor.INSTANCE).setSuccess());
+        final ConnectionAdapterImpl udpAdapter = new ConnectionAdapterImpl(datagramChannel,
+                InetSocketAddress.createUnresolved("10.0.0.2", 6653), true);
+        udpAdapter.setSystemListener(systemListener);
+
+        final DisconnectEvent idle = new DisconnectEventBuilder().setInfo("UDP connection idle").build();
+        udpAdapter.consume(idle);
+        verify(systemListener).onDisconnectEvent(idle);
+        Assert.assertTrue("Disconnect failed", udpAdapter.disconnect().get());
+        verify(datagramChannel, Mockito.never()).disconnect();
+        verify(datagramChannel, Mockito.never()).close();
+    }
+
     /**
      * Test throw exception if no listeners are present
      */
@@ -204,4 +246,125 @@ public class ConnectionAdapterImplTest {
         connAddapter.setConnectionReadyListener(null);
         connAddapter.checkListeners();
     }
+
+    /**
+     * Tests raw message listener registration in frame classifier
+     */
+    @Test
+    public void testRawMessageListener() throws Exception {
+        final OFFrameClassifier classifier = new OFFrameClassifier();
+        when(pipeline.get(PipelineHandlers.OF_FRAME_CLASSIFIER.name())).thenReturn(classifier);
+        adapter.setRawMessageListener(rawListener, EncodeConstants.OF13_VERSION_ID, ImmutableSet.of((short) 10));
+
+        final VersionMessageWrapper packetIn = new VersionMessageWrapper(EncodeConstants.OF13_VERSION_ID,
+                ByteBufUtils.hexStringToByteBuf("0A 00 0C 00 00 00 01 01 02 03 04"));
+        final ArgumentCaptor<ByteBuf> captor = ArgumentCaptor.forClass(ByteBuf.class);
+        classifier.channelRead(channelHandlerContext, packetIn);
+        verify(rawListener).onRawMessage(eq(EncodeConstants.OF13_VERSION_ID), eq((short) 10), captor.capture());
+        Assert.assertEquals("Wrong raw message", "00 0c 00 00 00 01 01 02 03 04",
+                ByteBufUtils.byteBufToHexString(captor.getValue()));
+        Assert.assertEquals("Raw message not retained", 1, captor.getValue().refCnt());
+        captor.getValue().release();
+
+        adapter.setRawMessageListener(null, EncodeConstants.OF13_VERSION_ID, Collections.<Short>emptySet());
+        Assert.assertTrue("Handlers not removed", classifier.getDispatchTable().isEmpty());
+    }
+
+    /**
+     * Tests reply types can not be delivered raw, as they would never complete their requests
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRawMessageListenerReplyType() {
+        when(pipeline.get(PipelineHandlers.OF_FRAME_CLASSIFIER.name())).thenReturn(new OFFrameClassifier());
+        adapter.setRawMessageListener(rawListener, EncodeConstants.OF13_VERSION_ID,
+                ImmutableSet.of((short) 10, (short) 21));
+    }
+
+    /**
+     * Tests experimenter messages can not be delivered raw, as they may be replies to experimenter requests
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRawMessageListenerExperimenterType() {
+        when(pipeline.get(PipelineHandlers.OF_FRAME_CLASSIFIER.name())).thenReturn(new OFFrameClassifier());
+        adapter.setRawMessageListener(rawListener, EncodeConstants.OF10_VERSION_ID, ImmutableSet.of((short) 4));
+    }
+
+    /**
+     * Tests raw message listener registration on channel without frame classifier
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testRawMessageListenerUnsupported() {
+        adapter.setRawMessageListener(rawListener, EncodeConstants.OF13_VERSION_ID, ImmutableSet.of((short) 10));
+    }
+
+    /**
+     * Tests handlers from message dispatch table taking precedence over listeners
+     */
+    @Test
+    public void testMessageDispatchTable() {
+        final MessageHandler handler = Mockito.mock(MessageHandler.class);
+        final PacketInMessage consumed = new PacketInMessageBuilder().setXid(1L).build();
+        final PacketInMessage passed = new PacketInMessageBuilder().setXid(2L).build();
+        when(handler.handleMessage(adapter, consumed)).thenReturn(true);
+        when(handler.handleMessage(adapter, passed)).thenReturn(false);
+        adapter.setMessageDispatchTable(MessageDispatchTable.EMPTY.with(PacketInMessage.class, handler));
+
+        adapter.consume(consumed);
+        verify(messageListener, Mockito.never()).onPacketInMessage(consumed);
+        adapter.consume(passed);
+        verify(messageListener).onPacketInMessage(passed);
+        final PortStatusMessage portStatus = new PortStatusMessageBuilder().build();
+        adapter.consume(portStatus);
+        verify(messageListener).onPortStatusMessage(portStatus);
+        verify(handler, times(2)).handleMessage(any(ConnectionAdapterImpl.class), any(DataObject.class));
+    }
+
+    /**
+     * Tests message routes cached for a message type follow replacement of the dispatch table
+     */
+    @Test
+    public void testMessageDispatchTableReplaced() {
+        final MessageHandler handler = Mockito.mock(MessageHandler.class);
+        final PacketInMessage first = new PacketInMessageBuilder().setXid(1L).build();
+        final PacketInMessage second = new PacketInMessageBuilder().setXid(2L).build();
+        final PacketInMessage third = new PacketInMessageBuilder().setXid(3L).build();
+        when(handler.handleMessage(any(ConnectionAdapterImpl.class), any(DataObject.class))).thenReturn(true);
+
+        adapter.consume(first);
+        verify(messageListener).onPacketInMessage(first);
+        adapter.setMessageDispatchTable(MessageDispatchTable.EMPTY.with(PacketInMessage.class, handler));
+        adapter.consume(second);
+        verify(handler).handleMessage(adapter, second);
+        verify(messageListener, Mockito.never()).onPacketInMessage(second);
+        adapter.setMessageDispatchTable(MessageDispatchTable.EMPTY);
+        adapter.consume(third);
+        verify(messageListener).onPacketInMessage(third);
+        verify(handler, Mockito.never()).handleMessage(adapter, third);
+    }
+
+    /**
+     * Tests listener queue metrics published by the adapter
+     */
+    @Test
+    public void testListenerQueueMetrics() {
+        Assert.assertEquals("Wrong queue depth", 0, adapter.getListenerQueueDepth());
+        final List<Runnable> tasks = new ArrayList<>();
+        adapter.setListenerDispatchPolicy(new ListenerDispatchPolicy(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                tasks.add(command);
+            }
+        }, 1));
+
+        final EchoRequestMessage echo = new EchoRequestMessageBuilder().build();
+        adapter.consume(echo);
+        adapter.consume(new PacketInMessageBuilder().build());
+        Assert.assertEquals("Wrong queue depth", 1, adapter.getListenerQueueDepth());
+        Assert.assertEquals("Wrong dropped count", 1, adapter.getDroppedListenerCount());
+
+        tasks.get(0).run();
+        verify(messageListener).onEchoRequestMessage(echo);
+        Assert.assertEquals("Wrong queue depth", 0, adapter.getListenerQueueDepth());
+        Assert.assertEquals("Wrong max queue depth", 1, adapter.getMaxListenerQueueDepth());
+    }
 }
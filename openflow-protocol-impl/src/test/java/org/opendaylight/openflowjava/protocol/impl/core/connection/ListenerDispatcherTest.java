@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessageBuilder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Unit tests for ListenerDispatcher
+ */
+public class ListenerDispatcherTest {
+
+    @Mock Channel channel;
+    @Mock ChannelConfig config;
+
+    private final List<Runnable> workerTasks = new ArrayList<>();
+    private final List<Integer> delivered = new ArrayList<>();
+    private ListenerDispatcher dispatcher;
+
+    /**
+     * Initializes dispatcher with capacity of two messages and a manually driven worker pool
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(channel.config()).thenReturn(config);
+        dispatcher = new ListenerDispatcher(channel, new ListenerDispatchPolicy(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                workerTasks.add(command);
+            }
+        }, 2));
+    }
+
+    /**
+     * Listeners are invoked on the worker pool, in dispatch order
+     */
+    @Test
+    public void testOrderedDispatch() {
+        dispatch(new EchoRequestMessageBuilder().build(), 1);
+        dispatch(new PacketInMessageBuilder().build(), 2);
+        Assert.assertEquals("Listener invoked on I/O thread", 0, delivered.size());
+        Assert.assertEquals("Wrong number of worker tasks", 1, workerTasks.size());
+        Assert.assertEquals("Wrong queue depth", 2, dispatcher.getQueueDepth());
+
+        workerTasks.get(0).run();
+        Assert.assertEquals("Wrong delivery order", 1, delivered.get(0).intValue());
+        Assert.assertEquals("Wrong delivery order", 2, delivered.get(1).intValue());
+        Assert.assertEquals("Wrong queue depth", 0, dispatcher.getQueueDepth());
+        Assert.assertEquals("Wrong max queue depth", 2, dispatcher.getMaxQueueDepth());
+
+        dispatch(new EchoRequestMessageBuilder().build(), 3);
+        Assert.assertEquals("Worker not rescheduled", 2, workerTasks.size());
+    }
+
+    /**
+     * Packet-ins are dropped on overflow, other messages suspend reading until the queue drains
+     */
+    @Test
+    public void testOverflow() {
+        dispatch(new EchoRequestMessageBuilder().build(), 1);
+        dispatch(new EchoRequestMessageBuilder().build(), 2);
+        dispatch(new PacketInMessageBuilder().build(), 3);
+        Assert.assertEquals("Packet-in not dropped", 1, dispatcher.getDroppedCount());
+        verify(config, never()).setAutoRead(false);
+
+        dispatch(new EchoRequestMessageBuilder().build(), 4);
+        verify(config).setAutoRead(false);
+        Assert.assertEquals("Wrong queue depth", 3, dispatcher.getQueueDepth());
+
+        workerTasks.get(0).run();
+        verify(config).setAutoRead(true);
+        Assert.assertEquals("Wrong number of delivered messages", 3, delivered.size());
+        Assert.assertEquals("Wrong delivery order", 4, delivered.get(2).intValue());
+    }
+
+    private void dispatch(final DataObject message, final int id) {
+        dispatcher.dispatch(message, new Runnable() {
+            @Override
+            public void run() {
+                delivered.add(id);
+            }
+        });
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.channel.ChannelHandlerContext;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyStreamCallback;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.table._case.multipart.reply.table.TableStats;
+
+/**
+ * {@link MultipartReplyStreams} class test
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MultipartReplyStreamsTest {
+
+    private static final short MULTIPART_REPLY = 19;
+    private static final String TABLE_STATS_PART_01 = "13 00 28 00 00 00 2A 00 03 00 01 00 00 00 00 "
+            + "01 00 00 00 00 00 00 05 00 00 00 00 00 00 00 10 00 00 00 00 00 00 00 08";
+    private static final String TABLE_STATS_PART_02 = "13 00 28 00 00 00 2A 00 03 00 00 00 00 00 00 "
+            + "02 00 00 00 00 00 00 06 00 00 00 00 00 00 00 20 00 00 00 00 00 00 00 10";
+
+    @Mock
+    private ConnectionAdapterImpl adapter;
+    @Mock
+    private ChannelHandlerContext ctx;
+    @Mock
+    private MultipartReplyStreamCallback<TableStats> failingCallback;
+
+    private MultipartReplyStreams streams;
+    private final List<TableStats> entries = new ArrayList<>();
+    private final List<Boolean> parts = new ArrayList<>();
+    private final MultipartReplyStreamCallback<TableStats> callback = new MultipartReplyStreamCallback<TableStats>() {
+        @Override
+        public void onPart(final Iterator<TableStats> it, final boolean last) {
+            while (it.hasNext()) {
+                entries.add(it.next());
+            }
+            parts.add(last);
+        }
+
+        @Override
+        public void onFailure(final Throwable cause) {
+            Assert.fail("Unexpected failure " + cause);
+        }
+    };
+
+    @Before
+    public void setUp() {
+        final DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        final DeserializationFactory factory = new DeserializationFactory();
+        factory.setRegistry(registry);
+        streams = new MultipartReplyStreams(adapter, factory);
+    }
+
+    @Test
+    public void testStreamedReply() {
+        streams.register(42L, MultipartType.OFPMPTABLE, callback);
+
+        Assert.assertTrue(streams.handleFrame(ctx, EncodeConstants.OF13_VERSION_ID, MULTIPART_REPLY,
+                ByteBufUtils.hexStringToByteBuf(TABLE_STATS_PART_01)));
+        Mockito.verify(adapter, Mockito.never()).onMultipartReplyStreamFinished(
+                Mockito.any(MultipartReplyMessage.class));
+        Assert.assertTrue(streams.handleFrame(ctx, EncodeConstants.OF13_VERSION_ID, MULTIPART_REPLY,
+                ByteBufUtils.hexStringToByteBuf(TABLE_STATS_PART_02)));
+
+        Assert.assertEquals("Wrong parts", 2, parts.size());
+        Assert.assertFalse("Wrong last flag", parts.get(0));
+        Assert.assertTrue("Wrong last flag", parts.get(1));
+        Assert.assertEquals("Wrong entries", 2, entries.size());
+        Assert.assertEquals("Wrong table id", 1, entries.get(0).getTableId().intValue());
+        Assert.assertEquals("Wrong active count", 5, entries.get(0).getActiveCount().longValue());
+        Assert.assertEquals("Wrong table id", 2, entries.get(1).getTableId().intValue());
+        Assert.assertEquals("Wrong matched count", 16, entries.get(1).getMatchedCount().longValue());
+
+        final ArgumentCaptor<MultipartReplyMessage> captor = ArgumentCaptor.forClass(MultipartReplyMessage.class);
+        Mockito.verify(adapter).onMultipartReplyStreamFinished(captor.capture());
+        Assert.assertEquals("Wrong xid", 42L, captor.getValue().getXid().longValue());
+        Assert.assertEquals("Wrong type", MultipartType.OFPMPTABLE, captor.getValue().getType());
+        Assert.assertFalse("Wrong flags", captor.getValue().getFlags().isOFPMPFREQMORE());
+        Assert.assertEquals("Stream not removed", 0, streams.size());
+    }
+
+    @Test
+    public void testUnknownXid() {
+        streams.register(41L, MultipartType.OFPMPTABLE, callback);
+        Assert.assertFalse(streams.handleFrame(ctx, EncodeConstants.OF13_VERSION_ID, MULTIPART_REPLY,
+                ByteBufUtils.hexStringToByteBuf(TABLE_STATS_PART_01)));
+        Assert.assertTrue("Unexpected part", parts.isEmpty());
+    }
+
+    @Test
+    public void testFailure() {
+        final FutureCallback<OfHeader> queueCallback = streams.register(42L, MultipartType.OFPMPTABLE,
+                failingCallback);
+        final Exception cause = new Exception("test");
+        queueCallback.onFailure(cause);
+        Mockito.verify(failingCallback).onFailure(cause);
+        Assert.assertEquals("Stream not removed", 0, streams.size());
+    }
+
+    @Test
+    public void testFailedPart() {
+        Mockito.doThrow(new IllegalStateException("test")).when(failingCallback).onPart(
+                Mockito.<Iterator<TableStats>>any(), Mockito.anyBoolean());
+        streams.register(42L, MultipartType.OFPMPTABLE, failingCallback);
+
+        Assert.assertTrue(streams.handleFrame(ctx, EncodeConstants.OF13_VERSION_ID, MULTIPART_REPLY,
+                ByteBufUtils.hexStringToByteBuf(TABLE_STATS_PART_01)));
+        Mockito.verify(failingCallback).onFailure(Mockito.any(IllegalStateException.class));
+        Mockito.verify(adapter).onMultipartReplyStreamFinished(Mockito.any(MultipartReplyMessage.class));
+        Assert.assertEquals("Failed stream not kept", 1, streams.size());
+
+        // Remaining parts are swallowed instead of reaching the protocol listener
+        Assert.assertTrue(streams.handleFrame(ctx, EncodeConstants.OF13_VERSION_ID, MULTIPART_REPLY,
+                ByteBufUtils.hexStringToByteBuf(TABLE_STATS_PART_02)));
+        Mockito.verify(failingCallback).onPart(Mockito.<Iterator<TableStats>>any(), Mockito.anyBoolean());
+        Mockito.verify(failingCallback).onFailure(Mockito.any(Throwable.class));
+        Assert.assertEquals("Failed stream not removed", 0, streams.size());
+    }
+
+    @Test
+    public void testFailedLastPart() {
+        Mockito.doThrow(new IllegalStateException("test")).when(failingCallback).onPart(
+                Mockito.<Iterator<TableStats>>any(), Mockito.anyBoolean());
+        streams.register(42L, MultipartType.OFPMPTABLE, failingCallback);
+
+        Assert.assertTrue(streams.handleFrame(ctx, EncodeConstants.OF13_VERSION_ID, MULTIPART_REPLY,
+                ByteBufUtils.hexStringToByteBuf(TABLE_STATS_PART_02)));
+        Mockito.verify(failingCallback).onFailure(Mockito.any(IllegalStateException.class));
+        Mockito.verify(adapter).onMultipartReplyStreamFinished(Mockito.any(MultipartReplyMessage.class));
+        Assert.assertEquals("Stream not removed", 0, streams.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedType() {
+        streams.register(42L, MultipartType.OFPMPDESC, callback);
+    }
+}
@@ -8,6 +8,8 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import javax.annotation.Nullable;
 import org.junit.Assert;
 import org.junit.Test;
@@ -102,6 +104,47 @@ public class OutboundQueueEntryTest {
         Mockito.verify(futureCallback).onFailure(Mockito.<OutboundQueueException>any());
     }
 
+    @Test
+    public void commitRaw() throws Exception {
+        final ByteBuf raw = Unpooled.buffer(8).writeZero(8);
+        outboundQueueEntry.commitRaw(raw, false, false, futureCallback);
+        Assert.assertTrue(outboundQueueEntry.isCommitted());
+        Assert.assertTrue(outboundQueueEntry.isRaw());
+
+        Assert.assertSame(raw, outboundQueueEntry.takeRawMessage());
+        Assert.assertFalse(outboundQueueEntry.isRaw());
+        Assert.assertFalse(outboundQueueEntry.isCompleted());
+        Assert.assertEquals(1, raw.refCnt());
+    }
+
+    @Test
+    public void takeRawMessageNoReply() throws Exception {
+        outboundQueueEntry.commitRaw(Unpooled.buffer(8).writeZero(8), false, true, futureCallback);
+        outboundQueueEntry.takeRawMessage();
+        Assert.assertTrue(outboundQueueEntry.isCompleted());
+        Mockito.verify(futureCallback).onSuccess(Mockito.<OfHeader>any());
+    }
+
+    @Test
+    public void failRawReleasesMessage() throws Exception {
+        final ByteBuf raw = Unpooled.buffer(8).writeZero(8);
+        outboundQueueEntry.commitRaw(raw, true, false, futureCallback);
+        Assert.assertTrue(outboundQueueEntry.isBarrier());
+
+        outboundQueueEntry.fail(null);
+        Assert.assertEquals(0, raw.refCnt());
+        Mockito.verify(futureCallback).onFailure(Mockito.<OutboundQueueException>any());
+    }
+
+    @Test
+    public void resetRawReleasesMessage() throws Exception {
+        final ByteBuf raw = Unpooled.buffer(8).writeZero(8);
+        outboundQueueEntry.commitRaw(raw, false, false, futureCallback);
+        outboundQueueEntry.reset();
+        Assert.assertEquals(0, raw.refCnt());
+        Assert.assertFalse(outboundQueueEntry.isCommitted());
+    }
+
     private Integer increaseFailCounter() {
         return ++this.failCounter;
     }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PortNumber;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInputBuilder;
+
+/**
+ * {@link OutboundQueueManager} class test
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OutboundQueueManagerTest {
+
+    private static final int LENGTH_OFFSET = 2;
+    private static final int XID_OFFSET = 4;
+
+    @Mock
+    private ConnectionAdapterImpl adapter;
+    @Mock
+    private Channel channel;
+    @Mock
+    private ChannelFuture future;
+    @Mock
+    private EventLoop eventLoop;
+    @Mock
+    private OutboundQueueHandler handler;
+
+    private SerializationFactory factory;
+    private OutboundQueueManager<OutboundQueueHandler> manager;
+
+    @Before
+    public void setUp() {
+        final SerializerRegistryImpl registry = new SerializerRegistryImpl();
+        registry.init();
+        factory = new SerializationFactory();
+        factory.setSerializerTable(registry);
+
+        when(adapter.getChannel()).thenReturn(channel);
+        when(adapter.getSerializationFactory()).thenReturn(factory);
+        when(channel.alloc()).thenReturn(UnpooledByteBufAllocator.DEFAULT);
+        when(channel.isWritable()).thenReturn(true);
+        when(channel.eventLoop()).thenReturn(eventLoop);
+        when(channel.write(any())).thenReturn(future);
+        manager = new OutboundQueueManager<>(adapter, null, handler, 128, 1000000L);
+    }
+
+    /**
+     * Test a template is encoded once and each commit carries its own reserved XID
+     */
+    @Test
+    public void testTemplateEntryXid() {
+        final StackedOutboundQueue queue = manager.currentQueue;
+        final Long first = queue.reserveEntry();
+        queue.commitTemplateEntry(first, createHello(100L), "hello", null);
+        final Long second = queue.reserveEntry();
+        queue.commitTemplateEntry(second, createHello(200L), "hello", null);
+        Assert.assertEquals("Wrong hit count", 1, factory.getTemplateCache().getHitCount());
+
+        Assert.assertEquals("Wrong number of entries", 2, queue.writeEntries(channel, System.nanoTime()));
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(channel, times(2)).write(captor.capture());
+        final List<Object> written = captor.getAllValues();
+        Assert.assertEquals("Wrong XID", first.longValue(), ((ByteBuf) written.get(0)).getUnsignedInt(XID_OFFSET));
+        Assert.assertEquals("Wrong XID", second.longValue(), ((ByteBuf) written.get(1)).getUnsignedInt(XID_OFFSET));
+        for (Object message : written) {
+            ((ByteBuf) message).release();
+        }
+    }
+
+    /**
+     * Test a PacketOut payload is sent as a component of the written frame, stamped with the reserved XID
+     */
+    @Test
+    public void testPacketOutEntry() {
+        factory.setZeroCopyThreshold(4);
+        final StackedOutboundQueue queue = manager.currentQueue;
+        final Long xid = queue.reserveEntry();
+        final ByteBuf payload = Unpooled.directBuffer().writeBytes(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        queue.commitPacketOutEntry(xid, new PacketOutInputBuilder().setVersion((short) EncodeConstants.OF13_VERSION_ID)
+                .setXid(100L).setBufferId(0xffffffffL).setInPort(new PortNumber(1L))
+                .setAction(Collections.<Action>emptyList()).build(), payload, null);
+        Assert.assertEquals("Payload not retained", 2, payload.refCnt());
+
+        queue.writeEntries(channel, System.nanoTime());
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(channel).write(captor.capture());
+        final ByteBuf frame = (ByteBuf) captor.getValue();
+        Assert.assertTrue("Composite frame expected", frame instanceof CompositeByteBuf);
+        Assert.assertEquals("Wrong XID", xid.longValue(), frame.getUnsignedInt(XID_OFFSET));
+        Assert.assertEquals("Wrong length", frame.readableBytes(), frame.getUnsignedShort(LENGTH_OFFSET));
+        frame.release();
+        Assert.assertEquals("Payload not released", 1, payload.refCnt());
+        payload.release();
+    }
+
+    /**
+     * Test a raw message committed to a slot which was never reserved is released
+     */
+    @Test
+    public void testRawEntryNotReserved() {
+        final StackedOutboundQueue queue = manager.currentQueue;
+        final ByteBuf rawMessage = Unpooled.buffer().writeBytes(new byte[] {4, 2, 0, 8, 0, 0, 0, 0});
+        try {
+            queue.commitRawEntry(queue.reserveEntry() + 10L * StackedSegment.SEGMENT_SIZE, rawMessage, null);
+            Assert.fail("Commit of unreserved XID accepted");
+        } catch (RuntimeException e) {
+            Assert.assertEquals("Raw message not released", 0, rawMessage.refCnt());
+        }
+    }
+
+    /**
+     * Test a PacketOut committed to a slot which was never reserved drops its reference to the payload
+     */
+    @Test
+    public void testPacketOutEntryNotReserved() {
+        factory.setZeroCopyThreshold(4);
+        final StackedOutboundQueue queue = manager.currentQueue;
+        final ByteBuf payload = Unpooled.directBuffer().writeBytes(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        try {
+            queue.commitPacketOutEntry(queue.reserveEntry() + 10L * StackedSegment.SEGMENT_SIZE,
+                    new PacketOutInputBuilder().setVersion((short) EncodeConstants.OF13_VERSION_ID).setXid(100L)
+                    .setBufferId(0xffffffffL).setInPort(new PortNumber(1L))
+                    .setAction(Collections.<Action>emptyList()).build(), payload, null);
+            Assert.fail("Commit of unreserved XID accepted");
+        } catch (RuntimeException e) {
+            Assert.assertEquals("Payload reference leaked", 1, payload.refCnt());
+        }
+        payload.release();
+    }
+
+    /**
+     * Test a UDP connection writes each queued message as its own datagram and flushes the channel
+     * once per queue flush, so that all datagrams of the flush are handed to the transport together
+     */
+    @Test
+    public void testDatagramFlush() {
+        final InetSocketAddress address = new InetSocketAddress("localhost", 6653);
+        final OutboundQueueManager<OutboundQueueHandler> udpManager =
+                new OutboundQueueManager<>(adapter, address, handler, 128, 1000000L);
+        final StackedOutboundQueue queue = udpManager.currentQueue;
+        for (long i = 0; i < 5; i++) {
+            queue.commitTemplateEntry(queue.reserveEntry(), createHello(i), null, null);
+        }
+
+        udpManager.flush();
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(channel, times(5)).write(captor.capture());
+        verify(channel).flush();
+        for (Object message : captor.getAllValues()) {
+            final DatagramPacket datagram = (DatagramPacket) message;
+            Assert.assertEquals("Wrong recipient", address, datagram.recipient());
+            datagram.release();
+        }
+    }
+
+    private static HelloInput createHello(final long xid) {
+        return new HelloInputBuilder().setVersion((short) EncodeConstants.OF13_VERSION_ID).setXid(xid).build();
+    }
+}
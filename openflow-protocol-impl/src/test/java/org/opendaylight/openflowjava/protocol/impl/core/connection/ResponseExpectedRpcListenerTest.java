@@ -52,7 +52,7 @@ public class ResponseExpectedRpcListenerTest {
      */
     @Test(expected=NullPointerException.class)
     public void testCreation() {
-        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class.getName());
+        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class);
         new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", null, key);
     }
 
@@ -69,7 +69,7 @@ public class ResponseExpectedRpcListenerTest {
      */
     @Test
     public void testDiscard() {
-        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class.getName());
+        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class);
         ResponseExpectedRpcListener<OfHeader> listener =
                 new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", responseCache, key);
         listener.discard();
@@ -92,7 +92,7 @@ public class ResponseExpectedRpcListenerTest {
      */
     @Test
     public void testCompleted() {
-        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class.getName());
+        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class);
         ResponseExpectedRpcListener<OfHeader> listener =
                 new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", responseCache, key);
         BarrierInputBuilder barrierBuilder = new BarrierInputBuilder();
@@ -114,7 +114,7 @@ public class ResponseExpectedRpcListenerTest {
      */
     @Test
     public void testOperationSuccessful() {
-        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class.getName());
+        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class);
         ResponseExpectedRpcListener<OfHeader> listener =
                 new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", responseCache, key);
         listener.operationSuccessful();
@@ -11,6 +11,8 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 import org.junit.Test;
 import org.junit.Assert;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.RpcResponseKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoOutput;
 
 /**
  *
@@ -20,15 +22,15 @@ import org.opendaylight.openflowjava.protocol.impl.core.connection.RpcResponseKe
 public class RpcResponseKeyTest {
 
     /**
-     * Test equals (xid is not tested)
+     * Test equals
      */
     @Test
     public void testEquals(){
 
         long xid1 = 12L;
         long xid2 = 66L;
-        String outputClazz1 = "Clazz01";
-        String outputClazz2 = "Clazz02";
+        Class<?> outputClazz1 = BarrierOutput.class;
+        Class<?> outputClazz2 = EchoOutput.class;
         RpcResponseKey key1 = new RpcResponseKey(xid1, null);
         RpcResponseKey key2 = new RpcResponseKey(xid2, outputClazz2);
 
@@ -40,7 +42,7 @@ public class RpcResponseKeyTest {
         key1 = new RpcResponseKey(xid1, outputClazz1);
         Assert.assertFalse("Wrong equal by outputClazz.", key1.equals(key2));
         key2 = new RpcResponseKey(xid2, outputClazz1);
-        Assert.assertFalse("Wrong equal.", key1.equals(key2));
+        Assert.assertFalse("Wrong equal by xid.", key1.equals(key2));
         key1 = new RpcResponseKey(xid2, outputClazz1);
         Assert.assertTrue("Wrong equal.", key1.equals(key2));
     }
@@ -52,7 +54,7 @@ public class RpcResponseKeyTest {
     public void testGetters(){
 
         long xid1 = 12L;
-        String outputClazz1 = "Clazz01";
+        Class<?> outputClazz1 = BarrierOutput.class;
         RpcResponseKey key1 = new RpcResponseKey(xid1, outputClazz1);
 
         Assert.assertTrue("Wrong getXid",key1.getXid() == xid1);
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.util.BufferHelper;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.EthType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.InPhyPort;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.InPhyPortCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+
+/**
+ * Unit tests for ReusableBuilder
+ */
+public class ReusableBuilderTest {
+
+    private OFDeserializer<PacketInMessage> packetInFactory;
+
+    /**
+     * Initializes deserializer registry, enables builder reuse
+     */
+    @Before
+    public void startUp() {
+        DeserializerRegistry registry = new DeserializerRegistryImpl();
+        registry.init();
+        packetInFactory = registry.getDeserializer(
+                new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 10, PacketInMessage.class));
+        ReusableBuilder.setEnabled(true);
+    }
+
+    /**
+     * Disables builder reuse
+     */
+    @After
+    public void tearDown() {
+        ReusableBuilder.setEnabled(false);
+    }
+
+    /**
+     * Builder reuse does not affect already built messages nor leaks values between them
+     */
+    @Test
+    public void testPacketInReuse() {
+        PacketInMessage first = BufferHelper.deserialize(packetInFactory, BufferHelper.buildBuffer(
+                "00 01 02 03 01 02 01 04 00 01 02 03 04 05 06 07 00 01 00 0C"
+                + " 80 00 02 04 00 00 00 01 00 00 00 00 00 00 01 02 03 04"));
+        PacketInMessage second = BufferHelper.deserialize(packetInFactory, BufferHelper.buildBuffer(
+                "00 00 00 05 00 40 00 01 00 00 00 00 00 00 00 00 00 01 00 0A"
+                + " 80 00 0A 02 08 00 00 00 00 00 00 00 00 00 AA"));
+
+        Assert.assertNotSame("Message not rebuilt", first, second);
+        Assert.assertEquals("Wrong bufferID", 0x00010203L, first.getBufferId().longValue());
+        Assert.assertEquals("Wrong bufferID", 5L, second.getBufferId().longValue());
+        Assert.assertEquals("Wrong data length", 4, first.getData().length);
+        Assert.assertEquals("Wrong data length", 1, second.getData().length);
+
+        Assert.assertEquals("Wrong entry count", 1, first.getMatch().getMatchEntry().size());
+        Assert.assertEquals("Wrong entry field", InPhyPort.class,
+                first.getMatch().getMatchEntry().get(0).getOxmMatchField());
+        Assert.assertEquals("Wrong entry value", 1L, ((InPhyPortCase) first.getMatch().getMatchEntry().get(0)
+                .getMatchEntryValue()).getInPhyPort().getPortNumber().getValue().longValue());
+        Assert.assertEquals("Wrong entry count", 1, second.getMatch().getMatchEntry().size());
+        Assert.assertEquals("Wrong entry field", EthType.class,
+                second.getMatch().getMatchEntry().get(0).getOxmMatchField());
+    }
+}
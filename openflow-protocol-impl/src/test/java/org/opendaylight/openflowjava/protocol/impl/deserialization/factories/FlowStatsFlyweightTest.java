@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.NoSuchElementException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.FlowStatsRecord;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+
+/**
+ * Unit tests for FlowStatsFlyweight
+ */
+public class FlowStatsFlyweightTest {
+
+    private static final String FLOW_STATS_BODY = // first flow stat
+            "00 48 08 00 " // length, tableId, padding
+            + "00 00 00 09 " // durationSec
+            + "00 00 00 07 " // durationNsec
+            + "00 0C 00 0E 00 0F 00 1F " // priority, idleTimeout, hardTimeout, flags
+            + "00 00 00 00 " // pad_02
+            + "FF 01 01 01 01 01 01 01 " // cookie
+            + "EF 01 01 01 01 01 01 01 " // packetCount
+            + "7F 01 01 01 01 01 01 01 " // byteCount
+            + "00 01 00 04 00 00 00 00 " // empty match
+            + "00 01 00 08 06 00 00 00 "
+            + "00 01 00 08 06 00 00 00 "
+            // second flow stat
+            + "00 40 02 00 " // length, tableId, padding
+            + "FF FF FF FF " // durationSec
+            + "00 00 00 01 " // durationNsec
+            + "FF FF 00 00 00 00 00 01 " // priority, idleTimeout, hardTimeout, flags
+            + "00 00 00 00 " // pad_02
+            + "00 00 00 00 00 00 00 2A " // cookie
+            + "FF FF FF FF FF FF FF FF " // packetCount
+            + "00 00 00 00 00 00 00 10 " // byteCount
+            + "00 01 00 0C 80 00 00 04 00 00 00 01 00 00 00 00"; // in port match
+
+    /**
+     * Records are read in place, flyweight is reused across records
+     */
+    @Test
+    public void testFlowStats() {
+        ByteBuf body = ByteBufUtils.hexStringToByteBuf(FLOW_STATS_BODY);
+        FlowStatsFlyweight flyweight = new FlowStatsFlyweight(body);
+
+        Assert.assertTrue("No record", flyweight.hasNext());
+        FlowStatsRecord record = flyweight.next();
+        Assert.assertSame("Flyweight not reused", flyweight, record);
+        Assert.assertEquals("Wrong tableId", 8, record.getTableId());
+        Assert.assertEquals("Wrong durationSec", 9, record.getDurationSec());
+        Assert.assertEquals("Wrong durationNsec", 7, record.getDurationNsec());
+        Assert.assertEquals("Wrong priority", 12, record.getPriority());
+        Assert.assertEquals("Wrong idleTimeOut", 14, record.getIdleTimeout());
+        Assert.assertEquals("Wrong hardTimeOut", 15, record.getHardTimeout());
+        Assert.assertEquals("Wrong flags", 0x1F, record.getFlags());
+        Assert.assertEquals("Wrong cookie", 0xFF01010101010101L, record.getCookie());
+        Assert.assertEquals("Wrong packetCount", 0xEF01010101010101L, record.getPacketCount());
+        Assert.assertEquals("Wrong byteCount", 0x7F01010101010101L, record.getByteCount());
+        Assert.assertEquals("Wrong match", "00 01 00 04", ByteBufUtils.byteBufToHexString(record.getMatch()));
+        Assert.assertEquals("Wrong instructions", "00 01 00 08 06 00 00 00 00 01 00 08 06 00 00 00",
+                ByteBufUtils.byteBufToHexString(record.getInstructions()));
+
+        Assert.assertTrue("No record", flyweight.hasNext());
+        record = flyweight.next();
+        Assert.assertEquals("Wrong tableId", 2, record.getTableId());
+        Assert.assertEquals("Wrong durationSec", 4294967295L, record.getDurationSec());
+        Assert.assertEquals("Wrong priority", 65535, record.getPriority());
+        Assert.assertEquals("Wrong flags", 1, record.getFlags());
+        Assert.assertEquals("Wrong cookie", 42, record.getCookie());
+        Assert.assertEquals("Wrong packetCount", -1L, record.getPacketCount());
+        Assert.assertEquals("Wrong byteCount", 16, record.getByteCount());
+        Assert.assertEquals("Wrong match", "00 01 00 0c 80 00 00 04 00 00 00 01",
+                ByteBufUtils.byteBufToHexString(record.getMatch()));
+        Assert.assertEquals("Wrong instructions", 0, record.getInstructions().readableBytes());
+
+        Assert.assertFalse("Unexpected record", flyweight.hasNext());
+        Assert.assertEquals("Body consumed", 0, body.readerIndex());
+    }
+
+    /**
+     * Iteration past last record fails
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testNoMoreRecords() {
+        new FlowStatsFlyweight(Unpooled.EMPTY_BUFFER).next();
+    }
+
+    /**
+     * Truncated record is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedRecord() {
+        new FlowStatsFlyweight(ByteBufUtils.hexStringToByteBuf("00 48 08 00 00 00 00 09")).next();
+    }
+
+    /**
+     * Accessors require positioned flyweight
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testNotPositioned() {
+        new FlowStatsFlyweight(ByteBufUtils.hexStringToByteBuf(FLOW_STATS_BODY)).getCookie();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization.match;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.openflowjava.util.InterningCaches;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.EthSrcCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.Ipv4SrcCase;
+
+/**
+ * Tests interning of address match entries
+ */
+public class OxmAddressInterningTest {
+
+    private static final String IPV4_SRC = "80 00 16 04 C0 A8 00 01";
+    private static final String IPV4_SRC_MASKED = "80 00 17 08 C0 A8 00 01 FF FF FF 00";
+    private static final String ETH_SRC = "80 00 08 06 01 02 03 04 05 06";
+
+    /**
+     * Cleans up global caches
+     */
+    @After
+    public void tearDown() {
+        InterningCaches.disable();
+    }
+
+    /**
+     * Without interning every entry is a new instance
+     */
+    @Test
+    public void testDisabled() {
+        OxmIpv4SrcDeserializer deserializer = new OxmIpv4SrcDeserializer();
+        MatchEntry first = deserializer.deserialize(ByteBufUtils.hexStringToByteBuf(IPV4_SRC));
+        MatchEntry second = deserializer.deserialize(ByteBufUtils.hexStringToByteBuf(IPV4_SRC));
+
+        Assert.assertNotSame("Entry interned", first, second);
+        Assert.assertEquals("Wrong entry", first, second);
+    }
+
+    /**
+     * Exact-match entries are interned, masked ones are not
+     */
+    @Test
+    public void testInterning() {
+        InterningCaches caches = InterningCaches.enable(16, 16);
+        OxmIpv4SrcDeserializer deserializer = new OxmIpv4SrcDeserializer();
+
+        ByteBuf buffer = ByteBufUtils.hexStringToByteBuf(IPV4_SRC + " " + IPV4_SRC);
+        MatchEntry first = deserializer.deserialize(buffer);
+        MatchEntry second = deserializer.deserialize(buffer);
+        Assert.assertSame("Entry not interned", first, second);
+        Assert.assertEquals("Buffer not consumed", 0, buffer.readableBytes());
+        Assert.assertEquals("Wrong address", "192.168.0.1",
+                ((Ipv4SrcCase) first.getMatchEntryValue()).getIpv4Src().getIpv4Address().getValue());
+        Assert.assertEquals("Wrong hit count", 1, caches.getMatchEntryCache().getHitCount());
+        Assert.assertEquals("Wrong miss count", 1, caches.getMatchEntryCache().getMissCount());
+
+        buffer = ByteBufUtils.hexStringToByteBuf(IPV4_SRC_MASKED + " " + IPV4_SRC_MASKED);
+        MatchEntry masked = deserializer.deserialize(buffer);
+        Assert.assertNotSame("Masked entry interned", masked, deserializer.deserialize(buffer));
+        Assert.assertEquals("Buffer not consumed", 0, buffer.readableBytes());
+        Assert.assertSame("Address not interned",
+                ((Ipv4SrcCase) first.getMatchEntryValue()).getIpv4Src().getIpv4Address(),
+                ((Ipv4SrcCase) masked.getMatchEntryValue()).getIpv4Src().getIpv4Address());
+        Assert.assertEquals("Wrong match entry cache size", 1, caches.getMatchEntryCache().size());
+    }
+
+    /**
+     * Entries of different fields with same value are kept apart
+     */
+    @Test
+    public void testFieldsKeptApart() {
+        InterningCaches.enable(16, 16);
+        MatchEntry src = new OxmEthSrcDeserializer().deserialize(ByteBufUtils.hexStringToByteBuf(ETH_SRC));
+        MatchEntry dst = new OxmEthDstDeserializer().deserialize(ByteBufUtils.hexStringToByteBuf(
+                "80 00 06 06 01 02 03 04 05 06"));
+
+        Assert.assertNotSame("Wrong entry", src, dst);
+        Assert.assertEquals("Wrong address", "01:02:03:04:05:06",
+                ((EthSrcCase) src.getMatchEntryValue()).getEthSrc().getMacAddress().getValue());
+    }
+
+    /**
+     * Subclasses can override deserialize and keep interning through the hook
+     */
+    @Test
+    public void testOverride() {
+        InterningCaches.enable(16, 16);
+        final int[] calls = new int[1];
+        OxmIpv4SrcDeserializer deserializer = new OxmIpv4SrcDeserializer() {
+            @Override
+            public MatchEntry deserialize(final ByteBuf input) {
+                calls[0]++;
+                return intern(input);
+            }
+        };
+
+        ByteBuf buffer = ByteBufUtils.hexStringToByteBuf(IPV4_SRC + " " + IPV4_SRC);
+        Assert.assertSame("Entry not interned", deserializer.deserialize(buffer), deserializer.deserialize(buffer));
+        Assert.assertEquals("Override not called", 2, calls[0]);
+    }
+}
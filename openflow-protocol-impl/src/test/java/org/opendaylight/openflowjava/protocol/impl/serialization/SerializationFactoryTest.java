@@ -9,13 +9,26 @@
 package org.opendaylight.openflowjava.protocol.impl.serialization;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+import java.util.Collections;
 
 import org.junit.Test;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PortNumber;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInputBuilder;
 
 /**
  * @author michal.polkorab
@@ -57,4 +70,110 @@ public class SerializationFactoryTest {
         helloBuilder.setElements(null);
         factory.messageToBuffer((short) 0, buffer, helloBuilder.build());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test encoded template reuse - cached bytes are copied and only xid is patched
+     */
+    @Test
+    public void testTemplateToBuffer() {
+        SerializerRegistry registry = new SerializerRegistryImpl();
+        registry.init();
+        SerializationFactory factory = new SerializationFactory();
+        factory.setSerializerTable(registry);
+        HelloInput hello = createHello(1L);
+
+        ByteBuf buffer = PooledByteBufAllocator.DEFAULT.buffer();
+        factory.templateToBuffer(EncodeConstants.OF13_VERSION_ID, buffer, hello, null, 5L);
+        assertEquals("Wrong encoding", "04 00 00 08 00 00 00 05", ByteBufUtils.byteBufToHexString(buffer));
+        assertEquals("Message without token cached", 0, factory.getTemplateCache().size());
+
+        buffer.clear();
+        factory.templateToBuffer(EncodeConstants.OF13_VERSION_ID, buffer, createHello(2L), "hello", 7L);
+        buffer.clear();
+        factory.templateToBuffer(EncodeConstants.OF13_VERSION_ID, buffer, createHello(3L), "hello", 8L);
+        assertEquals("Wrong encoding", "04 00 00 08 00 00 00 08", ByteBufUtils.byteBufToHexString(buffer));
+        assertEquals("Wrong hit count", 1, factory.getTemplateCache().getHitCount());
+
+        buffer.clear();
+        HelloInput hello10 = new HelloInputBuilder().setVersion((short) EncodeConstants.OF10_VERSION_ID)
+                .setXid(4L).build();
+        factory.templateToBuffer(EncodeConstants.OF10_VERSION_ID, buffer, hello10, "hello", 9L);
+        assertEquals("Wrong encoding", "01 00 00 08 00 00 00 09", ByteBufUtils.byteBufToHexString(buffer));
+        assertEquals("Wrong cache size", 2, factory.getTemplateCache().size());
+
+        factory.setTemplateCacheCapacity(0);
+        assertNull("Cache not disabled", factory.getTemplateCache());
+        buffer.clear();
+        factory.templateToBuffer(EncodeConstants.OF13_VERSION_ID, buffer, hello, "hello", 10L);
+        assertEquals("Wrong encoding", "04 00 00 08 00 00 00 0a", ByteBufUtils.byteBufToHexString(buffer));
+        buffer.release();
+    }
+
+    /**
+     * Test PacketOut payload encoding - frame matches the copying serializer, large direct payloads
+     * are not copied, small and heap ones are
+     */
+    @Test
+    public void testPacketOutToBuffer() {
+        SerializerRegistry registry = new SerializerRegistryImpl();
+        registry.init();
+        SerializationFactory factory = new SerializationFactory();
+        factory.setSerializerTable(registry);
+        factory.setZeroCopyThreshold(16);
+        byte[] data = ByteBufUtils.hexStringToBytes("00 01 02 03 04 05 06 07 08 09 0a 0b 0c 0d 0e 0f 10 11");
+        for (short version : new short[] {EncodeConstants.OF10_VERSION_ID, EncodeConstants.OF13_VERSION_ID}) {
+            ByteBuf expected = PooledByteBufAllocator.DEFAULT.buffer();
+            factory.messageToBuffer(version, expected, createPacketOut(version, data));
+
+            ByteBuf payload = Unpooled.directBuffer().writeBytes(data);
+            ByteBuf frame = factory.packetOutToBuffer(version, PooledByteBufAllocator.DEFAULT,
+                    createPacketOut(version, null), payload);
+            assertTrue("Composite buffer expected", frame instanceof CompositeByteBuf);
+            assertTrue("Direct buffer expected", frame.isDirect());
+            assertEquals("Wrong encoding", ByteBufUtils.byteBufToHexString(expected),
+                    ByteBufUtils.byteBufToHexString(frame));
+            assertEquals("Payload not retained", 2, payload.refCnt());
+            frame.release();
+            assertEquals("Payload not released", 1, payload.refCnt());
+            payload.release();
+
+            payload = Unpooled.wrappedBuffer(data);
+            frame = factory.packetOutToBuffer(version, PooledByteBufAllocator.DEFAULT,
+                    createPacketOut(version, data), payload);
+            assertFalse("Heap payload not copied", frame instanceof CompositeByteBuf);
+            assertEquals("Wrong encoding", ByteBufUtils.byteBufToHexString(expected),
+                    ByteBufUtils.byteBufToHexString(frame));
+            assertEquals("Payload retained", 1, payload.refCnt());
+            frame.release();
+            expected.release();
+        }
+
+        factory.setZeroCopyThreshold(64);
+        ByteBuf payload = Unpooled.directBuffer().writeBytes(data);
+        ByteBuf frame = factory.packetOutToBuffer(EncodeConstants.OF13_VERSION_ID, PooledByteBufAllocator.DEFAULT,
+                createPacketOut(EncodeConstants.OF13_VERSION_ID, null), payload);
+        assertFalse("Small payload not copied", frame instanceof CompositeByteBuf);
+        assertEquals("Payload retained", 1, payload.refCnt());
+        frame.release();
+        payload.release();
+    }
+
+    private static PacketOutInput createPacketOut(final short version, final byte[] data) {
+        PacketOutInputBuilder builder = new PacketOutInputBuilder();
+        builder.setVersion(version);
+        builder.setXid(42L);
+        builder.setBufferId(0xffffffffL);
+        builder.setInPort(new PortNumber(1L));
+        builder.setAction(Collections.<Action>emptyList());
+        builder.setData(data);
+        return builder.build();
+    }
+
+    private static HelloInput createHello(final long xid) {
+        HelloInputBuilder helloBuilder = new HelloInputBuilder();
+        helloBuilder.setVersion((short) EncodeConstants.OF13_VERSION_ID);
+        helloBuilder.setXid(xid);
+        helloBuilder.setElements(null);
+        return helloBuilder.build();
+    }
+}
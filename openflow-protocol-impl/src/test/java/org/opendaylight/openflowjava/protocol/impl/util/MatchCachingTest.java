@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.openflowjava.util.InterningCaches;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.InPort;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OpenflowBasicClass;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
+
+/**
+ * Tests whole match decode and encode caching
+ */
+public class MatchCachingTest {
+
+    private static final String IN_PORT_METADATA = "00 01 00 18 80 00 00 04 00 00 00 01 "
+            + "80 00 04 08 00 00 00 00 00 00 00 03";
+    private static final String IN_PORT_METADATA_2 = "00 01 00 18 80 00 00 04 00 00 00 01 "
+            + "80 00 04 08 00 00 00 00 00 00 00 04";
+    private static final String IN_PORT = "00 01 00 0c 80 00 00 04 00 00 00 01 00 00 00 00";
+
+    private OFDeserializer<Match> matchDeserializer;
+    private SerializerRegistry serializerRegistry;
+    private OFSerializer<Match> matchSerializer;
+
+    /**
+     * Initializes registries and lookups match codecs
+     */
+    @Before
+    public void startUp() {
+        DeserializerRegistry deserializerRegistry = new DeserializerRegistryImpl();
+        deserializerRegistry.init();
+        matchDeserializer = deserializerRegistry.getDeserializer(new MessageCodeKey(EncodeConstants.OF13_VERSION_ID,
+                EncodeConstants.EMPTY_VALUE, Match.class));
+        serializerRegistry = new SerializerRegistryImpl();
+        serializerRegistry.init();
+        matchSerializer = serializerRegistry.getSerializer(
+                new MessageTypeKey<>(EncodeConstants.OF13_VERSION_ID, Match.class));
+    }
+
+    /**
+     * Cleans up global caches
+     */
+    @After
+    public void tearDown() {
+        InterningCaches.disable();
+    }
+
+    /**
+     * Byte-identical matches are decoded once, different ones are kept apart
+     */
+    @Test
+    public void testDecodeCache() {
+        InterningCaches caches = InterningCaches.enable(16, 16, 16);
+        ByteBuf buffer = ByteBufUtils.hexStringToByteBuf(IN_PORT_METADATA + " " + IN_PORT_METADATA + " "
+                + IN_PORT_METADATA_2 + " " + IN_PORT + " " + IN_PORT);
+
+        Match first = matchDeserializer.deserialize(buffer);
+        Assert.assertSame("Match not cached", first, matchDeserializer.deserialize(buffer));
+        Match other = matchDeserializer.deserialize(buffer);
+        Assert.assertNotSame("Wrong match", first, other);
+        Assert.assertFalse("Wrong match", first.equals(other));
+        Assert.assertEquals("Wrong match entries", 2, other.getMatchEntry().size());
+        Match padded = matchDeserializer.deserialize(buffer);
+        Assert.assertSame("Match not cached", padded, matchDeserializer.deserialize(buffer));
+        Assert.assertEquals("Buffer not consumed", 0, buffer.readableBytes());
+
+        Assert.assertEquals("Wrong cache size", 3, caches.getMatchCache().size());
+        Assert.assertEquals("Wrong hit count", 2, caches.getMatchCache().getHitCount());
+    }
+
+    /**
+     * Decoding without cache produces equal but distinct matches
+     */
+    @Test
+    public void testDecodeWithoutCache() {
+        InterningCaches.enable(16, 16);
+        ByteBuf buffer = ByteBufUtils.hexStringToByteBuf(IN_PORT + " " + IN_PORT);
+
+        Match first = matchDeserializer.deserialize(buffer);
+        Match second = matchDeserializer.deserialize(buffer);
+        Assert.assertNotSame("Match cached", first, second);
+        Assert.assertEquals("Wrong match", first, second);
+        Assert.assertNull("Unexpected cache", InterningCaches.getInstance().getMatchCache());
+    }
+
+    /**
+     * Reused match instances are encoded once
+     */
+    @Test
+    public void testEncodeCache() {
+        Match match = matchDeserializer.deserialize(ByteBufUtils.hexStringToByteBuf(IN_PORT_METADATA));
+        InterningCaches caches = InterningCaches.enable(16, 16, 16);
+
+        ByteBuf out = UnpooledByteBufAllocator.DEFAULT.buffer();
+        out.writeByte(0xff);
+        matchSerializer.serialize(match, out);
+        matchSerializer.serialize(match, out);
+        matchSerializer.serialize(matchDeserializer.deserialize(ByteBufUtils.hexStringToByteBuf(IN_PORT)), out);
+
+        Assert.assertEquals("Wrong encoding", "ff " + IN_PORT_METADATA.toLowerCase() + " "
+                + IN_PORT_METADATA.toLowerCase() + " " + IN_PORT, ByteBufUtils.byteBufToHexString(out));
+        Assert.assertEquals("Wrong hit count", 1, caches.getEncodedMatchCache().stats().hitCount());
+        Assert.assertEquals("Wrong cache size", 2, caches.getEncodedMatchCache().size());
+    }
+
+    /**
+     * Encoded matches are dropped when a match entry serializer is overridden
+     */
+    @Test
+    public void testEncodeCacheInvalidation() {
+        Match match = matchDeserializer.deserialize(ByteBufUtils.hexStringToByteBuf(IN_PORT));
+        InterningCaches caches = InterningCaches.enable(16, 16, 16);
+        ByteBuf out = UnpooledByteBufAllocator.DEFAULT.buffer();
+        matchSerializer.serialize(match, out);
+        matchSerializer.serialize(match, out);
+        Assert.assertEquals("Wrong hit count", 1, caches.getEncodedMatchCache().stats().hitCount());
+
+        serializerRegistry.registerSerializer(new MatchEntrySerializerKey<>(EncodeConstants.OF13_VERSION_ID,
+                OpenflowBasicClass.class, InPort.class), new OFSerializer<MatchEntry>() {
+                    @Override
+                    public void serialize(MatchEntry entry, ByteBuf outBuffer) {
+                        outBuffer.writeInt(0x80000004);
+                        outBuffer.writeInt(2);
+                    }
+                });
+        Assert.assertEquals("Cache not invalidated", 0, caches.getEncodedMatchCache().size());
+
+        out.clear();
+        matchSerializer.serialize(match, out);
+        Assert.assertEquals("Wrong encoding", "00 01 00 0c 80 00 00 04 00 00 00 02 00 00 00 00",
+                ByteBufUtils.byteBufToHexString(out));
+    }
+}
@@ -70,6 +70,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.UdpS
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.VlanPcp;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.VlanVid;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntryBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.ArpOpCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.ArpShaCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.ArpSpaCase;
@@ -528,4 +529,31 @@ public class MatchDeserializerTest {
         Assert.assertEquals("Wrong match type", StandardMatchType.class, match.getType());
         Assert.assertEquals("Wrong match entries size", 1, match.getMatchEntry().size());
     }
+
+    /**
+     * Testing that match entry deserializer registered after first use takes effect
+     */
+    @Test
+    public void testEntryDeserializerOverride() {
+        Match match = matchDeserializer.deserialize(
+                ByteBufUtils.hexStringToByteBuf("00 01 00 10 80 00 04 08 00 00 00 00 00 00 00 01"));
+        Assert.assertEquals("Wrong entry field", Metadata.class, match.getMatchEntry().get(0).getOxmMatchField());
+
+        MatchEntryDeserializerKey key = new MatchEntryDeserializerKey(EncodeConstants.OF13_VERSION_ID,
+                0x8000, 2);
+        key.setExperimenterId(null);
+        registry.registerDeserializer(key, new OFDeserializer<MatchEntry>() {
+            @Override
+            public MatchEntry deserialize(ByteBuf message) {
+                message.skipBytes(12);
+                MatchEntryBuilder builder = new MatchEntryBuilder();
+                builder.setOxmClass(OpenflowBasicClass.class);
+                builder.setOxmMatchField(TunnelId.class);
+                return builder.build();
+            }
+        });
+        match = matchDeserializer.deserialize(
+                ByteBufUtils.hexStringToByteBuf("00 01 00 10 80 00 04 08 00 00 00 00 00 00 00 01"));
+        Assert.assertEquals("Override not used", TunnelId.class, match.getMatchEntry().get(0).getOxmMatchField());
+    }
 }
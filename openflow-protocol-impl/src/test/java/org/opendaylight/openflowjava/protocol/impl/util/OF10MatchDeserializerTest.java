@@ -98,4 +98,21 @@ public class OF10MatchDeserializerTest {
         Assert.assertEquals("Wrong tp-dst", 8224, match.getTpDst().shortValue());
     }
 
+    /**
+     * Testing that matches with the same wildcard flags share FlowWildcardsV10 instance
+     */
+    @Test
+    public void testSharedWildcards() {
+        MatchV10 match1 = matchDeserializer.deserialize(BufferHelper.buildBuffer(
+                "00 24 08 91 00 20 AA BB CC DD EE FF AA BB CC DD EE FF 00 05 10 00 00 08 07 06 00 00 "
+                + "10 11 12 13 01 02 03 04 50 50 20 20").skipBytes(4));
+        MatchV10 match2 = matchDeserializer.deserialize(BufferHelper.buildBuffer(
+                "00 20 00 91 00 20 AA BB CC DD EE FF AA BB CC DD EE FF 00 05 10 00 00 08 07 06 00 00 "
+                + "10 11 12 13 01 02 03 04 50 50 20 20").skipBytes(4));
+        Assert.assertSame("Wildcards not shared", match1.getWildcards(), match2.getWildcards());
+        Assert.assertEquals("Wrong srcMask", 32, match2.getNwSrcMask().shortValue());
+        Assert.assertEquals("Wrong wildcard flags", 0x200091,
+                OF10MatchDeserializer.encodeWildcardFlags(match2.getWildcards()));
+    }
+
 }
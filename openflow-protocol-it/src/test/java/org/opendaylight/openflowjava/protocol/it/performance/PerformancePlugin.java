@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.it.performance;
+
+import com.google.common.util.concurrent.FutureCallback;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.openflowjava.protocol.api.connection.ConnectionAdapter;
+import org.opendaylight.openflowjava.protocol.api.connection.ConnectionReadyListener;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
+import org.opendaylight.openflowjava.protocol.impl.clients.LatencyHistogram;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.FlowModCommand;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.FlowModFlags;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PortNumber;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.TableId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instructions.grouping.Instruction;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmMatchType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoReplyInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ErrorMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ExperimenterMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowRemovedMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.GetFeaturesInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OpenflowProtocolListener;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PortStatusMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEvent;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SwitchIdleEvent;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SystemNotificationsListener;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Minimal controller used by {@link PerformanceTest}. Handshakes every connected switch, counts
+ * packet-ins and their latency (packet-in cookie carries the switch's send time) and pushes
+ * flow-mods through the outbound queue.
+ */
+public class PerformancePlugin implements SwitchConnectionHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PerformancePlugin.class);
+    private static final short OF13_VERSION_ID = 4;
+    private static final long HANDSHAKE_TIMEOUT_MILLIS = 10000;
+    private static final int MAX_QUEUE_DEPTH = 25600;
+    private static final long MAX_BARRIER_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final List<Session> sessions = new CopyOnWriteArrayList<>();
+    private final ExecutorService handshakeExecutor = Executors.newCachedThreadPool();
+    private final boolean useOutboundQueue;
+    private final AtomicLong packetIns = new AtomicLong();
+    private final AtomicLong flowModsCompleted = new AtomicLong();
+    private final AtomicLong flowModsFailed = new AtomicLong();
+    private LatencyHistogram packetInLatency = new LatencyHistogram();
+
+    /**
+     * @param useOutboundQueue true if outbound queue should be registered after handshake
+     */
+    public PerformancePlugin(final boolean useOutboundQueue) {
+        this.useOutboundQueue = useOutboundQueue;
+    }
+
+    @Override
+    public boolean accept(final InetAddress switchAddress) {
+        return true;
+    }
+
+    @Override
+    public void onSwitchConnected(final ConnectionAdapter connection) {
+        final Session session = new Session(connection);
+        connection.setMessageListener(session);
+        connection.setSystemListener(session);
+        connection.setConnectionReadyListener(session);
+        sessions.add(session);
+    }
+
+    /**
+     * @return number of switches ready for measurement
+     */
+    public int getReadyCount() {
+        int ready = 0;
+        for (Session session : sessions) {
+            if (session.ready) {
+                ready++;
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Pushes flow-mods to all ready switches, one pushing thread per switch
+     * @param countPerSwitch number of flow-mods sent to each switch
+     * @throws InterruptedException if interrupted while waiting for pushing threads
+     */
+    public void pushFlowMods(final int countPerSwitch) throws InterruptedException {
+        final List<Thread> pushers = new ArrayList<>();
+        for (final Session session : sessions) {
+            if (session.queue == null) {
+                continue;
+            }
+            final Thread pusher = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    session.pushFlowMods(countPerSwitch);
+                }
+            });
+            pusher.start();
+            pushers.add(pusher);
+        }
+        for (Thread pusher : pushers) {
+            pusher.join();
+        }
+    }
+
+    /**
+     * Resets packet-in and flow-mod counters
+     */
+    public synchronized void resetCounters() {
+        packetIns.set(0);
+        flowModsCompleted.set(0);
+        flowModsFailed.set(0);
+        packetInLatency = new LatencyHistogram();
+    }
+
+    /**
+     * @return number of received packet-ins
+     */
+    public long getPacketIns() {
+        return packetIns.get();
+    }
+
+    /**
+     * @return number of flow-mods whose queue entries completed successfully
+     */
+    public long getFlowModsCompleted() {
+        return flowModsCompleted.get();
+    }
+
+    /**
+     * @return number of flow-mods whose queue entries failed
+     */
+    public long getFlowModsFailed() {
+        return flowModsFailed.get();
+    }
+
+    /**
+     * @return copy of packet-in latency histogram
+     */
+    public synchronized LatencyHistogram getPacketInLatency() {
+        final LatencyHistogram copy = new LatencyHistogram();
+        copy.add(packetInLatency);
+        return copy;
+    }
+
+    private synchronized void recordPacketIn(final long nanos) {
+        packetInLatency.record(nanos);
+    }
+
+    /**
+     * Stops handshake threads
+     */
+    public void close() {
+        handshakeExecutor.shutdownNow();
+    }
+
+    private final class Session implements OpenflowProtocolListener, SystemNotificationsListener,
+            ConnectionReadyListener, OutboundQueueHandler {
+
+        private final ConnectionAdapter adapter;
+        private volatile OutboundQueue queue;
+        private volatile boolean ready;
+
+        Session(final ConnectionAdapter adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public void onHelloMessage(final HelloMessage notification) {
+            handshakeExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    handshake();
+                }
+            });
+        }
+
+        private void handshake() {
+            adapter.hello(new HelloInputBuilder().setVersion(OF13_VERSION_ID).setXid(1L).build());
+            try {
+                final RpcResult<?> features = adapter.getFeatures(new GetFeaturesInputBuilder()
+                        .setVersion(OF13_VERSION_ID).setXid(2L).build())
+                        .get(HANDSHAKE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (!features.isSuccessful()) {
+                    LOG.warn("Features request of {} failed: {}", adapter.getRemoteAddress(), features.getErrors());
+                    return;
+                }
+            } catch (Exception e) {
+                LOG.warn("Handshake with {} failed", adapter.getRemoteAddress(), e);
+                return;
+            }
+            if (useOutboundQueue) {
+                adapter.registerOutboundQueueHandler(this, MAX_QUEUE_DEPTH, MAX_BARRIER_NANOS);
+            } else {
+                ready = true;
+            }
+        }
+
+        void pushFlowMods(final int count) {
+            final FlowModInputBuilder builder = createFlowModBuilder();
+            final FutureCallback<OfHeader> callback = new FutureCallback<OfHeader>() {
+                @Override
+                public void onSuccess(final OfHeader result) {
+                    flowModsCompleted.incrementAndGet();
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    flowModsFailed.incrementAndGet();
+                }
+            };
+
+            for (int i = 0; i < count; i++) {
+                final OutboundQueue current = queue;
+                if (current == null) {
+                    LOG.warn("Queue of {} closed after {} flow-mods", adapter.getRemoteAddress(), i);
+                    return;
+                }
+                final Long xid = current.reserveEntry();
+                if (xid == null) {
+                    // Queue is full, wait for the switch to catch up
+                    Thread.yield();
+                    i--;
+                    continue;
+                }
+                builder.setXid(xid);
+                builder.setPriority(i & 0xFFFF);
+                current.commitEntry(xid, builder.build(), callback);
+            }
+        }
+
+        @Override
+        public BarrierInput createBarrierRequest(final Long xid) {
+            return new BarrierInputBuilder().setVersion(OF13_VERSION_ID).setXid(xid).build();
+        }
+
+        @Override
+        public void onConnectionQueueChanged(final OutboundQueue queue) {
+            this.queue = queue;
+            ready = queue != null;
+        }
+
+        @Override
+        public void onPacketInMessage(final PacketInMessage notification) {
+            packetIns.incrementAndGet();
+            if (notification.getCookie() != null) {
+                recordPacketIn(System.nanoTime() - notification.getCookie().longValue());
+            }
+        }
+
+        @Override
+        public void onEchoRequestMessage(final EchoRequestMessage notification) {
+            adapter.echoReply(new EchoReplyInputBuilder().setVersion(OF13_VERSION_ID)
+                    .setXid(notification.getXid()).build());
+        }
+
+        @Override
+        public void onErrorMessage(final ErrorMessage notification) {
+            LOG.debug("Error message received from {}", adapter.getRemoteAddress());
+        }
+
+        @Override
+        public void onExperimenterMessage(final ExperimenterMessage notification) {
+            // not used
+        }
+
+        @Override
+        public void onFlowRemovedMessage(final FlowRemovedMessage notification) {
+            // not used
+        }
+
+        @Override
+        public void onMultipartReplyMessage(final MultipartReplyMessage notification) {
+            // not used
+        }
+
+        @Override
+        public void onPortStatusMessage(final PortStatusMessage notification) {
+            // not used
+        }
+
+        @Override
+        public void onDisconnectEvent(final DisconnectEvent notification) {
+            ready = false;
+            sessions.remove(this);
+        }
+
+        @Override
+        public void onSwitchIdleEvent(final SwitchIdleEvent notification) {
+            // not used
+        }
+
+        @Override
+        public void onConnectionReady() {
+            // handshake is driven by hello
+        }
+    }
+
+    private static FlowModInputBuilder createFlowModBuilder() {
+        final FlowModInputBuilder builder = new FlowModInputBuilder();
+        builder.setVersion(OF13_VERSION_ID);
+        builder.setCookie(BigInteger.ZERO);
+        builder.setCookieMask(BigInteger.ZERO);
+        builder.setTableId(new TableId(0L));
+        builder.setCommand(FlowModCommand.OFPFCADD);
+        builder.setIdleTimeout(0);
+        builder.setHardTimeout(0);
+        builder.setBufferId(0xFFFFFFFFL);
+        builder.setOutPort(new PortNumber(0xFFFFFFFFL));
+        builder.setOutGroup(0xFFFFFFFFL);
+        builder.setFlags(new FlowModFlags(false, false, false, false, false));
+        final MatchBuilder matchBuilder = new MatchBuilder();
+        matchBuilder.setType(OxmMatchType.class);
+        matchBuilder.setMatchEntry(new ArrayList<MatchEntry>());
+        builder.setMatch(matchBuilder.build());
+        builder.setInstruction(new ArrayList<Instruction>());
+        return builder;
+    }
+}
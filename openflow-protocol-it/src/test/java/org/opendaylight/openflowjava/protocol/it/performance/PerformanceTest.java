@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.it.performance;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.TlsConfigurationImpl;
+import org.opendaylight.openflowjava.protocol.impl.clients.EmulatedSwitchStatistics;
+import org.opendaylight.openflowjava.protocol.impl.clients.LatencyHistogram;
+import org.opendaylight.openflowjava.protocol.impl.clients.LoadGenerator;
+import org.opendaylight.openflowjava.protocol.impl.clients.LoadProfile;
+import org.opendaylight.openflowjava.protocol.impl.core.SwitchConnectionProviderImpl;
+import org.opendaylight.openflowjava.protocol.impl.core.TcpHandler;
+import org.opendaylight.openflowjava.protocol.impl.core.UdpHandler;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionConfigurationImpl;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.KeystoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.PathType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.TransportProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * End-to-end throughput and latency measurements - packet-in ingress over TCP, TLS and UDP and
+ * flow-mod egress with and without barrier batching. Switches are emulated by simple-client's
+ * {@link LoadGenerator}. Tests run only with -Dofjava.perf=true (see "perf" profile), results are
+ * written as JSON into the file given by ofjava.perf.output property. Load is configured by
+ * ofjava.perf.switches, ofjava.perf.rate (packet-ins per second per switch), ofjava.perf.duration
+ * (seconds) and ofjava.perf.flowmods (flow-mods per switch) properties.
+ */
+public class PerformanceTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PerformanceTest.class);
+
+    private static final int SWITCHES = Integer.getInteger("ofjava.perf.switches", 50);
+    private static final int PACKET_IN_RATE = Integer.getInteger("ofjava.perf.rate", 500);
+    private static final long DURATION_SECONDS = Long.getLong("ofjava.perf.duration", 10L);
+    private static final int FLOW_MODS = Integer.getInteger("ofjava.perf.flowmods", 20000);
+    private static final String OUTPUT = System.getProperty("ofjava.perf.output", "target/perf-results.json");
+    private static final long WARMUP_SECONDS = 2;
+    private static final long READY_TIMEOUT_SECONDS = 60;
+    private static final int SWITCH_IDLE_TIMEOUT = 15000;
+    private static final long CONNECTION_TIMEOUT = 2000;
+    private static final List<String> RESULTS = new ArrayList<>();
+
+    private SwitchConnectionProviderImpl switchConnectionProvider;
+    private PerformancePlugin plugin;
+    private LoadGenerator generator;
+    private int port;
+
+    /**
+     * Skips the measurements unless explicitly requested
+     */
+    @Before
+    public void checkEnabled() {
+        Assume.assumeTrue(Boolean.getBoolean("ofjava.perf"));
+    }
+
+    /**
+     * Disconnects switches and stops the library
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        if (generator != null) {
+            generator.stop();
+        }
+        if (switchConnectionProvider != null) {
+            switchConnectionProvider.close();
+        }
+        if (plugin != null) {
+            plugin.close();
+        }
+    }
+
+    /**
+     * Writes collected results
+     * @throws IOException if results can not be written
+     */
+    @AfterClass
+    public static void writeResults() throws IOException {
+        if (RESULTS.isEmpty()) {
+            return;
+        }
+        final File output = new File(OUTPUT);
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8)) {
+            writer.write("{\"timestamp\": \"" + new Date() + "\", \"java\": \""
+                    + System.getProperty("java.version") + "\", \"switches\": " + SWITCHES
+                    + ", \"results\": [\n");
+            for (int i = 0; i < RESULTS.size(); i++) {
+                writer.write("  " + RESULTS.get(i) + (i < RESULTS.size() - 1 ? ",\n" : "\n"));
+            }
+            writer.write("]}\n");
+        }
+        LOG.info("Performance results written to {}", output.getAbsolutePath());
+    }
+
+    /**
+     * Packet-in ingress over TCP
+     * @throws Exception
+     */
+    @Test
+    public void testPacketInIngressTcp() throws Exception {
+        measurePacketInIngress(TransportProtocol.TCP);
+    }
+
+    /**
+     * Packet-in ingress over TLS
+     * @throws Exception
+     */
+    @Test
+    public void testPacketInIngressTls() throws Exception {
+        measurePacketInIngress(TransportProtocol.TLS);
+    }
+
+    /**
+     * Packet-in ingress over UDP
+     * @throws Exception
+     */
+    @Test
+    public void testPacketInIngressUdp() throws Exception {
+        measurePacketInIngress(TransportProtocol.UDP);
+    }
+
+    /**
+     * Flow-mod push with barrier batching of outbound queue
+     * @throws Exception
+     */
+    @Test
+    public void testFlowModPushWithBarrier() throws Exception {
+        measureFlowModPush(true);
+    }
+
+    /**
+     * Flow-mod push without barrier batching of outbound queue
+     * @throws Exception
+     */
+    @Test
+    public void testFlowModPushWithoutBarrier() throws Exception {
+        measureFlowModPush(false);
+    }
+
+    private void measurePacketInIngress(final TransportProtocol protocol) throws Exception {
+        startProvider(protocol, true, false);
+        startGenerator(protocol, PACKET_IN_RATE);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(WARMUP_SECONDS));
+        plugin.resetCounters();
+        final long sentBefore = getPacketInsSent();
+        final long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(DURATION_SECONDS));
+        final long received = plugin.getPacketIns();
+        final long sent = getPacketInsSent() - sentBefore;
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        final LatencyHistogram latency = plugin.getPacketInLatency();
+
+        final String scenario = "packet-in-ingress-" + protocol.name().toLowerCase();
+        addResult(scenario, "sent-rate", sent / seconds, "msg/s");
+        addResult(scenario, "received-rate", received / seconds, "msg/s");
+        addResult(scenario, "loss", sent == 0 ? 0 : Math.max(0, sent - received) / (double) sent, "ratio");
+        addResult(scenario, "latency-mean", latency.getMeanMicros(), "us");
+        addResult(scenario, "latency-p50", latency.getPercentileMicros(50), "us");
+        addResult(scenario, "latency-p99", latency.getPercentileMicros(99), "us");
+        addResult(scenario, "latency-max", latency.getMaxMicros(), "us");
+        Assert.assertTrue("No packet-in received", received > 0);
+    }
+
+    private void measureFlowModPush(final boolean useBarrier) throws Exception {
+        startProvider(TransportProtocol.TCP, useBarrier, true);
+        startGenerator(TransportProtocol.TCP, 0);
+
+        final long expected = (long) FLOW_MODS * SWITCHES;
+        final long start = System.nanoTime();
+        plugin.pushFlowMods(FLOW_MODS);
+        final long pushed = System.nanoTime();
+        final long deadline = pushed + TimeUnit.SECONDS.toNanos(READY_TIMEOUT_SECONDS);
+        long received = getFlowModsReceived();
+        while (received < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            received = getFlowModsReceived();
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        final String scenario = "flow-mod-push-" + (useBarrier ? "barrier" : "no-barrier");
+        addResult(scenario, "enqueue-rate", expected / ((pushed - start) / 1e9), "msg/s");
+        addResult(scenario, "delivered-rate", received / seconds, "msg/s");
+        addResult(scenario, "completed", plugin.getFlowModsCompleted(), "msg");
+        addResult(scenario, "failed", plugin.getFlowModsFailed(), "msg");
+        Assert.assertEquals("Not all flow-mods delivered", expected, received);
+    }
+
+    private void startProvider(final TransportProtocol protocol, final boolean useBarrier,
+            final boolean useOutboundQueue) throws Exception {
+        TlsConfigurationImpl tlsConfiguration = null;
+        if (protocol.equals(TransportProtocol.TLS)) {
+            tlsConfiguration = new TlsConfigurationImpl(KeystoreType.JKS,
+                    "/selfSignedSwitch", PathType.CLASSPATH, KeystoreType.JKS,
+                    "/selfSignedController", PathType.CLASSPATH,
+                    new ArrayList<String>());
+        }
+        final ConnectionConfigurationImpl connConfig = new ConnectionConfigurationImpl(InetAddress.getLocalHost(), 0,
+                tlsConfiguration, SWITCH_IDLE_TIMEOUT, useBarrier);
+        connConfig.setTransferProtocol(protocol);
+        plugin = new PerformancePlugin(useOutboundQueue);
+
+        switchConnectionProvider = new SwitchConnectionProviderImpl();
+        switchConnectionProvider.setSwitchConnectionHandler(plugin);
+        switchConnectionProvider.setConfiguration(connConfig);
+        switchConnectionProvider.startup().get(CONNECTION_TIMEOUT, TimeUnit.MILLISECONDS);
+        if (protocol.equals(TransportProtocol.UDP)) {
+            port = ((UdpHandler) switchConnectionProvider.getServerFacade()).getPort();
+        } else {
+            port = ((TcpHandler) switchConnectionProvider.getServerFacade()).getPort();
+        }
+    }
+
+    private void startGenerator(final TransportProtocol protocol, final double rate) throws Exception {
+        final LoadProfile profile = new LoadProfile(rate, LoadProfile.Distribution.CONSTANT, 64, 48, 10, 1000);
+        generator = new LoadGenerator(InetAddress.getLocalHost().getHostAddress(), port, SWITCHES, profile);
+        generator.setUdp(protocol.equals(TransportProtocol.UDP));
+        generator.setSecuredClient(protocol.equals(TransportProtocol.TLS));
+        generator.setReportIntervalSeconds(0);
+        generator.start();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(READY_TIMEOUT_SECONDS);
+        while (plugin.getReadyCount() < SWITCHES || generator.getHandshakenCount() < SWITCHES) {
+            Assert.assertTrue("Switches not ready in time, ready " + plugin.getReadyCount(),
+                    System.nanoTime() < deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    private long getPacketInsSent() {
+        long sent = 0;
+        for (EmulatedSwitchStatistics stats : generator.getStatistics()) {
+            sent += stats.getPacketInsSent();
+        }
+        return sent;
+    }
+
+    private long getFlowModsReceived() {
+        long received = 0;
+        for (EmulatedSwitchStatistics stats : generator.getStatistics()) {
+            received += stats.getFlowModsReceived();
+        }
+        return received;
+    }
+
+    private static void addResult(final String scenario, final String metric, final double value,
+            final String unit) {
+        LOG.info("{} {}: {} {}", scenario, metric, value, unit);
+        RESULTS.add(String.format("{\"scenario\": \"%s\", \"metric\": \"%s\", \"value\": %.3f, \"unit\": \"%s\"}",
+                scenario, metric, value, unit));
+    }
+}
@@ -15,6 +15,8 @@ import com.google.common.collect.Lists;
 import com.google.common.primitives.UnsignedBytes;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.UnpooledByteBufAllocator;
+import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -34,8 +36,27 @@ public abstract class ByteBufUtils {
     public static final Splitter DOT_SPLITTER = Splitter.on('.');
     public static final Splitter COLON_SPLITTER = Splitter.on(':');
     private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+    private static final char[] LOWER_HEX_CHARS = "0123456789abcdef".toCharArray();
+    /** Hex digit values indexed by character, -1 for characters which are not hex digits */
+    private static final byte[] HEX_VALUES = new byte[128];
     private static final Splitter HEXSTRING_SPLITTER =  Splitter.onPattern("\\s+").omitEmptyStrings();
     private static final Splitter HEXSTRING_NOSPACE_SPLITTER = Splitter.onPattern("(?<=\\G.{2})").omitEmptyStrings();
+    /** Shared instances of small unsigned 64-bit values, typically counters of idle flows and ports */
+    private static final BigInteger[] SMALL_UINT64 = new BigInteger[256];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+        for (int i = 0; i < SMALL_UINT64.length; i++) {
+            SMALL_UINT64[i] = BigInteger.valueOf(i);
+        }
+    }
 
     private ByteBufUtils() {
         //not called
@@ -47,11 +68,23 @@ public abstract class ByteBufUtils {
      * @return String
      */
     public static String byteBufToHexString(final ByteBuf bb) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = bb.readerIndex(); i < (bb.readerIndex() + bb.readableBytes()); i++) {
-            sb.append(String.format(" %02x", bb.getUnsignedByte(i)));
+        final int length = bb.readableBytes();
+        if (length == 0) {
+            return "";
+        }
+        final char[] chars = new char[length * 3 - 1];
+        final int start = bb.readerIndex();
+        appendSpacedHexByte(chars, 0, bb.getUnsignedByte(start));
+        for (int i = 1; i < length; i++) {
+            chars[i * 3 - 1] = ' ';
+            appendSpacedHexByte(chars, i * 3, bb.getUnsignedByte(start + i));
         }
-        return sb.toString().trim();
+        return new String(chars);
+    }
+
+    private static void appendSpacedHexByte(final char[] chars, final int offset, final int value) {
+        chars[offset] = LOWER_HEX_CHARS[value >>> 4];
+        chars[offset + 1] = LOWER_HEX_CHARS[value & 15];
     }
 
     /**
@@ -70,6 +103,11 @@ public abstract class ByteBufUtils {
      * @return byte[] filled with input data
      */
     public static byte[] hexStringToBytes(final String hexSrc, final boolean withSpaces) {
+        final byte[] fast = withSpaces ? spacedHexStringToBytes(hexSrc) : null;
+        if (fast != null) {
+            return fast;
+        }
+
         final Splitter splitter = withSpaces ? HEXSTRING_SPLITTER : HEXSTRING_NOSPACE_SPLITTER;
         List<String> byteChips = Lists.newArrayList(splitter.split(hexSrc));
         byte[] result = new byte[byteChips.size()];
@@ -81,6 +119,51 @@ public abstract class ByteBufUtils {
         return result;
     }
 
+    /**
+     * Table-driven conversion of the common "01 ab 2" form. Returns null if the input contains
+     * anything other than whitespace separated chips of one or two hex digits, such input is left
+     * to the generic splitter based conversion.
+     */
+    private static byte[] spacedHexStringToBytes(final String hexSrc) {
+        final int length = hexSrc.length();
+        final byte[] buffer = new byte[length / 2 + 1];
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            final char c = hexSrc.charAt(i);
+            if (isHexSeparator(c)) {
+                i++;
+                continue;
+            }
+            final int high = hexDigit(c);
+            if (high < 0) {
+                return null;
+            }
+            final char next = i + 1 < length ? hexSrc.charAt(i + 1) : ' ';
+            if (isHexSeparator(next)) {
+                buffer[count++] = (byte) high;
+                i += 2;
+                continue;
+            }
+            final int low = hexDigit(next);
+            if (low < 0 || (i + 2 < length && !isHexSeparator(hexSrc.charAt(i + 2)))) {
+                return null;
+            }
+            buffer[count++] = (byte) (high << 4 | low);
+            i += 3;
+        }
+        return count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+    }
+
+    private static boolean isHexSeparator(final char c) {
+        // Same set as regular expression's \s
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static int hexDigit(final char c) {
+        return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+    }
+
     /**
      * Creates ByteBuf filled with specified data
      * @param hexSrc input String of bytes in hex format
@@ -201,25 +284,24 @@ public abstract class ByteBufUtils {
      * @return String
      */
     public static String bytesToHexString(final byte[] array) {
-        StringBuilder sb = new StringBuilder();
-        for (byte element : array) {
-            sb.append(String.format(" %02x", element));
+        if (array.length == 0) {
+            return "";
+        }
+        final char[] chars = new char[array.length * 3 - 1];
+        appendSpacedHexByte(chars, 0, UnsignedBytes.toInt(array[0]));
+        for (int i = 1; i < array.length; i++) {
+            chars[i * 3 - 1] = ' ';
+            appendSpacedHexByte(chars, i * 3, UnsignedBytes.toInt(array[i]));
         }
-        return sb.toString().trim();
+        return new String(chars);
     }
 
     private static int hexValue(final char c) {
-        if (c >= '0' && c <= '9') {
-            return c - '0';
+        final int value = hexDigit(c);
+        if (value < 0) {
+            throw new IllegalArgumentException(String.format("Invalid character '%s' encountered", c));
         }
-        if (c >= 'a' && c <= 'f') {
-            return c - 'a' + 10;
-        }
-        if (c >= 'A' && c <= 'F') {
-            return c - 'A' + 10;
-        }
-
-        throw new IllegalArgumentException(String.format("Invalid character '%s' encountered", c));
+        return value;
     }
 
     /**
@@ -319,12 +401,15 @@ public abstract class ByteBufUtils {
      */
     public static String readIpv4Address(final ByteBuf buf) {
         final StringBuilder sb = new StringBuilder(EncodeConstants.GROUPS_IN_IPV4_ADDRESS * 4 - 1);
+        final int address = buf.readInt();
 
-        sb.append(buf.readUnsignedByte());
-        for (int i = 1; i < EncodeConstants.GROUPS_IN_IPV4_ADDRESS; i++) {
-            sb.append('.');
-            sb.append(buf.readUnsignedByte());
-        }
+        sb.append(address >>> 24);
+        sb.append('.');
+        sb.append((address >>> 16) & 0xFF);
+        sb.append('.');
+        sb.append((address >>> 8) & 0xFF);
+        sb.append('.');
+        sb.append(address & 0xFF);
 
         return sb.toString();
     }
@@ -339,31 +424,205 @@ public abstract class ByteBufUtils {
      */
     public static String readIpv6Address(final ByteBuf buf) {
         final StringBuilder sb = new StringBuilder(EncodeConstants.GROUPS_IN_IPV6_ADDRESS * 5 - 1);
+        final long high = buf.readLong();
+        final long low = buf.readLong();
 
-        appendHexUnsignedShort(sb, buf.readUnsignedShort());
-        for (int i = 1; i < EncodeConstants.GROUPS_IN_IPV6_ADDRESS; i++) {
-            sb.append(':');
-            appendHexUnsignedShort(sb, buf.readUnsignedShort());
-        }
+        appendHexUnsignedShort(sb, (int) (high >>> 48));
+        appendHexGroups(sb, high);
+        sb.append(':');
+        appendHexUnsignedShort(sb, (int) (low >>> 48));
+        appendHexGroups(sb, low);
 
         return sb.toString();
     }
 
+    private static void appendHexGroups(final StringBuilder sb, final long groups) {
+        for (int shift = 32; shift >= 0; shift -= Short.SIZE) {
+            sb.append(':');
+            appendHexUnsignedShort(sb, (int) (groups >>> shift));
+        }
+    }
+
+    /**
+     * Read an IPv4 address from a buffer. Returns a canonical instance if interning is enabled,
+     * see {@link InterningCaches}.
+     *
+     * @param buf Input buffer
+     * @return IPv4 address
+     */
     public static Ipv4Address readIetfIpv4Address(final ByteBuf buf) {
+        final InterningCaches caches = InterningCaches.getInstance();
+        if (caches == null) {
+            return decodeIetfIpv4Address(buf);
+        }
+
+        final long key = buf.getUnsignedInt(buf.readerIndex());
+        final Ipv4Address cached = caches.getIpv4AddressCache().get(key);
+        if (cached != null) {
+            buf.skipBytes(EncodeConstants.GROUPS_IN_IPV4_ADDRESS);
+            return cached;
+        }
+        return caches.getIpv4AddressCache().intern(key, decodeIetfIpv4Address(buf));
+    }
+
+    /**
+     * Read an IPv6 address from a buffer. Returns a canonical instance if interning is enabled,
+     * see {@link InterningCaches}.
+     *
+     * @param buf Input buffer
+     * @return IPv6 address
+     */
+    public static Ipv6Address readIetfIpv6Address(final ByteBuf buf) {
+        final InterningCaches caches = InterningCaches.getInstance();
+        if (caches == null) {
+            return decodeIetfIpv6Address(buf);
+        }
+
+        final InterningKey key = InterningKey.of(null, buf, buf.readerIndex(),
+                EncodeConstants.SIZE_OF_IPV6_ADDRESS_IN_BYTES);
+        final Ipv6Address cached = caches.getIpv6AddressCache().get(key);
+        if (cached != null) {
+            buf.skipBytes(EncodeConstants.SIZE_OF_IPV6_ADDRESS_IN_BYTES);
+            return cached;
+        }
+        return caches.getIpv6AddressCache().intern(key, decodeIetfIpv6Address(buf));
+    }
+
+    /**
+     * Read a MAC address from a buffer. Returns a canonical instance if interning is enabled,
+     * see {@link InterningCaches}.
+     *
+     * @param buf Input buffer
+     * @return MAC address
+     */
+    public static MacAddress readIetfMacAddress(final ByteBuf buf) {
+        final InterningCaches caches = InterningCaches.getInstance();
+        if (caches == null) {
+            return decodeIetfMacAddress(buf);
+        }
+
+        final int index = buf.readerIndex();
+        final long key = buf.getUnsignedInt(index) << Short.SIZE
+                | buf.getUnsignedShort(index + EncodeConstants.SIZE_OF_INT_IN_BYTES);
+        final MacAddress cached = caches.getMacAddressCache().get(key);
+        if (cached != null) {
+            buf.skipBytes(EncodeConstants.MAC_ADDRESS_LENGTH);
+            return cached;
+        }
+        return caches.getMacAddressCache().intern(key, decodeIetfMacAddress(buf));
+    }
+
+    private static Ipv4Address decodeIetfIpv4Address(final ByteBuf buf) {
         final byte[] tmp = new byte[4];
         buf.readBytes(tmp);
         return IetfInetUtil.INSTANCE.ipv4AddressFor(tmp);
     }
 
-    public static Ipv6Address readIetfIpv6Address(final ByteBuf buf) {
+    private static Ipv6Address decodeIetfIpv6Address(final ByteBuf buf) {
         final byte[] tmp = new byte[16];
         buf.readBytes(tmp);
         return IetfInetUtil.INSTANCE.ipv6AddressFor(tmp);
     }
 
-    public static MacAddress readIetfMacAddress(final ByteBuf buf) {
+    private static MacAddress decodeIetfMacAddress(final ByteBuf buf) {
         final byte[] tmp = new byte[EncodeConstants.MAC_ADDRESS_LENGTH];
         buf.readBytes(tmp);
         return IetfYangUtil.INSTANCE.macAddressFor(tmp);
     }
+
+    /**
+     * Write a MAC address into a buffer. Addresses in the usual xx:xx:xx:xx:xx:xx form are parsed
+     * directly into the buffer, without an intermediate byte array.
+     *
+     * @param address MAC address
+     * @param out output buffer
+     */
+    public static void writeIetfMacAddress(final MacAddress address, final ByteBuf out) {
+        final String str = address.getValue();
+        if (str.length() == EncodeConstants.MAC_ADDRESS_LENGTH * 3 - 1) {
+            long value = 0;
+            for (int i = 0; i < EncodeConstants.MAC_ADDRESS_LENGTH; i++) {
+                final int high = hexDigit(str.charAt(i * 3));
+                final int low = hexDigit(str.charAt(i * 3 + 1));
+                if (high < 0 || low < 0 || (i > 0 && str.charAt(i * 3 - 1) != ':')) {
+                    value = -1;
+                    break;
+                }
+                value = value << Byte.SIZE | high << 4 | low;
+            }
+            if (value >= 0) {
+                out.writeInt((int) (value >>> Short.SIZE));
+                out.writeShort((int) value);
+                return;
+            }
+        }
+        out.writeBytes(IetfYangUtil.INSTANCE.bytesFor(address));
+    }
+
+    /**
+     * Write an IPv4 address into a buffer. Dotted-quad addresses are parsed directly into
+     * a single 32-bit write, without an intermediate byte array.
+     *
+     * @param address IPv4 address
+     * @param out output buffer
+     */
+    public static void writeIetfIpv4Address(final Ipv4Address address, final ByteBuf out) {
+        final String str = address.getValue();
+        int value = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        int i = 0;
+        for (; i < str.length(); i++) {
+            final char c = str.charAt(i);
+            if (c >= '0' && c <= '9' && digits < 3) {
+                octet = octet * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && digits > 0 && octet <= 0xFF && dots < 3) {
+                value = value << Byte.SIZE | octet;
+                octet = 0;
+                digits = 0;
+                dots++;
+            } else {
+                break;
+            }
+        }
+        // Anything after the address other than a zone index is left to the generic conversion
+        final boolean complete = i == str.length() || str.charAt(i) == '%';
+        if (complete && dots == 3 && digits > 0 && octet <= 0xFF) {
+            out.writeInt(value << Byte.SIZE | octet);
+            return;
+        }
+        out.writeBytes(IetfInetUtil.INSTANCE.ipv4AddressBytes(address));
+    }
+
+    /**
+     * Converts an unsigned 64-bit value held in a {@code long} into a {@link BigInteger}. Values 0 to 255
+     * (including the ubiquitous zero counters) are shared instances. Generated bindings model uint64
+     * as BigInteger, so any other value allocates a BigInteger with its magnitude array, values above
+     * {@link Long#MAX_VALUE} one intermediate BigInteger more.
+     *
+     * @param value unsigned 64-bit value
+     * @return non-negative BigInteger
+     */
+    public static BigInteger uint64ToBigInteger(final long value) {
+        if (value >= 0 && value < SMALL_UINT64.length) {
+            return SMALL_UINT64[(int) value];
+        }
+        if (value > 0) {
+            return BigInteger.valueOf(value);
+        }
+        return BigInteger.valueOf(value & Long.MAX_VALUE).setBit(Long.SIZE - 1);
+    }
+
+    /**
+     * Reads an unsigned 64-bit value (cookie, counter, datapath id) from a buffer.
+     *
+     * @param buf Input buffer
+     * @return non-negative BigInteger
+     * @see #uint64ToBigInteger(long)
+     */
+    public static BigInteger readUint64(final ByteBuf buf) {
+        return uint64ToBigInteger(buf.readLong());
+    }
 }
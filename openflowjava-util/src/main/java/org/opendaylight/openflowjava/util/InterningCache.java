@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.util;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded concurrent cache of canonical immutable values with CLOCK (second chance)
+ * eviction. Lookups are lock-free and only mark the entry as recently used, insertions
+ * are serialized and evict the first entry not used since the clock hand last passed it.
+ *
+ * @param <K> key type
+ * @param <V> value type, has to be immutable
+ */
+public final class InterningCache<K, V> {
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        volatile boolean referenced;
+
+        Node(final K key, final V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final ConcurrentMap<K, Node<K, V>> map;
+    // ring, hand and used are guarded by this
+    private final Node<K, V>[] ring;
+    private int hand;
+    private int used;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of cached values
+     */
+    @SuppressWarnings("unchecked")
+    public InterningCache(final int capacity) {
+        Preconditions.checkArgument(capacity > 0, "Capacity has to be positive, was %s", capacity);
+        this.map = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+        this.ring = new Node[capacity];
+    }
+
+    /**
+     * @param key key
+     * @return canonical value, or null if no value is cached for the key
+     */
+    public V get(final K key) {
+        final Node<K, V> node = map.get(key);
+        if (node == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        return node.value;
+    }
+
+    /**
+     * Caches given value unless a value is already cached for the key.
+     *
+     * @param key key
+     * @param value candidate value
+     * @return canonical value - either the already cached one or the supplied value
+     */
+    public synchronized V intern(final K key, final V value) {
+        Preconditions.checkNotNull(value);
+        final Node<K, V> existing = map.get(key);
+        if (existing != null) {
+            existing.referenced = true;
+            return existing.value;
+        }
+
+        final int slot;
+        if (used < ring.length) {
+            slot = used++;
+        } else {
+            slot = evict();
+        }
+        final Node<K, V> node = new Node<>(key, value);
+        ring[slot] = node;
+        map.put(key, node);
+        return value;
+    }
+
+    private int evict() {
+        while (true) {
+            final int slot = hand;
+            hand = (hand + 1) % ring.length;
+            final Node<K, V> node = ring[slot];
+            if (node.referenced) {
+                node.referenced = false;
+            } else {
+                map.remove(node.key);
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Removes all cached values, statistics are kept.
+     */
+    public synchronized void clear() {
+        map.clear();
+        for (int i = 0; i < used; i++) {
+            ring[i] = null;
+        }
+        used = 0;
+        hand = 0;
+    }
+
+    /**
+     * @return maximum number of cached values
+     */
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * @return number of cached values
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * @return number of lookups which found a cached value
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of lookups which did not find a cached value
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return ratio of successful lookups, 0 if there were no lookups yet
+     */
+    public double getHitRatio() {
+        final long hitCount = hits.get();
+        final long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "InterningCache [size=" + size() + ", capacity=" + ring.length + ", hits=" + hits.get()
+                + ", misses=" + misses.get() + "]";
+    }
+}
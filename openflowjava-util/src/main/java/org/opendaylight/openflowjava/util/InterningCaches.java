@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv6Address;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
+
+/**
+ * Optional interning of decoded values which repeat across messages - MAC, IPv4 and IPv6
+ * addresses, exact-match (unmasked) address match entries and optionally whole OpenFlow 1.3
+ * matches. Interning is disabled by default, once enabled decoders return canonical instances
+ * shared across messages and connections. Whole match caching also keeps encoded form of
+ * {@link Match} instances reused across outgoing messages.
+ */
+public final class InterningCaches {
+
+    private static volatile InterningCaches instance;
+
+    private final LongInterningCache<MacAddress> macAddresses;
+    private final LongInterningCache<Ipv4Address> ipv4Addresses;
+    private final InterningCache<InterningKey, Ipv6Address> ipv6Addresses;
+    private final InterningCache<InterningKey, MatchEntry> matchEntries;
+    private final InterningCache<RawBytesKey, Match> matches;
+    private final Cache<Match, byte[]> encodedMatches;
+
+    private InterningCaches(final int addressCapacity, final int matchEntryCapacity, final int matchCapacity) {
+        macAddresses = new LongInterningCache<>(addressCapacity);
+        ipv4Addresses = new LongInterningCache<>(addressCapacity);
+        ipv6Addresses = new InterningCache<>(addressCapacity);
+        matchEntries = new InterningCache<>(matchEntryCapacity);
+        if (matchCapacity > 0) {
+            matches = new InterningCache<>(matchCapacity);
+            encodedMatches = CacheBuilder.newBuilder().weakKeys().maximumSize(matchCapacity).recordStats()
+                    .<Match, byte[]>build();
+        } else {
+            matches = null;
+            encodedMatches = null;
+        }
+    }
+
+    /**
+     * Enables interning without whole match caching, replacing previously used caches (if any)
+     * @param addressCapacity capacity of each address cache
+     * @param matchEntryCapacity capacity of match entry cache
+     * @return newly used caches
+     */
+    public static InterningCaches enable(final int addressCapacity, final int matchEntryCapacity) {
+        return enable(addressCapacity, matchEntryCapacity, 0);
+    }
+
+    /**
+     * Enables interning, replacing previously used caches (if any)
+     * @param addressCapacity capacity of each address cache
+     * @param matchEntryCapacity capacity of match entry cache
+     * @param matchCapacity capacity of decoded and encoded match caches, 0 disables whole match caching
+     * @return newly used caches
+     */
+    public static synchronized InterningCaches enable(final int addressCapacity, final int matchEntryCapacity,
+            final int matchCapacity) {
+        instance = new InterningCaches(addressCapacity, matchEntryCapacity, matchCapacity);
+        return instance;
+    }
+
+    /**
+     * Disables interning and drops all cached values
+     */
+    public static synchronized void disable() {
+        instance = null;
+    }
+
+    /**
+     * @return currently used caches, or null if interning is disabled
+     */
+    public static InterningCaches getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return MAC address cache keyed by 48-bit address value
+     */
+    public LongInterningCache<MacAddress> getMacAddressCache() {
+        return macAddresses;
+    }
+
+    /**
+     * @return IPv4 address cache keyed by 32-bit address value
+     */
+    public LongInterningCache<Ipv4Address> getIpv4AddressCache() {
+        return ipv4Addresses;
+    }
+
+    /**
+     * @return IPv6 address cache keyed by raw address bytes
+     */
+    public InterningCache<InterningKey, Ipv6Address> getIpv6AddressCache() {
+        return ipv6Addresses;
+    }
+
+    /**
+     * @return match entry cache keyed by match field and raw value bytes
+     */
+    public InterningCache<InterningKey, MatchEntry> getMatchEntryCache() {
+        return matchEntries;
+    }
+
+    /**
+     * Decoded values of extension match entries have to depend on the raw bytes only.
+     *
+     * @return OpenFlow 1.3 match cache keyed by raw ofp_match bytes, or null if whole match caching
+     *         is disabled
+     */
+    public InterningCache<RawBytesKey, Match> getMatchCache() {
+        return matches;
+    }
+
+    /**
+     * Encoded matches include trailing padding. Keys are held weakly, so a match no longer referenced
+     * by the application is dropped with its encoded form. Has to be invalidated whenever match entry
+     * serializers change.
+     *
+     * @return cache of encoded OpenFlow 1.3 matches keyed by {@link Match} instance identity,
+     *         or null if whole match caching is disabled
+     */
+    public Cache<Match, byte[]> getEncodedMatchCache() {
+        return encodedMatches;
+    }
+
+    @Override
+    public String toString() {
+        return "InterningCaches [macAddresses=" + macAddresses + ", ipv4Addresses=" + ipv4Addresses
+                + ", ipv6Addresses=" + ipv6Addresses + ", matchEntries=" + matchEntries + ", matches=" + matches
+                + ", encodedMatches=" + (encodedMatches == null ? null : encodedMatches.stats()) + "]";
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.util;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import java.util.Objects;
+
+/**
+ * Key of {@link InterningCache}s holding values decoded from up to 16 raw bytes,
+ * optionally qualified by a discriminator (e.g. match field).
+ */
+public final class InterningKey {
+
+    private static final int MAX_LENGTH = 2 * Long.SIZE / Byte.SIZE;
+    private static final int HALF_LENGTH = Long.SIZE / Byte.SIZE;
+
+    private final Object discriminator;
+    private final long high;
+    private final long low;
+    private final int length;
+
+    private InterningKey(final Object discriminator, final long high, final long low, final int length) {
+        this.discriminator = discriminator;
+        this.high = high;
+        this.low = low;
+        this.length = length;
+    }
+
+    /**
+     * Creates key from raw bytes, reader index of the buffer is not changed.
+     *
+     * @param discriminator key discriminator, may be null
+     * @param buf buffer holding the raw value
+     * @param index index of the first byte of the value
+     * @param length value length, at most 16 bytes
+     * @return key
+     */
+    public static InterningKey of(final Object discriminator, final ByteBuf buf, final int index, final int length) {
+        Preconditions.checkArgument(length >= 0 && length <= MAX_LENGTH, "Unsupported key length %s", length);
+        if (length <= HALF_LENGTH) {
+            return new InterningKey(discriminator, 0, readBits(buf, index, length), length);
+        }
+        return new InterningKey(discriminator, readBits(buf, index, length - HALF_LENGTH),
+                buf.getLong(index + length - HALF_LENGTH), length);
+    }
+
+    private static long readBits(final ByteBuf buf, final int index, final int length) {
+        switch (length) {
+            case 4:
+                return buf.getUnsignedInt(index);
+            case 8:
+                return buf.getLong(index);
+            default:
+                long bits = 0;
+                for (int i = 0; i < length; i++) {
+                    bits = bits << Byte.SIZE | buf.getUnsignedByte(index + i);
+                }
+                return bits;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        final long mixed = high * 31 + low;
+        return (int) (mixed ^ mixed >>> 32) * 31 + length + Objects.hashCode(discriminator);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof InterningKey)) {
+            return false;
+        }
+        final InterningKey other = (InterningKey) obj;
+        return low == other.low && high == other.high && length == other.length
+                && Objects.equals(discriminator, other.discriminator);
+    }
+
+    @Override
+    public String toString() {
+        return "InterningKey [discriminator=" + discriminator + ", high=" + Long.toHexString(high) + ", low="
+                + Long.toHexString(low) + ", length=" + length + "]";
+    }
+}
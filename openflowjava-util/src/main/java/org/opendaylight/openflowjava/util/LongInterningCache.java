@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.util;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Two-way set-associative concurrent cache of canonical immutable values keyed by a primitive long,
+ * so that lookups allocate nothing. Each key maps to a set of two slots. Entries start unreferenced
+ * and are marked referenced on lookup hits, an insertion into a full set replaces an unreferenced
+ * entry, so that a one-off key does not evict two hot keys sharing its set. If both entries are
+ * referenced, their marks are cleared and the first one is replaced. Lookups and insertions are
+ * lock-free, an insertion racing with another insertion into the same slot is not cached.
+ *
+ * @param <V> value type, has to be immutable
+ */
+public final class LongInterningCache<V> {
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final int WAYS = 2;
+
+    private static final class Entry<V> {
+        final long key;
+        final V value;
+        volatile boolean referenced;
+
+        Entry(final long key, final V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        V hit() {
+            if (!referenced) {
+                referenced = true;
+            }
+            return value;
+        }
+    }
+
+    private final AtomicReferenceArray<Entry<V>> table;
+    private final int setMask;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of cached values, rounded up to a power of two, at least two
+     */
+    public LongInterningCache(final int capacity) {
+        Preconditions.checkArgument(capacity > 0 && capacity <= 1 << 30, "Unsupported capacity %s", capacity);
+        final int length = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        this.table = new AtomicReferenceArray<>(length);
+        this.setMask = length / WAYS - 1;
+    }
+
+    private int firstSlot(final long key) {
+        return ((int) (key * GOLDEN_RATIO >>> Integer.SIZE) & setMask) * WAYS;
+    }
+
+    private Entry<V> find(final int first, final long key) {
+        for (int i = first; i < first + WAYS; i++) {
+            final Entry<V> entry = table.get(i);
+            if (entry != null && entry.key == key) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param key key
+     * @return canonical value, or null if no value is cached for the key
+     */
+    public V get(final long key) {
+        final Entry<V> entry = find(firstSlot(key), key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.hit();
+    }
+
+    /**
+     * Caches given value unless a value is already cached for the key.
+     *
+     * @param key key
+     * @param value candidate value
+     * @return canonical value - either the already cached one or the supplied value
+     */
+    public V intern(final long key, final V value) {
+        Preconditions.checkNotNull(value);
+        final int first = firstSlot(key);
+        final Entry<V> existing = find(first, key);
+        if (existing != null) {
+            return existing.hit();
+        }
+
+        int victim = -1;
+        for (int i = first; i < first + WAYS; i++) {
+            final Entry<V> entry = table.get(i);
+            if (entry == null) {
+                if (table.compareAndSet(i, null, new Entry<>(key, value))) {
+                    size.incrementAndGet();
+                }
+                return value;
+            }
+            if (victim == -1 && !entry.referenced) {
+                victim = i;
+            }
+        }
+        if (victim == -1) {
+            for (int i = first; i < first + WAYS; i++) {
+                table.get(i).referenced = false;
+            }
+            victim = first;
+        }
+        final Entry<V> evicted = table.get(victim);
+        if (evicted != null) {
+            table.compareAndSet(victim, evicted, new Entry<>(key, value));
+        }
+        return value;
+    }
+
+    /**
+     * Removes all cached values, statistics are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            if (table.getAndSet(i, null) != null) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return maximum number of cached values
+     */
+    public int getCapacity() {
+        return table.length();
+    }
+
+    /**
+     * @return number of cached values
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return number of lookups which found a cached value
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of lookups which did not find a cached value
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return ratio of successful lookups, 0 if there were no lookups yet
+     */
+    public double getHitRatio() {
+        final long hitCount = hits.get();
+        final long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "LongInterningCache [size=" + size() + ", capacity=" + table.length() + ", hits=" + hits.get()
+                + ", misses=" + misses.get() + "]";
+    }
+}
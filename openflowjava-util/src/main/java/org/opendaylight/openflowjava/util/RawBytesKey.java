@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Key of {@link InterningCache}s holding values decoded from a raw byte sequence of arbitrary
+ * length. Keys are compared byte by byte, so hash collisions never return a wrong value.
+ * Lookup keys created by {@link #probe(ByteBuf, int, int)} share content with the received
+ * buffer, keys stored in a cache have to be created by {@link #toStored()}.
+ */
+public final class RawBytesKey {
+
+    private final ByteBuf bytes;
+    private final int hash;
+
+    private RawBytesKey(final ByteBuf bytes, final int hash) {
+        this.bytes = bytes;
+        this.hash = hash;
+    }
+
+    /**
+     * Creates lookup key, reader index of the buffer is not changed
+     * @param buf buffer holding the raw value
+     * @param index index of the first byte of the value
+     * @param length value length
+     * @return key sharing content with the buffer, valid only while the buffer is
+     */
+    public static RawBytesKey probe(final ByteBuf buf, final int index, final int length) {
+        final ByteBuf slice = buf.slice(index, length);
+        return new RawBytesKey(slice, ByteBufUtil.hashCode(slice));
+    }
+
+    /**
+     * @return key holding its own copy of the bytes, suitable for storing in a cache
+     */
+    public RawBytesKey toStored() {
+        return new RawBytesKey(Unpooled.copiedBuffer(bytes), hash);
+    }
+
+    /**
+     * @return key length in bytes
+     */
+    public int length() {
+        return bytes.readableBytes();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RawBytesKey)) {
+            return false;
+        }
+        final RawBytesKey other = (RawBytesKey) obj;
+        return hash == other.hash && ByteBufUtil.equals(bytes, other.bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "RawBytesKey [bytes=" + ByteBufUtil.hexDump(bytes) + "]";
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.util;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares table-driven conversions in ByteBufUtils with straightforward reference
+ * implementations on randomly generated inputs
+ */
+public class ByteBufUtilsEquivalenceTest {
+
+    private static final int ROUNDS = 2000;
+    private static final Splitter REFERENCE_SPLITTER = Splitter.onPattern("\\s+").omitEmptyStrings();
+    private static final String HEX_STRING_CHARS = "0123456789abcdefABCDEF  \t\n+-g";
+
+    private final Random random = new Random(42);
+
+    /**
+     * Hex dumps of buffers and arrays
+     */
+    @Test
+    public void testToHexString() {
+        for (int round = 0; round < ROUNDS; round++) {
+            byte[] bytes = randomBytes(random.nextInt(40));
+            String expected = referenceToHexString(bytes);
+            Assert.assertEquals("Wrong array conversion", expected, ByteBufUtils.bytesToHexString(bytes));
+
+            ByteBuf buf = Unpooled.buffer();
+            buf.writeBytes(randomBytes(random.nextInt(4)));
+            int readerIndex = buf.writerIndex();
+            buf.writeBytes(bytes);
+            buf.readerIndex(readerIndex);
+            Assert.assertEquals("Wrong buffer conversion", expected, ByteBufUtils.byteBufToHexString(buf));
+            Assert.assertEquals("Reader index moved", readerIndex, buf.readerIndex());
+        }
+    }
+
+    /**
+     * Parsing of hex strings, including malformed ones
+     */
+    @Test
+    public void testHexStringToBytes() {
+        for (int round = 0; round < ROUNDS; round++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int i = 0; i < length; i++) {
+                sb.append(HEX_STRING_CHARS.charAt(random.nextInt(HEX_STRING_CHARS.length())));
+            }
+            String input = sb.toString();
+
+            byte[] expected;
+            try {
+                expected = referenceHexStringToBytes(input);
+            } catch (NumberFormatException e) {
+                try {
+                    ByteBufUtils.hexStringToBytes(input);
+                    Assert.fail("Exception expected for input '" + input + "'");
+                } catch (NumberFormatException e2) {
+                    // expected
+                }
+                continue;
+            }
+            Assert.assertArrayEquals("Wrong conversion of '" + input + "'", expected,
+                    ByteBufUtils.hexStringToBytes(input));
+        }
+        Assert.assertArrayEquals("Wrong round trip", new byte[] {0x01, (byte) 0xab, 0x02},
+                ByteBufUtils.hexStringToBytes(ByteBufUtils.bytesToHexString(new byte[] {0x01, (byte) 0xab, 0x02})));
+    }
+
+    /**
+     * MAC address parsing, with and without leading zeros
+     */
+    @Test
+    public void testMacAddressToBytes() {
+        for (int round = 0; round < ROUNDS; round++) {
+            byte[] address = randomBytes(6);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < address.length; i++) {
+                if (i > 0) {
+                    sb.append(':');
+                }
+                String hex = Integer.toHexString(address[i] & 0xFF);
+                sb.append(random.nextBoolean() ? hex.toUpperCase() : hex);
+            }
+            Assert.assertArrayEquals("Wrong conversion of " + sb, address,
+                    ByteBufUtils.macAddressToBytes(sb.toString()));
+        }
+    }
+
+    /**
+     * IPv4 and IPv6 address formatting
+     */
+    @Test
+    public void testReadIpAddresses() {
+        for (int round = 0; round < ROUNDS; round++) {
+            byte[] address = randomBytes(20);
+            ByteBuf buf = Unpooled.wrappedBuffer(address);
+
+            StringBuilder ipv4 = new StringBuilder();
+            for (int i = 0; i < 4; i++) {
+                if (i > 0) {
+                    ipv4.append('.');
+                }
+                ipv4.append(address[i] & 0xFF);
+            }
+            Assert.assertEquals("Wrong IPv4 address", ipv4.toString(), ByteBufUtils.readIpv4Address(buf));
+
+            StringBuilder ipv6 = new StringBuilder();
+            for (int i = 4; i < 20; i += 2) {
+                if (i > 4) {
+                    ipv6.append(':');
+                }
+                ipv6.append(String.format("%04X", ((address[i] & 0xFF) << 8) | (address[i + 1] & 0xFF)));
+            }
+            Assert.assertEquals("Wrong IPv6 address", ipv6.toString(), ByteBufUtils.readIpv6Address(buf));
+            Assert.assertEquals("Unread data", 0, buf.readableBytes());
+        }
+    }
+
+    private byte[] randomBytes(final int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String referenceToHexString(final byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte element : bytes) {
+            sb.append(String.format(" %02x", element));
+        }
+        return sb.toString().trim();
+    }
+
+    private static byte[] referenceHexStringToBytes(final String hexSrc) {
+        List<String> byteChips = Lists.newArrayList(REFERENCE_SPLITTER.split(hexSrc));
+        byte[] result = new byte[byteChips.size()];
+        int i = 0;
+        for (String chip : byteChips) {
+            result[i] = (byte) Short.parseShort(chip, 16);
+            i++;
+        }
+        return result;
+    }
+}
@@ -12,6 +12,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.UnpooledByteBufAllocator;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -21,6 +22,8 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.MacAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInputBuilder;
 
@@ -437,4 +440,43 @@ public class ByteBufUtilsTest {
         buffer.writeShort(10);
         ipv4Address = ByteBufUtils.readIpv6Address(buffer2);
     }
+
+    /**
+     * Test unsigned 64-bit value conversions
+     */
+    @Test
+    public void testUint64() {
+        ByteBuf buffer = UnpooledByteBufAllocator.DEFAULT.buffer();
+        buffer.writeLong(0);
+        buffer.writeLong(42);
+        buffer.writeLong(Long.MAX_VALUE);
+        buffer.writeLong(0xFF01010101010101L);
+        buffer.writeLong(-1);
+
+        Assert.assertSame("Wrong conversion", BigInteger.ZERO, ByteBufUtils.readUint64(buffer));
+        Assert.assertEquals("Wrong conversion", BigInteger.valueOf(42), ByteBufUtils.readUint64(buffer));
+        Assert.assertEquals("Wrong conversion", BigInteger.valueOf(Long.MAX_VALUE), ByteBufUtils.readUint64(buffer));
+        Assert.assertEquals("Wrong conversion", new BigInteger(1, new byte[]{(byte) 0xFF, 0x01, 0x01, 0x01, 0x01,
+                0x01, 0x01, 0x01}), ByteBufUtils.readUint64(buffer));
+        Assert.assertEquals("Wrong conversion", new BigInteger("18446744073709551615"),
+                ByteBufUtils.readUint64(buffer));
+        Assert.assertTrue("Unexpected data", buffer.readableBytes() == 0);
+
+        Assert.assertSame("Small value not shared", ByteBufUtils.uint64ToBigInteger(255),
+                ByteBufUtils.uint64ToBigInteger(255));
+        Assert.assertEquals("Wrong conversion", BigInteger.valueOf(256), ByteBufUtils.uint64ToBigInteger(256));
+    }
+
+    /**
+     * Test direct MAC and IPv4 address writers
+     */
+    @Test
+    public void testWriteAddresses() {
+        ByteBuf out = UnpooledByteBufAllocator.DEFAULT.buffer();
+        ByteBufUtils.writeIetfMacAddress(new MacAddress("01:23:45:67:89:aB"), out);
+        ByteBufUtils.writeIetfIpv4Address(new Ipv4Address("10.0.255.1"), out);
+        ByteBufUtils.writeIetfIpv4Address(new Ipv4Address("192.168.1.1%eth0"), out);
+        Assert.assertEquals("Wrong encoding", "01 23 45 67 89 ab 0a 00 ff 01 c0 a8 01 01",
+                ByteBufUtils.byteBufToHexString(out));
+    }
 }
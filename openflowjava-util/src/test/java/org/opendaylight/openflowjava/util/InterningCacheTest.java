@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.util;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for InterningCache
+ */
+public class InterningCacheTest {
+
+    /**
+     * Interning returns canonical values and updates statistics
+     */
+    @Test
+    public void testIntern() {
+        InterningCache<Long, String> cache = new InterningCache<>(4);
+        String canonical = new String("a");
+
+        Assert.assertNull("Unexpected value", cache.get(1L));
+        Assert.assertSame("Wrong value", canonical, cache.intern(1L, canonical));
+        Assert.assertSame("Wrong value", canonical, cache.intern(1L, new String("a")));
+        Assert.assertSame("Wrong value", canonical, cache.get(1L));
+
+        Assert.assertEquals("Wrong size", 1, cache.size());
+        Assert.assertEquals("Wrong hit count", 1, cache.getHitCount());
+        Assert.assertEquals("Wrong miss count", 1, cache.getMissCount());
+        Assert.assertEquals("Wrong hit ratio", 0.5, cache.getHitRatio(), 0.0);
+    }
+
+    /**
+     * Recently used values survive eviction
+     */
+    @Test
+    public void testClockEviction() {
+        InterningCache<Long, String> cache = new InterningCache<>(3);
+        cache.intern(1L, "1");
+        cache.intern(2L, "2");
+        cache.intern(3L, "3");
+        cache.get(1L);
+        cache.get(3L);
+
+        cache.intern(4L, "4");
+        Assert.assertEquals("Wrong size", 3, cache.size());
+        Assert.assertNull("Value not evicted", cache.get(2L));
+        Assert.assertEquals("Wrong value", "1", cache.get(1L));
+        Assert.assertEquals("Wrong value", "3", cache.get(3L));
+        Assert.assertEquals("Wrong value", "4", cache.get(4L));
+
+        cache.clear();
+        Assert.assertEquals("Cache not cleared", 0, cache.size());
+        Assert.assertNull("Unexpected value", cache.get(1L));
+    }
+
+    /**
+     * Keys are built from raw bytes and discriminator
+     */
+    @Test
+    public void testKeys() {
+        ByteBuf buffer = ByteBufUtils.hexStringToByteBuf("00 01 02 03 04 05 06 07 08 09 0A 0B 0C 0D 0E 0F 10");
+        InterningKey mac = InterningKey.of("a", buffer, 0, 6);
+        InterningKey ipv6 = InterningKey.of(null, buffer, 0, 16);
+        Assert.assertEquals("Wrong key", mac, InterningKey.of("a", buffer, 0, 6));
+        Assert.assertEquals("Wrong key", mac.hashCode(), InterningKey.of("a", buffer, 0, 6).hashCode());
+        Assert.assertEquals("Wrong key", ipv6, InterningKey.of(null, buffer, 0, 16));
+        Assert.assertFalse("Wrong key", mac.equals(InterningKey.of("b", buffer, 0, 6)));
+        Assert.assertFalse("Wrong key", ipv6.equals(InterningKey.of(null, buffer, 1, 16)));
+        Assert.assertFalse("Wrong key",
+                InterningKey.of(null, buffer, 0, 4).equals(InterningKey.of(null, buffer, 0, 5)));
+        Assert.assertEquals("Buffer consumed", 0, buffer.readerIndex());
+    }
+
+    /**
+     * Capacity has to be positive
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new InterningCache<Long, String>(0);
+    }
+}
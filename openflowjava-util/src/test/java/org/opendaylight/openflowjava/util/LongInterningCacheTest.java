@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for LongInterningCache
+ */
+public class LongInterningCacheTest {
+
+    /**
+     * Interning returns canonical values and updates statistics
+     */
+    @Test
+    public void testIntern() {
+        LongInterningCache<String> cache = new LongInterningCache<>(4);
+        String canonical = new String("a");
+
+        Assert.assertNull("Unexpected value", cache.get(1));
+        Assert.assertSame("Wrong value", canonical, cache.intern(1, canonical));
+        Assert.assertSame("Wrong value", canonical, cache.intern(1, new String("a")));
+        Assert.assertSame("Wrong value", canonical, cache.get(1));
+
+        Assert.assertEquals("Wrong size", 1, cache.size());
+        Assert.assertEquals("Wrong hit count", 1, cache.getHitCount());
+        Assert.assertEquals("Wrong miss count", 1, cache.getMissCount());
+        Assert.assertEquals("Wrong hit ratio", 0.5, cache.getHitRatio(), 0.0);
+    }
+
+    /**
+     * Key inserted into a full set replaces the entry not referenced since insertion
+     */
+    @Test
+    public void testCollision() {
+        LongInterningCache<String> cache = new LongInterningCache<>(2);
+        cache.intern(1, "1");
+        cache.intern(2, "2");
+        Assert.assertEquals("Wrong size", 2, cache.size());
+        Assert.assertEquals("Wrong value", "1", cache.get(1));
+
+        Assert.assertEquals("Wrong value", "3", cache.intern(3, "3"));
+        Assert.assertEquals("Referenced value replaced", "1", cache.get(1));
+        Assert.assertNull("Value not replaced", cache.get(2));
+        Assert.assertEquals("Wrong value", "3", cache.get(3));
+        Assert.assertEquals("Wrong size", 2, cache.size());
+
+        cache.clear();
+        Assert.assertEquals("Cache not cleared", 0, cache.size());
+        Assert.assertNull("Unexpected value", cache.get(3));
+    }
+
+    /**
+     * Key inserted into a set with all entries referenced replaces the first one and clears the marks
+     */
+    @Test
+    public void testCollisionReferenced() {
+        LongInterningCache<String> cache = new LongInterningCache<>(2);
+        cache.intern(1, "1");
+        cache.intern(2, "2");
+        cache.get(1);
+        cache.get(2);
+
+        cache.intern(3, "3");
+        Assert.assertNull("Value not replaced", cache.get(1));
+        cache.intern(4, "4");
+        Assert.assertNull("Value not replaced", cache.get(3));
+        Assert.assertEquals("Wrong value", "2", cache.get(2));
+        Assert.assertEquals("Wrong value", "4", cache.get(4));
+    }
+
+    /**
+     * Capacity is rounded up to a power of two, at least two
+     */
+    @Test
+    public void testCapacity() {
+        Assert.assertEquals("Wrong capacity", 2, new LongInterningCache<>(1).getCapacity());
+        Assert.assertEquals("Wrong capacity", 4, new LongInterningCache<>(3).getCapacity());
+        Assert.assertEquals("Wrong capacity", 1024, new LongInterningCache<>(1024).getCapacity());
+    }
+
+    /**
+     * Test capacity has to be positive
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new LongInterningCache<>(0);
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Emulates one OpenFlow 1.3 switch on a shared event loop. Answers hello, features, echo, barrier,
+ * get-config, role and multipart requests, sends packet-ins according to {@link LoadProfile}
+ * and measures echo round trip and packet-in response (packet-out / flow-mod referring to the
+ * packet-in's buffer id) latencies. Expects frames split by {@link SimpleClientFramer}
+ * or {@link UdpSimpleClientFramer}.
+ *
+ * <p>
+ * Packet-in cookie carries {@link System#nanoTime()} of its sending, so that a controller running
+ * in the same JVM can measure packet-in latency.
+ */
+public class EmulatedSwitchHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmulatedSwitchHandler.class);
+
+    private static final short OF13_VERSION_ID = 4;
+    private static final short HELLO = 0;
+    private static final short ECHO_REQUEST = 2;
+    private static final short ECHO_REPLY = 3;
+    private static final short FEATURES_REQUEST = 5;
+    private static final short FEATURES_REPLY = 6;
+    private static final short GET_CONFIG_REQUEST = 7;
+    private static final short GET_CONFIG_REPLY = 8;
+    private static final short PACKET_IN = 10;
+    private static final short PACKET_OUT = 13;
+    private static final short FLOW_MOD = 14;
+    private static final short MULTIPART_REQUEST = 18;
+    private static final short MULTIPART_REPLY = 19;
+    private static final short BARRIER_REQUEST = 20;
+    private static final short BARRIER_REPLY = 21;
+    private static final short ROLE_REQUEST = 24;
+    private static final short ROLE_REPLY = 25;
+
+    private static final int HEADER_LENGTH = 8;
+    private static final int TYPE_INDEX = 1;
+    private static final int XID_INDEX = 4;
+    /** buffer_id offsets in packet-out and flow-mod */
+    private static final int PACKET_OUT_BUFFER_ID_INDEX = 8;
+    private static final int FLOW_MOD_BUFFER_ID_INDEX = 32;
+    private static final long NO_BUFFER = 0xFFFFFFFFL;
+    /** Multipart type OFPMP_DESC and length of its reply body */
+    private static final int MULTIPART_DESC = 0;
+    private static final int DESC_BODY_LENGTH = 1056;
+    /** Packet-in fields preceding the frame: buffer id, total length, reason, table, cookie, match, pad */
+    private static final int PACKET_IN_PREFIX_LENGTH = 4 + 2 + 1 + 1 + 8 + 16 + 2;
+    /** Buffer ids of outstanding packet-ins whose send times are kept */
+    private static final int PENDING_PACKET_INS = 4096;
+
+    private final LoadProfile profile;
+    private final EmulatedSwitchStatistics statistics;
+    private final Random random;
+    private final long[] packetInSendTimes = new long[PENDING_PACKET_INS];
+    private final double[] packetInCarry = new double[1];
+    private final boolean singleMessageWrites;
+    private ScheduledFuture<?> packetInTask;
+    private ScheduledFuture<?> echoTask;
+    private long echoSendNanos;
+    private int echoXid;
+    private int nextXid = 1;
+    private int nextBufferId;
+
+    /**
+     * @param profile generated traffic
+     * @param statistics statistics of this switch, holding its datapath id
+     */
+    public EmulatedSwitchHandler(final LoadProfile profile, final EmulatedSwitchStatistics statistics) {
+        this(profile, statistics, false);
+    }
+
+    /**
+     * @param profile generated traffic
+     * @param statistics statistics of this switch, holding its datapath id
+     * @param singleMessageWrites true to write each message in its own buffer (one message per datagram)
+     */
+    public EmulatedSwitchHandler(final LoadProfile profile, final EmulatedSwitchStatistics statistics,
+            final boolean singleMessageWrites) {
+        this.profile = profile;
+        this.statistics = statistics;
+        this.singleMessageWrites = singleMessageWrites;
+        this.random = new Random(statistics.getDatapathId());
+    }
+
+    @Override
+    public void channelActive(final ChannelHandlerContext ctx) throws Exception {
+        statistics.connected(System.nanoTime());
+        final ByteBuf hello = ctx.alloc().buffer(HEADER_LENGTH);
+        writeHeader(hello, HELLO, HEADER_LENGTH, nextXid++);
+        send(ctx, hello);
+        ctx.flush();
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        statistics.disconnected(System.nanoTime());
+        if (packetInTask != null) {
+            packetInTask.cancel(false);
+        }
+        if (echoTask != null) {
+            echoTask.cancel(false);
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        final ByteBuf frame = (ByteBuf) msg;
+        try {
+            statistics.messageReceived(frame.readableBytes());
+            final int start = frame.readerIndex();
+            final short type = frame.getUnsignedByte(start + TYPE_INDEX);
+            final int xid = frame.getInt(start + XID_INDEX);
+            switch (type) {
+                case HELLO:
+                    break;
+                case ECHO_REQUEST:
+                    send(ctx, copyWithType(ctx, frame, ECHO_REPLY));
+                    break;
+                case ECHO_REPLY:
+                    if (xid == echoXid && echoSendNanos != 0) {
+                        statistics.getEchoLatency().record(System.nanoTime() - echoSendNanos);
+                        echoSendNanos = 0;
+                    }
+                    break;
+                case FEATURES_REQUEST:
+                    sendFeaturesReply(ctx, xid);
+                    onHandshakeDone(ctx);
+                    break;
+                case GET_CONFIG_REQUEST:
+                    final ByteBuf config = ctx.alloc().buffer(HEADER_LENGTH + 4);
+                    writeHeader(config, GET_CONFIG_REPLY, HEADER_LENGTH + 4, xid);
+                    config.writeShort(0);
+                    config.writeShort(0xFFFF);
+                    send(ctx, config);
+                    break;
+                case BARRIER_REQUEST:
+                    final ByteBuf barrier = ctx.alloc().buffer(HEADER_LENGTH);
+                    writeHeader(barrier, BARRIER_REPLY, HEADER_LENGTH, xid);
+                    send(ctx, barrier);
+                    break;
+                case ROLE_REQUEST:
+                    send(ctx, copyWithType(ctx, frame, ROLE_REPLY));
+                    break;
+                case MULTIPART_REQUEST:
+                    sendMultipartReply(ctx, frame.getUnsignedShort(start + HEADER_LENGTH), xid);
+                    break;
+                case PACKET_OUT:
+                    onPacketInResponse(frame, PACKET_OUT_BUFFER_ID_INDEX);
+                    break;
+                case FLOW_MOD:
+                    statistics.flowModReceived();
+                    onPacketInResponse(frame, FLOW_MOD_BUFFER_ID_INDEX);
+                    break;
+                default:
+                    LOG.trace("Switch {} ignoring message type {}", statistics.getDatapathId(), type);
+            }
+        } finally {
+            frame.release();
+        }
+    }
+
+    @Override
+    public void channelReadComplete(final ChannelHandlerContext ctx) {
+        ctx.flush();
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        LOG.warn("Switch {} failed, closing connection", statistics.getDatapathId(), cause);
+        ctx.close();
+    }
+
+    private void onHandshakeDone(final ChannelHandlerContext ctx) {
+        if (statistics.isHandshakeDone()) {
+            return;
+        }
+        statistics.handshakeDone(System.nanoTime());
+
+        if (profile.getPacketInRate() > 0) {
+            // Random initial delay spreads ticks of switches connected at the same time
+            packetInTask = ctx.executor().scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    sendPacketIns(ctx);
+                }
+            }, random.nextInt((int) profile.getTickMillis()) + 1, profile.getTickMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (profile.getEchoIntervalMillis() > 0) {
+            echoTask = ctx.executor().scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    sendEchoRequest(ctx);
+                }
+            }, profile.getEchoIntervalMillis(), profile.getEchoIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sendPacketIns(final ChannelHandlerContext ctx) {
+        final int count = profile.nextPacketInCount(random, packetInCarry);
+        if (count == 0) {
+            return;
+        }
+        if (!ctx.channel().isWritable()) {
+            statistics.packetInsThrottled(count);
+            return;
+        }
+
+        final int dataSize = profile.getPacketInDataSize();
+        final int length = HEADER_LENGTH + PACKET_IN_PREFIX_LENGTH + dataSize;
+        final long now = System.nanoTime();
+        ByteBuf out = null;
+        for (int i = 0; i < count; i++) {
+            if (out == null) {
+                out = ctx.alloc().buffer(singleMessageWrites ? length : count * length);
+            }
+            final int bufferId = nextBufferId();
+            packetInSendTimes[bufferId & (PENDING_PACKET_INS - 1)] = now;
+            writePacketIn(out, length, bufferId, random.nextInt(profile.getPortCount()) + 1, dataSize, now);
+            if (singleMessageWrites) {
+                ctx.write(out);
+                out = null;
+            }
+        }
+        statistics.packetInsSent(count, length);
+        if (out != null) {
+            ctx.write(out);
+        }
+        ctx.flush();
+    }
+
+    private void writePacketIn(final ByteBuf out, final int length, final int bufferId, final int port,
+            final int dataSize, final long nanos) {
+        writeHeader(out, PACKET_IN, length, nextXid++);
+        out.writeInt(bufferId);
+        out.writeShort(dataSize);
+        // reason OFPR_NO_MATCH, table 0, cookie carrying send time
+        out.writeByte(0);
+        out.writeByte(0);
+        out.writeLong(nanos);
+        // OXM match: in_port
+        out.writeShort(1);
+        out.writeShort(12);
+        out.writeInt(0x80000004);
+        out.writeInt(port);
+        out.writeInt(0);
+        out.writeZero(2);
+        // ethernet frame: destination, source (derived from port), ethertype, zero payload
+        out.writeInt(0x00000001);
+        out.writeShort(0x0203);
+        out.writeShort(0x0200);
+        out.writeInt(port);
+        out.writeShort(0x0800);
+        out.writeZero(dataSize - 14);
+    }
+
+    private int nextBufferId() {
+        final int bufferId = nextBufferId;
+        nextBufferId = (nextBufferId + 1) & Integer.MAX_VALUE;
+        return bufferId;
+    }
+
+    private void onPacketInResponse(final ByteBuf frame, final int bufferIdIndex) {
+        if (frame.readableBytes() < bufferIdIndex + 4) {
+            return;
+        }
+        final long bufferId = frame.getUnsignedInt(frame.readerIndex() + bufferIdIndex);
+        if (bufferId == NO_BUFFER) {
+            return;
+        }
+        final int slot = (int) bufferId & (PENDING_PACKET_INS - 1);
+        final long sent = packetInSendTimes[slot];
+        if (sent != 0) {
+            statistics.getPacketInLatency().record(System.nanoTime() - sent);
+            packetInSendTimes[slot] = 0;
+        }
+    }
+
+    private void sendEchoRequest(final ChannelHandlerContext ctx) {
+        final ByteBuf echo = ctx.alloc().buffer(HEADER_LENGTH);
+        echoXid = nextXid++;
+        writeHeader(echo, ECHO_REQUEST, HEADER_LENGTH, echoXid);
+        echoSendNanos = System.nanoTime();
+        statistics.messageSent(HEADER_LENGTH);
+        ctx.writeAndFlush(echo);
+    }
+
+    private void sendFeaturesReply(final ChannelHandlerContext ctx, final int xid) {
+        final int length = HEADER_LENGTH + 24;
+        final ByteBuf features = ctx.alloc().buffer(length);
+        writeHeader(features, FEATURES_REPLY, length, xid);
+        features.writeLong(statistics.getDatapathId());
+        // buffers, tables, auxiliary id, pad
+        features.writeInt(PENDING_PACKET_INS);
+        features.writeByte(1);
+        features.writeByte(0);
+        features.writeZero(2);
+        // capabilities: flow, table and port stats; reserved
+        features.writeInt(0x00000007);
+        features.writeInt(0);
+        send(ctx, features);
+    }
+
+    private void sendMultipartReply(final ChannelHandlerContext ctx, final int multipartType, final int xid) {
+        final int bodyLength = multipartType == MULTIPART_DESC ? DESC_BODY_LENGTH : 0;
+        final int length = HEADER_LENGTH + 8 + bodyLength;
+        final ByteBuf reply = ctx.alloc().buffer(length);
+        writeHeader(reply, MULTIPART_REPLY, length, xid);
+        reply.writeShort(multipartType);
+        // flags - no more replies follow, pad
+        reply.writeShort(0);
+        reply.writeZero(4);
+        reply.writeZero(bodyLength);
+        send(ctx, reply);
+    }
+
+    private void send(final ChannelHandlerContext ctx, final ByteBuf message) {
+        statistics.messageSent(message.readableBytes());
+        ctx.write(message);
+    }
+
+    private static ByteBuf copyWithType(final ChannelHandlerContext ctx, final ByteBuf frame, final short type) {
+        final ByteBuf copy = ctx.alloc().buffer(frame.readableBytes());
+        copy.writeBytes(frame, frame.readerIndex(), frame.readableBytes());
+        copy.setByte(TYPE_INDEX, type);
+        return copy;
+    }
+
+    private static void writeHeader(final ByteBuf out, final short type, final int length, final int xid) {
+        out.writeByte(OF13_VERSION_ID);
+        out.writeByte(type);
+        out.writeShort(length);
+        out.writeInt(xid);
+    }
+}
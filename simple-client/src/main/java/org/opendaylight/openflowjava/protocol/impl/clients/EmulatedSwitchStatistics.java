@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters and latencies of one switch emulated by {@link LoadGenerator}. Updated on the switch's
+ * event loop only - values read by other threads while the switch is running are approximate.
+ */
+public class EmulatedSwitchStatistics {
+
+    private final long datapathId;
+    private final LatencyHistogram echoLatency = new LatencyHistogram();
+    private final LatencyHistogram packetInLatency = new LatencyHistogram();
+    private long connectNanos;
+    private long handshakeNanos;
+    private long disconnectNanos;
+    private long packetInsSent;
+    private long packetInsThrottled;
+    private long messagesReceived;
+    private long flowModsReceived;
+    private long bytesReceived;
+    private long bytesSent;
+
+    /**
+     * @param datapathId datapath id of the emulated switch
+     */
+    public EmulatedSwitchStatistics(final long datapathId) {
+        this.datapathId = datapathId;
+    }
+
+    void connected(final long nanos) {
+        connectNanos = nanos;
+    }
+
+    void handshakeDone(final long nanos) {
+        handshakeNanos = nanos;
+    }
+
+    void disconnected(final long nanos) {
+        disconnectNanos = nanos;
+    }
+
+    void packetInsSent(final int count, final int bytes) {
+        packetInsSent += count;
+        bytesSent += (long) count * bytes;
+    }
+
+    void packetInsThrottled(final int count) {
+        packetInsThrottled += count;
+    }
+
+    void messageSent(final int bytes) {
+        bytesSent += bytes;
+    }
+
+    void flowModReceived() {
+        flowModsReceived++;
+    }
+
+    void messageReceived(final int bytes) {
+        messagesReceived++;
+        bytesReceived += bytes;
+    }
+
+    LatencyHistogram getEchoLatency() {
+        return echoLatency;
+    }
+
+    LatencyHistogram getPacketInLatency() {
+        return packetInLatency;
+    }
+
+    /**
+     * @return datapath id of the emulated switch
+     */
+    public long getDatapathId() {
+        return datapathId;
+    }
+
+    /**
+     * @return true if the controller finished the features exchange
+     */
+    public boolean isHandshakeDone() {
+        return handshakeNanos != 0;
+    }
+
+    /**
+     * @return number of sent packet-ins
+     */
+    public long getPacketInsSent() {
+        return packetInsSent;
+    }
+
+    /**
+     * @return number of packet-ins not sent because the channel was not writable
+     */
+    public long getPacketInsThrottled() {
+        return packetInsThrottled;
+    }
+
+    /**
+     * @return number of messages received from controller
+     */
+    public long getMessagesReceived() {
+        return messagesReceived;
+    }
+
+    /**
+     * @return number of flow-mods received from controller
+     */
+    public long getFlowModsReceived() {
+        return flowModsReceived;
+    }
+
+    /**
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return mean number of sent packet-ins per second since handshake
+     */
+    public double getPacketInThroughput(final long nowNanos) {
+        if (handshakeNanos == 0) {
+            return 0;
+        }
+        final long end = disconnectNanos != 0 ? disconnectNanos : nowNanos;
+        final long elapsed = Math.max(1, end - handshakeNanos);
+        return packetInsSent * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return one line summary
+     */
+    public String toString(final long nowNanos) {
+        return String.format("switch %016x: handshake %s, packet-ins %d (%.1f/s, throttled %d), received %d msgs"
+                + " / %d B, sent %d B, echo [%s], packet-in response [%s]", datapathId,
+                handshakeNanos == 0 ? "pending" : TimeUnit.NANOSECONDS.toMillis(handshakeNanos - connectNanos) + "ms",
+                packetInsSent, getPacketInThroughput(nowNanos), packetInsThrottled, messagesReceived,
+                bytesReceived, bytesSent, echoLatency, packetInLatency);
+    }
+
+    @Override
+    public String toString() {
+        return toString(System.nanoTime());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import io.netty.buffer.ByteBuf;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.impl.core.MessageJournal;
+import org.opendaylight.openflowjava.protocol.impl.core.MessageJournalReader;
+import org.opendaylight.openflowjava.protocol.impl.core.MessageJournalReader.Record;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prints records of a message journal (see {@link MessageJournal}), decoding recorded frames with
+ * the library's deserializers. Frames which have no deserializer (most controller to switch
+ * messages) or which were truncated are printed as hex dump.
+ */
+public class JournalDump {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JournalDump.class);
+    private static final int OF_HEADER_LENGTH = 8;
+    private static final int OF_LENGTH_INDEX = 2;
+
+    private final DeserializationFactory deserializationFactory = new DeserializationFactory();
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    private final PrintStream out;
+
+    /**
+     * @param out destination of the dump
+     */
+    public JournalDump(final PrintStream out) {
+        this.out = out;
+        final DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        deserializationFactory.setRegistry(registry);
+    }
+
+    /**
+     * @param journal journal file
+     * @param connectionId connection to print, 0 for all
+     * @throws IOException if the journal can not be read
+     */
+    public void dump(final File journal, final int connectionId) throws IOException {
+        for (Record record : MessageJournalReader.read(journal)) {
+            if (connectionId != 0 && record.getConnectionId() != connectionId) {
+                continue;
+            }
+            final long millis = TimeUnit.NANOSECONDS.toMillis(record.getTimestampNanos());
+            final String prefix = String.format("%s%03d #%d %s", dateFormat.format(new Date(millis)),
+                    TimeUnit.NANOSECONDS.toMicros(record.getTimestampNanos()) % 1000, record.getConnectionId(),
+                    kindToString(record.getKind()));
+            final ByteBuf payload = record.getPayload();
+            if (record.getKind() == MessageJournal.CONNECTED) {
+                out.println(prefix + " " + payload.toString(StandardCharsets.UTF_8));
+                continue;
+            }
+            while (payload.isReadable()) {
+                out.println(prefix + " " + decodeFrame(payload));
+            }
+        }
+    }
+
+    private String decodeFrame(final ByteBuf payload) {
+        final int length = payload.readableBytes() >= OF_HEADER_LENGTH
+                ? payload.getUnsignedShort(payload.readerIndex() + OF_LENGTH_INDEX) : 0;
+        if (length < OF_HEADER_LENGTH || length > payload.readableBytes()) {
+            final String dump = "truncated: " + ByteBufUtils.byteBufToHexString(payload);
+            payload.skipBytes(payload.readableBytes());
+            return dump;
+        }
+
+        final ByteBuf frame = payload.readSlice(length);
+        final short version = frame.getUnsignedByte(frame.readerIndex());
+        try {
+            final DataObject message = deserializationFactory.deserialize(frame.slice(frame.readerIndex() + 1,
+                    length - 1), version);
+            if (message != null) {
+                return message.toString();
+            }
+        } catch (RuntimeException e) {
+            LOG.debug("Frame not decoded", e);
+        }
+        return "version " + version + " type " + frame.getUnsignedByte(frame.readerIndex() + 1) + ": "
+                + ByteBufUtils.byteBufToHexString(frame);
+    }
+
+    private static String kindToString(final byte kind) {
+        switch (kind) {
+        case MessageJournal.INBOUND:
+            return "<<";
+        case MessageJournal.OUTBOUND:
+            return ">>";
+        case MessageJournal.CONNECTED:
+            return "connected";
+        default:
+            return "kind " + kind;
+        }
+    }
+
+    /**
+     * Dumps journal to standard output
+     *
+     * @param args journal file and optionally connection id
+     * @throws IOException if the journal can not be read
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            LOG.error("Usage: {} <journal file> [connection id]", JournalDump.class.getSimpleName());
+            return;
+        }
+        new JournalDump(System.out).dump(new File(args[0]), args.length > 1 ? Integer.parseInt(args[1]) : 0);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram of latencies with power-of-two microsecond buckets. Not thread-safe, each
+ * emulated switch records into its own instance on its event loop.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long sumNanos;
+    private long maxNanos;
+
+    /**
+     * @param nanos latency in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        buckets[Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(micros))]++;
+        count++;
+        sumNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    /**
+     * @param other histogram whose values are added to this one
+     */
+    public void add(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] += other.buckets[i];
+        }
+        count += other.count;
+        sumNanos += other.sumNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return mean latency in microseconds, 0 if nothing was recorded
+     */
+    public long getMeanMicros() {
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(sumNanos / count);
+    }
+
+    /**
+     * @return maximal latency in microseconds
+     */
+    public long getMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxNanos);
+    }
+
+    /**
+     * @param percentile requested percentile, between 0 and 100
+     * @return upper bound (in microseconds) of the bucket holding given percentile
+     */
+    public long getPercentileMicros(final double percentile) {
+        final long threshold = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= threshold && seen > 0) {
+                return i == 0 ? 0 : 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%dus p50<%dus p99<%dus max=%dus", count, getMeanMicros(),
+                getPercentileMicros(50), getPercentileMicros(99), getMaxMicros());
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import com.google.common.base.Preconditions;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLEngine;
+import org.opendaylight.openflowjava.protocol.impl.clients.LoadProfile.Distribution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Emulates many OpenFlow 1.3 switches from one JVM, all sharing one event loop group. Each switch
+ * is driven by {@link EmulatedSwitchHandler}. Periodically reports aggregated throughput and
+ * latencies, per-switch statistics are reported when the run finishes.
+ */
+public class LoadGenerator implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final long DATAPATH_ID_BASE = 0x10000000000L;
+
+    private final String host;
+    private final int port;
+    private final int switchCount;
+    private final LoadProfile profile;
+    private final List<EmulatedSwitchStatistics> statistics = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Channel> channels = new ConcurrentLinkedQueue<>();
+    private int threads;
+    private int connectRate = 100;
+    private long durationSeconds = 60;
+    private long reportIntervalSeconds = 5;
+    private boolean securedClient;
+    private boolean udp;
+    private EventLoopGroup group;
+    private ScheduledFuture<?> reporter;
+    private long lastReportNanos;
+    private long lastReportPacketIns;
+
+    /**
+     * @param host address of controller
+     * @param port controller listening port
+     * @param switchCount number of emulated switches
+     * @param profile traffic generated by each switch
+     */
+    public LoadGenerator(final String host, final int port, final int switchCount, final LoadProfile profile) {
+        Preconditions.checkArgument(switchCount > 0, "Non-positive switch count %s", switchCount);
+        this.host = host;
+        this.port = port;
+        this.switchCount = switchCount;
+        this.profile = Preconditions.checkNotNull(profile);
+        for (int i = 0; i < switchCount; i++) {
+            statistics.add(new EmulatedSwitchStatistics(DATAPATH_ID_BASE + i));
+        }
+    }
+
+    @Override
+    public void run() {
+        final long start = System.nanoTime();
+        start();
+        try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+            LOG.info("Load generation finished after {}s, disconnecting switches",
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        } catch (InterruptedException e) {
+            LOG.warn("Load generation interrupted", e);
+        } finally {
+            stop();
+        }
+        finalReport();
+    }
+
+    /**
+     * Starts connecting the switches and returns immediately
+     */
+    public synchronized void start() {
+        Preconditions.checkState(group == null, "Load generator already started");
+        group = new NioEventLoopGroup(threads);
+        final Bootstrap bootstrap = new Bootstrap();
+        bootstrap.group(group);
+        if (udp) {
+            bootstrap.channel(NioDatagramChannel.class);
+        } else {
+            bootstrap.channel(NioSocketChannel.class).option(ChannelOption.TCP_NODELAY, true);
+        }
+
+        lastReportNanos = System.nanoTime();
+        // Connects are spread over time, so that the controller is not hit by all handshakes at once
+        final long connectPeriodNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, connectRate);
+        for (int i = 0; i < switchCount; i++) {
+            final EmulatedSwitchStatistics switchStatistics = statistics.get(i);
+            group.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    connect(bootstrap.clone(), switchStatistics);
+                }
+            }, i * connectPeriodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        if (reportIntervalSeconds > 0) {
+            reporter = group.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    report();
+                }
+            }, reportIntervalSeconds, reportIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Disconnects all switches and releases the event loop group
+     */
+    public synchronized void stop() {
+        if (group == null) {
+            return;
+        }
+        if (reporter != null) {
+            reporter.cancel(false);
+            reporter = null;
+        }
+        for (Channel channel : channels) {
+            channel.close().awaitUninterruptibly();
+        }
+        group.shutdownGracefully().awaitUninterruptibly();
+        group = null;
+    }
+
+    /**
+     * @return number of switches which finished the features exchange
+     */
+    public int getHandshakenCount() {
+        int handshaken = 0;
+        for (EmulatedSwitchStatistics switchStatistics : statistics) {
+            if (switchStatistics.isHandshakeDone()) {
+                handshaken++;
+            }
+        }
+        return handshaken;
+    }
+
+    private void connect(final Bootstrap bootstrap, final EmulatedSwitchStatistics switchStatistics) {
+        if (udp) {
+            bootstrap.handler(new ChannelInitializer<DatagramChannel>() {
+                @Override
+                protected void initChannel(final DatagramChannel ch) throws Exception {
+                    ch.pipeline().addLast("framer", new UdpSimpleClientFramer());
+                    ch.pipeline().addLast("handler", new EmulatedSwitchHandler(profile, switchStatistics, true));
+                }
+            });
+        } else {
+            bootstrap.handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(final SocketChannel ch) throws Exception {
+                    final ChannelPipeline pipeline = ch.pipeline();
+                    if (securedClient) {
+                        final SSLEngine engine = ClientSslContextFactory.getClientContext().createSSLEngine();
+                        engine.setUseClientMode(true);
+                        pipeline.addLast("ssl", new SslHandler(engine));
+                    }
+                    pipeline.addLast("framer", new SimpleClientFramer());
+                    pipeline.addLast("handler", new EmulatedSwitchHandler(profile, switchStatistics));
+                }
+            });
+        }
+        bootstrap.connect(host, port).addListener(new ChannelFutureListener() {
+            @Override
+            public void operationComplete(final ChannelFuture future) {
+                if (future.isSuccess()) {
+                    channels.add(future.channel());
+                } else {
+                    LOG.warn("Switch {} failed to connect", Long.toHexString(switchStatistics.getDatapathId()),
+                            future.cause());
+                }
+            }
+        });
+    }
+
+    private void report() {
+        final long now = System.nanoTime();
+        final LatencyHistogram echo = new LatencyHistogram();
+        final LatencyHistogram packetIn = new LatencyHistogram();
+        long packetIns = 0;
+        long throttled = 0;
+        int handshaken = 0;
+        int connected = 0;
+        for (Channel channel : channels) {
+            if (channel.isActive()) {
+                connected++;
+            }
+        }
+        for (EmulatedSwitchStatistics switchStatistics : statistics) {
+            packetIns += switchStatistics.getPacketInsSent();
+            throttled += switchStatistics.getPacketInsThrottled();
+            if (switchStatistics.isHandshakeDone()) {
+                handshaken++;
+            }
+            echo.add(switchStatistics.getEchoLatency());
+            packetIn.add(switchStatistics.getPacketInLatency());
+        }
+
+        final double rate = (packetIns - lastReportPacketIns) * (double) TimeUnit.SECONDS.toNanos(1)
+                / Math.max(1, now - lastReportNanos);
+        lastReportNanos = now;
+        lastReportPacketIns = packetIns;
+        LOG.info("{}/{} switches connected, {}/{} handshaken, packet-ins {} ({}/s, throttled {}),"
+                + " echo [{}], packet-in response [{}]", connected, switchCount, handshaken, switchCount,
+                packetIns, String.format("%.1f", rate), throttled, echo, packetIn);
+    }
+
+    private void finalReport() {
+        final long now = System.nanoTime();
+        for (EmulatedSwitchStatistics switchStatistics : statistics) {
+            LOG.info("{}", switchStatistics.toString(now));
+        }
+        report();
+    }
+
+    /**
+     * @param threads number of event loop threads, 0 for Netty default
+     */
+    public void setThreads(final int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * @param connectRate number of switches connecting per second
+     */
+    public void setConnectRate(final int connectRate) {
+        this.connectRate = connectRate;
+    }
+
+    /**
+     * @param durationSeconds length of the run
+     */
+    public void setDurationSeconds(final long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * @param reportIntervalSeconds period of aggregated reports, 0 to disable them
+     */
+    public void setReportIntervalSeconds(final long reportIntervalSeconds) {
+        this.reportIntervalSeconds = reportIntervalSeconds;
+    }
+
+    /**
+     * @param udp true if switches should connect over UDP, one message per datagram
+     */
+    public void setUdp(final boolean udp) {
+        this.udp = udp;
+    }
+
+    /**
+     * @param securedClient true if switches should use encrypted communication
+     */
+    public void setSecuredClient(final boolean securedClient) {
+        this.securedClient = securedClient;
+    }
+
+    /**
+     * @return statistics of all emulated switches
+     */
+    public List<EmulatedSwitchStatistics> getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Sets up {@link LoadGenerator} and fires run()
+     *
+     * @param args host, port, switch count, packet-ins per second per switch, duration in seconds
+     *        and optionally distribution (CONSTANT / POISSON), packet-in frame size, event loop threads
+     *        and secured flag
+     */
+    public static void main(final String[] args) {
+        if (args.length < 5) {
+            LOG.error("Usage: {} <host> <port> <switches> <packet-in rate> <duration> [CONSTANT|POISSON]"
+                    + " [frame size] [threads] [secured]", LoadGenerator.class.getSimpleName());
+            return;
+        }
+
+        final Distribution distribution = args.length > 5 ? Distribution.valueOf(args[5]) : Distribution.CONSTANT;
+        final int frameSize = args.length > 6 ? Integer.parseInt(args[6]) : 64;
+        final LoadProfile profile = new LoadProfile(Double.parseDouble(args[3]), distribution, frameSize, 48, 10,
+                1000);
+        final LoadGenerator generator = new LoadGenerator(args[0], Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), profile);
+        generator.setDurationSeconds(Long.parseLong(args[4]));
+        if (args.length > 7) {
+            generator.setThreads(Integer.parseInt(args[7]));
+        }
+        if (args.length > 8) {
+            generator.setSecuredClient(Boolean.parseBoolean(args[8]));
+        }
+        generator.run();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import com.google.common.base.Preconditions;
+import java.util.Random;
+
+/**
+ * Traffic generated by each switch emulated by {@link LoadGenerator}
+ */
+public class LoadProfile {
+
+    /**
+     * Distribution of packet-in arrivals
+     */
+    public enum Distribution {
+        /** Packet-ins are spread evenly, with the requested rate */
+        CONSTANT,
+        /** Packet-ins arrive as a Poisson process with the requested mean rate */
+        POISSON
+    }
+
+    private final double packetInRate;
+    private final Distribution distribution;
+    private final int packetInDataSize;
+    private final int portCount;
+    private final long tickMillis;
+    private final long echoIntervalMillis;
+
+    /**
+     * @param packetInRate mean number of packet-ins per second sent by one switch
+     * @param distribution distribution of packet-in arrivals
+     * @param packetInDataSize size of the ethernet frame carried in packet-in (at least 14 bytes)
+     * @param portCount number of ports, packet-ins use uniformly distributed in-ports
+     * @param tickMillis period of packet-in generation, packet-ins of one period are flushed at once
+     * @param echoIntervalMillis period of echo requests measuring round trip time, 0 to disable
+     */
+    public LoadProfile(final double packetInRate, final Distribution distribution, final int packetInDataSize,
+            final int portCount, final long tickMillis, final long echoIntervalMillis) {
+        Preconditions.checkArgument(packetInRate >= 0, "Negative packet-in rate %s", packetInRate);
+        Preconditions.checkArgument(packetInDataSize >= 14, "Packet-in data size %s too small", packetInDataSize);
+        Preconditions.checkArgument(portCount > 0, "Non-positive port count %s", portCount);
+        Preconditions.checkArgument(tickMillis > 0, "Non-positive tick %s", tickMillis);
+        this.packetInRate = packetInRate;
+        this.distribution = Preconditions.checkNotNull(distribution);
+        this.packetInDataSize = packetInDataSize;
+        this.portCount = portCount;
+        this.tickMillis = tickMillis;
+        this.echoIntervalMillis = echoIntervalMillis;
+    }
+
+    /**
+     * @param random random generator of the calling switch
+     * @param carry fractional packet-in count left from previous ticks, array of one element
+     * @return number of packet-ins to send in the next tick
+     */
+    int nextPacketInCount(final Random random, final double[] carry) {
+        final double expected = packetInRate * tickMillis / 1000;
+        switch (distribution) {
+            case POISSON:
+                if (expected < 30) {
+                    // Knuth's algorithm, cheap for small means
+                    final double limit = Math.exp(-expected);
+                    int count = 0;
+                    double product = random.nextDouble();
+                    while (product > limit) {
+                        count++;
+                        product *= random.nextDouble();
+                    }
+                    return count;
+                }
+                return (int) Math.max(0, Math.round(expected + Math.sqrt(expected) * random.nextGaussian()));
+            case CONSTANT:
+            default:
+                final double total = carry[0] + expected;
+                final int count = (int) total;
+                carry[0] = total - count;
+                return count;
+        }
+    }
+
+    /**
+     * @return mean number of packet-ins per second sent by one switch
+     */
+    public double getPacketInRate() {
+        return packetInRate;
+    }
+
+    /**
+     * @return distribution of packet-in arrivals
+     */
+    public Distribution getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * @return size of the ethernet frame carried in packet-in
+     */
+    public int getPacketInDataSize() {
+        return packetInDataSize;
+    }
+
+    /**
+     * @return number of ports of each switch
+     */
+    public int getPortCount() {
+        return portCount;
+    }
+
+    /**
+     * @return period of packet-in generation
+     */
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * @return period of echo requests, 0 if disabled
+     */
+    public long getEchoIntervalMillis() {
+        return echoIntervalMillis;
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads TCP segments from pcap and pcapng captures. Supports Ethernet (with VLAN tags), raw IP,
+ * BSD loopback and Linux cooked (SLL, SLL2) link types over IPv4 and IPv6. Fragmented IP packets
+ * and non-TCP traffic are skipped.
+ */
+public class PcapReader implements Closeable {
+
+    private static final int PCAP_MAGIC_MICROS = 0xa1b2c3d4;
+    private static final int PCAP_MAGIC_NANOS = 0xa1b23c4d;
+    private static final int PCAPNG_SECTION_HEADER = 0x0A0D0D0A;
+    private static final int PCAPNG_BYTE_ORDER_MAGIC = 0x1A2B3C4D;
+    private static final int PCAPNG_INTERFACE_DESCRIPTION = 1;
+    private static final int PCAPNG_SIMPLE_PACKET = 3;
+    private static final int PCAPNG_ENHANCED_PACKET = 6;
+    private static final int PCAPNG_OPTION_TSRESOL = 9;
+
+    private static final int LINKTYPE_NULL = 0;
+    private static final int LINKTYPE_ETHERNET = 1;
+    private static final int LINKTYPE_RAW_BSD = 12;
+    private static final int LINKTYPE_RAW_BSD_OPENBSD = 14;
+    private static final int LINKTYPE_RAW = 101;
+    private static final int LINKTYPE_LOOP = 108;
+    private static final int LINKTYPE_LINUX_SLL = 113;
+    private static final int LINKTYPE_LINUX_SLL2 = 276;
+
+    private static final int ETHERTYPE_IPV4 = 0x0800;
+    private static final int ETHERTYPE_IPV6 = 0x86DD;
+    private static final int ETHERTYPE_VLAN = 0x8100;
+    private static final int ETHERTYPE_QINQ = 0x88A8;
+    private static final int IP_PROTOCOL_TCP = 6;
+    private static final int TCP_FIN = 0x01;
+    private static final int TCP_SYN = 0x02;
+    private static final int TCP_RST = 0x04;
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    /** View of the capture used for network headers, always big endian */
+    private final ByteBuffer frames;
+    private final boolean pcapng;
+    /** Link types and snap lengths of pcapng interfaces */
+    private final List<int[]> interfaces = new ArrayList<>();
+    /** Timestamp units (in nanoseconds) of pcapng interfaces */
+    private final List<Long> interfaceUnits = new ArrayList<>();
+    private int linkType;
+    private long timestampUnitNanos;
+    private long lastTimestampNanos;
+    private long packets;
+    private long skippedPackets;
+
+    /**
+     * @param capture pcap or pcapng file
+     * @throws IOException if the file can not be read or is not a capture
+     */
+    public PcapReader(final File capture) throws IOException {
+        file = new RandomAccessFile(capture, "r");
+        buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        frames = buffer.duplicate();
+        if (buffer.remaining() < 24) {
+            file.close();
+            throw new IOException("File " + capture + " is too short for a capture");
+        }
+
+        final int magic = buffer.getInt(0);
+        if (magic == PCAPNG_SECTION_HEADER) {
+            pcapng = true;
+        } else {
+            pcapng = false;
+            if (magic != PCAP_MAGIC_MICROS && magic != PCAP_MAGIC_NANOS) {
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            final int orderedMagic = buffer.getInt(0);
+            if (orderedMagic == PCAP_MAGIC_MICROS) {
+                timestampUnitNanos = 1000;
+            } else if (orderedMagic == PCAP_MAGIC_NANOS) {
+                timestampUnitNanos = 1;
+            } else {
+                file.close();
+                throw new IOException("File " + capture + " is neither pcap nor pcapng capture");
+            }
+            linkType = buffer.getInt(20);
+            buffer.position(24);
+        }
+    }
+
+    /**
+     * @return next TCP segment or null at the end of capture
+     * @throws IOException if the capture is malformed
+     */
+    public TcpSegment next() throws IOException {
+        while (buffer.remaining() > 0) {
+            final TcpSegment segment = pcapng ? nextPcapngPacket() : nextPcapPacket();
+            if (segment != null) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private TcpSegment nextPcapPacket() throws IOException {
+        if (buffer.remaining() < 16) {
+            throw new IOException("Truncated packet record at offset " + buffer.position());
+        }
+        final long seconds = buffer.getInt() & 0xFFFFFFFFL;
+        final long fraction = buffer.getInt() & 0xFFFFFFFFL;
+        final int capturedLength = buffer.getInt();
+        buffer.getInt();
+        final int packetStart = buffer.position();
+        if (capturedLength < 0 || capturedLength > buffer.remaining()) {
+            throw new IOException("Truncated packet at offset " + packetStart);
+        }
+        buffer.position(packetStart + capturedLength);
+        return parseFrame(linkType, seconds * 1000000000L + fraction * timestampUnitNanos, packetStart,
+                capturedLength);
+    }
+
+    private TcpSegment nextPcapngPacket() throws IOException {
+        final int blockStart = buffer.position();
+        if (buffer.remaining() < 12) {
+            throw new IOException("Truncated block at offset " + blockStart);
+        }
+        final int blockType = buffer.getInt(blockStart);
+        if (blockType == PCAPNG_SECTION_HEADER) {
+            // Byte order of the section is given by its byte order magic
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(blockStart + 8) != PCAPNG_BYTE_ORDER_MAGIC) {
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            interfaces.clear();
+            interfaceUnits.clear();
+        }
+        final int blockLength = buffer.getInt(blockStart + 4);
+        if (blockLength < 12 || blockLength > buffer.remaining()) {
+            throw new IOException("Malformed block at offset " + blockStart);
+        }
+        buffer.position(blockStart + blockLength);
+
+        switch (blockType) {
+        case PCAPNG_INTERFACE_DESCRIPTION:
+            interfaces.add(new int[] {buffer.getShort(blockStart + 8) & 0xFFFF, buffer.getInt(blockStart + 12)});
+            interfaceUnits.add(readTimestampUnit(blockStart + 16, blockStart + blockLength - 4));
+            return null;
+        case PCAPNG_ENHANCED_PACKET:
+            final int interfaceId = buffer.getInt(blockStart + 8);
+            if (interfaceId < 0 || interfaceId >= interfaces.size()) {
+                throw new IOException("Unknown interface " + interfaceId + " at offset " + blockStart);
+            }
+            final long timestamp = (buffer.getInt(blockStart + 12) & 0xFFFFFFFFL) << Integer.SIZE
+                    | buffer.getInt(blockStart + 16) & 0xFFFFFFFFL;
+            return parseFrame(interfaces.get(interfaceId)[0], timestamp * interfaceUnits.get(interfaceId),
+                    blockStart + 28, buffer.getInt(blockStart + 20));
+        case PCAPNG_SIMPLE_PACKET:
+            if (interfaces.isEmpty()) {
+                throw new IOException("Simple packet without interface at offset " + blockStart);
+            }
+            // Simple packets carry no timestamp, the previous one is used
+            final int snapLength = interfaces.get(0)[1];
+            int capturedLength = Math.min(buffer.getInt(blockStart + 8), blockLength - 16);
+            if (snapLength > 0) {
+                capturedLength = Math.min(capturedLength, snapLength);
+            }
+            return parseFrame(interfaces.get(0)[0], lastTimestampNanos, blockStart + 12, capturedLength);
+        default:
+            return null;
+        }
+    }
+
+    private long readTimestampUnit(final int optionsStart, final int optionsEnd) {
+        int offset = optionsStart;
+        while (offset + 4 <= optionsEnd) {
+            final int code = buffer.getShort(offset) & 0xFFFF;
+            final int length = buffer.getShort(offset + 2) & 0xFFFF;
+            if (code == 0) {
+                break;
+            }
+            if (code == PCAPNG_OPTION_TSRESOL && length >= 1) {
+                final int resolution = buffer.get(offset + 4);
+                long unitsPerSecond = 1;
+                for (int i = 0; i < (resolution & 0x7F); i++) {
+                    unitsPerSecond *= (resolution & 0x80) == 0 ? 10 : 2;
+                }
+                return Math.max(1, 1000000000L / unitsPerSecond);
+            }
+            offset += 4 + (length + 3 & ~3);
+        }
+        // Default resolution is microseconds
+        return 1000;
+    }
+
+    private TcpSegment parseFrame(final int frameLinkType, final long timestampNanos, final int start,
+            final int length) {
+        packets++;
+        lastTimestampNanos = timestampNanos;
+        final int end = start + length;
+        int offset = start;
+        int etherType;
+        switch (frameLinkType) {
+        case LINKTYPE_ETHERNET:
+            offset += 12;
+            etherType = readUnsignedShort(offset, end);
+            offset += 2;
+            while (etherType == ETHERTYPE_VLAN || etherType == ETHERTYPE_QINQ) {
+                etherType = readUnsignedShort(offset + 2, end);
+                offset += 4;
+            }
+            break;
+        case LINKTYPE_LINUX_SLL:
+            etherType = readUnsignedShort(offset + 14, end);
+            offset += 16;
+            break;
+        case LINKTYPE_LINUX_SLL2:
+            etherType = readUnsignedShort(offset, end);
+            offset += 20;
+            break;
+        case LINKTYPE_NULL:
+        case LINKTYPE_LOOP:
+            offset += 4;
+            etherType = ipEtherType(offset, end);
+            break;
+        case LINKTYPE_RAW:
+        case LINKTYPE_RAW_BSD:
+        case LINKTYPE_RAW_BSD_OPENBSD:
+            etherType = ipEtherType(offset, end);
+            break;
+        default:
+            etherType = -1;
+            break;
+        }
+
+        final TcpSegment segment;
+        if (etherType == ETHERTYPE_IPV4) {
+            segment = parseIpv4(timestampNanos, offset, end);
+        } else if (etherType == ETHERTYPE_IPV6) {
+            segment = parseIpv6(timestampNanos, offset, end);
+        } else {
+            segment = null;
+        }
+        if (segment == null) {
+            skippedPackets++;
+        }
+        return segment;
+    }
+
+    private TcpSegment parseIpv4(final long timestampNanos, final int start, final int frameEnd) {
+        if (start + 20 > frameEnd) {
+            return null;
+        }
+        final int headerLength = (frames.get(start) & 0x0F) * 4;
+        final int totalLength = frames.getShort(start + 2) & 0xFFFF;
+        final int fragment = frames.getShort(start + 6) & 0x3FFF;
+        if (fragment != 0 || frames.get(start + 9) != IP_PROTOCOL_TCP || headerLength < 20) {
+            return null;
+        }
+        // Total length excludes Ethernet padding, unless the capture was truncated
+        final int end = Math.min(frameEnd, start + totalLength);
+        return parseTcp(timestampNanos, start + headerLength, end, address(start + 12, 4),
+                address(start + 16, 4));
+    }
+
+    private TcpSegment parseIpv6(final long timestampNanos, final int start, final int frameEnd) {
+        if (start + 40 > frameEnd) {
+            return null;
+        }
+        final int end = Math.min(frameEnd, start + 40 + (frames.getShort(start + 4) & 0xFFFF));
+        int nextHeader = frames.get(start + 6) & 0xFF;
+        int offset = start + 40;
+        // Skip hop-by-hop, routing and destination options extension headers
+        while (nextHeader == 0 || nextHeader == 43 || nextHeader == 60) {
+            if (offset + 2 > end) {
+                return null;
+            }
+            nextHeader = frames.get(offset) & 0xFF;
+            offset += ((frames.get(offset + 1) & 0xFF) + 1) * 8;
+        }
+        if (nextHeader != IP_PROTOCOL_TCP) {
+            return null;
+        }
+        return parseTcp(timestampNanos, offset, end, address(start + 8, 16), address(start + 24, 16));
+    }
+
+    private TcpSegment parseTcp(final long timestampNanos, final int start, final int end,
+            final String sourceAddress, final String destinationAddress) {
+        if (start + 20 > end) {
+            return null;
+        }
+        final int sourcePort = frames.getShort(start) & 0xFFFF;
+        final int destinationPort = frames.getShort(start + 2) & 0xFFFF;
+        final long sequence = frames.getInt(start + 4) & 0xFFFFFFFFL;
+        final int headerLength = ((frames.get(start + 12) & 0xF0) >> 4) * 4;
+        final int flags = frames.get(start + 13);
+        if (headerLength < 20 || start + headerLength > end) {
+            return null;
+        }
+
+        final byte[] payload = new byte[end - start - headerLength];
+        frames.position(start + headerLength);
+        frames.get(payload);
+        return new TcpSegment(timestampNanos, sourceAddress + ":" + sourcePort + " -> " + destinationAddress + ":"
+                + destinationPort, sourcePort, destinationPort, sequence, (flags & TCP_SYN) != 0,
+                (flags & (TCP_FIN | TCP_RST)) != 0, payload);
+    }
+
+    private int ipEtherType(final int offset, final int end) {
+        if (offset >= end) {
+            return -1;
+        }
+        switch ((frames.get(offset) & 0xF0) >> 4) {
+        case 4:
+            return ETHERTYPE_IPV4;
+        case 6:
+            return ETHERTYPE_IPV6;
+        default:
+            return -1;
+        }
+    }
+
+    private int readUnsignedShort(final int offset, final int end) {
+        return offset + 2 > end ? -1 : frames.getShort(offset) & 0xFFFF;
+    }
+
+    private String address(final int offset, final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = frames.get(offset + i);
+        }
+        try {
+            return InetAddress.getByAddress(bytes).getHostAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Invalid address length " + length, e);
+        }
+    }
+
+    /**
+     * @return number of packets read so far
+     */
+    public long getPackets() {
+        return packets;
+    }
+
+    /**
+     * @return number of packets which did not carry TCP
+     */
+    public long getSkippedPackets() {
+        return skippedPackets;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
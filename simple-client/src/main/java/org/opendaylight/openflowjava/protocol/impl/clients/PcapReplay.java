@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.ReferenceCountUtil;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.impl.core.OFDecoder;
+import org.opendaylight.openflowjava.protocol.impl.core.OFFrameDecoder;
+import org.opendaylight.openflowjava.protocol.impl.core.OFVersionDetector;
+import org.opendaylight.openflowjava.protocol.impl.core.VersionMessageWrapper;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads OpenFlow traffic sent by switches from a pcap / pcapng capture (TCP streams towards ports
+ * 6653 and 6633) and either
+ * <ul>
+ * <li>decodes it through OFFrameDecoder, OFVersionDetector and OFDecoder, reporting decode rate,
+ * failures and allocated bytes per message type, or</li>
+ * <li>replays it against a running listener, one connection per captured switch connection.</li>
+ * </ul>
+ * Capture is processed either at maximum speed or at recorded timing (optionally scaled).
+ * Controller to switch direction is not used.
+ */
+public class PcapReplay implements Runnable, TcpStreamReassembler.StreamListener {
+
+    /** Processing of captured streams */
+    public enum Mode {
+        /** Decode streams locally */
+        DECODE,
+        /** Send streams to a listener */
+        REPLAY
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(PcapReplay.class);
+    private static final Set<Integer> DEFAULT_PORTS = ImmutableSet.of(6653, 6633);
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+    private final File capture;
+    private final Mode mode;
+    private final DeserializationFactory deserializationFactory = new DeserializationFactory();
+    private final Map<String, EmbeddedChannel> decoders = new HashMap<>();
+    private final Map<String, Channel> connections = new HashMap<>();
+    private final Set<String> failedConnections = new HashSet<>();
+    private final Map<Integer, TypeStatistics> typeStatistics = new TreeMap<>();
+    private Set<Integer> ports = DEFAULT_PORTS;
+    private boolean recordedTiming;
+    private double speed = 1;
+    private boolean midstreamPickup;
+    private int iterations = 1;
+    private String host;
+    private int port;
+    private EventLoopGroup group;
+    private Bootstrap bootstrap;
+    private long firstTimestampNanos;
+    private long startNanos;
+    private long replayedBytes;
+    private Class<?> lastDecoded;
+
+    /**
+     * @param capture pcap or pcapng file
+     * @param mode decode or replay
+     */
+    public PcapReplay(final File capture, final Mode mode) {
+        this.capture = Preconditions.checkNotNull(capture);
+        this.mode = Preconditions.checkNotNull(mode);
+        final DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        deserializationFactory.setRegistry(registry);
+    }
+
+    @Override
+    public void run() {
+        if (mode == Mode.REPLAY) {
+            Preconditions.checkState(host != null, "Listener address not set");
+            group = new NioEventLoopGroup();
+            bootstrap = new Bootstrap();
+            bootstrap.group(group).channel(NioSocketChannel.class).option(ChannelOption.TCP_NODELAY, true)
+                    .handler(DiscardHandler.INSTANCE);
+        }
+        try {
+            for (int i = 0; i < iterations; i++) {
+                if (i == 1) {
+                    // First pass only warms up the JIT
+                    typeStatistics.clear();
+                }
+                final long start = System.nanoTime();
+                readCapture();
+                LOG.info("Pass {}/{} finished in {} ms", i + 1, iterations,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        } catch (IOException e) {
+            LOG.error("Failed to read capture {}", capture, e);
+        } catch (InterruptedException e) {
+            LOG.warn("Replay interrupted", e);
+        } finally {
+            if (group != null) {
+                group.shutdownGracefully();
+            }
+        }
+        report();
+    }
+
+    private void readCapture() throws IOException, InterruptedException {
+        final TcpStreamReassembler reassembler = new TcpStreamReassembler(this, midstreamPickup);
+        try (PcapReader reader = new PcapReader(capture)) {
+            firstTimestampNanos = -1;
+            startNanos = System.nanoTime();
+            TcpSegment segment;
+            while ((segment = reader.next()) != null) {
+                if (!ports.contains(segment.getDestinationPort())) {
+                    continue;
+                }
+                if (recordedTiming) {
+                    pace(segment.getTimestampNanos());
+                }
+                reassembler.add(segment);
+            }
+            reassembler.closeAll();
+            LOG.info("{} packets read, {} without TCP, {} flows without SYN skipped, {} flows abandoned"
+                    + " on missing segments, {} retransmitted bytes dropped", reader.getPackets(),
+                    reader.getSkippedPackets(), reassembler.getSkippedFlows(), reassembler.getAbandonedFlows(),
+                    reassembler.getRetransmittedBytes());
+        }
+    }
+
+    private void pace(final long timestampNanos) throws InterruptedException {
+        if (firstTimestampNanos < 0) {
+            firstTimestampNanos = timestampNanos;
+            return;
+        }
+        final long delay = startNanos + (long) ((timestampNanos - firstTimestampNanos) / speed) - System.nanoTime();
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+    }
+
+    @Override
+    public void onData(final TcpSegment segment, final byte[] data) {
+        if (mode == Mode.DECODE) {
+            EmbeddedChannel decoder = decoders.get(segment.getFlow());
+            if (decoder == null) {
+                final OFDecoder ofDecoder = new OFDecoder();
+                ofDecoder.setDeserializationFactory(deserializationFactory);
+                decoder = new EmbeddedChannel(new OFFrameDecoder(null, false), new OFVersionDetector(),
+                        new DecodeProbe(), ofDecoder, new DecodeSink());
+                decoders.put(segment.getFlow(), decoder);
+            }
+            decoder.writeInbound(Unpooled.wrappedBuffer(data));
+        } else {
+            final Channel channel = connect(segment.getFlow());
+            if (channel == null) {
+                return;
+            }
+            try {
+                // Do not let the outbound buffer grow without bound when replaying at maximum speed
+                while (!channel.isWritable() && channel.isActive()) {
+                    Thread.sleep(1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            channel.writeAndFlush(Unpooled.wrappedBuffer(data));
+            replayedBytes += data.length;
+        }
+    }
+
+    private Channel connect(final String flow) {
+        Channel channel = connections.get(flow);
+        if (channel == null && !failedConnections.contains(flow)) {
+            final ChannelFuture future = bootstrap.connect(host, port).awaitUninterruptibly();
+            if (future.isSuccess()) {
+                channel = future.channel();
+                connections.put(flow, channel);
+                LOG.debug("Replaying {} over {}", flow, channel);
+            } else {
+                LOG.warn("Failed to connect replay of {}", flow, future.cause());
+                failedConnections.add(flow);
+            }
+        }
+        return channel;
+    }
+
+    @Override
+    public void onClose(final String flow) {
+        final EmbeddedChannel decoder = decoders.remove(flow);
+        if (decoder != null) {
+            decoder.finish();
+        }
+        final Channel channel = connections.remove(flow);
+        if (channel != null) {
+            // Close after everything written so far is flushed
+            channel.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+        }
+        failedConnections.remove(flow);
+    }
+
+    private void report() {
+        if (mode == Mode.REPLAY) {
+            LOG.info("Replayed {} bytes to {}:{}", replayedBytes, host, port);
+            return;
+        }
+        final TypeStatistics total = new TypeStatistics();
+        for (Entry<Integer, TypeStatistics> entry : typeStatistics.entrySet()) {
+            LOG.info("version {} type {} ({}): {}", entry.getKey() >> Byte.SIZE, entry.getKey() & 0xFF,
+                    entry.getValue().decodedType == null ? "?" : entry.getValue().decodedType.getSimpleName(),
+                    entry.getValue());
+            total.add(entry.getValue());
+        }
+        LOG.info("total: {}{}", total, ALLOCATION_BEAN == null ? " (allocation measurement not supported)" : "");
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATION_BEAN == null ? 0 : ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            ((com.sun.management.ThreadMXBean) bean).setThreadAllocatedMemoryEnabled(true);
+            return (com.sun.management.ThreadMXBean) bean;
+        }
+        return null;
+    }
+
+    /**
+     * Measures decoding of each frame passed from OFVersionDetector to OFDecoder. Embedded channels
+     * process frames synchronously, so the decoded message (if any) reaches {@link DecodeSink}
+     * before the probe's fireChannelRead returns.
+     */
+    private final class DecodeProbe extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            final VersionMessageWrapper wrapper = (VersionMessageWrapper) msg;
+            final int key = wrapper.getVersion() << Byte.SIZE
+                    | wrapper.getMessageBuffer().getUnsignedByte(wrapper.getMessageBuffer().readerIndex());
+            // Version byte is already consumed by OFVersionDetector
+            final int length = wrapper.getMessageBuffer().readableBytes() + 1;
+
+            lastDecoded = null;
+            final long allocatedBefore = allocatedBytes();
+            final long start = System.nanoTime();
+            ctx.fireChannelRead(msg);
+            final long nanos = System.nanoTime() - start;
+            final long allocated = allocatedBytes() - allocatedBefore;
+
+            TypeStatistics statistics = typeStatistics.get(key);
+            if (statistics == null) {
+                statistics = new TypeStatistics();
+                typeStatistics.put(key, statistics);
+            }
+            statistics.record(length, nanos, allocated, lastDecoded);
+        }
+    }
+
+    private final class DecodeSink extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            lastDecoded = msg instanceof DataContainer ? ((DataContainer) msg).getImplementedInterface()
+                    : msg.getClass();
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    @Sharable
+    private static final class DiscardHandler extends ChannelInboundHandlerAdapter {
+        static final DiscardHandler INSTANCE = new DiscardHandler();
+
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private static final class TypeStatistics {
+        private long frames;
+        private long failures;
+        private long bytes;
+        private long nanos;
+        private long allocated;
+        private Class<?> decodedType;
+
+        void record(final int length, final long frameNanos, final long frameAllocated, final Class<?> decoded) {
+            frames++;
+            bytes += length;
+            nanos += frameNanos;
+            allocated += frameAllocated;
+            if (decoded == null) {
+                failures++;
+            } else {
+                decodedType = decoded;
+            }
+        }
+
+        void add(final TypeStatistics other) {
+            frames += other.frames;
+            failures += other.failures;
+            bytes += other.bytes;
+            nanos += other.nanos;
+            allocated += other.allocated;
+        }
+
+        @Override
+        public String toString() {
+            final long divisor = Math.max(1, frames);
+            return String.format("%d frames, %d failed, avg %d B, %.0f msg/s, %d ns/msg, %d B/msg allocated",
+                    frames, failures, bytes / divisor, frames * 1e9 / Math.max(1, nanos), nanos / divisor,
+                    allocated / divisor);
+        }
+    }
+
+    /**
+     * @param ports controller ports identifying switch to controller direction
+     */
+    public void setPorts(final Set<Integer> ports) {
+        this.ports = ImmutableSet.copyOf(ports);
+    }
+
+    /**
+     * @param recordedTiming true to keep capture timing, false to process at maximum speed
+     * @param speed timing scale, 2 replays twice as fast as recorded
+     */
+    public void setTiming(final boolean recordedTiming, final double speed) {
+        Preconditions.checkArgument(speed > 0, "Non-positive speed %s", speed);
+        this.recordedTiming = recordedTiming;
+        this.speed = speed;
+    }
+
+    /**
+     * @param midstreamPickup true to follow streams whose SYN was not captured, assuming their first
+     *        captured segment starts with an OpenFlow message
+     */
+    public void setMidstreamPickup(final boolean midstreamPickup) {
+        this.midstreamPickup = midstreamPickup;
+    }
+
+    /**
+     * @param iterations number of passes over the capture, the first one is not reported if more are run
+     */
+    public void setIterations(final int iterations) {
+        Preconditions.checkArgument(iterations > 0, "Non-positive iteration count %s", iterations);
+        this.iterations = iterations;
+    }
+
+    /**
+     * @param host address of listener the capture is replayed to
+     * @param port listener port
+     */
+    public void setListener(final String host, final int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Sets up {@link PcapReplay} and fires run()
+     *
+     * @param args decode, capture file and optionally timing (max / recorded), speed, passes and
+     *        mid-stream pickup flag; or replay, capture file, listener host and port and optionally
+     *        timing, speed and mid-stream pickup flag
+     */
+    public static void main(final String[] args) {
+        if (args.length < 2 || "replay".equalsIgnoreCase(args[0]) && args.length < 4) {
+            LOG.error("Usage: {} decode <capture> [max|recorded] [speed] [passes] [midstream]",
+                    PcapReplay.class.getSimpleName());
+            LOG.error("       {} replay <capture> <host> <port> [max|recorded] [speed] [midstream]",
+                    PcapReplay.class.getSimpleName());
+            return;
+        }
+
+        final Mode mode = Mode.valueOf(args[0].toUpperCase());
+        final PcapReplay replay = new PcapReplay(new File(args[1]), mode);
+        int next = 2;
+        if (mode == Mode.REPLAY) {
+            replay.setListener(args[2], Integer.parseInt(args[3]));
+            next = 4;
+        }
+        if (args.length > next) {
+            replay.setTiming("recorded".equalsIgnoreCase(args[next]),
+                    args.length > next + 1 ? Double.parseDouble(args[next + 1]) : 1);
+        }
+        if (mode == Mode.DECODE) {
+            if (args.length > next + 2) {
+                replay.setIterations(Integer.parseInt(args[next + 2]));
+            }
+            next++;
+        }
+        if (args.length > next + 2) {
+            replay.setMidstreamPickup(Boolean.parseBoolean(args[next + 2]));
+        }
+        replay.run();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+/**
+ * TCP segment extracted from a capture by {@link PcapReader}
+ */
+public class TcpSegment {
+
+    private final long timestampNanos;
+    private final String flow;
+    private final int sourcePort;
+    private final int destinationPort;
+    private final long sequenceNumber;
+    private final boolean syn;
+    private final boolean closing;
+    private final byte[] payload;
+
+    /**
+     * @param timestampNanos capture timestamp
+     * @param flow flow identifier in "source -> destination" form, one per direction
+     * @param sourcePort TCP source port
+     * @param destinationPort TCP destination port
+     * @param sequenceNumber sequence number of first payload byte (or of SYN)
+     * @param syn true if SYN flag is set
+     * @param closing true if FIN or RST flag is set
+     * @param payload segment payload
+     */
+    public TcpSegment(final long timestampNanos, final String flow, final int sourcePort, final int destinationPort,
+            final long sequenceNumber, final boolean syn, final boolean closing, final byte[] payload) {
+        this.timestampNanos = timestampNanos;
+        this.flow = flow;
+        this.sourcePort = sourcePort;
+        this.destinationPort = destinationPort;
+        this.sequenceNumber = sequenceNumber;
+        this.syn = syn;
+        this.closing = closing;
+        this.payload = payload;
+    }
+
+    /**
+     * @return capture timestamp in nanoseconds since epoch
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    /**
+     * @return flow identifier, one per direction of a connection
+     */
+    public String getFlow() {
+        return flow;
+    }
+
+    /**
+     * @return TCP source port
+     */
+    public int getSourcePort() {
+        return sourcePort;
+    }
+
+    /**
+     * @return TCP destination port
+     */
+    public int getDestinationPort() {
+        return destinationPort;
+    }
+
+    /**
+     * @return sequence number, unsigned 32-bit
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * @return true if SYN flag is set
+     */
+    public boolean isSyn() {
+        return syn;
+    }
+
+    /**
+     * @return true if FIN or RST flag is set
+     */
+    public boolean isClosing() {
+        return closing;
+    }
+
+    /**
+     * @return segment payload, possibly empty
+     */
+    public byte[] getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2016 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Reassembles TCP byte streams from captured segments, in order and without retransmitted data.
+ * Streams are tracked per direction. A stream is followed from its SYN, or from its first segment
+ * if mid-stream pickup is enabled (capture started on an established connection). A stream with a
+ * gap which can not be filled (segment lost by the capture) is abandoned - the rest of it can not
+ * be split into OpenFlow messages reliably.
+ */
+public class TcpStreamReassembler {
+
+    /**
+     * Receives reassembled stream data
+     */
+    public interface StreamListener {
+
+        /**
+         * @param segment segment completing the data, gives flow, ports and timestamp
+         * @param data next in-order chunk of the stream
+         */
+        void onData(TcpSegment segment, byte[] data);
+
+        /**
+         * @param flow flow which was closed or abandoned
+         */
+        void onClose(String flow);
+    }
+
+    /** Maximum amount of out-of-order data buffered per stream */
+    private static final int MAX_PENDING_BYTES = 1 << 20;
+
+    private final Map<String, Stream> streams = new HashMap<>();
+    private final StreamListener listener;
+    private final boolean midstreamPickup;
+    private long skippedFlows;
+    private long abandonedFlows;
+    private long retransmittedBytes;
+
+    /**
+     * @param listener receiver of reassembled data
+     * @param midstreamPickup true if streams without captured SYN should be followed too
+     */
+    public TcpStreamReassembler(final StreamListener listener, final boolean midstreamPickup) {
+        this.listener = listener;
+        this.midstreamPickup = midstreamPickup;
+    }
+
+    /**
+     * @param segment next captured segment of a followed flow
+     */
+    public void add(final TcpSegment segment) {
+        Stream stream = streams.get(segment.getFlow());
+        if (stream == null) {
+            if (segment.isSyn()) {
+                stream = new Stream(segment.getSequenceNumber() + 1);
+            } else if (midstreamPickup && segment.getPayload().length > 0) {
+                stream = new Stream(segment.getSequenceNumber());
+            } else {
+                if (!segment.isClosing()) {
+                    skippedFlows++;
+                    // Remember the flow so that it is counted only once
+                    streams.put(segment.getFlow(), Stream.IGNORED);
+                }
+                return;
+            }
+            streams.put(segment.getFlow(), stream);
+        } else if (stream == Stream.IGNORED) {
+            if (segment.isSyn()) {
+                streams.put(segment.getFlow(), new Stream(segment.getSequenceNumber() + 1));
+            }
+            return;
+        }
+
+        if (segment.getPayload().length > 0) {
+            final TcpSegment previous = stream.pending.put(segment.getSequenceNumber(), segment);
+            stream.pendingBytes += segment.getPayload().length;
+            if (previous != null) {
+                retransmittedBytes += previous.getPayload().length;
+                stream.pendingBytes -= previous.getPayload().length;
+            }
+            if (!deliver(stream)) {
+                abandonedFlows++;
+                streams.put(segment.getFlow(), Stream.IGNORED);
+                listener.onClose(segment.getFlow());
+                return;
+            }
+        }
+        if (segment.isClosing()) {
+            streams.remove(segment.getFlow());
+            listener.onClose(segment.getFlow());
+        }
+    }
+
+    /**
+     * @return false if the stream has to be abandoned
+     */
+    private boolean deliver(final Stream stream) {
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            final Iterator<Entry<Long, TcpSegment>> iterator = stream.pending.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final TcpSegment segment = iterator.next().getValue();
+                final byte[] payload = segment.getPayload();
+                // Sequence numbers wrap around, compare them as signed 32-bit distance
+                final int offset = (int) (stream.nextSequence - segment.getSequenceNumber());
+                if (offset < 0) {
+                    continue;
+                }
+                iterator.remove();
+                stream.pendingBytes -= payload.length;
+                if (offset >= payload.length) {
+                    retransmittedBytes += payload.length;
+                    continue;
+                }
+                retransmittedBytes += offset;
+                final byte[] data;
+                if (offset == 0) {
+                    data = payload;
+                } else {
+                    data = new byte[payload.length - offset];
+                    System.arraycopy(payload, offset, data, 0, data.length);
+                }
+                stream.nextSequence = (stream.nextSequence + data.length) & 0xFFFFFFFFL;
+                listener.onData(segment, data);
+                progress = true;
+            }
+        }
+        return stream.pendingBytes <= MAX_PENDING_BYTES;
+    }
+
+    /**
+     * Closes all streams still open, e.g. at the end of capture
+     */
+    public void closeAll() {
+        for (Entry<String, Stream> entry : streams.entrySet()) {
+            if (entry.getValue() != Stream.IGNORED) {
+                listener.onClose(entry.getKey());
+            }
+        }
+        streams.clear();
+    }
+
+    /**
+     * @return number of flows ignored because their SYN was not captured
+     */
+    public long getSkippedFlows() {
+        return skippedFlows;
+    }
+
+    /**
+     * @return number of flows abandoned because of missing segments
+     */
+    public long getAbandonedFlows() {
+        return abandonedFlows;
+    }
+
+    /**
+     * @return number of retransmitted payload bytes dropped
+     */
+    public long getRetransmittedBytes() {
+        return retransmittedBytes;
+    }
+
+    private static final class Stream {
+        static final Stream IGNORED = new Stream(0);
+
+        final Map<Long, TcpSegment> pending = new HashMap<>();
+        long nextSequence;
+        int pendingBytes;
+
+        Stream(final long nextSequence) {
+            this.nextSequence = nextSequence & 0xFFFFFFFFL;
+        }
+    }
+}